@@ -28,10 +28,12 @@ public class CounterConfiguration {
    private final int concurrencyLevel;
    private final CounterType type;
    private final Storage storage;
+   private final long flushInterval;
+   private final long flushThreshold;
 
    @ProtoFactory
    CounterConfiguration(long initialValue, long lowerBound, long upperBound, int concurrencyLevel, CounterType type,
-                        Storage storage, long lifespan) {
+                        Storage storage, long lifespan, long flushInterval, long flushThreshold) {
       this.initialValue = initialValue;
       this.upperBound = upperBound;
       this.lowerBound = lowerBound;
@@ -39,6 +41,8 @@ public class CounterConfiguration {
       this.concurrencyLevel = concurrencyLevel;
       this.type = type;
       this.storage = storage;
+      this.flushInterval = flushInterval;
+      this.flushThreshold = flushThreshold;
    }
 
    public static Builder builder(CounterType type) {
@@ -80,6 +84,16 @@ public long lifespan() {
       return lifespan;
    }
 
+   @ProtoField(number = 8, defaultValue = "0")
+   public long flushInterval() {
+      return flushInterval;
+   }
+
+   @ProtoField(number = 9, defaultValue = "0")
+   public long flushThreshold() {
+      return flushThreshold;
+   }
+
    @Override
    public String toString() {
       return "CounterConfiguration{" +
@@ -89,6 +103,8 @@ public String toString() {
             ", concurrencyLevel=" + concurrencyLevel +
             ", type=" + type +
             ", storage=" + storage +
+            ", flushInterval=" + flushInterval +
+            ", flushThreshold=" + flushThreshold +
             '}';
    }
 
@@ -107,6 +123,8 @@ public boolean equals(Object o) {
             upperBound == that.upperBound &&
             lowerBound == that.lowerBound &&
             concurrencyLevel == that.concurrencyLevel &&
+            flushInterval == that.flushInterval &&
+            flushThreshold == that.flushThreshold &&
             type == that.type &&
             storage == that.storage;
    }
@@ -119,6 +137,8 @@ public int hashCode() {
       result = 31 * result + concurrencyLevel;
       result = 31 * result + type.hashCode();
       result = 31 * result + storage.hashCode();
+      result = 31 * result + (int) (flushInterval ^ (flushInterval >>> 32));
+      result = 31 * result + (int) (flushThreshold ^ (flushThreshold >>> 32));
       return result;
    }
 
@@ -133,6 +153,8 @@ public static class Builder {
       private long lifespan = 0;
       private Storage storage = Storage.VOLATILE;
       private int concurrencyLevel = 16;
+      private long flushInterval = 0;
+      private long flushThreshold = 0;
 
       private Builder(CounterType type) {
          this.type = type;
@@ -215,12 +237,48 @@ public Builder concurrencyLevel(int concurrencyLevel) {
          return this;
       }
 
+      /**
+       * Sets the interval, in milliseconds, to flush the updates accumulated locally.
+       * <p>
+       * Only for {@link CounterType#WEAK}.
+       * <p>
+       * A positive value enables the relaxed mode: {@link WeakCounter#add(long)} accumulates the delta in memory and
+       * completes immediately, without any cluster write. The accumulated delta is added to the counter periodically,
+       * every {@code flushInterval} milliseconds, or as soon as it reaches the {@link #flushThreshold(long)}. The value
+       * returned by {@link WeakCounter#getValue()} includes the local delta not flushed yet, but other nodes only
+       * observe it after the flush, i.e. the value can be stale by up to {@code flushInterval} milliseconds of
+       * updates, plus the replication time. The delta not flushed is lost if the node crashes or stops.
+       * <p>
+       * The default value is 0, which disables the relaxed mode.
+       *
+       * @param flushInterval the new flush interval, in milliseconds.
+       */
+      public Builder flushInterval(long flushInterval) {
+         this.flushInterval = flushInterval;
+         return this;
+      }
+
+      /**
+       * Sets the absolute value of the delta accumulated locally that triggers a flush before the {@link
+       * #flushInterval(long)} elapses.
+       * <p>
+       * Only for {@link CounterType#WEAK} in relaxed mode. It bounds the amount of updates not visible to other nodes.
+       * <p>
+       * The default value is 0, which disables the threshold.
+       *
+       * @param flushThreshold the new flush threshold.
+       */
+      public Builder flushThreshold(long flushThreshold) {
+         this.flushThreshold = flushThreshold;
+         return this;
+      }
+
       /**
        * @return the {@link CounterConfiguration} with this configuration.
        */
       public CounterConfiguration build() {
          return new CounterConfiguration(initialValue, lowerBound, upperBound, concurrencyLevel, type, storage,
-               lifespan);
+               lifespan, flushInterval, flushThreshold);
       }
    }
 
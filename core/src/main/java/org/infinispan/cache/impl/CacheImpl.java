@@ -75,6 +75,7 @@
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.context.impl.SingleKeyNonTxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.distribution.group.impl.GroupManager;
@@ -105,6 +106,7 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.ListenerHolder;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
 import org.infinispan.notifications.cachelistener.filter.CacheEventConverter;
 import org.infinispan.notifications.cachelistener.filter.CacheEventFilter;
 import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
@@ -179,6 +181,8 @@
    private volatile boolean stopping = false;
    private boolean transactional;
    private boolean batchingEnabled;
+   // reused by get(Object) in local non-transactional caches, null otherwise
+   private ThreadLocal<LocalRead> localReads;
    private final ContextBuilder nonTxContextBuilder = this::nonTxContextBuilder;
    private final ContextBuilder defaultBuilder = i -> invocationHelper.createInvocationContextWithImplicitTransaction(i, false);
 
@@ -195,6 +199,9 @@ public void preStart() {
       defaultMetadata = Configurations.newDefaultMetadata(config);
       transactional = config.transaction().transactionMode().isTransactional();
       batchingEnabled = config.invocationBatching().enabled();
+      // without stores a local read completes in the invoking thread, so nothing references the context afterwards
+      localReads = !transactional && !batchingEnabled && !config.clustering().cacheMode().isClustered() &&
+            config.persistence().stores().isEmpty() ? ThreadLocal.withInitial(LocalRead::new) : null;
    }
 
    private void assertKeyNotNull(Object key) {
@@ -533,9 +540,40 @@ public final boolean containsValue(Object value) {
 
    @Override
    public final V get(Object key) {
+      ThreadLocal<LocalRead> reads = localReads;
+      if (reads != null && !notifier.hasListener(CacheEntryVisited.class)) {
+         LocalRead read = reads.get();
+         if (!read.inUse) {
+            return localGet(reads, read, key);
+         }
+      }
       return get(key, EnumUtil.EMPTY_BIT_SET, invocationContextFactory.createInvocationContext(false, 1));
    }
 
+   /**
+    * Reads a key with the thread's {@link LocalRead} instead of allocating a new command and context.
+    * <p>
+    * A nested read in the same thread, e.g. from a cache loader, uses the regular path. If the invocation fails, it
+    * may still be running (e.g. the thread was interrupted), so the {@link LocalRead} is discarded instead of reused.
+    */
+   private V localGet(ThreadLocal<LocalRead> reads, LocalRead read, Object key) {
+      assertKeyNotNull(key);
+      read.inUse = true;
+      read.command.reset(key, keyPartitioner.getSegment(key), EnumUtil.EMPTY_BIT_SET);
+      boolean completed = false;
+      try {
+         V value = invocationHelper.invoke(read.ctx, read.command);
+         completed = true;
+         return value;
+      } finally {
+         if (completed) {
+            read.release();
+         } else {
+            reads.remove();
+         }
+      }
+   }
+
    final V get(Object key, long explicitFlags, InvocationContext ctx) {
       assertKeyNotNull(key);
       GetKeyValueCommand command = commandsFactory.buildGetKeyValueCommand(key, keyPartitioner.getSegment(key), explicitFlags);
@@ -1946,4 +1984,21 @@ public Properties getConfigurationAsProperties() {
    public ContextBuilder defaultContextBuilderForWrite() {
       return defaultBuilder;
    }
+
+   /**
+    * The command and context of a local read, confined to a thread.
+    */
+   private static final class LocalRead {
+      final GetKeyValueCommand command = new GetKeyValueCommand();
+      final SingleKeyNonTxInvocationContext ctx = new SingleKeyNonTxInvocationContext(null);
+      boolean inUse;
+
+      void release() {
+         // don't retain the key and the entry until the next read
+         command.setKey(null);
+         ctx.resetState();
+         ctx.setLockOwner(null);
+         inUse = false;
+      }
+   }
 }
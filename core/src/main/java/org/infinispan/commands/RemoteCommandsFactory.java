@@ -17,6 +17,7 @@
 import org.infinispan.commands.functional.WriteOnlyManyEntriesCommand;
 import org.infinispan.commands.irac.IracCleanupKeysCommand;
 import org.infinispan.commands.irac.IracClearKeysCommand;
+import org.infinispan.commands.irac.IracCompressedPutManyCommand;
 import org.infinispan.commands.irac.IracMetadataRequestCommand;
 import org.infinispan.commands.irac.IracPutManyCommand;
 import org.infinispan.commands.irac.IracRequestStateCommand;
@@ -35,6 +36,7 @@
 import org.infinispan.commands.remote.CheckTransactionRpcCommand;
 import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
+import org.infinispan.commands.remote.ReplicableCommandBatch;
 import org.infinispan.commands.remote.SingleRpcCommand;
 import org.infinispan.commands.remote.recovery.CompleteTransactionCommand;
 import org.infinispan.commands.remote.recovery.GetInDoubtTransactionsCommand;
@@ -271,6 +273,9 @@ public ReplicableCommand fromStream(byte id, byte type) {
             case XSiteViewNotificationCommand.COMMAND_ID:
                command = new XSiteViewNotificationCommand();
                break;
+            case ReplicableCommandBatch.COMMAND_ID:
+               command = new ReplicableCommandBatch();
+               break;
             default:
                throw new CacheException("Unknown command id " + id + "!");
          }
@@ -476,6 +481,9 @@ public CacheRpcCommand fromStream(byte id, byte type, ByteString cacheName) {
             case IracPutManyCommand.COMMAND_ID:
                command = new IracPutManyCommand(cacheName);
                break;
+            case IracCompressedPutManyCommand.COMMAND_ID:
+               command = new IracCompressedPutManyCommand(cacheName);
+               break;
             case SizeCommand.COMMAND_ID:
                command = new SizeCommand(cacheName);
                break;
@@ -0,0 +1,162 @@
+package org.infinispan.commands.irac;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.commons.io.UnsignedNumeric;
+import org.infinispan.commons.marshall.MarshallUtil;
+import org.infinispan.commons.marshall.Marshaller;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.util.ByteString;
+import org.infinispan.xsite.BackupReceiver;
+
+/**
+ * A compressed {@link IracPutManyCommand}.
+ * <p>
+ * The {@link IracPutManyCommand} is marshalled and compressed by the sender, and it is decompressed and unmarshalled in
+ * the remote site before being executed. It is used for the remote sites configured with compression, where the
+ * network between the sites is the bottleneck.
+ *
+ * @since 15.0
+ */
+public class IracCompressedPutManyCommand extends IracUpdateKeyCommand<IntSet> {
+
+   public static final byte COMMAND_ID = 113;
+
+   private byte[] compressedCommand;
+   private int uncompressedSize;
+
+   @SuppressWarnings("unused")
+   public IracCompressedPutManyCommand() {
+      super(COMMAND_ID, null);
+   }
+
+   public IracCompressedPutManyCommand(ByteString cacheName) {
+      super(COMMAND_ID, cacheName);
+   }
+
+   public IracCompressedPutManyCommand(ByteString cacheName, byte[] command) {
+      super(COMMAND_ID, cacheName);
+      this.compressedCommand = compress(command);
+      this.uncompressedSize = command.length;
+   }
+
+   @Override
+   public CompletionStage<IntSet> performInLocalSite(ComponentRegistry registry, boolean preserveOrder) {
+      IracPutManyCommand command;
+      try {
+         command = (IracPutManyCommand) registry.getInternalMarshaller().objectFromByteBuffer(decompress());
+      } catch (Throwable t) {
+         return CompletableFuture.failedFuture(t);
+      }
+      command.setOriginSite(originSite);
+      return command.performInLocalSite(registry, preserveOrder);
+   }
+
+   @Override
+   public CompletionStage<IntSet> executeOperation(BackupReceiver receiver) {
+      // the command needs to be decompressed first
+      throw new IllegalStateException();
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   /**
+    * @return the size, in bytes, of the marshalled {@link IracPutManyCommand}.
+    */
+   public int getUncompressedSize() {
+      return uncompressedSize;
+   }
+
+   /**
+    * @return the size, in bytes, of the compressed {@link IracPutManyCommand}.
+    */
+   public int getCompressedSize() {
+      return compressedCommand.length;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      UnsignedNumeric.writeUnsignedInt(output, uncompressedSize);
+      MarshallUtil.marshallByteArray(compressedCommand, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException {
+      uncompressedSize = UnsignedNumeric.readUnsignedInt(input);
+      compressedCommand = MarshallUtil.unmarshallByteArray(input);
+   }
+
+   @Override
+   public String toString() {
+      return "IracCompressedPutManyCommand{" +
+            "cacheName=" + cacheName +
+            ", originSite='" + originSite + '\'' +
+            ", uncompressedSize=" + uncompressedSize +
+            ", compressedSize=" + (compressedCommand == null ? 0 : compressedCommand.length) +
+            '}';
+   }
+
+   /**
+    * Creates the {@link IracCompressedPutManyCommand} for an {@link IracPutManyCommand}.
+    *
+    * @param marshaller The marshaller used to unmarshall the command in the remote site.
+    * @return The compressed command.
+    */
+   public static IracCompressedPutManyCommand compress(IracPutManyCommand command, Marshaller marshaller)
+         throws IOException, InterruptedException {
+      return new IracCompressedPutManyCommand(command.getCacheName(), marshaller.objectToByteBuffer(command));
+   }
+
+   private static byte[] compress(byte[] bytes) {
+      // the cross-site link is the bottleneck, but the compression must keep up with the writes
+      Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+      try {
+         deflater.setInput(bytes);
+         deflater.finish();
+         ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, bytes.length / 2));
+         byte[] buffer = new byte[Math.min(bytes.length + 64, 8192)];
+         while (!deflater.finished()) {
+            output.write(buffer, 0, deflater.deflate(buffer));
+         }
+         return output.toByteArray();
+      } finally {
+         deflater.end();
+      }
+   }
+
+   private byte[] decompress() throws IOException {
+      Inflater inflater = new Inflater();
+      try {
+         inflater.setInput(compressedCommand);
+         byte[] bytes = new byte[uncompressedSize];
+         int offset = 0;
+         while (offset < uncompressedSize && !inflater.finished()) {
+            int inflated = inflater.inflate(bytes, offset, uncompressedSize - offset);
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+               break;
+            }
+            offset += inflated;
+         }
+         if (offset != uncompressedSize) {
+            throw new IOException("Truncated command: expected " + uncompressedSize + " bytes but got " + offset);
+         }
+         return bytes;
+      } catch (DataFormatException e) {
+         throw new IOException(e);
+      } finally {
+         inflater.end();
+      }
+   }
+}
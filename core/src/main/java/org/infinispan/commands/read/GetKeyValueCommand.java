@@ -29,6 +29,18 @@ public GetKeyValueCommand(Object key, int segment, long flagsBitSet) {
    public GetKeyValueCommand() {
    }
 
+   /**
+    * Prepares the command to read another key, so a local invocation can reuse the same instance.
+    * <p>
+    * It must only be used after the previous invocation has completed.
+    */
+   public void reset(Object key, int segment, long flagsBitSet) {
+      this.key = key;
+      this.segment = segment;
+      setFlagsBitSet(flagsBitSet);
+      setTopologyId(-1);
+   }
+
    @Override
    public Object acceptVisitor(InvocationContext ctx, Visitor visitor) throws Throwable {
       return visitor.visitGetKeyValueCommand(ctx, this);
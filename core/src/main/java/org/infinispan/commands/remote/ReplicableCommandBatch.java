@@ -0,0 +1,63 @@
+package org.infinispan.commands.remote;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.marshall.MarshallUtil;
+
+/**
+ * Carries several commands that do not expect a response and are sent to the same destination in a single message.
+ * <p>
+ * It is never invoked: {@link org.infinispan.remoting.inboundhandler.GlobalInboundInvocationHandler} handles each of
+ * the commands in order, as if they were received in separate messages.
+ *
+ * @since 15.0
+ */
+public class ReplicableCommandBatch implements ReplicableCommand {
+
+   public static final byte COMMAND_ID = 123;
+
+   private List<ReplicableCommand> commands;
+
+   public ReplicableCommandBatch() {
+   }
+
+   public ReplicableCommandBatch(List<ReplicableCommand> commands) {
+      this.commands = commands;
+   }
+
+   public List<ReplicableCommand> getCommands() {
+      return commands;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return false;
+   }
+
+   @Override
+   public void writeTo(ObjectOutput output) throws IOException {
+      MarshallUtil.marshallCollection(commands, output);
+   }
+
+   @Override
+   public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
+      commands = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+   }
+
+   @Override
+   public String toString() {
+      return "ReplicableCommandBatch{" +
+            "commands=" + commands +
+            '}';
+   }
+}
@@ -17,10 +17,11 @@ public class BackupConfiguration extends ConfigurationElement<BackupConfiguratio
    public static final AttributeDefinition<BackupFailurePolicy> FAILURE_POLICY = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.BACKUP_FAILURE_POLICY, BackupFailurePolicy.WARN).build();
    public static final AttributeDefinition<String> FAILURE_POLICY_CLASS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.FAILURE_POLICY_CLASS, null, String.class).immutable().build();
    public static final AttributeDefinition<Boolean> USE_TWO_PHASE_COMMIT = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.USE_TWO_PHASE_COMMIT, false).immutable().build();
+   public static final AttributeDefinition<Boolean> COMPRESSION = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.COMPRESSION, false).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(BackupConfiguration.class, Element.BACKUP.toString(), null,
-            new AttributeDefinition[]{SITE, STRATEGY, REPLICATION_TIMEOUT, FAILURE_POLICY, FAILURE_POLICY_CLASS, USE_TWO_PHASE_COMMIT},
+            new AttributeDefinition[]{SITE, STRATEGY, REPLICATION_TIMEOUT, FAILURE_POLICY, FAILURE_POLICY_CLASS, USE_TWO_PHASE_COMMIT, COMPRESSION},
             new AttributeSet.RemovedAttribute[]{new AttributeSet.RemovedAttribute(Attribute.ENABLED, 15, 0)});
    }
 
@@ -91,6 +92,13 @@ public boolean isTwoPhaseCommit() {
       return attributes.attribute(USE_TWO_PHASE_COMMIT).get();
    }
 
+   /**
+    * @see BackupConfigurationBuilder#compression(boolean)
+    */
+   public boolean compression() {
+      return attributes.attribute(COMPRESSION).get();
+   }
+
    /**
     * @see BackupConfigurationBuilder#enabled(boolean).
     * @deprecated Since 14.0. To be removed without replacement.
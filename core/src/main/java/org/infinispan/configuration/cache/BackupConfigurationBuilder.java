@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.BackupConfiguration.COMPRESSION;
 import static org.infinispan.configuration.cache.BackupConfiguration.FAILURE_POLICY;
 import static org.infinispan.configuration.cache.BackupConfiguration.FAILURE_POLICY_CLASS;
 import static org.infinispan.configuration.cache.BackupConfiguration.REPLICATION_TIMEOUT;
@@ -112,6 +113,15 @@ public BackupConfigurationBuilder useTwoPhaseCommit(boolean useTwoPhaseCommit) {
       return this;
    }
 
+   /**
+    * Compresses the batches of updates sent to this site by the asynchronous backup strategy. It trades CPU for
+    * bandwidth, and it is useful when the network between the sites is the bottleneck. Defaults to {@code false}.
+    */
+   public BackupConfigurationBuilder compression(boolean compression) {
+      attributes.attribute(COMPRESSION).set(compression);
+      return this;
+   }
+
    /**
     * Configures whether this site is used for backing up data or not (defaults to true).
     * @deprecated Since 14.0. To be removed without replacement.
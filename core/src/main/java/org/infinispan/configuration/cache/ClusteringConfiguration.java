@@ -20,13 +20,19 @@ public class ClusteringConfiguration extends ConfigurationElement<ClusteringConf
    public static final AttributeDefinition<CacheMode> CACHE_MODE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MODE, CacheMode.LOCAL).immutable().build();
    public static final AttributeDefinition<Long> REMOTE_TIMEOUT =
          AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.REMOTE_TIMEOUT, TimeUnit.SECONDS.toMillis(15)).build();
+   public static final AttributeDefinition<Integer> REMOTE_COMMAND_CONCURRENCY =
+         AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.REMOTE_COMMAND_CONCURRENCY, 0).immutable().build();
+   public static final AttributeDefinition<Boolean> READ_FROM_ANY_OWNER =
+         AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.READ_FROM_ANY_OWNER, false).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT);
+      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, REMOTE_COMMAND_CONCURRENCY, READ_FROM_ANY_OWNER);
    }
 
    private final Attribute<CacheMode> cacheMode;
    private final Attribute<Long> remoteTimeout;
+   private final Attribute<Integer> remoteCommandConcurrency;
+   private final Attribute<Boolean> readFromAnyOwner;
    private final HashConfiguration hashConfiguration;
    private final L1Configuration l1Configuration;
    private final StateTransferConfiguration stateTransferConfiguration;
@@ -38,6 +44,8 @@ static AttributeSet attributeDefinitionSet() {
       super(Element.CLUSTERING, attributes, hashConfiguration, l1Configuration, stateTransferConfiguration, partitionHandlingStrategy);
       this.cacheMode = attributes.attribute(CACHE_MODE);
       this.remoteTimeout = attributes.attribute(REMOTE_TIMEOUT);
+      this.remoteCommandConcurrency = attributes.attribute(REMOTE_COMMAND_CONCURRENCY);
+      this.readFromAnyOwner = attributes.attribute(READ_FROM_ANY_OWNER);
       this.hashConfiguration = hashConfiguration;
       this.l1Configuration = l1Configuration;
       this.stateTransferConfiguration = stateTransferConfiguration;
@@ -67,6 +75,23 @@ public void remoteTimeout(long timeoutMillis) {
       remoteTimeout.set(timeoutMillis);
    }
 
+   /**
+    * The maximum number of remote commands of this cache that can run concurrently in the blocking executor.
+    * When the limit is reached, the commands wait in the priority, default or bulk lane and the lanes are drained
+    * with a weighted round-robin. {@code 0} means no limit.
+    */
+   public int remoteCommandConcurrency() {
+      return remoteCommandConcurrency.get();
+   }
+
+   /**
+    * If {@code true}, a node that does not own a key sends its reads to a random owner first, instead of the primary
+    * owner, so the reads of a hot key are spread over all its owners. The owners always read their local copy.
+    */
+   public boolean readFromAnyOwner() {
+      return readFromAnyOwner.get();
+   }
+
    /**
     * Configures cluster's behaviour in the presence of partitions or node failures.
     */
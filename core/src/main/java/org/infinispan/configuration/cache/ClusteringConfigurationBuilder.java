@@ -1,6 +1,8 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.ClusteringConfiguration.CACHE_MODE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.READ_FROM_ANY_OWNER;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.REMOTE_COMMAND_CONCURRENCY;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.REMOTE_TIMEOUT;
 import static org.infinispan.util.logging.Log.CONFIG;
 
@@ -69,6 +71,27 @@ public ClusteringConfigurationBuilder remoteTimeout(long l, TimeUnit unit) {
       return remoteTimeout(unit.toMillis(l));
    }
 
+   /**
+    * The maximum number of remote commands of this cache that can run concurrently in the blocking executor, so that
+    * a cache busy with state transfer or streams cannot take all the threads. Topology, lock and read commands are
+    * dispatched ahead of the other commands, and the bulk commands get the smallest share. {@code 0}, the default,
+    * means no limit.
+    */
+   public ClusteringConfigurationBuilder remoteCommandConcurrency(int concurrency) {
+      attributes.attribute(REMOTE_COMMAND_CONCURRENCY).set(concurrency);
+      return this;
+   }
+
+   /**
+    * Sends the remote reads to a random owner first, instead of the primary owner, so the reads of a hot key from
+    * non-owners are spread over all its owners. A backup owner may return the previous value while a write is being
+    * replicated, like the local reads in a backup owner. {@code false} by default.
+    */
+   public ClusteringConfigurationBuilder readFromAnyOwner(boolean readFromAnyOwner) {
+      attributes.attribute(READ_FROM_ANY_OWNER).set(readFromAnyOwner);
+      return this;
+   }
+
    /**
     * Configure hash sub element
     */
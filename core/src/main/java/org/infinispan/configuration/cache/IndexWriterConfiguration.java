@@ -25,10 +25,12 @@ public class IndexWriterConfiguration extends ConfigurationElement<IndexWriterCo
          AttributeDefinition.builder(Attribute.MAX_BUFFERED_ENTRIES, null, Integer.class).immutable().build();
    public static final AttributeDefinition<Boolean> INDEX_LOW_LEVEL_TRACE =
          AttributeDefinition.builder(Attribute.LOW_LEVEL_TRACE, false, Boolean.class).immutable().build();
+   public static final AttributeDefinition<Boolean> INDEX_ASYNC =
+         AttributeDefinition.builder(Attribute.ASYNC, false, Boolean.class).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(IndexWriterConfiguration.class, INDEX_THREAD_POOL_SIZE, INDEX_QUEUE_COUNT, INDEX_QUEUE_SIZE,
-            INDEX_COMMIT_INTERVAL, INDEX_RAM_BUFFER_SIZE, INDEX_MAX_BUFFERED_ENTRIES, INDEX_LOW_LEVEL_TRACE);
+            INDEX_COMMIT_INTERVAL, INDEX_RAM_BUFFER_SIZE, INDEX_MAX_BUFFERED_ENTRIES, INDEX_LOW_LEVEL_TRACE, INDEX_ASYNC);
    }
 
    private final IndexMergeConfiguration indexMergeConfiguration;
@@ -69,4 +71,12 @@ public Integer getMaxBufferedEntries() {
    public Boolean isLowLevelTrace() {
       return attributes.attribute(INDEX_LOW_LEVEL_TRACE).get();
    }
+
+   /**
+    * @return true if the index updates are applied in the background, without delaying the completion of the writes
+    * @since 15.0
+    */
+   public boolean isAsync() {
+      return attributes.attribute(INDEX_ASYNC).get();
+   }
 }
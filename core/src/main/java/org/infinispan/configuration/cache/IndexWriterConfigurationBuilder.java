@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_ASYNC;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_COMMIT_INTERVAL;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_LOW_LEVEL_TRACE;
 import static org.infinispan.configuration.cache.IndexWriterConfiguration.INDEX_MAX_BUFFERED_ENTRIES;
@@ -27,6 +28,7 @@ public class IndexWriterConfigurationBuilder extends AbstractIndexingConfigurati
    private final Attribute<Integer> ramBufferSize;
    private final Attribute<Integer> maxBufferedEntries;
    private final Attribute<Boolean> lowLevelTrace;
+   private final Attribute<Boolean> async;
 
    IndexWriterConfigurationBuilder(IndexingConfigurationBuilder builder) {
       super(builder);
@@ -38,6 +40,7 @@ public class IndexWriterConfigurationBuilder extends AbstractIndexingConfigurati
       this.ramBufferSize = attributes.attribute(INDEX_RAM_BUFFER_SIZE);
       this.maxBufferedEntries = attributes.attribute(INDEX_MAX_BUFFERED_ENTRIES);
       this.lowLevelTrace = attributes.attribute(INDEX_LOW_LEVEL_TRACE);
+      this.async = attributes.attribute(INDEX_ASYNC);
       this.indexMergeConfigurationBuilder = new IndexMergeConfigurationBuilder(builder);
    }
 
@@ -85,6 +88,17 @@ public IndexWriterConfigurationBuilder setLowLevelTrace(boolean value) {
       return this;
    }
 
+   /**
+    * When enabled, the writes do not wait for the index updates they trigger to be applied. The updates are still
+    * submitted to the bounded indexing queues in order, but become visible to queries only after they are processed
+    * and the index readers are refreshed. Use {@code Indexer.refreshLocal()} when a query needs to
+    * see the preceding writes.
+    */
+   public IndexWriterConfigurationBuilder async(boolean value) {
+      async.set(value);
+      return this;
+   }
+
    @Override
    public IndexWriterConfiguration create() {
       return new IndexWriterConfiguration(attributes.protect(), indexMergeConfigurationBuilder.create());
@@ -20,11 +20,12 @@ public class LockingConfiguration extends ConfigurationElement<LockingConfigurat
    public static final AttributeDefinition<IsolationLevel> ISOLATION_LEVEL  = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.ISOLATION, IsolationLevel.REPEATABLE_READ).immutable().build();
    public static final AttributeDefinition<Long> LOCK_ACQUISITION_TIMEOUT  = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.ACQUIRE_TIMEOUT, TimeUnit.SECONDS.toMillis(10)).build();
    public static final AttributeDefinition<Boolean> USE_LOCK_STRIPING = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.STRIPING, false).immutable().build();
+   public static final AttributeDefinition<Long> CONTENTION_LOG_THRESHOLD = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.CONTENTION_LOG_THRESHOLD, 0L).immutable().build();
 
    static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(LockingConfiguration.class, Element.LOCKING.toString(), null,
             new AttributeDefinition[]{
-                  CONCURRENCY_LEVEL, ISOLATION_LEVEL, LOCK_ACQUISITION_TIMEOUT, USE_LOCK_STRIPING
+                  CONCURRENCY_LEVEL, ISOLATION_LEVEL, LOCK_ACQUISITION_TIMEOUT, USE_LOCK_STRIPING, CONTENTION_LOG_THRESHOLD
             },
             new AttributeSet.RemovedAttribute[] { new AttributeSet.RemovedAttribute(org.infinispan.configuration.parsing.Attribute.WRITE_SKEW_CHECK, 10, 0)}
       );
@@ -34,6 +35,7 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<IsolationLevel> isolationLevel;
    private final Attribute<Long> lockAcquisitionTimeout;
    private final Attribute<Boolean> useLockStriping;
+   private final Attribute<Long> contentionLogThreshold;
 
    LockingConfiguration(AttributeSet attributes) {
       super(Element.LOCKING, attributes);
@@ -41,6 +43,7 @@ static AttributeSet attributeDefinitionSet() {
       isolationLevel = attributes.attribute(ISOLATION_LEVEL);
       lockAcquisitionTimeout = attributes.attribute(LOCK_ACQUISITION_TIMEOUT);
       useLockStriping = attributes.attribute(USE_LOCK_STRIPING);
+      contentionLogThreshold = attributes.attribute(CONTENTION_LOG_THRESHOLD);
    }
 
    /**
@@ -82,4 +85,12 @@ public LockingConfiguration lockAcquisitionTimeout(long timeout) {
    public boolean useLockStriping() {
       return useLockStriping.get();
    }
+
+   /**
+    * The time, in milliseconds, a lock acquisition has to wait for a key to be reported in the log as contended. Each
+    * key is reported once until the lock statistics are reset. 0 disables the reporting.
+    */
+   public long contentionLogThreshold() {
+      return contentionLogThreshold.get();
+   }
 }
@@ -1,6 +1,7 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.LockingConfiguration.CONCURRENCY_LEVEL;
+import static org.infinispan.configuration.cache.LockingConfiguration.CONTENTION_LOG_THRESHOLD;
 import static org.infinispan.configuration.cache.LockingConfiguration.ISOLATION_LEVEL;
 import static org.infinispan.configuration.cache.LockingConfiguration.LOCK_ACQUISITION_TIMEOUT;
 import static org.infinispan.configuration.cache.LockingConfiguration.USE_LOCK_STRIPING;
@@ -83,6 +84,22 @@ public LockingConfigurationBuilder useLockStriping(boolean b) {
       return this;
    }
 
+   /**
+    * The time, in milliseconds, a lock acquisition has to wait for a key to be reported in the log as contended. Each
+    * key is reported once until the lock statistics are reset. 0 disables the reporting.
+    */
+   public LockingConfigurationBuilder contentionLogThreshold(long l) {
+      attributes.attribute(CONTENTION_LOG_THRESHOLD).set(l);
+      return this;
+   }
+
+   /**
+    * The time a lock acquisition has to wait for a key to be reported in the log as contended.
+    */
+   public LockingConfigurationBuilder contentionLogThreshold(long l, TimeUnit unit) {
+      return contentionLogThreshold(unit.toMillis(l));
+   }
+
    @Override
    public void validate() {
       Attribute<IsolationLevel> isolationLevel = attributes.attribute(ISOLATION_LEVEL);
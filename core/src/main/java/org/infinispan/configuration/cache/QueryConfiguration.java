@@ -1,5 +1,10 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.commons.configuration.attributes.CollectionAttributeCopier.collectionCopier;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.infinispan.commons.configuration.AbstractTypedPropertiesConfiguration;
 import org.infinispan.commons.configuration.attributes.AttributeDefinition;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
@@ -13,8 +18,21 @@ public class QueryConfiguration extends ConfigurationElement<QueryConfiguration>
 
    public static final AttributeDefinition<Integer> DEFAULT_MAX_RESULTS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.DEFAULT_MAX_RESULTS, 100).immutable().build();
 
+   public static final AttributeDefinition<Set<String>> VALUE_INDEXES = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.VALUE_INDEXES, null, (Class<Set<String>>) (Class<?>) Set.class)
+         .copier(collectionCopier())
+         .initializer(LinkedHashSet::new).immutable().build();
+
+   public static final AttributeDefinition<Integer> RESULT_CACHE_MAX_ENTRIES = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.RESULT_CACHE_MAX_ENTRIES, 0).immutable().build();
+
+   public static final AttributeDefinition<Long> RESULT_CACHE_LIFESPAN = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.RESULT_CACHE_LIFESPAN, 60_000L).immutable().build();
+
+   /**
+    * The separator between the entity type name and the property path in a value index declaration.
+    */
+   public static final char VALUE_INDEX_SEPARATOR = ':';
+
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(QueryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(), DEFAULT_MAX_RESULTS);
+      return new AttributeSet(QueryConfiguration.class, AbstractTypedPropertiesConfiguration.attributeSet(), DEFAULT_MAX_RESULTS, VALUE_INDEXES, RESULT_CACHE_MAX_ENTRIES, RESULT_CACHE_LIFESPAN);
    }
 
    protected QueryConfiguration(AttributeSet attributes) {
@@ -28,4 +46,30 @@ protected QueryConfiguration(AttributeSet attributes) {
    public int defaultMaxResults() {
       return attributes.attribute(DEFAULT_MAX_RESULTS).get();
    }
+
+   /**
+    * The in-memory value indexes declared for non-indexed queries. Each declaration has the form
+    * {@code <entity-type>:<property-path>}, for example {@code com.acme.Person:address.city}.
+    * <p>
+    * The value indexes are only used by the queries on Java entities evaluated by the embedded query engine. The queries
+    * on protobuf entities, such as the remote queries of a server cache, do not use them and scan the whole cache.
+    */
+   public Set<String> valueIndexes() {
+      return attributes.attribute(VALUE_INDEXES).get();
+   }
+
+   /**
+    * The maximum number of query results kept in the result cache of non-indexed queries. The result cache is disabled
+    * when this is 0.
+    */
+   public int resultCacheMaxEntries() {
+      return attributes.attribute(RESULT_CACHE_MAX_ENTRIES).get();
+   }
+
+   /**
+    * The maximum amount of time, in milliseconds, a result is kept in the query result cache.
+    */
+   public long resultCacheLifespan() {
+      return attributes.attribute(RESULT_CACHE_LIFESPAN).get();
+   }
 }
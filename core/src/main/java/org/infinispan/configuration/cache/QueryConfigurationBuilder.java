@@ -1,7 +1,15 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.QueryConfiguration.DEFAULT_MAX_RESULTS;
+import static org.infinispan.configuration.cache.QueryConfiguration.RESULT_CACHE_LIFESPAN;
+import static org.infinispan.configuration.cache.QueryConfiguration.RESULT_CACHE_MAX_ENTRIES;
+import static org.infinispan.configuration.cache.QueryConfiguration.VALUE_INDEXES;
+import static org.infinispan.configuration.cache.QueryConfiguration.VALUE_INDEX_SEPARATOR;
 
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 
@@ -35,6 +43,94 @@ public int defaultMaxResults() {
       return attributes.attribute(DEFAULT_MAX_RESULTS).get();
    }
 
+   /**
+    * Declares an in-memory value index on a property of an entity type. Non-indexed queries having an equality or range
+    * predicate on an indexed property will only evaluate the entries selected by the index instead of scanning the
+    * whole cache. Only the queries on Java entities use the value indexes, the queries on protobuf entities always scan
+    * the whole cache.
+    *
+    * @param entityTypeName the fully qualified name of the entity's Java class
+    * @param propertyPath   the '.' separated path of the property to index
+    * @return <code>this</code>, for method chaining
+    */
+   public QueryConfigurationBuilder addValueIndex(String entityTypeName, String propertyPath) {
+      if (entityTypeName == null || entityTypeName.isEmpty() || propertyPath == null || propertyPath.isEmpty()) {
+         throw new CacheConfigurationException("Entity type name and property path must not be null or empty");
+      }
+      return addValueIndexes(entityTypeName + VALUE_INDEX_SEPARATOR + propertyPath);
+   }
+
+   /**
+    * Declares in-memory value indexes, each one in the form {@code <entity-type>:<property-path>}.
+    *
+    * @param valueIndexes the value index declarations
+    * @return <code>this</code>, for method chaining
+    */
+   public QueryConfigurationBuilder addValueIndexes(String... valueIndexes) {
+      Set<String> valueIndexSet = valueIndexes();
+      for (String valueIndex : valueIndexes) {
+         int separator = valueIndex == null ? -1 : valueIndex.lastIndexOf(VALUE_INDEX_SEPARATOR);
+         if (separator <= 0 || separator == valueIndex.length() - 1) {
+            throw new CacheConfigurationException("Invalid value index '" + valueIndex + "', expected <entity-type>" + VALUE_INDEX_SEPARATOR + "<property-path>");
+         }
+         valueIndexSet.add(valueIndex);
+      }
+      attributes.attribute(VALUE_INDEXES).set(valueIndexSet);
+      return this;
+   }
+
+   public Set<String> valueIndexes() {
+      return attributes.attribute(VALUE_INDEXES).get();
+   }
+
+   /**
+    * Enables the result cache of non-indexed queries, keeping at most the given number of results. A cached result is
+    * discarded as soon as an entry matching the query filter is written. The result cache is disabled when this is 0.
+    *
+    * @param maxEntries the maximum number of cached results
+    * @return <code>this</code>, for method chaining
+    */
+   public QueryConfigurationBuilder resultCacheMaxEntries(int maxEntries) {
+      attributes.attribute(RESULT_CACHE_MAX_ENTRIES).set(maxEntries);
+      return this;
+   }
+
+   public int resultCacheMaxEntries() {
+      return attributes.attribute(RESULT_CACHE_MAX_ENTRIES).get();
+   }
+
+   /**
+    * The maximum amount of time, in milliseconds, a result is kept in the query result cache.
+    *
+    * @param lifespan the lifespan of the cached results, in milliseconds
+    * @return <code>this</code>, for method chaining
+    */
+   public QueryConfigurationBuilder resultCacheLifespan(long lifespan) {
+      attributes.attribute(RESULT_CACHE_LIFESPAN).set(lifespan);
+      return this;
+   }
+
+   /**
+    * The maximum amount of time a result is kept in the query result cache.
+    *
+    * @param lifespan the lifespan of the cached results
+    * @param unit     the unit of the lifespan
+    * @return <code>this</code>, for method chaining
+    */
+   public QueryConfigurationBuilder resultCacheLifespan(long lifespan, TimeUnit unit) {
+      return resultCacheLifespan(unit.toMillis(lifespan));
+   }
+
+   @Override
+   public void validate() {
+      if (attributes.attribute(RESULT_CACHE_MAX_ENTRIES).get() < 0) {
+         throw new CacheConfigurationException("The query result cache max entries cannot be negative");
+      }
+      if (attributes.attribute(RESULT_CACHE_LIFESPAN).get() <= 0) {
+         throw new CacheConfigurationException("The query result cache lifespan must be positive");
+      }
+   }
+
    @Override
    public QueryConfiguration create() {
       return new QueryConfiguration(attributes.protect());
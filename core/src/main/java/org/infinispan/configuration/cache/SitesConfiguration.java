@@ -41,9 +41,12 @@ public class SitesConfiguration extends ConfigurationElement<SitesConfiguration>
          .validator(greaterThanZero(org.infinispan.configuration.parsing.Attribute.TOMBSTONE_MAP_SIZE))
          .immutable()
          .build();
+   public static final AttributeDefinition<Integer> MAX_PENDING_KEYS = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MAX_PENDING_KEYS, -1)
+         .immutable()
+         .build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(SitesConfiguration.class, MERGE_POLICY, MAX_CLEANUP_DELAY, TOMBSTONE_MAP_SIZE);
+      return new AttributeSet(SitesConfiguration.class, MERGE_POLICY, MAX_CLEANUP_DELAY, TOMBSTONE_MAP_SIZE, MAX_PENDING_KEYS);
    }
 
    private final BackupForConfiguration backupFor;
@@ -179,6 +182,15 @@ public int tombstoneMapSize() {
       return attributes.attribute(TOMBSTONE_MAP_SIZE).get();
    }
 
+   /**
+    * @return The maximum number of keys kept in memory waiting to be sent to the asynchronous backup sites, or a
+    * non-positive value if unbounded.
+    * @see SitesConfigurationBuilder#maxPendingKeys(int)
+    */
+   public int maxPendingKeys() {
+      return attributes.attribute(MAX_PENDING_KEYS).get();
+   }
+
    @SuppressWarnings("rawtypes")
    private enum MergePolicyAttributeUtil implements AttributeCopier<XSiteEntryMergePolicy>,
          AttributeSerializer<XSiteEntryMergePolicy>,
@@ -108,6 +108,23 @@ public SitesConfigurationBuilder tombstoneMapSize(int value) {
       return this;
    }
 
+   /**
+    * Sets the maximum number of keys kept in memory waiting to be sent to the asynchronous backup sites.
+    * <p>
+    * When a backup site is slow or unreachable, the updated keys are queued in memory. Above this limit, the keys are no
+    * longer queued and only their segment is remembered. The updates are still stored in the data container and cache
+    * stores, and the keys of those segments are reloaded from there when the queue drains.
+    * <p>
+    * A non-positive value, the default, does not limit the number of keys.
+    *
+    * @param value The maximum number of keys.
+    * @return {@code this}.
+    */
+   public SitesConfigurationBuilder maxPendingKeys(int value) {
+      attributes.attribute(SitesConfiguration.MAX_PENDING_KEYS).set(value);
+      return this;
+   }
+
    @Override
    public void validate() {
       backupForBuilder.validate();
@@ -18,15 +18,18 @@ public class XSiteStateTransferConfiguration extends ConfigurationElement<XSiteS
    public static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis(20);
    public static final int DEFAULT_MAX_RETRIES = 30;
    public static final long DEFAULT_WAIT_TIME = TimeUnit.SECONDS.toMillis(2);
+   public static final int DEFAULT_SEGMENT_PARALLELISM = 1;
 
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.CHUNK_SIZE, DEFAULT_CHUNK_SIZE).immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.TIMEOUT, DEFAULT_TIMEOUT).build();
    public static final AttributeDefinition<Integer> MAX_RETRIES = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MAX_RETRIES, DEFAULT_MAX_RETRIES).build();
    public static final AttributeDefinition<Long> WAIT_TIME = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.WAIT_TIME, DEFAULT_WAIT_TIME).build();
+   public static final AttributeDefinition<Integer> SEGMENT_PARALLELISM = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.SEGMENT_PARALLELISM, DEFAULT_SEGMENT_PARALLELISM).immutable().build();
+   public static final AttributeDefinition<Long> CHUNK_SIZE_BYTES = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.CHUNK_SIZE_BYTES, -1L).immutable().build();
    public static final AttributeDefinition<XSiteStateTransferMode> MODE = AttributeDefinition.builder(org.infinispan.configuration.parsing.Attribute.MODE, XSiteStateTransferMode.MANUAL).build();
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(XSiteStateTransferConfiguration.class, CHUNK_SIZE, TIMEOUT, MAX_RETRIES, WAIT_TIME, MODE);
+      return new AttributeSet(XSiteStateTransferConfiguration.class, CHUNK_SIZE, TIMEOUT, MAX_RETRIES, WAIT_TIME, MODE, SEGMENT_PARALLELISM, CHUNK_SIZE_BYTES);
    }
 
    public XSiteStateTransferConfiguration(AttributeSet attributes) {
@@ -52,4 +55,12 @@ public long waitTime() {
    public XSiteStateTransferMode mode() {
       return attributes.attribute(MODE).get();
    }
+
+   public int segmentParallelism() {
+      return attributes.attribute(SEGMENT_PARALLELISM).get();
+   }
+
+   public long chunkSizeBytes() {
+      return attributes.attribute(CHUNK_SIZE_BYTES).get();
+   }
 }
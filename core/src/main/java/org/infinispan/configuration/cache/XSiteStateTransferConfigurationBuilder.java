@@ -1,8 +1,10 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.CHUNK_SIZE;
+import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.CHUNK_SIZE_BYTES;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.MAX_RETRIES;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.MODE;
+import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.SEGMENT_PARALLELISM;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.TIMEOUT;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.WAIT_TIME;
 import static org.infinispan.util.logging.Log.CONFIG;
@@ -46,6 +48,9 @@ public void validate() {
       if (attributes.attribute(WAIT_TIME).get() <= 0) {
          throw CONFIG.invalidXSiteStateTransferWaitTime();
       }
+      if (attributes.attribute(SEGMENT_PARALLELISM).get() <= 0) {
+         throw CONFIG.invalidXSiteStateTransferSegmentParallelism();
+      }
       XSiteStateTransferMode mode = attributes.attribute(MODE).get();
       if (mode == null) {
          throw CONFIG.invalidXSiteStateTransferMode();
@@ -107,6 +112,26 @@ public final XSiteStateTransferConfigurationBuilder mode(XSiteStateTransferMode
       return this;
    }
 
+   /**
+    * The number of segments sent concurrently by each node. Each node sends the state of its primary segments and a
+    * segment is the unit of progress: if the state transfer fails or it is cancelled, the next state transfer does not
+    * send the segments already sent, as long as the backup site is not taken offline. Default value is 1.
+    */
+   public final XSiteStateTransferConfigurationBuilder segmentParallelism(int segmentParallelism) {
+      attributes.attribute(SEGMENT_PARALLELISM).set(segmentParallelism);
+      return this;
+   }
+
+   /**
+    * If &gt; 0, limits the estimated size, in bytes, of the keys and values in each batch, in addition to {@link
+    * #chunkSize(int)}. The size is only known for keys and values stored in binary format, and a fixed estimate is used
+    * for others. If &lt;= 0, the batches are limited by the number of cache entries only. Defaults to -1.
+    */
+   public final XSiteStateTransferConfigurationBuilder chunkSizeBytes(long chunkSizeBytes) {
+      attributes.attribute(CHUNK_SIZE_BYTES).set(chunkSizeBytes);
+      return this;
+   }
+
    public final BackupConfigurationBuilder backup() {
       return backupConfigurationBuilder;
    }
@@ -20,6 +20,7 @@ public enum Attribute {
     ALIASES,
     @Deprecated
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
+    ASYNC,
     @Deprecated
     ASYNC_EXECUTOR,
     @Deprecated
@@ -40,16 +41,19 @@ public enum Attribute {
     CAPACITY,
     CAPACITY_FACTOR,
     CHUNK_SIZE,
+    CHUNK_SIZE_BYTES,
     CLASS,
     CLUSTER,
     COMMIT_INTERVAL,
     COMPACTION_THRESHOLD,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    COMPRESSION,
     CONCURRENCY_LEVEL,
     CONFIGURATION,
     CONNECTION_ATTEMPTS,
     CONNECTION_INTERVAL,
     CONSISTENT_HASH_FACTORY,
+    CONTENTION_LOG_THRESHOLD,
     CONTEXT_INITIALIZER,
     CORE_THREADS,
     DATA_CONTAINER,
@@ -111,6 +115,7 @@ public enum Attribute {
     MAX_FILE_SIZE,
     MAX_IDLE,
     MAX_NODE_SIZE,
+    MAX_PENDING_KEYS,
     MAX_RETRIES,
     MIN_SIZE,
     MAX_BUFFERED_ENTRIES,
@@ -152,18 +157,23 @@ public enum Attribute {
     RACK_ID("rack"),
     RAM_BUFFER_SIZE,
     RAFT_MEMBERS,
+    READ_FROM_ANY_OWNER,
     READ_ONLY,
     REAPER_WAKE_UP_INTERVAL("reaper-interval"),
     RECOVERY_INFO_CACHE_NAME("recovery-cache"),
     REFRESH_INTERVAL,
     RELATIVE_TO,
     REMOTE_CACHE,
+    REMOTE_COMMAND_CONCURRENCY,
     REMOTE_COMMAND_EXECUTOR,
     REMOTE_SITE,
     REMOTE_TIMEOUT,
     @Deprecated
     REPLICATION_QUEUE_EXECUTOR,
+    RESULT_CACHE_LIFESPAN,
+    RESULT_CACHE_MAX_ENTRIES,
     ROLES,
+    SEGMENT_PARALLELISM,
     SEGMENTED,
     SEGMENTS,
     SHARDS,
@@ -212,6 +222,7 @@ public enum Attribute {
     USE_TWO_PHASE_COMMIT("two-phase-commit"),
     VALUE,
     VALUE_EQUIVALENCE,
+    VALUE_INDEXES,
     VERSION,
     VERSIONING_SCHEME("scheme"),
     WAIT_TIME,
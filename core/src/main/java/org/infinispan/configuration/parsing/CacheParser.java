@@ -957,6 +957,14 @@ private void parseClusteredCacheAttribute(ConfigurationReader reader,
             builder.clustering().remoteTimeout(ParseUtils.parseLong(reader, index, value));
             break;
          }
+         case REMOTE_COMMAND_CONCURRENCY: {
+            builder.clustering().remoteCommandConcurrency(ParseUtils.parseInt(reader, index, value));
+            break;
+         }
+         case READ_FROM_ANY_OWNER: {
+            builder.clustering().readFromAnyOwner(ParseUtils.parseBoolean(reader, index, value));
+            break;
+         }
          default: {
             this.parseCacheAttribute(reader, index, attribute, value, builder);
          }
@@ -1646,6 +1654,15 @@ private void parseQuery(ConfigurationReader reader, ConfigurationBuilderHolder h
             case DEFAULT_MAX_RESULTS:
                builder.query().defaultMaxResults(ParseUtils.parseInt(reader, i, value));
                break;
+            case VALUE_INDEXES:
+               builder.query().addValueIndexes(reader.getListAttributeValue(i));
+               break;
+            case RESULT_CACHE_MAX_ENTRIES:
+               builder.query().resultCacheMaxEntries(ParseUtils.parseInt(reader, i, value));
+               break;
+            case RESULT_CACHE_LIFESPAN:
+               builder.query().resultCacheLifespan(ParseUtils.parseLong(reader, i, value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -600,6 +600,8 @@ private void writeCommonClusteredCacheAttributes(ConfigurationWriter writer, Con
       ClusteringConfiguration clustering = configuration.clustering();
       writer.writeAttribute(Attribute.MODE, clustering.cacheMode().isSynchronous() ? "SYNC" : "ASYNC");
       clustering.attributes().write(writer, ClusteringConfiguration.REMOTE_TIMEOUT, Attribute.REMOTE_TIMEOUT);
+      clustering.attributes().write(writer, ClusteringConfiguration.REMOTE_COMMAND_CONCURRENCY, Attribute.REMOTE_COMMAND_CONCURRENCY);
+      clustering.attributes().write(writer, ClusteringConfiguration.READ_FROM_ANY_OWNER, Attribute.READ_FROM_ANY_OWNER);
    }
 
    private void writeCommonCacheAttributesElements(ConfigurationWriter writer, String name, Configuration configuration) {
@@ -683,6 +685,11 @@ private void writeQuery(ConfigurationWriter writer, Configuration configuration)
       if (attributes.isModified()) {
          writer.writeStartElement(Element.QUERY);
          attributes.write(writer, QueryConfiguration.DEFAULT_MAX_RESULTS, Attribute.DEFAULT_MAX_RESULTS);
+         attributes.write(writer, QueryConfiguration.RESULT_CACHE_MAX_ENTRIES, Attribute.RESULT_CACHE_MAX_ENTRIES);
+         attributes.write(writer, QueryConfiguration.RESULT_CACHE_LIFESPAN, Attribute.RESULT_CACHE_LIFESPAN);
+         if (!query.valueIndexes().isEmpty()) {
+            writer.writeAttribute(Attribute.VALUE_INDEXES, query.valueIndexes());
+         }
          writer.writeEndElement();
       }
    }
@@ -717,6 +724,7 @@ private void writeIndexing(ConfigurationWriter writer, Configuration configurati
          boolean indexMergeModified = mergeAttributes.isModified();
          if (indexWriterModified || indexMergeModified) {
             writer.writeStartElement(Element.INDEX_WRITER);
+            writerAttributes.write(writer, IndexWriterConfiguration.INDEX_ASYNC, Attribute.ASYNC);
             writerAttributes.write(writer, IndexWriterConfiguration.INDEX_COMMIT_INTERVAL, Attribute.COMMIT_INTERVAL);
             writerAttributes.write(writer, IndexWriterConfiguration.INDEX_LOW_LEVEL_TRACE, Attribute.LOW_LEVEL_TRACE);
             writerAttributes.write(writer, IndexWriterConfiguration.INDEX_MAX_BUFFERED_ENTRIES, Attribute.MAX_BUFFERED_ENTRIES);
@@ -235,6 +235,15 @@ public void sendStateTo(Address requestor, IntSet segments) {
             .subscribe(helper);
    }
 
+   @Override
+   public void forEachTombstone(IntSet segments, Consumer<? super IracTombstoneInfo> consumer) {
+      for (IracTombstoneInfo tombstone : tombstoneMap.values()) {
+         if (segments.contains(tombstone.getSegment())) {
+            consumer.accept(tombstone);
+         }
+      }
+   }
+
    @Override
    public void checkStaleTombstone(Collection<? extends IracTombstoneInfo> tombstones) {
       boolean trace = log.isTraceEnabled();
@@ -1,6 +1,7 @@
 package org.infinispan.container.versioning.irac;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.infinispan.commands.irac.IracTombstoneCleanupCommand;
 import org.infinispan.commons.util.IntSet;
@@ -103,6 +104,14 @@ default void storeTombstoneIfAbsent(int segment, Object key, IracMetadata metada
     */
    void sendStateTo(Address requestor, IntSet segments);
 
+   /**
+    * Invokes the {@code consumer} for each tombstone belonging to the segments in {@code segments}.
+    *
+    * @param segments The segments.
+    * @param consumer The {@link Consumer} to invoke.
+    */
+   void forEachTombstone(IntSet segments, Consumer<? super IracTombstoneInfo> consumer);
+
    /**
     * It receives a {@link Collection} of {@link IracTombstoneInfo} and sends {@link IracTombstoneCleanupCommand} for
     * the tombstone no longer valid.
@@ -1,6 +1,7 @@
 package org.infinispan.container.versioning.irac;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.metadata.impl.IracMetadata;
@@ -74,6 +75,11 @@ public void sendStateTo(Address requestor, IntSet segments) {
       //no-op
    }
 
+   @Override
+   public void forEachTombstone(IntSet segments, Consumer<? super IracTombstoneInfo> consumer) {
+      //no-op
+   }
+
    @Override
    public void checkStaleTombstone(Collection<? extends IracTombstoneInfo> tombstones) {
       //no-op
@@ -317,6 +317,22 @@ protected void postStop() {
       // Do nothing, ModulesOuterLifecycle invokes modulesManagerStopped automatically
    }
 
+   /**
+    * Invokes {@link ModuleLifecycle#cachesStopping(GlobalComponentRegistry)}, before the caches are stopped.
+    */
+   public void modulesCachesStopping() {
+      for (ModuleLifecycle l : moduleLifecycles) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Invoking %s.cachesStopping()", l);
+         }
+         try {
+            l.cachesStopping(this);
+         } catch (Throwable t) {
+            CONTAINER.moduleStopError(l.getClass().getName(), t);
+         }
+      }
+   }
+
    private void modulesManagerStopping() {
       for (ModuleLifecycle l : moduleLifecycles) {
          if (log.isTraceEnabled()) {
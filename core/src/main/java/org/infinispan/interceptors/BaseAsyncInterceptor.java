@@ -11,6 +11,7 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.interceptors.impl.PassThroughInterceptors;
 import org.infinispan.interceptors.impl.SimpleAsyncInvocationStage;
 import org.infinispan.util.concurrent.CompletionStages;
 
@@ -28,17 +29,47 @@ public abstract class BaseAsyncInterceptor implements AsyncInterceptor {
    @Inject protected Configuration cacheConfiguration;
    private AsyncInterceptor nextInterceptor;
    private DDAsyncInterceptor nextDDInterceptor;
+   // the next interceptor that is not pass-through, per command type, or null if there is nothing to skip
+   private AsyncInterceptor[] nextInterceptorByCommandType;
 
    /**
     * Used internally to set up the interceptor.
+    * <p>
+    * The interceptors after {@code nextInterceptor} must be set up already, so the interceptors that only invoke the
+    * next interceptor for a command type can be skipped.
     */
    @Override
    public final void setNextInterceptor(AsyncInterceptor nextInterceptor) {
+      this.nextInterceptorByCommandType = skipPassThrough(nextInterceptor);
       this.nextInterceptor = nextInterceptor;
       this.nextDDInterceptor =
             nextInterceptor instanceof DDAsyncInterceptor ? (DDAsyncInterceptor) nextInterceptor : null;
    }
 
+   private static AsyncInterceptor[] skipPassThrough(AsyncInterceptor nextInterceptor) {
+      if (!(nextInterceptor instanceof BaseAsyncInterceptor)) {
+         return null;
+      }
+      BaseAsyncInterceptor next = (BaseAsyncInterceptor) nextInterceptor;
+      if (next.nextInterceptor == null) {
+         // never skip the last interceptor
+         return null;
+      }
+      AsyncInterceptor[] nextByCommandType = new AsyncInterceptor[PassThroughInterceptors.commandTypes()];
+      boolean skipped = false;
+      for (int i = 0; i < nextByCommandType.length; i++) {
+         if (PassThroughInterceptors.isPassThrough(next, i)) {
+            nextByCommandType[i] = next.nextInterceptorByCommandType != null ?
+                  next.nextInterceptorByCommandType[i] :
+                  next.nextInterceptor;
+            skipped = true;
+         } else {
+            nextByCommandType[i] = next;
+         }
+      }
+      return skipped ? nextByCommandType : null;
+   }
+
    /**
     * Invoke the next interceptor, possibly with a new command.
     *
@@ -54,16 +85,31 @@ public final void setNextInterceptor(AsyncInterceptor nextInterceptor) {
     */
    public final Object invokeNext(InvocationContext ctx, VisitableCommand command) {
       try {
-         if (nextDDInterceptor != null) {
-            return command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            return nextInterceptor.visitCommand(ctx, command);
-         }
+         return invokeNextInterceptor(ctx, command);
       } catch (Throwable throwable) {
          return new ExceptionSyncInvocationStage(throwable);
       }
    }
 
+   private Object invokeNextInterceptor(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      AsyncInterceptor[] nextByCommandType = this.nextInterceptorByCommandType;
+      if (nextByCommandType != null) {
+         int commandType = PassThroughInterceptors.commandType(command);
+         if (commandType >= 0) {
+            AsyncInterceptor next = nextByCommandType[commandType];
+            if (next instanceof DDAsyncInterceptor) {
+               return command.acceptVisitor(ctx, (DDAsyncInterceptor) next);
+            }
+            return next.visitCommand(ctx, command);
+         }
+      }
+      if (nextDDInterceptor != null) {
+         return command.acceptVisitor(ctx, nextDDInterceptor);
+      } else {
+         return nextInterceptor.visitCommand(ctx, command);
+      }
+   }
+
    /**
     * Invoke the next interceptor, possibly with a new command, and execute an {@link InvocationCallback}
     * after all the interceptors have finished successfully.
@@ -74,11 +120,7 @@ public final <C extends VisitableCommand> Object invokeNextThenApply(InvocationC
                                            InvocationSuccessFunction<C> function) {
       try {
          Object rv;
-         if (nextDDInterceptor != null) {
-            rv = command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            rv = nextInterceptor.visitCommand(ctx, command);
-         }
+         rv = invokeNextInterceptor(ctx, command);
          if (rv instanceof InvocationStage) {
             return ((InvocationStage) rv).thenApply(ctx, command, function);
          }
@@ -98,11 +140,7 @@ public final <C extends VisitableCommand> Object invokeNextThenAccept(Invocation
                                            InvocationSuccessAction<C> action) {
       try {
          Object rv;
-         if (nextDDInterceptor != null) {
-            rv = command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            rv = nextInterceptor.visitCommand(ctx, command);
-         }
+         rv = invokeNextInterceptor(ctx, command);
          if (rv instanceof InvocationStage) {
             return ((InvocationStage) rv).thenAccept(ctx, command, action);
          }
@@ -123,11 +161,7 @@ public final <C extends VisitableCommand> Object invokeNextAndExceptionally(Invo
                                                   InvocationExceptionFunction<C> function) {
       try {
          Object rv;
-         if (nextDDInterceptor != null) {
-            rv = command.acceptVisitor(ctx, nextDDInterceptor);
-         } else {
-            rv = nextInterceptor.visitCommand(ctx, command);
-         }
+         rv = invokeNextInterceptor(ctx, command);
          if (rv instanceof InvocationStage) {
             return ((InvocationStage) rv).andExceptionally(ctx, command, function);
          }
@@ -150,11 +184,7 @@ public final <C extends VisitableCommand> Object invokeNextAndFinally(Invocation
          Object rv;
          Throwable throwable;
          try {
-            if (nextDDInterceptor != null) {
-               rv = command.acceptVisitor(ctx, nextDDInterceptor);
-            } else {
-               rv = nextInterceptor.visitCommand(ctx, command);
-            }
+            rv = invokeNextInterceptor(ctx, command);
             throwable = null;
 
             if (rv instanceof InvocationStage) {
@@ -183,11 +213,7 @@ public final <C extends VisitableCommand> Object invokeNextAndHandle(InvocationC
          Object rv;
          Throwable throwable;
          try {
-            if (nextDDInterceptor != null) {
-               rv = command.acceptVisitor(ctx, nextDDInterceptor);
-            } else {
-               rv = nextInterceptor.visitCommand(ctx, command);
-            }
+            rv = invokeNextInterceptor(ctx, command);
             throwable = null;
 
             if (rv instanceof InvocationStage) {
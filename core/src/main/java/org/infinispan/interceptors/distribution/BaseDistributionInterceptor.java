@@ -8,6 +8,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -49,6 +50,13 @@
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 import org.infinispan.interceptors.impl.ClusteringInterceptor;
+import org.infinispan.jmx.JmxStatisticsExposer;
+import org.infinispan.jmx.annotations.DataType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.responses.CacheNotFoundResponse;
 import org.infinispan.remoting.responses.ExceptionResponse;
@@ -78,9 +86,11 @@
  * @author Pete Muir
  * @author Dan Berindei &lt;dan@infinispan.org&gt;
  */
-public abstract class BaseDistributionInterceptor extends ClusteringInterceptor {
+@MBean(objectName = "Distribution", description = "Component that routes the commands to the owners of the keys.")
+public abstract class BaseDistributionInterceptor extends ClusteringInterceptor implements JmxStatisticsExposer {
    private static final Log log = LogFactory.getLog(BaseDistributionInterceptor.class);
    private static final Object LOST_PLACEHOLDER = new Object();
+   private static final int HOT_KEYS = 10;
 
    @Inject protected RemoteValueRetrievedListener rvrl;
    @Inject protected KeyPartitioner keyPartitioner;
@@ -89,6 +99,10 @@ public abstract class BaseDistributionInterceptor extends ClusteringInterceptor
 
    protected boolean isL1Enabled;
    protected boolean isReplicated;
+   private boolean readFromAnyOwner;
+   private boolean statisticsEnabled;
+
+   private final HotKeyTracker hotKeyTracker = new HotKeyTracker();
 
    private final ReadOnlyManyHelper readOnlyManyHelper = new ReadOnlyManyHelper();
    private final InvocationSuccessFunction<AbstractDataWriteCommand> primaryReturnHandler = this::primaryReturnHandler;
@@ -103,6 +117,8 @@ public void configure() {
       // Can't rely on the super injectConfiguration() to be called before our injectDependencies() method2
       isL1Enabled = cacheConfiguration.clustering().l1().enabled();
       isReplicated = cacheConfiguration.clustering().cacheMode().isReplicated();
+      readFromAnyOwner = cacheConfiguration.clustering().readFromAnyOwner();
+      setStatisticsEnabled(cacheConfiguration.statistics().enabled());
    }
 
    @Override
@@ -157,7 +173,8 @@ protected <C extends FlagAffectedCommand & TopologyAffectedCommand> CompletionSt
       getCommand.setTopologyId(topologyId);
       getCommand.setWrite(isWrite);
 
-      return rpcManager.invokeCommandStaggered(info.readOwners(), getCommand, new RemoteGetSingleKeyCollector(),
+      Collection<Address> targets = isWrite ? info.readOwners() : remoteReadTargets(info.readOwners());
+      return rpcManager.invokeCommandStaggered(targets, getCommand, new RemoteGetSingleKeyCollector(),
                                                rpcManager.getSyncRpcOptions())
                        .thenAccept(response -> {
                           Object responseValue = response.getResponseValue();
@@ -176,6 +193,42 @@ protected <C extends FlagAffectedCommand & TopologyAffectedCommand> CompletionSt
                        });
    }
 
+   /**
+    * @return the owners to send a read to, in order. With {@link
+    * org.infinispan.configuration.cache.ClusteringConfiguration#readFromAnyOwner()} the first owner is random, so the
+    * reads of a hot key are not all served by its primary owner.
+    */
+   protected Collection<Address> remoteReadTargets(List<Address> readOwners) {
+      int size = readOwners.size();
+      if (!readFromAnyOwner || size < 2) {
+         return readOwners;
+      }
+      int first = ThreadLocalRandom.current().nextInt(size);
+      if (first == 0) {
+         return readOwners;
+      }
+      List<Address> targets = new ArrayList<>(size);
+      targets.addAll(readOwners.subList(first, size));
+      targets.addAll(readOwners.subList(0, first));
+      return targets;
+   }
+
+   private void recordRead(InvocationContext ctx, AbstractDataCommand command, boolean local) {
+      if (!statisticsEnabled) {
+         return;
+      }
+      if (!local) {
+         hotKeyTracker.recordRemoteRead(command.getKey());
+         return;
+      }
+      // the command already has the segment, no need to hash the key again
+      DistributionInfo info = getCacheTopology().getSegmentDistribution(command.getSegment());
+      // skip the L1 entries and the entries already read in the transaction
+      if (info.isReadOwner()) {
+         hotKeyTracker.recordLocalRead(command.getKey(), ctx.isOriginLocal(), info.isPrimary());
+      }
+   }
+
    protected void wrapRemoteEntry(InvocationContext ctx, Object key, CacheEntry ice, boolean isWrite) {
       entryFactory.wrapExternalEntry(ctx, key, ice, true, isWrite);
    }
@@ -593,6 +646,7 @@ protected Object[] unwrapFunctionalManyResultOnOrigin(InvocationContext ctx, Lis
 
    private Object visitGetCommand(InvocationContext ctx, AbstractDataCommand command) throws Throwable {
       if (ctx.lookupEntry(command.getKey()) != null) {
+         recordRead(ctx, command, true);
          return invokeNext(ctx, command);
       }
 
@@ -602,6 +656,7 @@ private Object visitGetCommand(InvocationContext ctx, AbstractDataCommand comman
       if (!readNeedsRemoteValue(command))
          return null;
 
+      recordRead(ctx, command, false);
       return asyncInvokeNext(ctx, command, remoteGetSingleKey(ctx, command, command.getKey(), false));
    }
 
@@ -627,6 +682,7 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
       Object key = command.getKey();
       CacheEntry entry = ctx.lookupEntry(key);
       if (entry != null) {
+         recordRead(ctx, command, true);
          if (ctx.isOriginLocal()) {
             // the entry is owned locally (it is NullCacheEntry if it was not found), no need to go remote
             return invokeNext(ctx, command);
@@ -640,10 +696,11 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
       }
       if (readNeedsRemoteValue(command)) {
          LocalizedCacheTopology cacheTopology = CacheTopologyUtil.checkTopology(command, getCacheTopology());
-         Collection<Address> owners = cacheTopology.getDistribution(key).readOwners();
+         Collection<Address> owners = remoteReadTargets(cacheTopology.getDistribution(key).readOwners());
          if (log.isTraceEnabled())
             log.tracef("Doing a remote get for key %s in topology %d to %s", key, cacheTopology.getTopologyId(), owners);
 
+         recordRead(ctx, command, false);
          ReadOnlyKeyCommand remoteCommand = remoteReadOnlyCommand(ctx, command);
          // make sure that the command topology is set to the value according which we route it
          remoteCommand.setTopologyId(cacheTopology.getTopologyId());
@@ -674,6 +731,84 @@ protected Object unwrapFunctionalResultOnOrigin(InvocationContext ctx, Object ke
       return responseValue;
    }
 
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset statistics"
+   )
+   @Override
+   public void resetStatistics() {
+      hotKeyTracker.reset();
+   }
+
+   @ManagedAttribute(
+         displayName = "Statistics enabled",
+         description = "Enables or disables the gathering of statistics by this component",
+         dataType = DataType.TRAIT,
+         writable = true
+   )
+   @Override
+   public boolean getStatisticsEnabled() {
+      return statisticsEnabled;
+   }
+
+   @Override
+   public void setStatisticsEnabled(boolean enabled) {
+      this.statisticsEnabled = enabled;
+   }
+
+   @ManagedAttribute(
+         description = "Number of local reads served by this node as the primary owner of the key",
+         displayName = "Number of primary owner reads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getPrimaryOwnerReads() {
+      return hotKeyTracker.primaryReads();
+   }
+
+   @ManagedAttribute(
+         description = "Number of local reads served by this node as a backup owner of the key",
+         displayName = "Number of backup owner reads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getBackupOwnerReads() {
+      return hotKeyTracker.backupReads();
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads served by this node for other nodes",
+         displayName = "Number of reads served for other nodes",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getRemoteReadsServed() {
+      return hotKeyTracker.remoteReadsServed();
+   }
+
+   @ManagedAttribute(
+         description = "Number of reads this node sent to the owners of the key",
+         displayName = "Number of remote reads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getRemoteReads() {
+      return hotKeyTracker.remoteReads();
+   }
+
+   @ManagedAttribute(
+         description = "The most read keys, with their estimated number of reads, the most read first",
+         displayName = "Hot keys"
+   )
+   public String[] getHotKeys() {
+      return hotKeyTracker.hotKeys(HOT_KEYS);
+   }
+
+   @ManagedAttribute(
+         description = "Percentage of the reads that read one of the hot keys",
+         displayName = "Hot key read ratio",
+         units = Units.PERCENTAGE
+   )
+   public double getHotKeyReadRatio() {
+      return hotKeyTracker.hotKeyReadRatio(HOT_KEYS);
+   }
+
    protected Object invokeRemotely(InvocationContext ctx, DataWriteCommand command, Address primaryOwner) {
       if (log.isTraceEnabled()) getLog().tracef("I'm not the primary owner, so sending the command to the primary owner(%s) in order to be forwarded", primaryOwner);
       boolean isSyncForwarding = isSynchronous(command) || command.isReturnValueExpected();
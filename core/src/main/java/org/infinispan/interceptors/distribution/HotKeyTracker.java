@@ -0,0 +1,303 @@
+package org.infinispan.interceptors.distribution;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.ProcessorInfo;
+
+import net.jcip.annotations.GuardedBy;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Collects the statistics of the single-key reads of a clustered cache, by the owner that served them.
+ * <p>
+ * One read out of {@code samplingRate} is sampled to find the most read keys. The keys are counted with the
+ * space-saving algorithm: at most {@link #MAX_TRACKED_KEYS} keys are tracked and a new key replaces the least read
+ * one, inheriting its count, so the counts are an upper bound but a key that is really hot is never missed.
+ * <p>
+ * The sampled reads are counted in stripes, like {@link org.infinispan.commons.util.concurrent.StripedCounters}: each
+ * thread updates the stripe picked by its id, which keeps its least read key on top of a heap, so a sample only
+ * contends with the threads sharing the stripe and does not iterate the tracked keys. The stripes are merged when the
+ * hot keys are read. A key not tracked by a stripe is counted with the least read key of that stripe, so the merged
+ * counts are still an upper bound.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+final class HotKeyTracker {
+
+   static final int MAX_TRACKED_KEYS = 64;
+   static final int SAMPLING_RATE = 16;
+   private static final int STRIPE_COUNT = (int) (Long.highestOneBit(ProcessorInfo.availableProcessors()) << 1);
+   private static final int STRIPE_MASK = STRIPE_COUNT - 1;
+
+   private final int samplingRate;
+   private final LongAdder primaryReads = new LongAdder();
+   private final LongAdder backupReads = new LongAdder();
+   private final LongAdder remoteReadsServed = new LongAdder();
+   private final LongAdder remoteReads = new LongAdder();
+   private final AtomicReferenceArray<Stripe> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+   HotKeyTracker() {
+      this(SAMPLING_RATE);
+   }
+
+   HotKeyTracker(int samplingRate) {
+      this.samplingRate = samplingRate;
+   }
+
+   /**
+    * Records a read of the local copy, for a local or a remote command.
+    */
+   void recordLocalRead(Object key, boolean originLocal, boolean primary) {
+      if (!originLocal) {
+         remoteReadsServed.increment();
+      } else if (primary) {
+         primaryReads.increment();
+      } else {
+         backupReads.increment();
+      }
+      sample(key);
+   }
+
+   /**
+    * Records a read sent to the owners of the key.
+    */
+   void recordRemoteRead(Object key) {
+      remoteReads.increment();
+      sample(key);
+   }
+
+   private void sample(Object key) {
+      if (samplingRate > 1 && ThreadLocalRandom.current().nextInt(samplingRate) != 0) {
+         return;
+      }
+      stripeForCurrentThread().sample(key);
+   }
+
+   private Stripe stripeForCurrentThread() {
+      // Spread the thread id a bit, in case it's always a multiple of 16
+      long id = Thread.currentThread().getId();
+      id ^= id >>> 7 ^ id >>> 4;
+      int index = (int) (id & STRIPE_MASK);
+      Stripe stripe = stripes.get(index);
+      if (stripe == null) {
+         stripe = new Stripe();
+         if (!stripes.compareAndSet(index, null, stripe)) {
+            stripe = stripes.get(index);
+         }
+      }
+      return stripe;
+   }
+
+   long primaryReads() {
+      return primaryReads.sum();
+   }
+
+   long backupReads() {
+      return backupReads.sum();
+   }
+
+   long remoteReadsServed() {
+      return remoteReadsServed.sum();
+   }
+
+   long remoteReads() {
+      return remoteReads.sum();
+   }
+
+   /**
+    * @return the most read keys with their estimated number of reads, the most read first.
+    */
+   String[] hotKeys(int max) {
+      List<Map.Entry<Object, Long>> sorted = merge().sortedKeys();
+      int size = Math.min(max, sorted.size());
+      String[] keys = new String[size];
+      for (int i = 0; i < size; i++) {
+         Map.Entry<Object, Long> reads = sorted.get(i);
+         keys[i] = toStr(reads.getKey()) + ": reads=" + reads.getValue() * samplingRate;
+      }
+      return keys;
+   }
+
+   /**
+    * @return the fraction of the sampled reads that read one of the {@code max} most read keys.
+    */
+   double hotKeyReadRatio(int max) {
+      Summary summary = merge();
+      if (summary.sampledReads == 0) {
+         return 0;
+      }
+      List<Map.Entry<Object, Long>> sorted = summary.sortedKeys();
+      long hotReads = 0;
+      for (int i = 0; i < Math.min(max, sorted.size()); i++) {
+         hotReads += sorted.get(i).getValue();
+      }
+      // the inherited counts may add up to more than the sampled reads
+      return Math.min(1, (double) hotReads / summary.sampledReads);
+   }
+
+   void reset() {
+      primaryReads.reset();
+      backupReads.reset();
+      remoteReadsServed.reset();
+      remoteReads.reset();
+      for (int i = 0; i < STRIPE_COUNT; i++) {
+         Stripe stripe = stripes.get(i);
+         if (stripe != null) {
+            stripe.clear();
+         }
+      }
+   }
+
+   private Summary merge() {
+      List<Summary> summaries = new ArrayList<>(STRIPE_COUNT);
+      for (int i = 0; i < STRIPE_COUNT; i++) {
+         Stripe stripe = stripes.get(i);
+         if (stripe != null) {
+            summaries.add(stripe.summary());
+         }
+      }
+      Summary merged = new Summary();
+      for (Summary summary : summaries) {
+         merged.sampledReads += summary.sampledReads;
+         for (Object key : summary.counts.keySet()) {
+            merged.counts.putIfAbsent(key, 0L);
+         }
+      }
+      for (Map.Entry<Object, Long> entry : merged.counts.entrySet()) {
+         long count = 0;
+         for (Summary summary : summaries) {
+            count += summary.counts.getOrDefault(entry.getKey(), summary.minCount);
+         }
+         entry.setValue(count);
+      }
+      return merged;
+   }
+
+   private static final class Summary {
+      final Map<Object, Long> counts = new HashMap<>();
+      long sampledReads;
+      // the count of a key not tracked
+      long minCount;
+
+      List<Map.Entry<Object, Long>> sortedKeys() {
+         List<Map.Entry<Object, Long>> sorted = new ArrayList<>(counts.entrySet());
+         sorted.sort((r1, r2) -> Long.compare(r2.getValue(), r1.getValue()));
+         return sorted;
+      }
+   }
+
+   /**
+    * The space-saving counters of the reads sampled by some threads.
+    */
+   private static final class Stripe {
+      @GuardedBy("this")
+      private final Map<Object, KeyReads> keys = new HashMap<>();
+      // a min-heap of the tracked keys, ordered by count
+      @GuardedBy("this")
+      private final KeyReads[] heap = new KeyReads[MAX_TRACKED_KEYS];
+      @GuardedBy("this")
+      private int size;
+      @GuardedBy("this")
+      private long sampledReads;
+
+      synchronized void sample(Object key) {
+         sampledReads++;
+         KeyReads reads = keys.get(key);
+         if (reads != null) {
+            reads.count++;
+            siftDown(reads.heapIndex);
+         } else if (size < MAX_TRACKED_KEYS) {
+            reads = new KeyReads(key, size);
+            reads.count = 1;
+            keys.put(key, reads);
+            heap[size++] = reads;
+            siftUp(reads.heapIndex);
+         } else {
+            // replace the least read key, the new key inherits its count
+            reads = heap[0];
+            keys.remove(reads.key);
+            reads.key = key;
+            keys.put(key, reads);
+            reads.count++;
+            siftDown(0);
+         }
+      }
+
+      synchronized Summary summary() {
+         Summary summary = new Summary();
+         summary.sampledReads = sampledReads;
+         summary.minCount = size < MAX_TRACKED_KEYS ? 0 : heap[0].count;
+         for (int i = 0; i < size; i++) {
+            summary.counts.put(heap[i].key, heap[i].count);
+         }
+         return summary;
+      }
+
+      synchronized void clear() {
+         keys.clear();
+         for (int i = 0; i < size; i++) {
+            heap[i] = null;
+         }
+         size = 0;
+         sampledReads = 0;
+      }
+
+      private void siftUp(int index) {
+         KeyReads reads = heap[index];
+         while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= reads.count) {
+               break;
+            }
+            move(heap[parent], index);
+            index = parent;
+         }
+         move(reads, index);
+      }
+
+      private void siftDown(int index) {
+         KeyReads reads = heap[index];
+         while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+               break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+               child++;
+            }
+            if (reads.count <= heap[child].count) {
+               break;
+            }
+            move(heap[child], index);
+            index = child;
+         }
+         move(reads, index);
+      }
+
+      private void move(KeyReads reads, int index) {
+         heap[index] = reads;
+         reads.heapIndex = index;
+      }
+   }
+
+   private static final class KeyReads {
+      // guarded by the stripe
+      Object key;
+      long count;
+      int heapIndex;
+
+      KeyReads(Object key, int heapIndex) {
+         this.key = key;
+         this.heapIndex = heapIndex;
+      }
+   }
+}
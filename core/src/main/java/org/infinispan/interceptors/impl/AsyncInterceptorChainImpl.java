@@ -338,6 +338,7 @@ public List<AsyncInterceptor> getInterceptors() {
 
    private void rebuildInterceptors() {
       ListIterator<AsyncInterceptor> it = interceptors.listIterator(interceptors.size());
+      // Set up the interceptors from last to first, so each one can skip the pass-through interceptors after it
       // The CallInterceptor
       AsyncInterceptor nextInterceptor = it.previous();
       while (it.hasPrevious()) {
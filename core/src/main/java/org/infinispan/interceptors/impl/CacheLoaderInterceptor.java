@@ -14,6 +14,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
@@ -43,6 +44,7 @@
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.stat.TimerTracker;
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
@@ -64,11 +66,13 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.impl.ComponentRef;
+import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.jmx.annotations.Parameter;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryActivated;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryLoaded;
@@ -79,6 +83,7 @@
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.NonBlockingStore;
 import org.infinispan.persistence.util.EntryLoader;
+import org.infinispan.stats.impl.LatencyHistogram;
 import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.Log;
@@ -96,6 +101,8 @@
 
    protected final AtomicLong cacheLoads = new AtomicLong(0);
    protected final AtomicLong cacheMisses = new AtomicLong(0);
+   protected final AtomicLong coalescedLoads = new AtomicLong(0);
+   private final LatencyHistogram loadTimes = new LatencyHistogram();
 
    @Inject protected PersistenceManager persistenceManager;
    @Inject protected CacheNotifier notifier;
@@ -316,9 +323,8 @@ protected final CompletionStage<?> loadIfNeeded(final InvocationContext ctx, Obj
    }
 
    /**
-    * Attemps to load the given entry for a key from the persistence store. This method optimizes concurrent loads
-    * of the same key so only the first is actually loaded. The additional loads will in turn complete when the
-    * first completes, which provides minimal hits to the backing store(s).
+    * Attemps to load the given entry for a key from the persistence store. Concurrent loads of the same key share a
+    * single store load, see {@link #loadAndStoreInDataContainer(InvocationContext, Object, int, FlagAffectedCommand)}.
     * @param ctx context for this invocation
     * @param key key to find the entry for
     * @param segment the segment of the key
@@ -326,70 +332,91 @@ protected final CompletionStage<?> loadIfNeeded(final InvocationContext ctx, Obj
     * @return a stage that when complete will have the entry loaded into the provided context
     */
    protected CompletionStage<?> loadInContext(InvocationContext ctx, Object key, int segment, FlagAffectedCommand cmd) {
-      CompletableFuture<InternalCacheEntry<K, V>> cf = new CompletableFuture<>();
+      CompletionStage<InternalCacheEntry<K, V>> result = loadAndStoreInDataContainer(ctx, key, segment, cmd);
+      if (CompletionStages.isCompletedSuccessfully(result)) {
+         putInContext(ctx, key, cmd, CompletionStages.join(result));
+         return CompletableFutures.completedNull();
+      }
+      // Resume on a different CPU thread so the commands sharing the load don't run one after the other
+      return result.thenAcceptAsync(entry -> putInContext(ctx, key, cmd, entry), nonBlockingExecutor);
+   }
+
+   private void putInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd, InternalCacheEntry<K, V> entry) {
+      if (entry != null) {
+         entryFactory.wrapExternalEntry(ctx, key, entry, true, cmd instanceof WriteCommand);
+      }
+      CacheEntry contextEntry = ctx.lookupEntry(key);
+      if (contextEntry instanceof MVCCEntry) {
+         ((MVCCEntry) contextEntry).setLoaded(true);
+      }
+   }
+
+   /**
+    * {@inheritDoc}
+    * <p>
+    * Concurrent loads of the same key are coalesced: only the first one reads the stores and sends the notifications,
+    * the others wait for it and share its entry.
+    */
+   @Override
+   public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(InvocationContext ctx, Object key,
+                                                                                int segment, FlagAffectedCommand cmd) {
+      InternalCacheEntry<K, V> entry = dataContainer.peek(segment, key);
+      boolean includeStores = true;
+      if (entry != null) {
+         if (!entry.canExpire() || !entry.isExpired(timeService.wallClockTime())) {
+            return CompletableFuture.completedFuture(entry);
+         }
+         includeStores = false;
+      }
 
+      CompletableFuture<InternalCacheEntry<K, V>> cf = new CompletableFuture<>();
       CompletionStage<InternalCacheEntry<K, V>> otherCF = pendingLoads.putIfAbsent(key, cf);
       if (otherCF != null) {
-         // Nothing to clean up, just put the entry from the other load in the context
          if (log.isTraceEnabled()) {
             log.tracef("Piggybacking on concurrent load for key %s", key);
          }
-         // Resume on a different CPU thread so we don't have to wait until the other command completes
-         return otherCF.thenAcceptAsync(entry -> putInContext(ctx, key, cmd, entry), nonBlockingExecutor);
+         if (getStatisticsEnabled()) {
+            coalescedLoads.incrementAndGet();
+         }
+         return otherCF;
       }
 
       try {
-         CompletionStage<InternalCacheEntry<K, V>> result = loadAndStoreInDataContainer(ctx, key, segment, cmd);
+         CompletionStage<InternalCacheEntry<K, V>> result = loadFromStores(ctx, key, segment, cmd, includeStores);
          if (CompletionStages.isCompletedSuccessfully(result)) {
-            finishLoadInContext(ctx, key, cmd, cf, CompletionStages.join(result), null);
+            finishLoad(key, cf, CompletionStages.join(result), null);
          } else {
-            result.whenComplete((value, throwable) -> finishLoadInContext(ctx, key, cmd, cf, value, throwable));
+            result.whenComplete((value, throwable) -> finishLoad(key, cf, value, throwable));
          }
       } catch (Throwable t) {
-         pendingLoads.remove(key);
-         cf.completeExceptionally(t);
+         finishLoad(key, cf, null, t);
       }
       return cf;
    }
 
-   private void finishLoadInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd, CompletableFuture<InternalCacheEntry<K, V>> cf, InternalCacheEntry<K, V> value, Throwable throwable) {
+   private void finishLoad(Object key, CompletableFuture<InternalCacheEntry<K, V>> cf, InternalCacheEntry<K, V> value,
+                           Throwable throwable) {
       // Make sure we clean up our pendingLoads properly and before completing any responses
-      pendingLoads.remove(key);
+      pendingLoads.remove(key, cf);
       if (throwable != null) {
          cf.completeExceptionally(throwable);
       } else {
-         putInContext(ctx, key, cmd, value);
-
          cf.complete(value);
       }
    }
 
-   private void putInContext(InvocationContext ctx, Object key, FlagAffectedCommand cmd, InternalCacheEntry<K, V> entry) {
-      if (entry != null) {
-         entryFactory.wrapExternalEntry(ctx, key, entry, true, cmd instanceof WriteCommand);
-      }
-      CacheEntry contextEntry = ctx.lookupEntry(key);
-      if (contextEntry instanceof MVCCEntry) {
-         ((MVCCEntry) contextEntry).setLoaded(true);
-      }
-   }
-
-   public CompletionStage<InternalCacheEntry<K, V>> loadAndStoreInDataContainer(InvocationContext ctx, Object key,
-                                                                                int segment, FlagAffectedCommand cmd) {
-      InternalCacheEntry<K, V> entry = dataContainer.peek(segment, key);
-      boolean includeStores = true;
-      if (entry != null) {
-         if (!entry.canExpire() || !entry.isExpired(timeService.wallClockTime())) {
-            return CompletableFuture.completedFuture(entry);
-         }
-         includeStores = false;
-      }
-
+   private CompletionStage<InternalCacheEntry<K, V>> loadFromStores(InvocationContext ctx, Object key, int segment,
+                                                                    FlagAffectedCommand cmd, boolean includeStores) {
       if (log.isTraceEnabled()) {
          log.tracef("Loading entry for key %s", key);
       }
+      boolean timed = getStatisticsEnabled();
+      long start = timed ? timeService.time() : 0;
       CompletionStage<InternalCacheEntry<K, V>> resultStage = persistenceManager.<K, V>loadFromAllStores(key, segment,
             ctx.isOriginLocal(), includeStores).thenApply(me -> {
+         if (timed) {
+            loadTimes.record(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+         }
          if (me != null) {
             InternalCacheEntry<K, V> ice = PersistenceUtil.convert(me, iceFactory);
             if (getStatisticsEnabled()) {
@@ -527,10 +554,34 @@ public long getCacheLoaderMisses() {
       return cacheMisses.get();
    }
 
+   @ManagedAttribute(
+         description = "Number of loads that shared the cache store load of a concurrent request for the same key",
+         displayName = "Number of coalesced cache store loads",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getCacheLoaderCoalescedLoads() {
+      return coalescedLoads.get();
+   }
+
+   @ManagedAttribute(description = "Cache store load times", displayName = "Cache store load times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
+   public void setCacheLoaderLoadTimes(TimerTracker tracker) {
+      loadTimes.publishTo(tracker);
+   }
+
+   @ManagedAttribute(
+         description = "Percentiles, in nanoseconds, of the time to load an entry from the cache stores",
+         displayName = "Cache store load time percentiles"
+   )
+   public String getCacheLoaderLoadPercentiles() {
+      return loadTimes.summary("load");
+   }
+
    @Override
    public void resetStatistics() {
       cacheLoads.set(0);
       cacheMisses.set(0);
+      coalescedLoads.set(0);
+      loadTimes.reset();
    }
 
    /**
@@ -1,6 +1,5 @@
 package org.infinispan.interceptors.impl;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -61,6 +60,7 @@
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.functional.impl.StatsEnvelope;
+import org.infinispan.interceptors.InvocationStage;
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
@@ -68,6 +68,7 @@
 import org.infinispan.jmx.annotations.Units;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.manager.PersistenceManager.AccessMode;
+import org.infinispan.stats.impl.LatencyHistogram;
 import org.infinispan.topology.CacheTopology;
 import org.infinispan.util.concurrent.CompletionStages;
 
@@ -93,10 +94,12 @@ public final class CacheMgmtInterceptor extends JmxStatsCommandInterceptor {
    private final AtomicLong resetNanoseconds = new AtomicLong(0);
    private final StripedCounters<StripeB> counters = new StripedCounters<>(StripeC::new);
 
-   private TimerTracker hitTimes;
-   private TimerTracker missTimes;
-   private TimerTracker storeTimes;
-   private TimerTracker removeTimes;
+   private final LatencyHistogram hitTimes = new LatencyHistogram();
+   private final LatencyHistogram missTimes = new LatencyHistogram();
+   private final LatencyHistogram storeTimes = new LatencyHistogram();
+   private final LatencyHistogram removeTimes = new LatencyHistogram();
+   private final LatencyHistogram getAllTimes = new LatencyHistogram();
+   private final LatencyHistogram putAllTimes = new LatencyHistogram();
 
    @Start
    public void start() {
@@ -105,23 +108,33 @@ public void start() {
    }
 
    @ManagedAttribute(description = "Hit Times", displayName = "Hit Times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
-   public void setHitTimes(TimerTracker hitTimes) {
-      this.hitTimes = hitTimes;
+   public void setHitTimes(TimerTracker tracker) {
+      hitTimes.publishTo(tracker);
    }
 
    @ManagedAttribute(description = "Miss Times", displayName = "Miss Times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
-   public void setMissTimes(TimerTracker missTimes) {
-      this.missTimes = missTimes;
+   public void setMissTimes(TimerTracker tracker) {
+      missTimes.publishTo(tracker);
    }
 
    @ManagedAttribute(description = "Store Times", displayName = "Store Times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
-   public void setStoreTimes(TimerTracker storeTimes) {
-      this.storeTimes = storeTimes;
+   public void setStoreTimes(TimerTracker tracker) {
+      storeTimes.publishTo(tracker);
    }
 
    @ManagedAttribute(description = "Remove Times", displayName = "Remove Times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
-   public void setRemoveTimes(TimerTracker removeTimes) {
-      this.removeTimes = removeTimes;
+   public void setRemoveTimes(TimerTracker tracker) {
+      removeTimes.publishTo(tracker);
+   }
+
+   @ManagedAttribute(description = "GetAll Times", displayName = "GetAll Times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
+   public void setGetAllTimes(TimerTracker tracker) {
+      getAllTimes.publishTo(tracker);
+   }
+
+   @ManagedAttribute(description = "PutAll Times", displayName = "PutAll Times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
+   public void setPutAllTimes(TimerTracker tracker) {
+      putAllTimes.publishTo(tracker);
    }
 
    @Override
@@ -146,11 +159,11 @@ public void addDataRead(boolean foundValue, long timeNanoSeconds) {
       if (foundValue) {
          counters.add(StripeB.hitTimesFieldUpdater, stripe, timeNanoSeconds);
          counters.increment(StripeB.hitsFieldUpdater, stripe);
-         if (hitTimes != null) hitTimes.update(Duration.ofNanos(timeNanoSeconds));
+         hitTimes.record(timeNanoSeconds);
       } else {
          counters.add(StripeB.missTimesFieldUpdater, stripe, timeNanoSeconds);
          counters.increment(StripeB.missesFieldUpdater, stripe);
-         if (missTimes != null) missTimes.update(Duration.ofNanos(timeNanoSeconds));
+         missTimes.record(timeNanoSeconds);
       }
    }
 
@@ -160,8 +173,14 @@ private Object visitDataReadCommand(InvocationContext ctx, AbstractDataCommand c
          return invokeNext(ctx, command);
 
       long start = timeService.time();
-      return invokeNextAndFinally(ctx, command,
-            (rCtx, rCommand, rv, t) -> addDataRead(rv != null, timeService.timeDuration(start, TimeUnit.NANOSECONDS)));
+      Object rv = invokeNext(ctx, command);
+      if (rv instanceof InvocationStage) {
+         return ((InvocationStage) rv).andFinally(ctx, command,
+               (rCtx, rCommand, rRv, t) -> addDataRead(rRv != null, timeService.timeDuration(start, TimeUnit.NANOSECONDS)));
+      }
+      // synchronous read, no need to allocate a callback
+      addDataRead(rv != null, timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      return rv;
    }
 
    @Override
@@ -173,6 +192,7 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) {
       long start = timeService.time();
       return invokeNextAndFinally(ctx, command, (rCtx, rCommand, rv, t) -> {
          long intervalNanos = timeService.timeDuration(start, TimeUnit.NANOSECONDS);
+         getAllTimes.record(intervalNanos);
          int requests = rCommand.getKeys().size();
          int hitCount = 0;
          if (t == null) {
@@ -189,13 +209,13 @@ public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) {
             long hitTimesNanos = intervalNanos * hitCount / requests;
             counters.add(StripeB.hitsFieldUpdater, stripe, hitCount);
             counters.add(StripeB.hitTimesFieldUpdater, stripe, hitTimesNanos);
-            if (hitTimes != null) hitTimes.update(Duration.ofNanos(hitTimesNanos));
+            hitTimes.record(hitTimesNanos);
          }
          if (missCount > 0) {
             long missTimesNanos = intervalNanos * missCount / requests;
             counters.add(StripeB.missesFieldUpdater, stripe, missCount);
             counters.add(StripeB.missTimesFieldUpdater, stripe, missTimesNanos);
-            if (missTimes != null) missTimes.update(Duration.ofNanos(missTimesNanos));
+            missTimes.record(missTimesNanos);
          }
       });
    }
@@ -209,12 +229,13 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) {
       long start = timeService.time();
       return invokeNextAndFinally(ctx, command, (rCtx, rCommand, rv, t) -> {
          final long intervalNanos = timeService.timeDuration(start, TimeUnit.NANOSECONDS);
+         putAllTimes.record(intervalNanos);
          final Map<Object, Object> data = rCommand.getMap();
          if (data != null && !data.isEmpty()) {
             StripeB stripe = counters.stripeForCurrentThread();
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanos);
             counters.add(StripeB.storesFieldUpdater, stripe, data.size());
-            if (storeTimes != null) storeTimes.update(Duration.ofNanos(intervalNanos));
+            storeTimes.record(intervalNanos);
          }
       });
    }
@@ -249,7 +270,7 @@ public Object visitComputeCommand(InvocationContext ctx, ComputeCommand command)
             StripeB stripe = counters.stripeForCurrentThread();
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.storesFieldUpdater, stripe);
-            if (storeTimes != null) storeTimes.update(Duration.ofNanos(intervalNanos));
+            storeTimes.record(intervalNanos);
          }
       });
    }
@@ -271,7 +292,7 @@ private Object updateStoreStatistics(InvocationContext ctx, WriteCommand command
             StripeB stripe = counters.stripeForCurrentThread();
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.storesFieldUpdater, stripe);
-            if (storeTimes != null) storeTimes.update(Duration.ofNanos(intervalNanos));
+            storeTimes.record(intervalNanos);
          }
       });
    }
@@ -292,11 +313,11 @@ public Object visitReadOnlyKeyCommand(InvocationContext ctx, ReadOnlyKeyCommand
          if (envelope.isMiss()) {
             counters.add(StripeB.missTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.missesFieldUpdater, stripe);
-            if (missTimes != null) missTimes.update(Duration.ofNanos(intervalNanos));
+            missTimes.record(intervalNanos);
          } else if (envelope.isHit()) {
             counters.add(StripeB.hitTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.hitsFieldUpdater, stripe);
-            if (hitTimes != null) hitTimes.update(Duration.ofNanos(intervalNanos));
+            hitTimes.record(intervalNanos);
          }
          return envelope.value();
       });
@@ -327,13 +348,13 @@ public Object visitReadOnlyManyCommand(InvocationContext ctx, ReadOnlyManyComman
             long missTimesNanos = missCount.get() * intervalNanos / numResults;
             counters.add(StripeB.missTimesFieldUpdater, stripe, missTimesNanos);
             counters.add(StripeB.missesFieldUpdater, stripe, missCount.get());
-            if (missTimes != null) missTimes.update(Duration.ofNanos(missTimesNanos));
+            missTimes.record(missTimesNanos);
          }
          if (hitCount.get() > 0) {
             long hitTimesNanos = hitCount.get() * intervalNanos / numResults;
             counters.add(StripeB.hitTimesFieldUpdater, stripe, hitTimesNanos);
             counters.add(StripeB.hitsFieldUpdater, stripe, hitCount.get());
-            if (hitTimes != null) hitTimes.update(Duration.ofNanos(hitTimesNanos));
+            hitTimes.record(hitTimesNanos);
          }
          return retvals.stream();
       });
@@ -359,11 +380,11 @@ private Object updateStatisticsWriteOnly(InvocationContext ctx, AbstractDataComm
          if (envelope.isDelete()) {
             counters.add(StripeB.removeTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.removeHitsFieldUpdater, stripe);
-            if (removeTimes != null) removeTimes.update(Duration.ofNanos(intervalNanos));
+            removeTimes.record(intervalNanos);
          } else if ((envelope.flags() & (StatsEnvelope.CREATE | StatsEnvelope.UPDATE)) != 0) {
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.storesFieldUpdater, stripe);
-            if (storeTimes != null) storeTimes.update(Duration.ofNanos(intervalNanos));
+            storeTimes.record(intervalNanos);
          }
          assert envelope.value() == null;
          return null;
@@ -395,20 +416,20 @@ private Object updateStatisticsReadWrite(InvocationContext ctx, AbstractDataComm
          if (envelope.isDelete()) {
             counters.add(StripeB.removeTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.removeHitsFieldUpdater, stripe);
-            if (removeTimes != null) removeTimes.update(Duration.ofNanos(intervalNanos));
+            removeTimes.record(intervalNanos);
          } else if ((envelope.flags() & (StatsEnvelope.CREATE | StatsEnvelope.UPDATE)) != 0) {
             counters.add(StripeB.storeTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.storesFieldUpdater, stripe);
-            if (storeTimes != null) storeTimes.update(Duration.ofNanos(intervalNanos));
+            storeTimes.record(intervalNanos);
          }
          if (envelope.isHit()) {
             counters.add(StripeB.hitTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.hitsFieldUpdater, stripe);
-            if (hitTimes != null) hitTimes.update(Duration.ofNanos(intervalNanos));
+            hitTimes.record(intervalNanos);
          } else if (envelope.isMiss()) {
             counters.add(StripeB.missTimesFieldUpdater, stripe, intervalNanos);
             counters.increment(StripeB.missesFieldUpdater, stripe);
-            if (missTimes != null) missTimes.update(Duration.ofNanos(intervalNanos));
+            missTimes.record(intervalNanos);
          }
          return envelope.value();
       });
@@ -468,25 +489,25 @@ private Object updateStatisticsReadWrite(InvocationContext ctx, AbstractWriteMan
             long removalsTimeNanos = removals * intervalNanos / numResults;
             counters.add(StripeB.removeTimesFieldUpdater, stripe, removalsTimeNanos);
             counters.add(StripeB.removeHitsFieldUpdater, stripe, removals);
-            if (removeTimes != null) removeTimes.update(Duration.ofNanos(removalsTimeNanos));
+            removeTimes.record(removalsTimeNanos);
          }
          if (stores > 0) {
             long storesTimeNanos = stores * intervalNanos / numResults;
             counters.add(StripeB.storeTimesFieldUpdater, stripe, storesTimeNanos);
             counters.add(StripeB.storesFieldUpdater, stripe, stores);
-            if (storeTimes != null) storeTimes.update(Duration.ofNanos(storesTimeNanos));
+            storeTimes.record(storesTimeNanos);
          }
          if (misses > 0) {
             long missTimesNanos = misses * intervalNanos / numResults;
             counters.add(StripeB.missTimesFieldUpdater, stripe, missTimesNanos);
             counters.add(StripeB.missesFieldUpdater, stripe, misses);
-            if (missTimes != null) missTimes.update(Duration.ofNanos(missTimesNanos));
+            missTimes.record(missTimesNanos);
          }
          if (hits > 0) {
             long hitTimesNanos = hits * intervalNanos / numResults;
             counters.add(StripeB.hitTimesFieldUpdater, stripe, hitTimesNanos);
             counters.add(StripeB.hitsFieldUpdater, stripe, hits);
-            if (hitTimes != null) hitTimes.update(Duration.ofNanos(hitTimesNanos));
+            hitTimes.record(hitTimesNanos);
          }
          return results;
       });
@@ -524,7 +545,7 @@ private void increaseRemoveHits(long start) {
       StripeB stripe = counters.stripeForCurrentThread();
       counters.add(StripeB.removeTimesFieldUpdater, stripe, intervalNanos);
       counters.increment(StripeB.removeHitsFieldUpdater, stripe);
-      if (removeTimes != null) removeTimes.update(Duration.ofNanos(intervalNanos));
+      removeTimes.record(intervalNanos);
    }
 
    private void increaseRemoveMisses() {
@@ -684,6 +705,21 @@ public long getAverageRemoveTimeNanos() {
       return counters.get(StripeB.removeTimesFieldUpdater) / removes;
    }
 
+   @ManagedAttribute(
+         description = "Percentiles, in nanoseconds, of the latency of the hits, misses, stores, removes, getAll and putAll operations",
+         displayName = "Latency percentiles"
+   )
+   public String[] getLatencyPercentiles() {
+      return new String[]{
+            hitTimes.summary("hit"),
+            missTimes.summary("miss"),
+            storeTimes.summary("store"),
+            removeTimes.summary("remove"),
+            getAllTimes.summary("getAll"),
+            putAllTimes.summary("putAll"),
+      };
+   }
+
    @ManagedAttribute(
          description = "Approximate number of entries currently in the cache, including persisted and expired entries",
          displayName = "Approximate number of entries"
@@ -894,6 +930,12 @@ public void resetStatistics() {
       counters.reset(StripeB.removeHitsFieldUpdater);
       counters.reset(StripeB.removeTimesFieldUpdater);
       counters.reset(StripeB.removeMissesFieldUpdater);
+      hitTimes.reset();
+      missTimes.reset();
+      storeTimes.reset();
+      removeTimes.reset();
+      getAllTimes.reset();
+      putAllTimes.reset();
       resetNanoseconds.set(timeService.time());
 
       //todo [anistor] how do we reset Micrometer metrics ?
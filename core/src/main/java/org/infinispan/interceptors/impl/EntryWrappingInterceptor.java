@@ -223,6 +223,10 @@ private Object visitDataReadCommand(InvocationContext ctx, AbstractDataCommand c
       CompletionStage<Void> stage = entryFactory.wrapEntryForReading(ctx, key, command.getSegment(),
             ignoreOwnership(command) || canRead(command), command.hasAnyFlag(FlagBitSets.ALREADY_HAS_LOCK)
                   || (isPessimistic && command.hasAnyFlag(FlagBitSets.FORCE_WRITE_LOCK)), CompletableFutures.completedNull());
+      if (CompletionStages.isCompletedSuccessfully(stage)) {
+         // avoids wrapping a synchronous return value in a stage
+         return invokeNextThenApply(ctx, command, dataReadReturnHandler);
+      }
       return makeStage(asyncInvokeNext(ctx, command, stage)).thenApply(ctx, command, dataReadReturnHandler);
    }
 
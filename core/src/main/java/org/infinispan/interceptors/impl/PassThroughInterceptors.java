@@ -0,0 +1,112 @@
+package org.infinispan.interceptors.impl;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.Visitor;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.AsyncInterceptor;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+
+/**
+ * Finds the interceptors that only invoke the next interceptor for a command type, so the interceptor chain can skip
+ * them.
+ * <p>
+ * The command types are the commands with their own {@link Visitor} method, e.g. {@code visitGetKeyValueCommand} for
+ * {@link org.infinispan.commands.read.GetKeyValueCommand}. A {@link DDAsyncInterceptor} is pass-through for a command
+ * type if it overrides neither the visitor method nor {@code handleDefault}. Subclasses of the command types, and the
+ * commands visited with {@link Visitor#visitUnknownCommand(InvocationContext, VisitableCommand)}, are not specialized
+ * and always go through the full chain.
+ *
+ * @since 15.0
+ */
+public final class PassThroughInterceptors {
+
+   private static final Method[] VISIT_METHODS;
+
+   static {
+      List<Method> methods = new ArrayList<>();
+      for (Method method : Visitor.class.getMethods()) {
+         Class<?>[] parameters = method.getParameterTypes();
+         if (method.getName().startsWith("visit") && parameters.length == 2 && isConcreteCommand(parameters[1])) {
+            methods.add(method);
+         }
+      }
+      VISIT_METHODS = methods.toArray(new Method[0]);
+   }
+
+   private static final ClassValue<Integer> COMMAND_INDEX = new ClassValue<>() {
+      @Override
+      protected Integer computeValue(Class<?> commandClass) {
+         for (int i = 0; i < VISIT_METHODS.length; i++) {
+            if (VISIT_METHODS[i].getParameterTypes()[1] == commandClass) {
+               return i;
+            }
+         }
+         return -1;
+      }
+   };
+
+   private static final ClassValue<boolean[]> PASS_THROUGH = new ClassValue<>() {
+      @Override
+      protected boolean[] computeValue(Class<?> interceptorClass) {
+         boolean[] passThrough = new boolean[VISIT_METHODS.length];
+         if (!DDAsyncInterceptor.class.isAssignableFrom(interceptorClass) || overridesHandleDefault(interceptorClass)) {
+            return passThrough;
+         }
+         for (int i = 0; i < VISIT_METHODS.length; i++) {
+            Method visitMethod = VISIT_METHODS[i];
+            try {
+               Method method = interceptorClass.getMethod(visitMethod.getName(), visitMethod.getParameterTypes());
+               passThrough[i] = method.getDeclaringClass() == DDAsyncInterceptor.class;
+            } catch (NoSuchMethodException e) {
+               // cannot happen, DDAsyncInterceptor implements Visitor
+            }
+         }
+         return passThrough;
+      }
+   };
+
+   private PassThroughInterceptors() { }
+
+   /**
+    * @return the number of command types.
+    */
+   public static int commandTypes() {
+      return VISIT_METHODS.length;
+   }
+
+   /**
+    * @return the index of the command type, or -1 if the command is not specialized.
+    */
+   public static int commandType(VisitableCommand command) {
+      return COMMAND_INDEX.get(command.getClass());
+   }
+
+   /**
+    * @return {@code true} if the interceptor only invokes the next interceptor for the command type.
+    */
+   public static boolean isPassThrough(AsyncInterceptor interceptor, int commandType) {
+      return PASS_THROUGH.get(interceptor.getClass())[commandType];
+   }
+
+   private static boolean isConcreteCommand(Class<?> parameter) {
+      return VisitableCommand.class.isAssignableFrom(parameter) && !parameter.isInterface() &&
+            !Modifier.isAbstract(parameter.getModifiers());
+   }
+
+   private static boolean overridesHandleDefault(Class<?> interceptorClass) {
+      for (Class<?> clazz = interceptorClass; clazz != DDAsyncInterceptor.class; clazz = clazz.getSuperclass()) {
+         try {
+            clazz.getDeclaredMethod("handleDefault", InvocationContext.class, VisitableCommand.class);
+            return true;
+         } catch (NoSuchMethodException e) {
+            // check the superclass
+         }
+      }
+      return false;
+   }
+}
@@ -25,6 +25,12 @@ default void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfigurati
 
     default void cacheManagerStarted(GlobalComponentRegistry gcr) {}
 
+    /**
+     * Invoked when the cache manager is stopping, before its caches are stopped. The caches still accept invocations,
+     * unlike in {@link #cacheManagerStopping(GlobalComponentRegistry)} and {@link #cacheStopping(ComponentRegistry, String)}.
+     */
+    default void cachesStopping(GlobalComponentRegistry gcr) {}
+
     default void cacheManagerStopping(GlobalComponentRegistry gcr) {}
 
     default void cacheManagerStopped(GlobalComponentRegistry gcr) {}
@@ -882,6 +882,7 @@ private void internalStop() {
       }
 
       try {
+         globalComponentRegistry.modulesCachesStopping();
          stopCaches();
          globalComponentRegistry.getComponent(CacheManagerJmxRegistration.class).stop();
          globalComponentRegistry.stop();
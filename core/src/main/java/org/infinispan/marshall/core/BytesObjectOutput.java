@@ -3,9 +3,6 @@
 import java.io.IOException;
 import java.io.ObjectOutput;
 
-import org.infinispan.commons.io.ByteBuffer;
-import org.infinispan.commons.io.ByteBufferImpl;
-
 /**
  * Array backed, expandable {@link ObjectOutput} implementation.
  */
@@ -261,9 +258,4 @@ byte[] toBytes() {
       return b;
    }
 
-   ByteBuffer toByteBuffer() {
-      // No triming, just take position as length
-      return ByteBufferImpl.create(bytes, 0, pos);
-   }
-
 }
@@ -9,11 +9,13 @@
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.infinispan.commands.RemoteCommandsFactory;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.io.LazyByteArrayOutputStream;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.commons.marshall.BufferSizePredictor;
@@ -26,6 +28,8 @@
 import org.infinispan.commons.marshall.SerializeWith;
 import org.infinispan.commons.marshall.StreamAwareMarshaller;
 import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.GlobalComponentRegistry;
 import org.infinispan.factories.KnownComponentNames;
@@ -103,8 +107,20 @@ public class GlobalMarshaller implements StreamingMarshaller {
    static final int FLAG_ARRAY_LARGE               = 0xC0;
 
 
+   // Larger buffers are not pooled, so that marshalling a single large object does not pin a large array
+   static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
    private final MarshallableTypeHints marshallableTypeHints = new MarshallableTypeHints();
 
+   /**
+    * Scratch buffers reused between the marshalling operations that return an exact size copy of the bytes. Each thread
+    * uses the slot selected by its id, so the threads marshalling concurrently rarely compete for the same buffer, and
+    * a buffer is taken out of its slot for the whole operation, so nested marshalling operations use different buffers.
+    * The slots are swapped atomically, without locking.
+    */
+   private final AtomicReferenceArray<BytesObjectOutput> bufferPool =
+         new AtomicReferenceArray<>(Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors() * 2));
+
    @Inject GlobalComponentRegistry gcr;
    @Inject RemoteCommandsFactory cmdFactory;
    @Inject @ComponentName(KnownComponentNames.PERSISTENCE_MARSHALLER)
@@ -150,6 +166,9 @@ public void stop() {
       externalExts = null;
       reverseExternalExts = null;
       classIdentifiers = null;
+      for (int i = 0; i < bufferPool.length(); i++) {
+         bufferPool.set(i, null);
+      }
       persistenceMarshaller.stop();
    }
 
@@ -160,19 +179,41 @@ public PersistenceMarshaller getPersistenceMarshaller() {
    @Override
    public byte[] objectToByteBuffer(Object obj) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(obj);
-         return out.toBytes(); // trim out unused bytes
+         BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj);
+         return writePooledObjectOutput(obj, sizePredictor.nextSize(obj), sizePredictor);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
       }
    }
 
-   private BytesObjectOutput writeObjectOutput(Object obj) throws IOException {
-      BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(obj);
-      BytesObjectOutput out = writeObjectOutput(obj, sizePredictor.nextSize(obj));
-      sizePredictor.recordSize(out.pos);
-      return out;
+   /**
+    * Marshalls the object in a pooled buffer and returns a copy of the bytes, trimmed to the exact size.
+    * <p>
+    * The copy is required anyway when the bytes are returned as an array. {@link #objectToBuffer(Object)} does not use
+    * the pool, see there.
+    *
+    * @param sizePredictor the predictor that learns the size of the marshalled object, or {@code null}
+    */
+   private byte[] writePooledObjectOutput(Object obj, int estimatedSize, BufferSizePredictor sizePredictor) throws IOException {
+      int slot = (int) Thread.currentThread().getId() & (bufferPool.length() - 1);
+      BytesObjectOutput out = bufferPool.getAndSet(slot, null);
+      if (out == null) {
+         out = new BytesObjectOutput(estimatedSize, this);
+      }
+      try {
+         writeNullableObject(obj, out);
+         if (sizePredictor != null) {
+            sizePredictor.recordSize(out.pos);
+         }
+         return out.toBytes();
+      } finally {
+         out.pos = 0;
+         if (out.bytes.length <= MAX_POOLED_BUFFER_SIZE) {
+            // replaces the buffer released by a nested operation or by another thread, if any
+            bufferPool.lazySet(slot, out);
+         }
+      }
    }
 
    private BytesObjectOutput writeObjectOutput(Object obj, int estimatedSize) throws IOException {
@@ -298,8 +339,12 @@ public MediaType mediaType() {
    @Override
    public ByteBuffer objectToBuffer(Object o) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(o);
-         return out.toByteBuffer();
+         // The array is returned without copying, so it is not pooled: JGroups keeps a reference to the array of a
+         // message until it is acknowledged, for retransmission, and the array cannot be reused after the send
+         BufferSizePredictor sizePredictor = marshallableTypeHints.getBufferSizePredictor(o);
+         BytesObjectOutput out = writeObjectOutput(o, sizePredictor.nextSize(o));
+         sizePredictor.recordSize(out.pos);
+         return ByteBufferImpl.create(out.bytes, 0, out.pos);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
@@ -309,8 +354,10 @@ public ByteBuffer objectToBuffer(Object o) throws IOException, InterruptedExcept
    @Override
    public byte[] objectToByteBuffer(Object obj, int estimatedSize) throws IOException, InterruptedException {
       try {
-         BytesObjectOutput out = writeObjectOutput(obj, estimatedSize);
-         return out.toBytes();
+         if (estimatedSize > MAX_POOLED_BUFFER_SIZE) {
+            return writeObjectOutput(obj, estimatedSize).toBytes();
+         }
+         return writePooledObjectOutput(obj, estimatedSize, null);
       } catch (java.io.NotSerializableException nse) {
          if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
          throw new NotSerializableException(nse.getMessage(), nse.getCause());
@@ -8,6 +8,7 @@
 import org.infinispan.commands.control.LockControlCommand;
 import org.infinispan.commands.irac.IracCleanupKeysCommand;
 import org.infinispan.commands.irac.IracClearKeysCommand;
+import org.infinispan.commands.irac.IracCompressedPutManyCommand;
 import org.infinispan.commands.irac.IracMetadataRequestCommand;
 import org.infinispan.commands.irac.IracPutManyCommand;
 import org.infinispan.commands.irac.IracRequestStateCommand;
@@ -130,7 +131,8 @@ public Set<Class<? extends CacheRpcCommand>> getTypeClasses() {
             IracTombstoneStateResponseCommand.class,
             IracTombstonePrimaryCheckCommand.class,
             IracTombstoneRemoteSiteCheckCommand.class,
-            IracPutManyCommand.class);
+            IracPutManyCommand.class,
+            IracCompressedPutManyCommand.class);
       // Only interested in cache specific replicable commands
       coreCommands.addAll(gcr.getModuleProperties().moduleCacheRpcCommands());
       return coreCommands;
@@ -23,6 +23,7 @@
 import org.infinispan.commands.functional.WriteOnlyManyEntriesCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.ReplicableCommandBatch;
 import org.infinispan.commands.topology.CacheAvailabilityUpdateCommand;
 import org.infinispan.commands.topology.CacheJoinCommand;
 import org.infinispan.commands.topology.CacheLeaveCommand;
@@ -151,7 +152,7 @@ public Set<Class<? extends ReplicableCommand>> getTypeClasses() {
             CacheShutdownCommand.class, CacheShutdownRequestCommand.class, TopologyUpdateStableCommand.class,
             CacheJoinCommand.class, CacheLeaveCommand.class, CacheAvailabilityUpdateCommand.class,
             IracPutKeyValueCommand.class, TouchCommand.class,
-            XSiteViewNotificationCommand.class);
+            XSiteViewNotificationCommand.class, ReplicableCommandBatch.class);
       // Search only those commands that replicable and not cache specific replicable commands
       Collection<Class<? extends ReplicableCommand>> moduleCommands = globalComponentRegistry.getModuleProperties().moduleOnlyReplicableCommands();
       if (!moduleCommands.isEmpty()) coreCommands.addAll(moduleCommands);
@@ -1,6 +1,7 @@
 package org.infinispan.metrics.impl;
 
 import java.net.InetAddress;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -8,6 +9,7 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -26,9 +28,12 @@
 import org.infinispan.metrics.Constants;
 import org.infinispan.metrics.config.MicrometerMeterRegistryConfiguration;
 import org.infinispan.remoting.transport.Transport;
+import org.infinispan.stats.impl.LatencyHistogram;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -50,6 +55,17 @@ public class MetricsCollector implements Constants {
 
    private static final Log log = LogFactory.getLog(MetricsCollector.class);
 
+   /**
+    * The percentiles published for the timers backed by a {@link LatencyHistogram}.
+    */
+   private static final double[] HISTOGRAM_PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+   /**
+    * The upper bounds, in seconds, of the cumulative bucket counts published for the timers backed by a
+    * {@link LatencyHistogram}. The values above the last bound are included in the count of the timer.
+    */
+   private static final double[] HISTOGRAM_BUCKETS = {0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 0.5, 1, 5, 10};
+
    private MeterRegistry registry;
 
    private Tag nodeTag;
@@ -162,6 +178,13 @@ private Set<Object> registerMetrics(Object instance, Collection<MBeanMetadata.At
                }
             } else {
                if (metricsCfg.histograms()) {
+                  HistogramExporter exporter = new HistogramExporter();
+                  setter.accept(exporter);
+                  if (exporter.histogram != null) {
+                     registerHistogram(metricName, tags, attr.getDescription(), exporter.histogram, metricIds);
+                     continue;
+                  }
+
                   Timer timer = Timer.builder(metricName)
                         .tags(tags)
                         .description(attr.getDescription())
@@ -187,6 +210,43 @@ private Set<Object> registerMetrics(Object instance, Collection<MBeanMetadata.At
       return metricIds;
    }
 
+   /**
+    * Registers a timer that reads its count and total time from the histogram, so the values are only recorded once,
+    * a gauge for each of the {@link #HISTOGRAM_PERCENTILES} and a counter for each of the {@link #HISTOGRAM_BUCKETS}.
+    */
+   private void registerHistogram(String metricName, List<Tag> tags, String description, LatencyHistogram histogram, Set<Object> metricIds) {
+      FunctionTimer timer = FunctionTimer.builder(metricName, histogram, LatencyHistogram::count, LatencyHistogram::totalNanos, TimeUnit.NANOSECONDS)
+            .tags(tags)
+            .description(description)
+            .register(registry);
+      metricIds.add(timer.getId());
+
+      for (double percentile : HISTOGRAM_PERCENTILES) {
+         Gauge gauge = Gauge.builder(metricName + ".percentile", histogram, h -> h.percentile(percentile * 100) / 1e9)
+               .tags(tags)
+               .tag("phi", String.valueOf(percentile))
+               .baseUnit("seconds")
+               .strongReference(true)
+               .description(description)
+               .register(registry);
+         metricIds.add(gauge.getId());
+      }
+
+      for (double bucket : HISTOGRAM_BUCKETS) {
+         long nanos = (long) (bucket * 1e9);
+         FunctionCounter counter = FunctionCounter.builder(metricName + ".bucket", histogram, h -> h.countAtMost(nanos))
+               .tags(tags)
+               .tag("le", String.valueOf(bucket))
+               .description(description)
+               .register(registry);
+         metricIds.add(counter.getId());
+      }
+
+      if (log.isTraceEnabled()) {
+         log.tracef("Registering histogram metric %s", timer.getId());
+      }
+   }
+
    private List<Tag> prepareTags(Tag ...tags) {
       List<Tag> allTags = Arrays.stream(tags).filter(Objects::nonNull).collect(Collectors.toList());
       if (cacheManagerTag != null) allTags.add(cacheManagerTag);
@@ -224,4 +284,26 @@ private void createMeterRegistry() {
          registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
       }
    }
+
+   /**
+    * Receives the {@link LatencyHistogram} of the components that record their timers in one.
+    */
+   private static final class HistogramExporter implements LatencyHistogram.Exporter {
+
+      private LatencyHistogram histogram;
+
+      @Override
+      public void export(LatencyHistogram histogram) {
+         this.histogram = histogram;
+      }
+
+      @Override
+      public void update(Duration duration) {
+         // replaced by a TimerTrackerImpl if the component does not use a histogram
+      }
+
+      @Override
+      public void update(long value, TimeUnit timeUnit) {
+      }
+   }
 }
@@ -50,6 +50,9 @@
  * while the listener is notified in a different thread. Listeners that throw exceptions are always logged and are not
  * propagated to the user. This mode is enabled when the listener has specified <code>sync</code> as <b>false</b> and
  * the return value is always ignored.
+ * <p>An async listener can also set {@link Listener#batchSize()} so that its events are buffered and delivered in
+ * order by a single task per batch, and {@link Listener#coalesce()} so that a buffered event is replaced by a newer
+ * event for the same key. This avoids creating a task per event when the cache is updated in bursts.
  *
  * <h4>Locking semantics</h4>
  * The sync mode will guarantee that listeners are notified for mutations on the same key sequentially, since
@@ -357,6 +360,28 @@
     */
    Observation observation() default Observation.BOTH;
 
+   /**
+    * Delivers the events of an asynchronous listener in batches: the events are buffered and a single task invokes the
+    * listener for up to this number of events, instead of one task per event. The events are still delivered one by
+    * one, in the order they were fired. When more than 16 batches are buffered, the operations firing new events are
+    * delayed until the listener catches up.
+    * <p>
+    * This value is ignored if {@link #sync()} is true.
+    * @return the maximum number of events delivered by a single task, or 0 to submit a task per event
+    * @since 15.0
+    */
+   int batchSize() default 0;
+
+   /**
+    * If set to true, an event for a key that has an event of the same type still buffered replaces it, so the listener
+    * only receives the latest state of the key. The event keeps the position of the event it replaces.
+    * <p>
+    * This value is ignored if {@link #batchSize()} is 0.
+    * @return true if the buffered events of the same type and key should be coalesced
+    * @since 15.0
+    */
+   boolean coalesce() default false;
+
 
    /**
     * Enumeration that defines when a listener event can be observed. A listener can receive an event before and/or
@@ -20,6 +20,7 @@
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -1431,6 +1432,17 @@ private <C> CompletionStage<Void> addFilteredListenerInternal(Object listener, D
       return stage;
    }
 
+   /**
+    * The events of a batching listener with the same key are coalesced only if they are of the same type and phase, the
+    * other events are never coalesced.
+    */
+   private static Object coalescingKey(Event<?, ?> event) {
+      if (event instanceof CacheEntryEvent) {
+         return Arrays.asList(event.getType(), event.isPre(), ((CacheEntryEvent<?, ?>) event).getKey());
+      }
+      return null;
+   }
+
    private <C> void adjustCacheInvocationBuilder(CacheInvocationBuilder builder,
                                                  CacheEventFilter<? super K, ? super V> filter,
                                                  CacheEventConverter<? super K, ? super V, C> converter,
@@ -1449,6 +1461,8 @@ private <C> void adjustCacheInvocationBuilder(CacheInvocationBuilder builder,
             .setKeyDataConversion(keyConversion)
             .setValueDataConversion(valueConversion)
             .setIdentifier(generatedId)
+            .setBatchSize(l.batchSize())
+            .setCoalesce(l.coalesce())
             .setClassLoader(classLoader);
 
       builder.setFilterAnnotations(filterAnnotations);
@@ -1466,6 +1480,8 @@ protected class CacheInvocationBuilder extends AbstractInvocationBuilder {
       Listener.Observation observation;
       Set<Class<? extends Annotation>> filterAnnotations;
       boolean storageFormat;
+      int batchSize;
+      boolean coalesce;
 
       public CacheEventFilter<? super K, ? super V> getFilter() {
          return filter;
@@ -1550,9 +1566,25 @@ public CacheInvocationBuilder setFilterAnnotations(Set<Class<? extends Annotatio
          return this;
       }
 
+      public CacheInvocationBuilder setBatchSize(int batchSize) {
+         this.batchSize = batchSize;
+         return this;
+      }
+
+      public CacheInvocationBuilder setCoalesce(boolean coalesce) {
+         this.coalesce = coalesce;
+         return this;
+      }
+
       @Override
       public CacheEntryListenerInvocation<K, V> build() {
-         ListenerInvocation<Event<K, V>> invocation = new ListenerInvocationImpl(target, method, sync, classLoader, subject);
+         ListenerInvocation<Event<K, V>> invocation;
+         if (!sync && batchSize > 0) {
+            invocation = new BatchingListenerInvocation<>(target, method, classLoader, subject, batchSize,
+                  coalesce ? CacheNotifierImpl::coalescingKey : null);
+         } else {
+            invocation = new ListenerInvocationImpl(target, method, sync, classLoader, subject);
+         }
 
          wireDependencies(filter, converter);
 
@@ -4,6 +4,7 @@
 import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -11,8 +12,10 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import javax.security.auth.Subject;
@@ -391,62 +394,7 @@ public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassL
 
       @Override
       public CompletionStage<Void> invoke(final A event) {
-         Supplier<Object> r = () -> {
-            ClassLoader contextClassLoader = null;
-            Transaction transaction = suspendIfNeeded();
-            if (classLoader.get() != null) {
-               contextClassLoader = Thread.currentThread().getContextClassLoader();
-               Thread.currentThread().setContextClassLoader(classLoader.get());
-            }
-
-            try {
-               Object result;
-               if (subject != null) {
-                  try {
-                     result = Security.doAs(subject, () -> {
-                        // Don't want to print out Subject as it could have sensitive information
-                        getLog().tracef("Invoking listener: %s passing event %s using subject", target, event);
-                        try {
-                           return method.invoke(target, event);
-                        } catch (IllegalAccessException | InvocationTargetException e) {
-                           throw new RuntimeException(e);
-                        }
-                     });
-                  } catch (Exception e) {
-                     Throwable cause = e.getCause();
-                     if (cause instanceof InvocationTargetException) {
-                        throw (InvocationTargetException)cause;
-                     } else if (cause instanceof IllegalAccessException) {
-                        throw (IllegalAccessException)cause;
-                     } else {
-                        throw new InvocationTargetException(cause);
-                     }
-                  }
-               } else {
-                  getLog().tracef("Invoking listener: %s passing event %s", target, event);
-                  result = method.invoke(target, event);
-               }
-               return result;
-            } catch (InvocationTargetException exception) {
-               Throwable cause = getRealException(exception);
-               if (sync) {
-                  throw getLog().exceptionInvokingListener(
-                        cause.getClass().getName(), method, target, cause);
-               } else {
-                  getLog().unableToInvokeListenerMethod(method, target, cause);
-               }
-            } catch (IllegalAccessException exception) {
-               getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
-               // Don't worry about return, just let it fire async
-               removeListenerAsync(target);
-            } finally {
-               if (classLoader.get() != null) {
-                  Thread.currentThread().setContextClassLoader(contextClassLoader);
-               }
-               resumeIfNeeded(transaction);
-            }
-            return null;
-         };
+         Supplier<Object> r = () -> invokeMethod(event);
 
          if (sync) {
             // Sync can run in a blocking (null) or non blocking (CompletionStage) fashion
@@ -467,12 +415,199 @@ public CompletionStage<Void> invoke(final A event) {
          return CompletableFutures.completedNull();
       }
 
+      /**
+       * Invokes the listener method in the current thread.
+       *
+       * @return the value returned by the listener method, or {@code null} if it failed
+       */
+      protected Object invokeMethod(A event) {
+         ClassLoader contextClassLoader = null;
+         Transaction transaction = suspendIfNeeded();
+         if (classLoader.get() != null) {
+            contextClassLoader = Thread.currentThread().getContextClassLoader();
+            Thread.currentThread().setContextClassLoader(classLoader.get());
+         }
+
+         try {
+            Object result;
+            if (subject != null) {
+               try {
+                  result = Security.doAs(subject, () -> {
+                     // Don't want to print out Subject as it could have sensitive information
+                     getLog().tracef("Invoking listener: %s passing event %s using subject", target, event);
+                     try {
+                        return method.invoke(target, event);
+                     } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new RuntimeException(e);
+                     }
+                  });
+               } catch (Exception e) {
+                  Throwable cause = e.getCause();
+                  if (cause instanceof InvocationTargetException) {
+                     throw (InvocationTargetException)cause;
+                  } else if (cause instanceof IllegalAccessException) {
+                     throw (IllegalAccessException)cause;
+                  } else {
+                     throw new InvocationTargetException(cause);
+                  }
+               }
+            } else {
+               getLog().tracef("Invoking listener: %s passing event %s", target, event);
+               result = method.invoke(target, event);
+            }
+            return result;
+         } catch (InvocationTargetException exception) {
+            Throwable cause = getRealException(exception);
+            if (sync) {
+               throw getLog().exceptionInvokingListener(
+                     cause.getClass().getName(), method, target, cause);
+            } else {
+               getLog().unableToInvokeListenerMethod(method, target, cause);
+            }
+         } catch (IllegalAccessException exception) {
+            getLog().unableToInvokeListenerMethodAndRemoveListener(method, target, exception);
+            // Don't worry about return, just let it fire async
+            removeListenerAsync(target);
+         } finally {
+            if (classLoader.get() != null) {
+               Thread.currentThread().setContextClassLoader(contextClassLoader);
+            }
+            resumeIfNeeded(transaction);
+         }
+         return null;
+      }
+
       @Override
       public Object getTarget() {
          return target;
       }
    }
 
+   /**
+    * Invocation of an asynchronous listener that buffers the events and delivers them from a single task, up to {@code
+    * batchSize} events at a time, instead of submitting a task per event.
+    * <p>
+    * When a coalescing key function is provided, an event replaces the buffered event with the same key, so the listener
+    * only sees the latest state of the entries it is slow to process. The buffer holds at most {@link
+    * #BUFFERED_BATCHES} batches: beyond that, the stage returned by {@link #invoke(Object)} completes only when the
+    * listener catches up, which delays the operation firing the event instead of blocking a thread.
+    * <p>
+    * The events fired on the thread delivering the events are never delayed: they are fired by the listener writing to
+    * the cache it listens to, and the listener cannot catch up while it waits for its own writes.
+    */
+   protected class BatchingListenerInvocation<A> extends ListenerInvocationImpl<A> implements Runnable {
+      static final int BUFFERED_BATCHES = 16;
+
+      private final int batchSize;
+      private final int capacity;
+      private final Function<? super A, Object> coalescingKey;
+      // all guarded by this
+      private final ArrayDeque<EventHolder<A>> pending = new ArrayDeque<>();
+      private final Map<Object, EventHolder<A>> pendingByKey;
+      private boolean scheduled;
+      private CompletableFuture<Void> spaceAvailable;
+      private volatile Thread deliveringThread;
+
+      public BatchingListenerInvocation(Object target, Method method, ClassLoader classLoader, Subject subject,
+                                        int batchSize, Function<? super A, Object> coalescingKey) {
+         super(target, method, false, classLoader, subject);
+         this.batchSize = batchSize;
+         this.capacity = batchSize * BUFFERED_BATCHES;
+         this.coalescingKey = coalescingKey;
+         this.pendingByKey = coalescingKey == null ? null : new HashMap<>();
+      }
+
+      @Override
+      public CompletionStage<Void> invoke(A event) {
+         Object key = coalescingKey == null ? null : coalescingKey.apply(event);
+         CompletionStage<Void> stage = null;
+         boolean schedule;
+         synchronized (this) {
+            EventHolder<A> holder = key == null ? null : pendingByKey.get(key);
+            if (holder != null) {
+               getLog().tracef("Listener %s coalesced event %s", target, event);
+               holder.event = event;
+            } else {
+               holder = new EventHolder<>(key, event);
+               pending.add(holder);
+               if (key != null) {
+                  pendingByKey.put(key, holder);
+               }
+            }
+            schedule = !scheduled;
+            scheduled = true;
+            if (pending.size() >= capacity && Thread.currentThread() != deliveringThread) {
+               if (spaceAvailable == null) {
+                  spaceAvailable = new CompletableFuture<>();
+               }
+               stage = spaceAvailable;
+            }
+         }
+         if (schedule) {
+            asyncProcessor.execute(this);
+         }
+         return stage == null ? CompletableFutures.completedNull() : stage;
+      }
+
+      @Override
+      public void run() {
+         deliveringThread = Thread.currentThread();
+         try {
+            for (int i = 0; i < batchSize; i++) {
+               A event = poll();
+               if (event == null) {
+                  return;
+               }
+               invokeMethod(event);
+            }
+         } finally {
+            deliveringThread = null;
+         }
+         boolean reschedule;
+         synchronized (this) {
+            reschedule = scheduled = !pending.isEmpty();
+         }
+         if (reschedule) {
+            // let the tasks of the other listeners run before delivering the next batch
+            asyncProcessor.execute(this);
+         }
+      }
+
+      private A poll() {
+         CompletableFuture<Void> toComplete = null;
+         A event = null;
+         synchronized (this) {
+            EventHolder<A> holder = pending.poll();
+            if (holder == null) {
+               scheduled = false;
+            } else {
+               event = holder.event;
+               if (holder.key != null) {
+                  pendingByKey.remove(holder.key);
+               }
+            }
+            if (spaceAvailable != null && pending.size() < capacity) {
+               toComplete = spaceAvailable;
+               spaceAvailable = null;
+            }
+         }
+         if (toComplete != null) {
+            toComplete.complete(null);
+         }
+         return event;
+      }
+   }
+
+   private static final class EventHolder<A> {
+      final Object key;
+      A event;
+
+      EventHolder(Object key, A event) {
+         this.key = key;
+         this.event = event;
+      }
+   }
+
    private Throwable getRealException(Throwable re) {
       if (re.getCause() == null) return re;
       Throwable cause = re.getCause();
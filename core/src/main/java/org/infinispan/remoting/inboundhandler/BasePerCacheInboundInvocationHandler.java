@@ -5,6 +5,7 @@
 import static org.infinispan.util.logging.Log.CLUSTER;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.TopologyAffectedCommand;
@@ -13,6 +14,7 @@
 import org.infinispan.commands.remote.ClusteredGetCommand;
 import org.infinispan.commands.remote.SingleRpcCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.annotations.ComponentName;
@@ -21,6 +23,11 @@
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.remoting.inboundhandler.InboundCommandLanes.Lane;
 import org.infinispan.remoting.responses.CacheNotFoundResponse;
 import org.infinispan.remoting.responses.ExceptionResponse;
 import org.infinispan.remoting.responses.Response;
@@ -41,10 +48,13 @@
  * @author Pedro Ruivo
  * @since 7.1
  */
+@MBean(objectName = BasePerCacheInboundInvocationHandler.OBJECT_NAME, description = "Handles the commands received from the other nodes for a cache.")
 @Scope(Scopes.NAMED_CACHE)
 public abstract class BasePerCacheInboundInvocationHandler implements PerCacheInboundInvocationHandler {
    private static final Log log = LogFactory.getLog(BasePerCacheInboundInvocationHandler.class);
 
+   public static final String OBJECT_NAME = "InboundInvocationHandler";
+
    private static final int NO_TOPOLOGY_COMMAND = Integer.MIN_VALUE;
 
    // TODO: To be removed with https://issues.redhat.com/browse/ISPN-11483
@@ -56,11 +66,14 @@ public abstract class BasePerCacheInboundInvocationHandler implements PerCacheIn
    @Inject ResponseGenerator responseGenerator;
    @Inject ComponentRegistry componentRegistry;
    @Inject protected Configuration configuration;
+   @Inject TimeService timeService;
    // Stop after RpcManager, so we stop accepting requests before we are unable to send requests ourselves
    @Inject RpcManager rpcManager;
 
    private volatile boolean stopped;
    private volatile int firstTopologyAsMember = Integer.MAX_VALUE;
+   // null when there is no concurrency limit and the statistics are disabled
+   private InboundCommandLanes lanes;
 
    private static int extractCommandTopologyId(SingleRpcCommand command) {
       ReplicableCommand innerCmd = command.getCommand();
@@ -90,11 +103,18 @@ static int extractCommandTopologyId(CacheRpcCommand command) {
    @Start
    public void start() {
       this.stopped = false;
+      int maxConcurrency = configuration.clustering().remoteCommandConcurrency();
+      if (maxConcurrency > 0 || configuration.statistics().enabled()) {
+         lanes = new InboundCommandLanes(blockingExecutor, timeService, maxConcurrency);
+      }
    }
 
    @Stop
    public void stop() {
       this.stopped = true;
+      if (lanes != null) {
+         lanes.stop();
+      }
    }
 
    public boolean isStopped() {
@@ -146,15 +166,24 @@ static Response interruptedException(CacheRpcCommand command) {
       return CacheNotFoundResponse.INSTANCE;
    }
 
-   final void handleRunnable(BlockingRunnable runnable, boolean onExecutorService) {
+   final void handleRunnable(CacheRpcCommand command, BlockingRunnable runnable, boolean onExecutorService) {
       // This means it is blocking and not preserve order per executeOnExecutorService
       if (onExecutorService) {
-         blockingExecutor.execute(runnable);
+         executeOnBlockingExecutor(command, runnable);
       } else {
          runnable.run();
       }
    }
 
+   final void executeOnBlockingExecutor(CacheRpcCommand command, BlockingRunnable runnable) {
+      InboundCommandLanes lanes = this.lanes;
+      if (lanes == null) {
+         blockingExecutor.execute(runnable);
+      } else {
+         lanes.execute(runnable, InboundCommandLanes.laneOf(command));
+      }
+   }
+
    public final boolean isCommandSentBeforeFirstTopology(int commandTopologyId) {
       if (0 <= commandTopologyId && commandTopologyId < firstTopologyAsMember) {
          if (log.isTraceEnabled()) {
@@ -195,7 +224,79 @@ public int getFirstTopologyAsMember() {
 
    @Override
    public void checkForReadyTasks() {
+      InboundCommandLanes lanes = this.lanes;
+      if (lanes != null) {
+         lanes.dispatch();
+      }
       blockingExecutor.checkForReadyTasks();
       nonBlockingExecutor.checkForReadyTasks();
    }
+
+   @ManagedAttribute(description = "Number of topology, lock and read commands waiting for a thread", displayName = "Priority lane pending commands")
+   public int getPriorityLanePendingCount() {
+      return pendingCount(Lane.PRIORITY);
+   }
+
+   @ManagedAttribute(description = "Average time topology, lock and read commands waited for a thread", displayName = "Priority lane average wait time", units = Units.MICROSECONDS)
+   public long getPriorityLaneAverageWaitTime() {
+      return averageWaitTime(Lane.PRIORITY);
+   }
+
+   @ManagedAttribute(description = "Maximum time topology, lock and read commands waited for a thread", displayName = "Priority lane maximum wait time", units = Units.MICROSECONDS)
+   public long getPriorityLaneMaxWaitTime() {
+      return maxWaitTime(Lane.PRIORITY);
+   }
+
+   @ManagedAttribute(description = "Number of write and transaction commands waiting for a thread", displayName = "Default lane pending commands")
+   public int getDefaultLanePendingCount() {
+      return pendingCount(Lane.DEFAULT);
+   }
+
+   @ManagedAttribute(description = "Average time write and transaction commands waited for a thread", displayName = "Default lane average wait time", units = Units.MICROSECONDS)
+   public long getDefaultLaneAverageWaitTime() {
+      return averageWaitTime(Lane.DEFAULT);
+   }
+
+   @ManagedAttribute(description = "Maximum time write and transaction commands waited for a thread", displayName = "Default lane maximum wait time", units = Units.MICROSECONDS)
+   public long getDefaultLaneMaxWaitTime() {
+      return maxWaitTime(Lane.DEFAULT);
+   }
+
+   @ManagedAttribute(description = "Number of state transfer and stream commands waiting for a thread", displayName = "Bulk lane pending commands")
+   public int getBulkLanePendingCount() {
+      return pendingCount(Lane.BULK);
+   }
+
+   @ManagedAttribute(description = "Average time state transfer and stream commands waited for a thread", displayName = "Bulk lane average wait time", units = Units.MICROSECONDS)
+   public long getBulkLaneAverageWaitTime() {
+      return averageWaitTime(Lane.BULK);
+   }
+
+   @ManagedAttribute(description = "Maximum time state transfer and stream commands waited for a thread", displayName = "Bulk lane maximum wait time", units = Units.MICROSECONDS)
+   public long getBulkLaneMaxWaitTime() {
+      return maxWaitTime(Lane.BULK);
+   }
+
+   @ManagedOperation(description = "Resets the lane statistics", displayName = "Reset statistics")
+   public void resetStatistics() {
+      InboundCommandLanes lanes = this.lanes;
+      if (lanes != null) {
+         lanes.resetStatistics();
+      }
+   }
+
+   private int pendingCount(Lane lane) {
+      InboundCommandLanes lanes = this.lanes;
+      return lanes == null ? 0 : lanes.pendingCount(lane);
+   }
+
+   private long averageWaitTime(Lane lane) {
+      InboundCommandLanes lanes = this.lanes;
+      return lanes == null ? 0 : lanes.averageWaitTime(lane, TimeUnit.MICROSECONDS);
+   }
+
+   private long maxWaitTime(Lane lane) {
+      InboundCommandLanes lanes = this.lanes;
+      return lanes == null ? 0 : lanes.maxWaitTime(lane, TimeUnit.MICROSECONDS);
+   }
 }
@@ -15,6 +15,7 @@
 import org.infinispan.commands.GlobalRpcCommand;
 import org.infinispan.commands.ReplicableCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.ReplicableCommandBatch;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.IllegalLifecycleStateException;
 import org.infinispan.configuration.ConfigurationManager;
@@ -108,6 +109,8 @@ public void handleFromCluster(Address origin, ReplicableCommand command, Reply r
       try {
          if (command.getCommandId() == HeartBeatCommand.COMMAND_ID) {
             reply.reply(null);
+         } else if (command.getCommandId() == ReplicableCommandBatch.COMMAND_ID) {
+            handleCommandBatch(origin, (ReplicableCommandBatch) command, order);
          } else if (command instanceof CacheRpcCommand) {
             handleCacheRpcCommand(origin, (CacheRpcCommand) command, reply, order);
          } else {
@@ -121,6 +124,16 @@ public void handleFromCluster(Address origin, ReplicableCommand command, Reply r
       }
    }
 
+   private void handleCommandBatch(Address origin, ReplicableCommandBatch batch, DeliverOrder order) {
+      if (log.isTraceEnabled()) {
+         log.tracef("Unpacking batch of %d commands [sender=%s]", batch.getCommands().size(), origin);
+      }
+      // the commands in a batch never expect a response
+      for (ReplicableCommand command : batch.getCommands()) {
+         handleFromCluster(origin, command, Reply.NO_OP, order);
+      }
+   }
+
    @Override
    public void handleFromRemoteSite(String origin, XSiteReplicateCommand<?> command, Reply reply, DeliverOrder order) {
       if (log.isTraceEnabled()) {
@@ -0,0 +1,355 @@
+package org.infinispan.remoting.inboundhandler;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.control.LockControlCommand;
+import org.infinispan.commands.irac.IracRequestStateCommand;
+import org.infinispan.commands.irac.IracStateResponseCommand;
+import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commands.remote.CheckTransactionRpcCommand;
+import org.infinispan.commands.remote.ClusteredGetAllCommand;
+import org.infinispan.commands.remote.ClusteredGetCommand;
+import org.infinispan.commands.remote.SingleRpcCommand;
+import org.infinispan.commands.remote.recovery.TxCompletionNotificationCommand;
+import org.infinispan.commands.statetransfer.ConflictResolutionStartCommand;
+import org.infinispan.commands.statetransfer.StateResponseCommand;
+import org.infinispan.commands.statetransfer.StateTransferCancelCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
+import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
+import org.infinispan.commands.statetransfer.StateTransferStartCommand;
+import org.infinispan.commands.write.PutMapCommand;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.reactive.publisher.impl.commands.batch.InitialPublisherCommand;
+import org.infinispan.reactive.publisher.impl.commands.batch.NextPublisherCommand;
+import org.infinispan.reactive.publisher.impl.commands.reduction.ReductionPublisherRequestCommand;
+import org.infinispan.util.concurrent.BlockingRunnable;
+import org.infinispan.util.concurrent.BlockingTaskAwareExecutorService;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Dispatches the remote commands of a cache to the blocking executor through three lanes.
+ * <p>
+ * With a concurrency limit, at most that many commands of the cache are handed to the executor at the same time and the
+ * others wait in their lane. The lanes are drained with a weighted round-robin, so the topology, lock and read commands
+ * get most of the slots, the state transfer and stream commands get the smallest share, and no lane is starved. Only
+ * the commands that are ready (see {@link BlockingRunnable#isReady()}) take a slot; the others stay queued until {@link
+ * #dispatch()} is invoked after a topology or transaction data change.
+ * <p>
+ * Each lane keeps the ready commands apart from the commands that are not ready, so a dispatch takes the next ready
+ * command without scanning the queue. The commands that are not ready are only checked again by {@link #dispatch()},
+ * and a command does not become not ready once it is ready.
+ * <p>
+ * The slot is released when {@link Runnable#run()} returns, so the limit bounds the number of threads used by the cache
+ * and not the number of commands waiting for an asynchronous operation.
+ * <p>
+ * Without a limit, the commands go straight to the executor and the lanes only record the time they waited.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+final class InboundCommandLanes {
+
+   private static final Log log = LogFactory.getLog(InboundCommandLanes.class);
+
+   enum Lane {
+      PRIORITY(4),
+      DEFAULT(2),
+      BULK(1);
+
+      private static final Lane[] CACHED_VALUES = values();
+
+      final int weight;
+
+      Lane(int weight) {
+         this.weight = weight;
+      }
+   }
+
+   private final BlockingTaskAwareExecutorService executor;
+   private final TimeService timeService;
+   private final int maxConcurrency;
+   private final LaneQueue[] lanes;
+   private final AtomicInteger running = new AtomicInteger();
+   private final AtomicInteger dispatchRequests = new AtomicInteger();
+   private final AtomicBoolean checkBlocked = new AtomicBoolean();
+   // only used by the thread dispatching, see dispatchReady()
+   private final int[] credits;
+
+   InboundCommandLanes(BlockingTaskAwareExecutorService executor, TimeService timeService, int maxConcurrency) {
+      this.executor = executor;
+      this.timeService = timeService;
+      this.maxConcurrency = maxConcurrency;
+      this.lanes = new LaneQueue[Lane.CACHED_VALUES.length];
+      this.credits = new int[Lane.CACHED_VALUES.length];
+      for (Lane lane : Lane.CACHED_VALUES) {
+         lanes[lane.ordinal()] = new LaneQueue();
+         credits[lane.ordinal()] = lane.weight;
+      }
+   }
+
+   static Lane laneOf(CacheRpcCommand command) {
+      switch (command.getCommandId()) {
+         case ClusteredGetCommand.COMMAND_ID:
+         case ClusteredGetAllCommand.COMMAND_ID:
+         case LockControlCommand.COMMAND_ID:
+         case CheckTransactionRpcCommand.COMMAND_ID:
+         case TxCompletionNotificationCommand.COMMAND_ID:
+         case StateTransferCancelCommand.COMMAND_ID:
+         case StateTransferGetListenersCommand.COMMAND_ID:
+         case StateTransferGetTransactionsCommand.COMMAND_ID:
+            return Lane.PRIORITY;
+         case StateResponseCommand.COMMAND_ID:
+         case StateTransferStartCommand.COMMAND_ID:
+         case ConflictResolutionStartCommand.COMMAND_ID:
+         case InitialPublisherCommand.COMMAND_ID:
+         case NextPublisherCommand.COMMAND_ID:
+         case ReductionPublisherRequestCommand.COMMAND_ID:
+         case IracRequestStateCommand.COMMAND_ID:
+         case IracStateResponseCommand.COMMAND_ID:
+            return Lane.BULK;
+         case SingleRpcCommand.COMMAND_ID:
+            ReplicableCommand innerCmd = ((SingleRpcCommand) command).getCommand();
+            return innerCmd != null && innerCmd.getCommandId() == PutMapCommand.COMMAND_ID ? Lane.BULK : Lane.DEFAULT;
+         default:
+            return Lane.DEFAULT;
+      }
+   }
+
+   boolean isLimited() {
+      return maxConcurrency > 0;
+   }
+
+   void execute(BlockingRunnable runnable, Lane lane) {
+      LaneTask task = new LaneTask(runnable, lanes[lane.ordinal()], timeService.time());
+      if (!isLimited()) {
+         executor.execute(task);
+         return;
+      }
+      if (task.lane.offer(task)) {
+         // the task may have become ready before it was queued as blocked, after the last check
+         checkBlocked.set(true);
+      }
+      dispatchReady();
+   }
+
+   /**
+    * Checks again the commands that were not ready, then hands the ready commands to the executor while there are
+    * free slots. It must be invoked after a topology or transaction data change.
+    */
+   void dispatch() {
+      if (!isLimited()) {
+         return;
+      }
+      checkBlocked.set(true);
+      dispatchReady();
+   }
+
+   /**
+    * Hands the ready commands to the executor while there are free slots.
+    * <p>
+    * Only one thread dispatches at a time. If another thread invokes this method in the meantime, the dispatching
+    * thread does another round, like {@link org.infinispan.util.concurrent.BlockingTaskAwareExecutorServiceImpl} does
+    * with its blocked tasks.
+    */
+   private void dispatchReady() {
+      int counter = dispatchRequests.getAndIncrement();
+      if (counter == 0) {
+         do {
+            if (checkBlocked.getAndSet(false)) {
+               for (LaneQueue lane : lanes) {
+                  lane.checkBlocked();
+               }
+            }
+            LaneTask task;
+            while (running.get() < maxConcurrency && (task = nextReadyTask()) != null) {
+               running.incrementAndGet();
+               try {
+                  executor.execute(task);
+               } catch (RejectedExecutionException e) {
+                  // the executor is shutting down and the task would never run anyway
+                  running.decrementAndGet();
+                  log.debugf(e, "Unable to dispatch %s", task.runnable);
+               }
+            }
+         } while ((counter = dispatchRequests.addAndGet(-counter)) != 0);
+      }
+   }
+
+   /**
+    * Hands all the queued commands to the executor, regardless of the limit, so they can reply to the originator.
+    */
+   void stop() {
+      for (LaneQueue lane : lanes) {
+         LaneTask task;
+         while ((task = lane.poll()) != null) {
+            running.incrementAndGet();
+            try {
+               executor.execute(task);
+            } catch (RejectedExecutionException e) {
+               running.decrementAndGet();
+               log.debugf(e, "Unable to dispatch %s", task.runnable);
+            }
+         }
+      }
+   }
+
+   private LaneTask nextReadyTask() {
+      LaneTask task = pollWithCredits();
+      if (task == null) {
+         // the lanes with credits are empty or not ready, start a new round
+         for (Lane lane : Lane.CACHED_VALUES) {
+            credits[lane.ordinal()] = lane.weight;
+         }
+         task = pollWithCredits();
+      }
+      return task;
+   }
+
+   private LaneTask pollWithCredits() {
+      for (int i = 0; i < lanes.length; i++) {
+         if (credits[i] > 0) {
+            LaneTask task = lanes[i].ready.poll();
+            if (task != null) {
+               credits[i]--;
+               return task;
+            }
+         }
+      }
+      return null;
+   }
+
+   int pendingCount(Lane lane) {
+      LaneQueue queue = lanes[lane.ordinal()];
+      return queue.ready.size() + queue.blocked.size();
+   }
+
+   long dispatchedCount(Lane lane) {
+      return lanes[lane.ordinal()].dispatched.sum();
+   }
+
+   long averageWaitTime(Lane lane, TimeUnit unit) {
+      LaneQueue queue = lanes[lane.ordinal()];
+      long count = queue.dispatched.sum();
+      return count == 0 ? 0 : unit.convert(queue.waitTime.sum() / count, TimeUnit.NANOSECONDS);
+   }
+
+   long maxWaitTime(Lane lane, TimeUnit unit) {
+      return unit.convert(lanes[lane.ordinal()].maxWaitTime.get(), TimeUnit.NANOSECONDS);
+   }
+
+   void resetStatistics() {
+      for (LaneQueue lane : lanes) {
+         lane.dispatched.reset();
+         lane.waitTime.reset();
+         lane.maxWaitTime.reset();
+      }
+   }
+
+   private static final class LaneQueue {
+      final Queue<LaneTask> ready = new ConcurrentLinkedQueue<>();
+      // only removed from by the thread dispatching
+      final Queue<LaneTask> blocked = new ConcurrentLinkedQueue<>();
+      final LongAdder dispatched = new LongAdder();
+      final LongAdder waitTime = new LongAdder();
+      final LongAccumulator maxWaitTime = new LongAccumulator(Math::max, 0);
+
+      /**
+       * @return {@code true} if the task is not ready when queued but it is ready now
+       */
+      boolean offer(LaneTask task) {
+         Boolean isReady = isReady(task);
+         if (isReady == null) {
+            return false;
+         }
+         if (isReady) {
+            ready.offer(task);
+            return false;
+         }
+         blocked.offer(task);
+         return Boolean.TRUE.equals(isReady(task));
+      }
+
+      /**
+       * Moves the tasks that became ready to the ready queue.
+       */
+      void checkBlocked() {
+         for (Iterator<LaneTask> iterator = blocked.iterator(); iterator.hasNext(); ) {
+            LaneTask task = iterator.next();
+            Boolean isReady = isReady(task);
+            if (isReady == null) {
+               iterator.remove();
+            } else if (isReady) {
+               iterator.remove();
+               ready.offer(task);
+            }
+         }
+      }
+
+      LaneTask poll() {
+         LaneTask task = ready.poll();
+         return task != null ? task : blocked.poll();
+      }
+
+      /**
+       * @return whether the task is ready, or {@code null} if the check failed and the task must be dropped
+       */
+      private static Boolean isReady(LaneTask task) {
+         try {
+            return task.isReady();
+         } catch (Exception e) {
+            log.debugf(e, "Failed to check ready state of %s, dropping.", task.runnable);
+            return null;
+         }
+      }
+   }
+
+   private final class LaneTask implements BlockingRunnable {
+      final BlockingRunnable runnable;
+      final LaneQueue lane;
+      final long queuedTime;
+
+      LaneTask(BlockingRunnable runnable, LaneQueue lane, long queuedTime) {
+         this.runnable = runnable;
+         this.lane = lane;
+         this.queuedTime = queuedTime;
+      }
+
+      @Override
+      public boolean isReady() {
+         return runnable.isReady();
+      }
+
+      @Override
+      public void run() {
+         long waitTime = timeService.timeDuration(queuedTime, TimeUnit.NANOSECONDS);
+         lane.dispatched.increment();
+         lane.waitTime.add(waitTime);
+         lane.maxWaitTime.accumulate(waitTime);
+         try {
+            runnable.run();
+         } finally {
+            if (isLimited()) {
+               running.decrementAndGet();
+               dispatchReady();
+            }
+         }
+      }
+
+      @Override
+      public String toString() {
+         return runnable.toString();
+      }
+   }
+}
@@ -7,6 +7,7 @@
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
+import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.util.concurrent.BlockingRunnable;
 
 /**
@@ -16,6 +17,7 @@
  * @author Pedro Ruivo
  * @since 7.1
  */
+@MBean(objectName = BasePerCacheInboundInvocationHandler.OBJECT_NAME, description = "Handles the commands received from the other nodes for a cache.")
 public class NonTxPerCacheInboundInvocationHandler extends BasePerCacheInboundInvocationHandler {
 
    @Override
@@ -41,7 +43,7 @@ public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
                runnable = createDefaultRunnable(command, reply, commandTopologyId, waitForTransactionalData, onExecutorService, sync);
                break;
          }
-         handleRunnable(runnable, onExecutorService);
+         handleRunnable(command, runnable, onExecutorService);
       } catch (Throwable throwable) {
          reply.reply(exceptionHandlingCommand(command, throwable));
       }
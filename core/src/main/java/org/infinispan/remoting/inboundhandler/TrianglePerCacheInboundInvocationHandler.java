@@ -27,6 +27,7 @@
 import org.infinispan.commands.write.ExceptionAckCommand;
 import org.infinispan.distribution.TriangleOrderManager;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.remoting.inboundhandler.action.Action;
 import org.infinispan.remoting.inboundhandler.action.ActionState;
 import org.infinispan.remoting.inboundhandler.action.ActionStatus;
@@ -46,6 +47,7 @@
  * @author Pedro Ruivo
  * @since 9.0
  */
+@MBean(objectName = BasePerCacheInboundInvocationHandler.OBJECT_NAME, description = "Handles the commands received from the other nodes for a cache.")
 public class TrianglePerCacheInboundInvocationHandler extends BasePerCacheInboundInvocationHandler implements Action {
 
    private static final Log log = LogFactory.getLog(TrianglePerCacheInboundInvocationHandler.class);
@@ -125,7 +127,7 @@ private void handleStateRequestCommand(CacheRpcCommand command, Reply reply, Del
       if (executeOnExecutorService(order, command)) {
          BlockingRunnable runnable = createDefaultRunnable(command, reply, extractCommandTopologyId(command),
                TopologyMode.READY_TOPOLOGY, order.preserveOrder());
-         blockingExecutor.execute(runnable);
+         executeOnBlockingExecutor(command, runnable);
       } else {
          BlockingRunnable runnable = createDefaultRunnable(command, reply, extractCommandTopologyId(command),
                TopologyMode.WAIT_TOPOLOGY, order.preserveOrder());
@@ -137,7 +139,7 @@ private void handleDefaultCommand(CacheRpcCommand command, Reply reply, DeliverO
       if (executeOnExecutorService(order, command)) {
          BlockingRunnable runnable = createDefaultRunnable(command, reply, extractCommandTopologyId(command),
                TopologyMode.READY_TX_DATA, order.preserveOrder());
-         blockingExecutor.execute(runnable);
+         executeOnBlockingExecutor(command, runnable);
       } else {
          BlockingRunnable runnable = createDefaultRunnable(command, reply, extractCommandTopologyId(command),
                TopologyMode.WAIT_TX_DATA, order.preserveOrder());
@@ -170,7 +172,7 @@ private void handleSingleRpcCommand(SingleRpcCommand command, Reply reply, Deliv
          BlockingRunnable runnable = createDefaultRunnable(command, reply, commandTopologyId,
                                                            TopologyMode.READY_TX_DATA,
                                                            order.preserveOrder());
-         blockingExecutor.execute(runnable);
+         executeOnBlockingExecutor(command, runnable);
       } else {
          createDefaultRunnable(command, reply, extractCommandTopologyId(command), TopologyMode.WAIT_TX_DATA,
                order.preserveOrder()).run();
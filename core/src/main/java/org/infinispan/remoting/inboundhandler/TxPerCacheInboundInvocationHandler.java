@@ -6,6 +6,7 @@
 import org.infinispan.commands.statetransfer.StateTransferGetListenersCommand;
 import org.infinispan.commands.statetransfer.StateTransferGetTransactionsCommand;
 import org.infinispan.commands.statetransfer.StateTransferStartCommand;
+import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.util.concurrent.BlockingRunnable;
 
 /**
@@ -14,6 +15,7 @@
  * @author Pedro Ruivo
  * @since 7.1
  */
+@MBean(objectName = BasePerCacheInboundInvocationHandler.OBJECT_NAME, description = "Handles the commands received from the other nodes for a cache.")
 public class TxPerCacheInboundInvocationHandler extends BasePerCacheInboundInvocationHandler {
 
    @Override
@@ -34,7 +36,7 @@ public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
             default:
                runnable = createDefaultRunnable(command, reply, commandTopologyId, true, onExecutorService, sync);
          }
-         handleRunnable(runnable, onExecutorService);
+         handleRunnable(command, runnable, onExecutorService);
       } catch (Throwable throwable) {
          reply.reply(exceptionHandlingCommand(command, throwable));
       }
@@ -0,0 +1,177 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.remote.ReplicableCommandBatch;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Packs the commands that don't expect a response and that are sent to the same destination into a single message.
+ * <p>
+ * The commands are queued per destination and delivery order, and the queue is drained by a task in the non-blocking
+ * executor. The batching window is the time between the first command being queued and the task running, so no delay
+ * is added on purpose: a single command is sent as usual, and the commands only get batched when they are sent faster
+ * than the task can drain them, which is the case for the triangle backup writes and acknowledges of write-heavy
+ * caches. Only the unordered delivery modes are batched, so the order of the commands is never an issue.
+ * <p>
+ * The senders do not wait for these commands, so a batch that cannot be sent is logged and lost, like a message
+ * dropped by the network.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+final class CommandBatcher {
+
+   private static final Log log = LogFactory.getLog(CommandBatcher.class);
+
+   private final JGroupsTransport transport;
+
+   private final Executor executor;
+
+   private final int maxBatchSize;
+
+   private final ConcurrentHashMap<Destination, DestinationQueue> queues = new ConcurrentHashMap<>();
+
+   private final LongAdder batches = new LongAdder();
+
+   private final LongAdder batchedCommands = new LongAdder();
+
+   CommandBatcher(JGroupsTransport transport, Executor executor, int maxBatchSize) {
+      this.transport = transport;
+      this.executor = executor;
+      this.maxBatchSize = maxBatchSize;
+   }
+
+   static boolean canBatch(DeliverOrder deliverOrder) {
+      return deliverOrder == DeliverOrder.NONE || deliverOrder == DeliverOrder.NONE_NO_FC;
+   }
+
+   void send(Address target, ReplicableCommand command, DeliverOrder deliverOrder) {
+      DestinationQueue queue = queues.computeIfAbsent(new Destination(target, deliverOrder), DestinationQueue::new);
+      queue.commands.offer(command);
+      queue.schedule();
+   }
+
+   /**
+    * Removes the queues of the nodes that are no longer members.
+    */
+   void retainAll(List<Address> members) {
+      queues.keySet().removeIf(destination -> !members.contains(destination.target));
+   }
+
+   void stop() {
+      queues.clear();
+   }
+
+   /**
+    * @return the number of messages sent with more than one command
+    */
+   long batchCount() {
+      return batches.sum();
+   }
+
+   /**
+    * @return the number of commands sent in messages with more than one command
+    */
+   long batchedCommandCount() {
+      return batchedCommands.sum();
+   }
+
+   private final class DestinationQueue implements Runnable {
+
+      final Destination destination;
+
+      final Queue<ReplicableCommand> commands = new ConcurrentLinkedQueue<>();
+
+      final AtomicBoolean scheduled = new AtomicBoolean();
+
+      DestinationQueue(Destination destination) {
+         this.destination = destination;
+      }
+
+      void schedule() {
+         if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+         }
+      }
+
+      @Override
+      public void run() {
+         List<ReplicableCommand> batch = new ArrayList<>();
+         ReplicableCommand command;
+         while ((command = commands.poll()) != null) {
+            batch.add(command);
+            if (batch.size() == maxBatchSize) {
+               send(batch);
+               batch = new ArrayList<>();
+            }
+         }
+         if (!batch.isEmpty()) {
+            send(batch);
+         }
+         scheduled.set(false);
+         // a command queued after the last poll and before the reset would not be sent otherwise
+         if (!commands.isEmpty()) {
+            schedule();
+         }
+      }
+
+      private void send(List<ReplicableCommand> batch) {
+         try {
+            ReplicableCommand command;
+            if (batch.size() == 1) {
+               command = batch.get(0);
+            } else {
+               command = new ReplicableCommandBatch(batch);
+               batches.increment();
+               batchedCommands.add(batch.size());
+            }
+            if (log.isTraceEnabled()) {
+               log.tracef("Sending %d commands to %s in a single message", batch.size(), destination.target);
+            }
+            transport.sendCommand(destination.target, command, destination.deliverOrder);
+         } catch (Throwable t) {
+            log.failedToSendCommandBatch(batch.size(), destination.target, t);
+         }
+      }
+   }
+
+   private static final class Destination {
+
+      final Address target;
+
+      final DeliverOrder deliverOrder;
+
+      Destination(Address target, DeliverOrder deliverOrder) {
+         this.target = target;
+         this.deliverOrder = deliverOrder;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (this == o) return true;
+         if (o == null || getClass() != o.getClass()) return false;
+         Destination that = (Destination) o;
+         return target.equals(that.target) && deliverOrder == that.deliverOrder;
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash(target, deliverOrder);
+      }
+   }
+}
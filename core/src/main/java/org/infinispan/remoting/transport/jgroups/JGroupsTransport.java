@@ -155,6 +155,12 @@ public class JGroupsTransport implements Transport, ChannelListener {
    public static final String CHANNEL_LOOKUP = "channelLookup";
    public static final String CHANNEL_CONFIGURATOR = "channelConfigurator";
    public static final String SOCKET_FACTORY = "socketFactory";
+   /**
+    * Enables the batching of the commands sent without waiting for a response, see {@link CommandBatcher}.
+    */
+   public static final String COMMAND_BATCHING = "commandBatching";
+   public static final String COMMAND_BATCH_MAX_SIZE = "commandBatchMaxSize";
+   private static final int DEFAULT_COMMAND_BATCH_MAX_SIZE = 64;
    private static final String METRICS_PREFIX = "jgroups_";
    public static final short REQUEST_FLAGS_UNORDERED =
          (short) (Message.Flag.OOB.value() | Message.Flag.NO_TOTAL_ORDER.value());
@@ -207,6 +213,7 @@ public class JGroupsTransport implements Transport, ChannelListener {
    private final Map<String, SiteUnreachableReason> unreachableSites;
    private String localSite;
    private volatile RaftManager raftManager = EmptyRaftManager.INSTANCE;
+   private CommandBatcher commandBatcher;
 
    // ------------------------------------------------------------------------------------------------------------------
    // Lifecycle and setup stuff
@@ -292,6 +299,13 @@ public void sendTo(Address destination, ReplicableCommand command, DeliverOrder
          return;
       }
       logCommand(command, destination);
+      CommandBatcher commandBatcher = this.commandBatcher;
+      if (commandBatcher != null && CommandBatcher.canBatch(deliverOrder)) {
+         if (clusterView.contains(destination)) {
+            commandBatcher.send(destination, command, deliverOrder);
+         }
+         return;
+      }
       sendCommand(destination, command, Request.NO_REQUEST_ID, deliverOrder, true, true);
    }
 
@@ -302,6 +316,15 @@ public void sendToMany(Collection<Address> targets, ReplicableCommand command, D
          sendCommandToAll(command, Request.NO_REQUEST_ID, deliverOrder);
       } else {
          logCommand(command, targets);
+         CommandBatcher commandBatcher = this.commandBatcher;
+         if (commandBatcher != null && CommandBatcher.canBatch(deliverOrder)) {
+            for (Address target : targets) {
+               if (!target.equals(address) && clusterView.contains(target)) {
+                  commandBatcher.send(target, command, deliverOrder);
+               }
+            }
+            return;
+         }
          sendCommand(targets, command, Request.NO_REQUEST_ID, deliverOrder, true);
       }
    }
@@ -483,6 +506,10 @@ public void start() {
       probeHandler.updateThreadPool(nonBlockingExecutor);
       props = TypedProperties.toTypedProperties(configuration.transport().properties());
       requests = new RequestRepository();
+      if (props.getBooleanProperty(COMMAND_BATCHING, false)) {
+         commandBatcher = new CommandBatcher(this, nonBlockingExecutor,
+               props.getIntProperty(COMMAND_BATCH_MAX_SIZE, DEFAULT_COMMAND_BATCH_MAX_SIZE));
+      }
 
       initChannel();
 
@@ -834,6 +861,9 @@ protected void receiveClusterView(View newView) {
          }
 
          this.clusterView = new ClusterView((int) viewId, members, address);
+         if (commandBatcher != null) {
+            commandBatcher.retainAll(members);
+         }
 
          // Create a completable future for the new view
          oldFuture = nextViewFuture;
@@ -910,6 +940,9 @@ public void stop() {
       if (requests != null) {
          requests.forEach(request -> request.cancel(CONTAINER.cacheManagerIsStopping()));
       }
+      if (commandBatcher != null) {
+         commandBatcher.stop();
+      }
 
       // Don't keep a reference to the channel, but keep the address and physical address
       channel = null;
@@ -1211,6 +1244,10 @@ void sendCommand(Address target, ReplicableCommand command, long requestId, Deli
       send(message);
    }
 
+   void sendCommand(Address target, ReplicableCommand command, DeliverOrder deliverOrder) {
+      sendCommand(target, command, Request.NO_REQUEST_ID, deliverOrder, true, true);
+   }
+
    private static org.jgroups.Address toJGroupsAddress(Address address) {
       return ((JGroupsAddress) address).getJGroupsAddress();
    }
@@ -0,0 +1,281 @@
+package org.infinispan.stats.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.infinispan.commons.stat.TimerTracker;
+import org.infinispan.commons.util.ProcessorInfo;
+
+/**
+ * A latency histogram with a bounded relative error, in the spirit of HdrHistogram.
+ * <p>
+ * The values are recorded in log-linear buckets of {@value #UNIT} nanoseconds units: every power of two is split in
+ * {@value #SUB_BUCKETS} buckets, so the percentiles are within 1/{@value #SUB_BUCKETS} of the recorded value, or within
+ * {@value #UNIT} nanoseconds for the smallest values. The values up to about 68 seconds are tracked, larger values are
+ * recorded in the last bucket but still reported by {@link #max()}.
+ * <p>
+ * The buckets are striped like {@link org.infinispan.commons.util.concurrent.StripedCounters}: each thread records in
+ * the stripe picked by its id, with an atomic increment of the bucket and of the total, and it does not allocate. A
+ * stripe is only allocated when a thread first records in it. The reads merge all the stripes. A stripe takes about
+ * 3.3 KB and there are at most {@value #MAX_STRIPES} stripes, since a cache has a histogram per operation.
+ * <p>
+ * The histogram is the only place where the values are recorded. It is published in the metrics by an
+ * {@link Exporter}, which reads the histogram instead of being updated with every value.
+ *
+ * @since 15.0
+ */
+public final class LatencyHistogram implements TimerTracker {
+
+   /**
+    * A {@link TimerTracker} that publishes the values recorded by a histogram instead of being updated with each value.
+    */
+   public interface Exporter extends TimerTracker {
+
+      /**
+       * Publishes the values recorded by {@code histogram}.
+       */
+      void export(LatencyHistogram histogram);
+   }
+
+   private static final int UNIT_BITS = 7;
+   private static final int UNIT = 1 << UNIT_BITS;
+   private static final int SUB_BUCKET_BITS = 4;
+   private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+   // 2^36 nanoseconds, about 68 seconds
+   private static final int MAX_VALUE_BITS = 36 - UNIT_BITS;
+   private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+   static final int BUCKETS = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+   // the total and the max are kept after the buckets in the stripe
+   private static final int TOTAL = BUCKETS;
+   private static final int MAX = BUCKETS + 1;
+   private static final int STRIPE_LENGTH = BUCKETS + 2;
+   private static final int MAX_STRIPES = 4;
+   private static final int STRIPE_COUNT = (int) Math.min(Long.highestOneBit(ProcessorInfo.availableProcessors()) << 1, MAX_STRIPES);
+   private static final int STRIPE_MASK = STRIPE_COUNT - 1;
+   private static final double[] REPORTED_PERCENTILES = {50, 90, 99, 99.9};
+
+   private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+   /**
+    * Publishes the histogram in the metrics if {@code tracker} is an {@link Exporter}. Any other tracker is ignored,
+    * since it would have to be updated with every value in addition to the histogram.
+    */
+   public void publishTo(TimerTracker tracker) {
+      if (tracker instanceof Exporter) {
+         ((Exporter) tracker).export(this);
+      }
+   }
+
+   /**
+    * Records a value.
+    *
+    * @param nanos the latency in nanoseconds.
+    */
+   public void record(long nanos) {
+      long value = Math.max(nanos, 0);
+      AtomicLongArray stripe = stripeForCurrentThread();
+      stripe.incrementAndGet(bucket(Math.min(value >>> UNIT_BITS, MAX_VALUE)));
+      stripe.addAndGet(TOTAL, value);
+      long max = stripe.get(MAX);
+      while (value > max && !stripe.compareAndSet(MAX, max, value)) {
+         max = stripe.get(MAX);
+      }
+   }
+
+   @Override
+   public void update(Duration duration) {
+      record(duration.toNanos());
+   }
+
+   @Override
+   public void update(long value, TimeUnit timeUnit) {
+      record(timeUnit.toNanos(value));
+   }
+
+   /**
+    * @return the number of recorded values.
+    */
+   public long count() {
+      long count = 0;
+      for (int s = 0; s < STRIPE_COUNT; s++) {
+         AtomicLongArray stripe = stripes.get(s);
+         if (stripe != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+               count += stripe.get(i);
+            }
+         }
+      }
+      return count;
+   }
+
+   /**
+    * @return the sum of the recorded values, in nanoseconds.
+    */
+   public long totalNanos() {
+      long total = 0;
+      for (int s = 0; s < STRIPE_COUNT; s++) {
+         AtomicLongArray stripe = stripes.get(s);
+         if (stripe != null) {
+            total += stripe.get(TOTAL);
+         }
+      }
+      return total;
+   }
+
+   /**
+    * @return the largest recorded value, in nanoseconds.
+    */
+   public long max() {
+      long max = 0;
+      for (int s = 0; s < STRIPE_COUNT; s++) {
+         AtomicLongArray stripe = stripes.get(s);
+         if (stripe != null) {
+            max = Math.max(max, stripe.get(MAX));
+         }
+      }
+      return max;
+   }
+
+   /**
+    * @param nanos the upper bound, in nanoseconds.
+    * @return the number of recorded values less than or equal to {@code nanos}, rounded to the bucket that contains
+    * {@code nanos}.
+    */
+   public long countAtMost(long nanos) {
+      int last = bucket(Math.min(Math.max(nanos, 0) >>> UNIT_BITS, MAX_VALUE));
+      long count = 0;
+      for (int s = 0; s < STRIPE_COUNT; s++) {
+         AtomicLongArray stripe = stripes.get(s);
+         if (stripe != null) {
+            for (int i = 0; i <= last; i++) {
+               count += stripe.get(i);
+            }
+         }
+      }
+      return count;
+   }
+
+   /**
+    * @param percentile the percentile, between 0 and 100.
+    * @return the value, in nanoseconds, below which the {@code percentile} of the recorded values fall, or 0 if no
+    * value was recorded.
+    */
+   public long percentile(double percentile) {
+      long[] counts = snapshot();
+      return valueAt(counts, total(counts), percentile);
+   }
+
+   /**
+    * @return a summary of the percentiles, in nanoseconds, e.g. {@code "get: count=10, p50=1023, p90=2047, p99=4000,
+    * p99.9=4000, max=4000"}.
+    */
+   public String summary(String name) {
+      long[] counts = snapshot();
+      long total = total(counts);
+      StringBuilder sb = new StringBuilder(name).append(": count=").append(total);
+      for (double percentile : REPORTED_PERCENTILES) {
+         sb.append(", p");
+         if (percentile == Math.rint(percentile)) {
+            sb.append((long) percentile);
+         } else {
+            sb.append(percentile);
+         }
+         sb.append('=').append(valueAt(counts, total, percentile));
+      }
+      return sb.append(", max=").append(counts[MAX]).toString();
+   }
+
+   /**
+    * Removes all the recorded values.
+    */
+   public void reset() {
+      for (int s = 0; s < STRIPE_COUNT; s++) {
+         AtomicLongArray stripe = stripes.get(s);
+         if (stripe != null) {
+            for (int i = 0; i < STRIPE_LENGTH; i++) {
+               stripe.set(i, 0);
+            }
+         }
+      }
+   }
+
+   private AtomicLongArray stripeForCurrentThread() {
+      // Spread the thread id a bit, in case it's always a multiple of 16
+      long id = Thread.currentThread().getId();
+      id ^= id >>> 7 ^ id >>> 4;
+      int index = (int) (id & STRIPE_MASK);
+      AtomicLongArray stripe = stripes.get(index);
+      if (stripe == null) {
+         stripe = new AtomicLongArray(STRIPE_LENGTH);
+         if (!stripes.compareAndSet(index, null, stripe)) {
+            stripe = stripes.get(index);
+         }
+      }
+      return stripe;
+   }
+
+   /**
+    * @return the merged stripes, with the bucket counts followed by the total and the max.
+    */
+   private long[] snapshot() {
+      long[] counts = new long[STRIPE_LENGTH];
+      for (int s = 0; s < STRIPE_COUNT; s++) {
+         AtomicLongArray stripe = stripes.get(s);
+         if (stripe != null) {
+            for (int i = 0; i < MAX; i++) {
+               counts[i] += stripe.get(i);
+            }
+            counts[MAX] = Math.max(counts[MAX], stripe.get(MAX));
+         }
+      }
+      return counts;
+   }
+
+   private static long valueAt(long[] counts, long total, double percentile) {
+      if (total == 0) {
+         return 0;
+      }
+      long max = counts[MAX];
+      long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100) / 100));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         seen += counts[i];
+         if (seen >= rank) {
+            // the max is more accurate for the highest bucket, and the last bucket is unbounded
+            return i == BUCKETS - 1 ? max : Math.min(highestNanos(i), max);
+         }
+      }
+      return max;
+   }
+
+   private static long total(long[] counts) {
+      long total = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+         total += counts[i];
+      }
+      return total;
+   }
+
+   static int bucket(long value) {
+      if (value < SUB_BUCKETS) {
+         return (int) value;
+      }
+      int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+      return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+   }
+
+   static long highestNanos(int bucket) {
+      return ((highestValue(bucket) + 1) << UNIT_BITS) - 1;
+   }
+
+   static long highestValue(int bucket) {
+      if (bucket < SUB_BUCKETS) {
+         return bucket;
+      }
+      int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+      long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+      return lowest + (1L << shift) - 1;
+   }
+}
@@ -3,6 +3,7 @@
 import static java.util.concurrent.atomic.AtomicReferenceFieldUpdater.newUpdater;
 import static org.infinispan.commons.util.Util.toStr;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -20,6 +21,8 @@
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.infinispan.commons.stat.TimerTracker;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.context.InvocationContext;
@@ -27,6 +30,7 @@
 import org.infinispan.factories.KnownComponentNames;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.interceptors.ExceptionSyncInvocationStage;
@@ -35,6 +39,9 @@
 import org.infinispan.jmx.annotations.DataType;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.locks.DeadlockDetectedException;
 import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
@@ -49,6 +56,10 @@
 
 /**
  * The default {@link LockManager} implementation for transactional and non-transactional caches.
+ * <p>
+ * When the statistics are enabled, or {@link org.infinispan.configuration.cache.LockingConfiguration#contentionLogThreshold()}
+ * is set, it tracks the lock acquisitions that had to wait, the most contended keys and a sample of the time the locks
+ * are held. See {@link LockContentionTracker}.
  *
  * @author Pedro Ruivo
  * @since 8.0
@@ -60,6 +71,7 @@ public class DefaultLockManager implements LockManager {
    private static final Log log = LogFactory.getLog(DefaultLockManager.class);
    private static final AtomicReferenceFieldUpdater<CompositeLockPromise, LockState> UPDATER =
          newUpdater(CompositeLockPromise.class, LockState.class, "lockState");
+   private static final int MOST_CONTENDED_KEYS = 10;
 
    @Inject LockContainer lockContainer;
    @Inject Configuration configuration;
@@ -67,6 +79,19 @@ public class DefaultLockManager implements LockManager {
    ScheduledExecutorService scheduler;
    @Inject @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
    Executor nonBlockingExecutor;
+   @Inject TimeService timeService;
+
+   private volatile LockContentionTracker contentionTracker;
+   private TimerTracker lockWaitTimes;
+   private TimerTracker lockHoldTimes;
+
+   @Start
+   public void start() {
+      long threshold = configuration.locking().contentionLogThreshold();
+      if (configuration.statistics().enabled() || threshold > 0) {
+         contentionTracker = new LockContentionTracker(threshold, TimeUnit.MILLISECONDS);
+      }
+   }
 
    @Override
    public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUnit unit) {
@@ -88,7 +113,7 @@ public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUni
          }
       }
 
-      ExtendedLockPromise promise = lockContainer.acquire(key, lockOwner, time, unit);
+      ExtendedLockPromise promise = trackContention(key, lockOwner, lockContainer.acquire(key, lockOwner, time, unit));
       return new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)).scheduleLockTimeoutTask(scheduler);
    }
 
@@ -125,7 +150,8 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
       //ordering will not solve the problem since acquire() is non-blocking and each lock owner can iterate faster/slower than the other.
       synchronized (this) {
          for (Object key : uniqueKeys) {
-            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(lockContainer.acquire(key, lockOwner, time, unit), key, unit.toMillis(time)));
+            ExtendedLockPromise promise = trackContention(key, lockOwner, lockContainer.acquire(key, lockOwner, time, unit));
+            compositeLockPromise.addLock(new KeyAwareExtendedLockPromise(promise, key, unit.toMillis(time)));
          }
       }
       compositeLockPromise.scheduleLockTimeoutTask(scheduler, time, unit);
@@ -133,6 +159,58 @@ public KeyAwareLockPromise lockAll(Collection<?> keys, Object lockOwner, long ti
       return compositeLockPromise;
    }
 
+   private ExtendedLockPromise trackContention(Object key, Object lockOwner, ExtendedLockPromise promise) {
+      LockContentionTracker tracker = contentionTracker;
+      if (tracker == null) {
+         return promise;
+      }
+      boolean sampleHold = tracker.sampleHold();
+      if (promise.isAvailable()) {
+         if (sampleHold) {
+            // the promise may be available because it timed out
+            long now = timeService.time();
+            promise.addListener(state -> {
+               if (state == LockState.ACQUIRED) {
+                  tracker.startHold(key, lockOwner, now);
+               }
+            });
+         }
+         return promise;
+      }
+      long start = timeService.time();
+      promise.addListener(state -> {
+         long now = timeService.time();
+         long waitNanos = timeService.timeDuration(start, now, TimeUnit.NANOSECONDS);
+         tracker.recordWait(key, waitNanos, state == LockState.ACQUIRED);
+         TimerTracker waitTimes = lockWaitTimes;
+         if (waitTimes != null) {
+            waitTimes.update(Duration.ofNanos(waitNanos));
+         }
+         if (sampleHold && state == LockState.ACQUIRED) {
+            tracker.startHold(key, lockOwner, now);
+         } else if (state != LockState.ACQUIRED) {
+            tracker.abortHold(key, lockOwner);
+         }
+      });
+      return promise;
+   }
+
+   private void release(Object key, Object lockOwner) {
+      LockContentionTracker tracker = contentionTracker;
+      if (tracker != null) {
+         long acquiredTime = tracker.endHold(key, lockOwner);
+         if (acquiredTime >= 0) {
+            long holdNanos = timeService.timeDuration(acquiredTime, TimeUnit.NANOSECONDS);
+            tracker.recordHold(holdNanos);
+            TimerTracker holdTimes = lockHoldTimes;
+            if (holdTimes != null) {
+               holdTimes.update(Duration.ofNanos(holdNanos));
+            }
+         }
+      }
+      lockContainer.release(key, lockOwner);
+   }
+
    private Set<Object> filterDistinctKeys(Collection<?> collection) {
       if (collection instanceof Set) {
          //noinspection unchecked
@@ -147,7 +225,7 @@ public void unlock(Object key, Object lockOwner) {
       if (log.isTraceEnabled()) {
          log.tracef("Release lock for key=%s. owner=%s", key, lockOwner);
       }
-      lockContainer.release(key, lockOwner);
+      release(key, lockOwner);
    }
 
    @Override
@@ -165,7 +243,7 @@ public void unlockAll(Collection<?> keys, Object lockOwner) {
             if (log.isTraceEnabled())
                log.tracef("Ignoring key %s as it matches lock owner", key);
          } else {
-            lockContainer.release(key, lockOwner);
+            release(key, lockOwner);
          }
       }
    }
@@ -221,6 +299,72 @@ public int getNumberOfLocksAvailable() {
       return lockContainer.size() - lockContainer.getNumLocksHeld();
    }
 
+   @ManagedAttribute(description = "The number of lock acquisitions that had to wait for the lock to be released.", displayName = "Number of contended lock acquisitions", measurementType = MeasurementType.TRENDSUP)
+   public long getContendedLockAcquisitions() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? 0 : tracker.contendedAcquisitions();
+   }
+
+   @ManagedAttribute(description = "The number of contended lock acquisitions that timed out or were deadlocked.", displayName = "Number of failed lock acquisitions", measurementType = MeasurementType.TRENDSUP)
+   public long getFailedLockAcquisitions() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? 0 : tracker.failedAcquisitions();
+   }
+
+   @ManagedAttribute(description = "Average time waited by the contended lock acquisitions.", displayName = "Average lock wait time", units = Units.MILLISECONDS)
+   public long getAverageLockWaitTime() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? 0 : tracker.averageWaitTime(TimeUnit.MILLISECONDS);
+   }
+
+   @ManagedAttribute(description = "Maximum time waited by a contended lock acquisition.", displayName = "Maximum lock wait time", units = Units.MILLISECONDS)
+   public long getMaxLockWaitTime() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? 0 : tracker.maxWaitTime(TimeUnit.MILLISECONDS);
+   }
+
+   @ManagedAttribute(description = "Average time the locks are held, from a sample of the lock acquisitions.", displayName = "Average lock hold time", units = Units.MILLISECONDS)
+   public long getAverageLockHoldTime() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? 0 : tracker.averageHoldTime(TimeUnit.MILLISECONDS);
+   }
+
+   @ManagedAttribute(description = "The number of contended lock acquisitions by wait time.", displayName = "Lock wait time histogram")
+   public String[] getLockWaitTimeHistogram() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? new String[0] : tracker.waitTimeHistogram();
+   }
+
+   @ManagedAttribute(description = "The number of sampled lock acquisitions by the time the lock was held.", displayName = "Lock hold time histogram")
+   public String[] getLockHoldTimeHistogram() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? new String[0] : tracker.holdTimeHistogram();
+   }
+
+   @ManagedAttribute(description = "The keys with the most contended lock acquisitions, the most contended first.", displayName = "Most contended keys")
+   public String[] getMostContendedKeys() {
+      LockContentionTracker tracker = contentionTracker;
+      return tracker == null ? new String[0] : tracker.mostContendedKeys(MOST_CONTENDED_KEYS);
+   }
+
+   @ManagedAttribute(description = "Lock wait times", displayName = "Lock wait times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
+   public void setLockWaitTimes(TimerTracker lockWaitTimes) {
+      this.lockWaitTimes = lockWaitTimes;
+   }
+
+   @ManagedAttribute(description = "Sampled lock hold times", displayName = "Lock hold times", dataType = DataType.TIMER, units = Units.NANOSECONDS)
+   public void setLockHoldTimes(TimerTracker lockHoldTimes) {
+      this.lockHoldTimes = lockHoldTimes;
+   }
+
+   @ManagedOperation(description = "Resets the lock contention statistics", displayName = "Reset lock contention statistics")
+   public void resetStatistics() {
+      LockContentionTracker tracker = contentionTracker;
+      if (tracker != null) {
+         tracker.reset();
+      }
+   }
+
    @Override
    public InfinispanLock getLock(Object key) {
       return lockContainer.getLock(key);
@@ -11,6 +11,7 @@
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -41,6 +42,9 @@
  * In addition, it has an asynchronous interface. {@link #acquire(Object, long, TimeUnit)}  will not acquire the lock
  * immediately (except if it is free) but will return a {@link ExtendedLockPromise}. This promise allow to test if the
  * lock is acquired asynchronously and cancel the lock acquisition, without any blocking.
+ * <p/>
+ * A free lock without waiting requests is acquired and released with a compare-and-set of the lock owner. The queue of
+ * pending requests and the map of lock owners are only created when a lock owner has to wait.
  *
  * @author Pedro Ruivo
  * @since 8.0
@@ -52,10 +56,15 @@ public class InfinispanLock {
          newUpdater(InfinispanLock.class, LockRequest.class, "current");
    private static final AtomicReferenceFieldUpdater<LockPlaceHolder, LockState> STATE_UPDATER =
          newUpdater(LockPlaceHolder.class, LockState.class, "lockState");
+   private static final AtomicIntegerFieldUpdater<LockAcquired> RELEASED_UPDATER =
+         AtomicIntegerFieldUpdater.newUpdater(LockAcquired.class, "released");
+   // the owner of the request set as current when the lock is retired, see tryRetire()
+   private static final Object RETIRED = new Object();
 
 
    private volatile Queue<LockRequest> pendingRequest;
-   private final ConcurrentMap<Object, LockRequest> lockOwners;
+   // the lock owners waiting or holding the lock, except the one that acquired it through the fast path
+   private volatile ConcurrentMap<Object, LockRequest> lockOwners;
    private final Runnable releaseRunnable;
    private final Executor nonBlockingExecutor;
    private TimeService timeService;
@@ -82,7 +91,6 @@ public InfinispanLock(Executor nonBlockingExecutor, TimeService timeService) {
    public InfinispanLock(Executor nonBlockingExecutor, TimeService timeService, Runnable releaseRunnable) {
       this.nonBlockingExecutor = nonBlockingExecutor;
       this.timeService = timeService;
-      lockOwners = new ConcurrentHashMap<>();
       current = null;
       this.releaseRunnable = releaseRunnable;
    }
@@ -102,11 +110,9 @@ public InfinispanLock(Executor nonBlockingExecutor, TimeService timeService, Run
    public InfinispanLock(Executor nonBlockingExecutor, TimeService timeService, Runnable releaseRunnable, Object owner, ByRef<ExtendedLockPromise> lockPromise) {
       this.nonBlockingExecutor = nonBlockingExecutor;
       this.timeService = timeService;
-      lockOwners = new ConcurrentHashMap<>();
       this.releaseRunnable = releaseRunnable;
       LockAcquired promise = new LockAcquired(owner);
       current = promise;
-      lockOwners.put(owner, promise);
       lockPromise.set(promise);
       if (log.isTraceEnabled()) {
          log.tracef("%s successfully acquired the lock.", lockPromise);
@@ -144,7 +150,13 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
          log.tracef("Acquire lock for %s. Timeout=%s (%s)", lockOwner, time, timeUnit);
       }
 
-      LockRequest lockPlaceHolder = lockOwners.get(lockOwner);
+      ExtendedLockPromise promise = tryAcquireUncontended(lockOwner);
+      if (promise != null) {
+         return promise;
+      }
+
+      ConcurrentMap<Object, LockRequest> owners = lockOwners();
+      LockRequest lockPlaceHolder = owners.get(lockOwner);
       if (lockPlaceHolder != null) {
          if (log.isTraceEnabled()) {
             log.tracef("Lock owner already exists: %s", lockPlaceHolder);
@@ -153,7 +165,7 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
       }
 
       lockPlaceHolder = createLockInfo(lockOwner, time, timeUnit);
-      LockRequest other = lockOwners.putIfAbsent(lockOwner, lockPlaceHolder);
+      LockRequest other = owners.putIfAbsent(lockOwner, lockPlaceHolder);
 
       if (other != null) {
          if (log.isTraceEnabled()) {
@@ -168,9 +180,63 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
 
       addToPendingRequests(lockPlaceHolder);
       tryAcquire(null);
+
+      LockRequest holder = current;
+      if (holder != lockPlaceHolder && isAcquiredWithoutWaiting(holder, lockOwner)) {
+         // the same lock owner acquired the lock through the fast path in the meantime
+         releaseRequest(lockPlaceHolder);
+         return holder;
+      }
       return lockPlaceHolder;
    }
 
+   /**
+    * Acquires the lock with a compare-and-set if it is free and nobody is waiting for it.
+    * <p>
+    * It is the same as {@link #acquire(Object, long, TimeUnit)}, except it never waits: if the lock is held by another
+    * lock owner, or if the lock owner is waiting for it, it returns {@code null}.
+    *
+    * @param lockOwner the lock owner who needs to acquire the lock.
+    * @return the {@link ExtendedLockPromise} of the acquired lock or {@code null}.
+    */
+   ExtendedLockPromise tryAcquireUncontended(Object lockOwner) {
+      LockRequest holder = current;
+      if (holder == null) {
+         ConcurrentMap<Object, LockRequest> owners = lockOwners;
+         if (isPendingRequestsEmpty() && (owners == null || !owners.containsKey(lockOwner))) {
+            LockAcquired acquired = new LockAcquired(lockOwner);
+            if (cas(null, acquired)) {
+               if (log.isTraceEnabled()) {
+                  log.tracef("%s successfully acquired the lock.", acquired);
+               }
+               return acquired;
+            }
+         }
+      } else if (isAcquiredWithoutWaiting(holder, lockOwner)) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Lock owner already exists: %s", holder);
+         }
+         return holder;
+      }
+      return null;
+   }
+
+   /**
+    * Marks this lock as unusable if it is free, so it can be discarded by the {@link LockContainer}.
+    * <p>
+    * After this method returns {@code true}, {@link #tryAcquireUncontended(Object)} always fails. The caller must
+    * guarantee that {@link #acquire(Object, long, TimeUnit)} is not invoked concurrently nor afterwards.
+    *
+    * @return {@code true} if the lock was free, without pending requests, and it is now retired.
+    */
+   boolean tryRetire() {
+      return current == null && isPendingRequestsEmpty() && cas(null, new LockAcquired(RETIRED));
+   }
+
+   private boolean isAcquiredWithoutWaiting(LockRequest holder, Object lockOwner) {
+      return holder instanceof LockAcquired && lockOwner.equals(holder.owner) && ((LockAcquired) holder).released == 0;
+   }
+
    /**
     * It tries to release the lock held by {@code lockOwner}.
     * <p/>
@@ -189,7 +255,11 @@ public void release(Object lockOwner) {
          log.tracef("Release lock for %s.", lockOwner);
       }
 
-      LockRequest wantToRelease = lockOwners.get(lockOwner);
+      LockRequest wantToRelease = current;
+      if (wantToRelease == null || !lockOwner.equals(wantToRelease.owner)) {
+         ConcurrentMap<Object, LockRequest> owners = lockOwners;
+         wantToRelease = owners == null ? null : owners.get(lockOwner);
+      }
       if (wantToRelease == null) {
          if (log.isTraceEnabled()) {
             log.tracef("%s not found!", lockOwner);
@@ -198,6 +268,10 @@ public void release(Object lockOwner) {
          return;
       }
 
+      releaseRequest(wantToRelease);
+   }
+
+   private void releaseRequest(LockRequest wantToRelease) {
       final boolean released = wantToRelease.setReleased();
       if (log.isTraceEnabled()) {
          log.tracef("Release lock for %s? %s", wantToRelease, released);
@@ -207,6 +281,10 @@ public void release(Object lockOwner) {
       if (currentLocked == wantToRelease) {
          tryAcquire(wantToRelease);
       }
+      if (released) {
+         // triggered after the lock is free, so the container can discard it
+         triggerReleased();
+      }
    }
 
    /**
@@ -214,7 +292,7 @@ public void release(Object lockOwner) {
     */
    public Object getLockOwner() {
       LockRequest lockPlaceHolder = current;
-      return lockPlaceHolder == null ? null : lockPlaceHolder.owner;
+      return lockPlaceHolder == null || lockPlaceHolder.owner == RETIRED ? null : lockPlaceHolder.owner;
    }
 
    /**
@@ -225,7 +303,8 @@ public Object getLockOwner() {
     * @return {@code true} if the lock is acquired.
     */
    public boolean isLocked() {
-      return current != null;
+      LockRequest lockPlaceHolder = current;
+      return lockPlaceHolder != null && lockPlaceHolder.owner != RETIRED;
    }
 
    /**
@@ -236,7 +315,7 @@ public void deadlockCheck(DeadlockChecker deadlockChecker) {
          return; //no-op
       }
       LockRequest holder = current;
-      if (holder != null) {
+      if (holder != null && holder.owner != RETIRED) {
          forEachPendingRequest(request -> request.checkDeadlock(deadlockChecker, holder));
       }
    }
@@ -250,7 +329,11 @@ public void deadlockCheck(DeadlockChecker deadlockChecker) {
     * @return {@code true} if it contains the lock owner.
     */
    public boolean containsLockOwner(Object lockOwner) {
-      return lockOwners.containsKey(lockOwner);
+      if (isAcquiredWithoutWaiting(current, lockOwner)) {
+         return true;
+      }
+      ConcurrentMap<Object, LockRequest> owners = lockOwners;
+      return owners != null && owners.containsKey(lockOwner);
    }
 
    private void onCanceled(LockRequest canceled) {
@@ -268,7 +351,8 @@ private boolean casRelease(LockRequest lockPlaceHolder) {
    }
 
    private boolean remove(Object lockOwner) {
-      return lockOwners.remove(lockOwner) != null;
+      ConcurrentMap<Object, LockRequest> owners = lockOwners;
+      return owners != null && owners.remove(lockOwner) != null;
    }
 
    private void triggerReleased() {
@@ -330,6 +414,22 @@ private LockRequest createLockInfo(Object lockOwner, long time, TimeUnit timeUni
       return new LockPlaceHolder(lockOwner, timeService.expectedEndTime(time, timeUnit));
    }
 
+   private ConcurrentMap<Object, LockRequest> lockOwners() {
+      if (lockOwners == null) {
+         synchronized (this) {
+            if (lockOwners == null) {
+               lockOwners = new ConcurrentHashMap<>();
+            }
+         }
+      }
+      return lockOwners;
+   }
+
+   private boolean isPendingRequestsEmpty() {
+      Queue<LockRequest> queue = pendingRequest;
+      return queue == null || queue.isEmpty();
+   }
+
    private void addToPendingRequests(LockRequest request) {
       if (pendingRequest == null) {
          synchronized (this) {
@@ -378,6 +478,9 @@ private abstract class LockRequest implements ExtendedLockPromise {
 
       abstract void checkDeadlock(DeadlockChecker deadlockChecker, LockRequest holder);
 
+      /**
+       * @return {@code true} if the lock owner was removed by this invocation and the lock must trigger the release.
+       */
       abstract boolean setReleased();
 
       @Override
@@ -522,17 +625,16 @@ public boolean setReleased() {
             switch (state) {
                case WAITING:
                   if (casState(state, LockState.RELEASED)) {
-                     cleanup();
+                     boolean removed = remove(owner);
                      notifyListeners();
-                     return true;
+                     return removed;
                   }
                   break;
                case ACQUIRED:
                case TIMED_OUT:
                case DEADLOCKED:
                   if (casState(state, LockState.RELEASED)) {
-                     cleanup();
-                     return true;
+                     return remove(owner);
                   }
                   break;
                case RELEASED:
@@ -592,7 +694,7 @@ private void notifyListeners() {
 
    private class LockAcquired extends LockRequest {
 
-      private volatile boolean released;
+      volatile int released;
 
       LockAcquired(Object owner) {
          super(owner);
@@ -621,7 +723,7 @@ public void lock() {
 
       @Override
       public void addListener(LockListener listener) {
-         listener.onEvent(released ? LockState.RELEASED : LockState.ACQUIRED);
+         listener.onEvent(released != 0 ? LockState.RELEASED : LockState.ACQUIRED);
       }
 
       @Override
@@ -641,12 +743,11 @@ public void checkDeadlock(DeadlockChecker deadlockChecker, LockRequest holder) {
 
       @Override
       public boolean setReleased() {
-         released = true;
-         if (remove(owner)) {
+         // it is never added to lockOwners
+         if (RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
             if (log.isTraceEnabled()) {
                log.tracef("State changed for %s. ACQUIRED => RELEASED", this);
             }
-            triggerReleased();
             return true;
          }
          return false;
@@ -654,7 +755,7 @@ public boolean setReleased() {
 
       @Override
       public String toString() {
-         return "LockAcquired{" + "released?=" + released + ", owner=" + owner + '}';
+         return "LockAcquired{" + "released?=" + (released != 0) + ", owner=" + owner + '}';
       }
    }
 }
@@ -0,0 +1,310 @@
+package org.infinispan.util.concurrent.locks.impl;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.Util;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Collects the lock contention statistics of a cache.
+ * <p>
+ * Only the acquisitions that had to wait are tracked, so the uncontended locks pay nothing but a check. For those, it
+ * keeps a wait time histogram and the most contended keys. The keys are counted with the space-saving algorithm: at
+ * most {@link #MAX_TRACKED_KEYS} keys are tracked and a new key replaces the least contended one, inheriting its count,
+ * so the counts are an upper bound but a key that is really hot is never missed.
+ * <p>
+ * The time a lock is held is sampled, one acquisition out of {@link #HOLD_SAMPLING_RATE}. A sample is removed when
+ * the lock is released by its owner, when the acquisition fails or when another owner acquires the lock. The samples
+ * older than {@link #MAX_HOLD_SAMPLE_AGE_NANOS}, e.g. of a transaction that never completes, are discarded without
+ * being recorded.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+final class LockContentionTracker {
+
+   private static final Log log = LogFactory.getLog(LockContentionTracker.class);
+
+   static final int MAX_TRACKED_KEYS = 64;
+   static final int HOLD_SAMPLING_RATE = 16;
+   static final long MAX_HOLD_SAMPLE_AGE_NANOS = TimeUnit.MINUTES.toNanos(10);
+   // upper bound (inclusive) of each histogram bucket, the last bucket has no upper bound
+   private static final long[] BUCKET_BOUNDS_MICROS = {100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+
+   private final long logThresholdNanos;
+   private final Histogram waitTimes = new Histogram();
+   private final Histogram holdTimes = new Histogram();
+   private final LongAdder failedAcquisitions = new LongAdder();
+   // guarded by this
+   private final Map<Object, KeyContention> contendedKeys = new HashMap<>();
+   private final ConcurrentMap<Object, HoldSample> holdSamples = new ConcurrentHashMap<>();
+   // the time of the next scan for old hold samples, Long.MIN_VALUE before the first sample
+   private final AtomicLong nextHoldSamplesPurge = new AtomicLong(Long.MIN_VALUE);
+
+   /**
+    * @param logThreshold the wait time above which a key is reported in the log, or 0 to never log.
+    */
+   LockContentionTracker(long logThreshold, TimeUnit unit) {
+      this.logThresholdNanos = unit.toNanos(logThreshold);
+   }
+
+   /**
+    * Records an acquisition that had to wait for the lock.
+    *
+    * @param acquired {@code false} if the acquisition timed out, was deadlocked or the owner gave up.
+    */
+   void recordWait(Object key, long waitNanos, boolean acquired) {
+      waitTimes.record(waitNanos);
+      if (!acquired) {
+         failedAcquisitions.increment();
+      }
+      boolean report;
+      long waits;
+      synchronized (this) {
+         KeyContention contention = contendedKeys.get(key);
+         if (contention == null) {
+            contention = new KeyContention(key, evictLeastContended());
+            contendedKeys.put(key, contention);
+         }
+         contention.record(waitNanos, acquired);
+         report = logThresholdNanos > 0 && waitNanos >= logThresholdNanos && !contention.reported;
+         if (report) {
+            contention.reported = true;
+         }
+         waits = contention.waits;
+      }
+      if (report) {
+         log.lockContentionThresholdExceeded(toStr(key), Util.prettyPrintTime(waitNanos, TimeUnit.NANOSECONDS),
+               Util.prettyPrintTime(logThresholdNanos, TimeUnit.NANOSECONDS), waits);
+      }
+   }
+
+   private long evictLeastContended() {
+      if (contendedKeys.size() < MAX_TRACKED_KEYS) {
+         return 0;
+      }
+      KeyContention least = null;
+      for (KeyContention contention : contendedKeys.values()) {
+         if (least == null || contention.waits < least.waits) {
+            least = contention;
+         }
+      }
+      contendedKeys.remove(least.key);
+      return least.waits;
+   }
+
+   /**
+    * @return {@code true} if the time the lock is held by this acquisition should be recorded.
+    */
+   boolean sampleHold() {
+      return ThreadLocalRandom.current().nextInt(HOLD_SAMPLING_RATE) == 0;
+   }
+
+   /**
+    * @param acquiredTime the time the lock was acquired, in nanoseconds, from {@link
+    *                     org.infinispan.commons.time.TimeService#time()}.
+    */
+   void startHold(Object key, Object lockOwner, long acquiredTime) {
+      // the lock is acquired by lockOwner, a sample of a previous owner was not removed when it released the lock
+      holdSamples.put(key, new HoldSample(lockOwner, acquiredTime));
+      long nextPurge = nextHoldSamplesPurge.get();
+      if ((nextPurge == Long.MIN_VALUE || acquiredTime - nextPurge >= 0) &&
+            nextHoldSamplesPurge.compareAndSet(nextPurge, acquiredTime + MAX_HOLD_SAMPLE_AGE_NANOS)) {
+         holdSamples.values().removeIf(sample -> acquiredTime - sample.acquiredTime > MAX_HOLD_SAMPLE_AGE_NANOS);
+      }
+   }
+
+   /**
+    * Removes the sample of an acquisition that failed.
+    */
+   void abortHold(Object key, Object lockOwner) {
+      HoldSample sample = holdSamples.get(key);
+      if (sample != null && sample.lockOwner.equals(lockOwner)) {
+         holdSamples.remove(key, sample);
+      }
+   }
+
+   int holdSamples() {
+      return holdSamples.size();
+   }
+
+   /**
+    * @return the time the lock was acquired, if the acquisition was sampled, or -1.
+    */
+   long endHold(Object key, Object lockOwner) {
+      if (holdSamples.isEmpty()) {
+         return -1;
+      }
+      HoldSample sample = holdSamples.get(key);
+      if (sample == null || !sample.lockOwner.equals(lockOwner) || !holdSamples.remove(key, sample)) {
+         return -1;
+      }
+      return sample.acquiredTime;
+   }
+
+   void recordHold(long holdNanos) {
+      holdTimes.record(holdNanos);
+   }
+
+   long contendedAcquisitions() {
+      return waitTimes.count.sum();
+   }
+
+   long failedAcquisitions() {
+      return failedAcquisitions.sum();
+   }
+
+   long averageWaitTime(TimeUnit unit) {
+      return waitTimes.average(unit);
+   }
+
+   long maxWaitTime(TimeUnit unit) {
+      return unit.convert(waitTimes.max.get(), TimeUnit.NANOSECONDS);
+   }
+
+   long averageHoldTime(TimeUnit unit) {
+      return holdTimes.average(unit);
+   }
+
+   String[] waitTimeHistogram() {
+      return waitTimes.toStrings();
+   }
+
+   String[] holdTimeHistogram() {
+      return holdTimes.toStrings();
+   }
+
+   /**
+    * @return the most contended keys, the most contended first.
+    */
+   synchronized String[] mostContendedKeys(int max) {
+      List<KeyContention> contentions = new ArrayList<>(contendedKeys.values());
+      contentions.sort((c1, c2) -> Long.compare(c2.waits, c1.waits));
+      int size = Math.min(max, contentions.size());
+      String[] keys = new String[size];
+      for (int i = 0; i < size; i++) {
+         keys[i] = contentions.get(i).toString();
+      }
+      return keys;
+   }
+
+   void reset() {
+      waitTimes.reset();
+      holdTimes.reset();
+      failedAcquisitions.reset();
+      holdSamples.clear();
+      synchronized (this) {
+         contendedKeys.clear();
+      }
+   }
+
+   private static String bucketName(int bucket) {
+      if (bucket == BUCKET_BOUNDS_MICROS.length) {
+         return "> " + Util.prettyPrintTime(BUCKET_BOUNDS_MICROS[bucket - 1], TimeUnit.MICROSECONDS);
+      }
+      return "<= " + Util.prettyPrintTime(BUCKET_BOUNDS_MICROS[bucket], TimeUnit.MICROSECONDS);
+   }
+
+   private static final class Histogram {
+      final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+      final LongAdder count = new LongAdder();
+      final LongAdder total = new LongAdder();
+      final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+      Histogram() {
+         for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+         }
+      }
+
+      void record(long nanos) {
+         long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+         int bucket = 0;
+         while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+         }
+         buckets[bucket].increment();
+         count.increment();
+         total.add(nanos);
+         max.accumulate(nanos);
+      }
+
+      long average(TimeUnit unit) {
+         long c = count.sum();
+         return c == 0 ? 0 : unit.convert(total.sum() / c, TimeUnit.NANOSECONDS);
+      }
+
+      String[] toStrings() {
+         String[] strings = new String[buckets.length];
+         for (int i = 0; i < buckets.length; i++) {
+            strings[i] = bucketName(i) + ": " + buckets[i].sum();
+         }
+         return strings;
+      }
+
+      void reset() {
+         for (LongAdder bucket : buckets) {
+            bucket.reset();
+         }
+         count.reset();
+         total.reset();
+         max.reset();
+      }
+   }
+
+   private static final class KeyContention {
+      final Object key;
+      // guarded by the tracker
+      long waits;
+      long failures;
+      long totalWaitNanos;
+      long maxWaitNanos;
+      boolean reported;
+
+      KeyContention(Object key, long inheritedWaits) {
+         this.key = key;
+         this.waits = inheritedWaits;
+      }
+
+      void record(long waitNanos, boolean acquired) {
+         waits++;
+         if (!acquired) {
+            failures++;
+         }
+         totalWaitNanos += waitNanos;
+         maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+      }
+
+      @Override
+      public String toString() {
+         return toStr(key) + ": waits=" + waits + ", failures=" + failures +
+               ", maxWait=" + Util.prettyPrintTime(maxWaitNanos, TimeUnit.NANOSECONDS) +
+               ", totalWait=" + Util.prettyPrintTime(totalWaitNanos, TimeUnit.NANOSECONDS);
+      }
+   }
+
+   private static final class HoldSample {
+      final Object lockOwner;
+      final long acquiredTime;
+
+      HoldSample(Object lockOwner, long acquiredTime) {
+         this.lockOwner = lockOwner;
+         this.acquiredTime = acquiredTime;
+      }
+   }
+}
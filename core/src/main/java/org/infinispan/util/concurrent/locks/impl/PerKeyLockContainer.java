@@ -4,6 +4,7 @@
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.ByRef;
@@ -17,6 +18,10 @@
 
 /**
  * A lock container that creates and maintains a new lock per entry.
+ * <p>
+ * An uncontended lock is acquired and released without locking the map: a new lock is inserted already acquired and an
+ * existing free lock is acquired with {@link InfinispanLock#tryAcquireUncontended(Object)}. The map is locked to remove
+ * a free lock and when the lock owner has to wait.
  *
  * @author Pedro Ruivo
  * @since 8.0
@@ -25,6 +30,8 @@
 public class PerKeyLockContainer implements LockContainer {
 
    private static final int INITIAL_CAPACITY = 32;
+   private static final BiFunction<Object, InfinispanLock, InfinispanLock> REMOVE_IF_FREE =
+         (ignoredKey, lock) -> lock.tryRetire() ? null : lock;
    private final ConcurrentMap<Object, InfinispanLock> lockMap;
    @ComponentName(KnownComponentNames.NON_BLOCKING_EXECUTOR)
    @Inject protected Executor nonBlockingExecutor;
@@ -44,13 +51,28 @@ void inject(TimeService timeService) {
 
    @Override
    public ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit timeUnit) {
-      ByRef<ExtendedLockPromise> reference = ByRef.create(null);
-      lockMap.compute(key, (aKey, lock) -> {
+      InfinispanLock lock = lockMap.get(key);
+      if (lock == null) {
+         InfinispanLock newLock = new InfinispanLock(nonBlockingExecutor, timeService, createReleaseRunnable(key));
+         ExtendedLockPromise promise = newLock.tryAcquireUncontended(lockOwner);
+         lock = lockMap.putIfAbsent(key, newLock);
          if (lock == null) {
+            return promise;
+         }
+      }
+      ExtendedLockPromise promise = lock.tryAcquireUncontended(lockOwner);
+      if (promise != null) {
+         return promise;
+      }
+
+      // the lock is held, or it was removed in the meantime
+      ByRef<ExtendedLockPromise> reference = ByRef.create(null);
+      lockMap.compute(key, (aKey, existing) -> {
+         if (existing == null) {
             return createInfinispanLock(aKey, lockOwner, reference);
          }
-         reference.set(lock.acquire(lockOwner, time, timeUnit));
-         return lock;
+         reference.set(existing.acquire(lockOwner, time, timeUnit));
+         return existing;
       });
       return reference.get();
    }
@@ -62,10 +84,11 @@ public InfinispanLock getLock(Object key) {
 
    @Override
    public void release(Object key, Object lockOwner) {
-      lockMap.computeIfPresent(key, (ignoredKey, lock) -> {
+      InfinispanLock lock = lockMap.get(key);
+      if (lock != null) {
+         // the release runnable removes it if free
          lock.release(lockOwner);
-         return !lock.isLocked() ? null : lock; //remove it if empty
-      });
+      }
    }
 
    @Override
@@ -107,7 +130,7 @@ private InfinispanLock createInfinispanLock(Object key, Object owner, ByRef<Exte
    }
 
    private Runnable createReleaseRunnable(Object key) {
-      return () -> lockMap.computeIfPresent(key, (ignoredKey, lock) -> lock.isLocked() ? lock : null);
+      return () -> lockMap.computeIfPresent(key, REMOVE_IF_FREE);
    }
 
 }
@@ -2355,4 +2355,16 @@ CacheConfigurationException storeConfiguredHasBothReadAndWriteOnly(String storeC
          "This cache has been probably removed by another thread. Skip to writing it.", id = 690)
    void configurationNotFound(String cacheName, Collection<String> definedConfigurations);
 
+   @LogMessage(level = WARN)
+   @Message(value = "Lock contention on key '%s': an acquisition waited %s, above the threshold of %s, and the key had %d contended acquisitions so far", id = 691)
+   void lockContentionThresholdExceeded(String key, String waitTime, String threshold, long waits);
+
+   @Message(value = "Segment parallelism for cross-site replication state transfer must be equal to or greater than one.", id = 692)
+   @Description("The value of the segment-parallelism attribute is zero or a negative number. Specify a value of at least one for the segment-parallelism attribute in the cross-site state transfer configuration for your cache.")
+   CacheConfigurationException invalidXSiteStateTransferSegmentParallelism();
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to send a batch of %d commands to %s", id = 693)
+   void failedToSendCommandBatch(int count, Address target, @Cause Throwable t);
+
 }
@@ -14,27 +14,37 @@
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.irac.IracCleanupKeysCommand;
 import org.infinispan.commands.irac.IracClearKeysCommand;
+import org.infinispan.commands.irac.IracCompressedPutManyCommand;
 import org.infinispan.commands.irac.IracPutManyCommand;
 import org.infinispan.commands.irac.IracStateResponseCommand;
 import org.infinispan.commands.irac.IracTouchKeyCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.BackupConfiguration;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.XSiteStateTransferConfiguration;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.container.versioning.irac.IracTombstoneManager;
 import org.infinispan.distribution.DistributionInfo;
 import org.infinispan.distribution.LocalizedCacheTopology;
@@ -42,6 +52,7 @@
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
@@ -51,7 +62,10 @@
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Parameter;
+import org.infinispan.jmx.annotations.Units;
 import org.infinispan.metadata.impl.IracMetadata;
+import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.remoting.inboundhandler.DeliverOrder;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcOptions;
@@ -91,6 +105,18 @@
  * On topology change, the updated keys list is replicate to the new owner(s). Also, if a segment is being transferred
  * (i.e. the primary owner isn't a write and read owner), no updates to the remote site is sent since, most likely, the
  * node doesn't have the most up-to-date value.
+ * <p>
+ * The number of keys per batch and the number of batches in-flight adapt to the latency of each remote site, see
+ * {@link IracSendWindow}. If {@link org.infinispan.configuration.cache.SitesConfiguration#maxPendingKeys()} is
+ * configured, the updated keys above that limit are not tracked individually. Instead, their segment and a filter of
+ * their hashes, 4096 bits per segment, are tracked, and the keys matching the filter are reloaded
+ * from the data container, cache stores and tombstones when the pending updates drain. Each spilled key may reload up
+ * to 1/4096 of the keys of its segment, and the whole segment once a few thousand keys
+ * of the segment are spilled.
+ * <p>
+ * The asynchronous backup sites are identified by their position in a bit mask, which records the sites which applied
+ * each update. The sender uses the limits of the fastest site, and each batch is only sent to the sites with room in
+ * their {@link IracSendWindow}; the others receive the keys when they have room.
  *
  * @author Pedro Ruivo
  * @since 11.0
@@ -100,21 +126,33 @@
 public class DefaultIracManager implements IracManager, JmxStatisticsExposer {
 
    private static final Log log = LogFactory.getLog(DefaultIracManager.class);
-   private static final Predicate<Map.Entry<Object, IracManagerKeyState>> CLEAR_PREDICATE = e -> {
-      e.getValue().discard();
-      return true;
-   };
+   // the lock owner of the keys reloaded from a spilled segment
+   private static final String SPILLED_OWNER = "spilled";
+   // the number of bits in the filter of the spilled keys of a segment
+   private static final int SPILL_FILTER_BITS = 4096;
+   private static final int SPILL_FILTER_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SPILL_FILTER_BITS);
 
    @Inject RpcManager rpcManager;
    @Inject TakeOfflineManager takeOfflineManager;
    @Inject ClusteringDependentLogic clusteringDependentLogic;
    @Inject CommandsFactory commandsFactory;
    @Inject IracTombstoneManager iracTombstoneManager;
+   @Inject @ComponentName(KnownComponentNames.INTERNAL_MARSHALLER) StreamingMarshaller marshaller;
+   @Inject TimeService timeService;
+   @Inject InternalDataContainer<Object, Object> dataContainer;
+   @Inject ComponentRef<PersistenceManager> persistenceManager;
 
    private final Map<Object, IracManagerKeyState> updatedKeys;
    private final Collection<IracXSiteBackup> asyncBackups;
    private final IracExecutor iracExecutor;
    private final int batchSize;
+   private final int maxPendingKeys;
+   private final IntSet spilledSegments;
+   // the filter of the hashes of the spilled keys, per segment
+   private final AtomicReferenceArray<AtomicLongArray> spilledKeys;
+   private volatile long spillTime;
+   // the number of pending updates by the millisecond they were tracked, to find the oldest one
+   private final ConcurrentNavigableMap<Long, Integer> pendingUpdateTimes = new ConcurrentSkipListMap<>();
    private volatile boolean hasClear;
 
    private boolean statisticsEnabled;
@@ -132,6 +170,9 @@ public DefaultIracManager(Configuration config) {
             .map(BackupConfiguration::stateTransfer)
             .mapToInt(XSiteStateTransferConfiguration::chunkSize)
             .reduce(1, Integer::max);
+      maxPendingKeys = config.sites().maxPendingKeys();
+      spilledSegments = IntSets.concurrentSet(config.clustering().hash().numSegments());
+      spilledKeys = new AtomicReferenceArray<>(config.clustering().hash().numSegments());
    }
 
    public static Collection<IracXSiteBackup> asyncBackups(Configuration config) {
@@ -163,12 +204,12 @@ public void start() {
 
    @Override
    public void trackUpdatedKey(int segment, Object key, Object lockOwner) {
-      trackState(new IracManagerKeyChangedState(segment, key, lockOwner, false));
+      trackState(new IracManagerKeyChangedState(segment, key, lockOwner, false, timeService.time()));
    }
 
    @Override
    public void trackExpiredKey(int segment, Object key, Object lockOwner) {
-      trackState(new IracManagerKeyChangedState(segment, key, lockOwner, true));
+      trackState(new IracManagerKeyChangedState(segment, key, lockOwner, true, timeService.time()));
    }
 
    @Override
@@ -178,11 +219,13 @@ public CompletionStage<Void> trackForStateTransfer(Collection<XSiteState> stateL
       }
       AggregateCompletionStage<Void> cf = CompletionStages.aggregateCompletionStage();
       LocalizedCacheTopology topology = clusteringDependentLogic.getCacheTopology();
+      long now = timeService.time();
       for (XSiteState state : stateList) {
          int segment = topology.getSegment(state.key());
-         IracManagerStateTransferState iracState = new IracManagerStateTransferState(segment, state.key());
+         IracManagerStateTransferState iracState = new IracManagerStateTransferState(segment, state.key(), now);
          // if an update is in progress, we don't need to send the same value again.
          if (updatedKeys.putIfAbsent(iracState.getKey(), iracState) == null) {
+            pendingUpdateAdded(iracState);
             cf.dependsOn(iracState.getCompletionStage());
          }
       }
@@ -197,12 +240,27 @@ public void trackClear(boolean sendClear) {
          log.tracef("Tracking clear request. Replicate to backup sites? %s", sendClear);
       }
       hasClear = sendClear;
-      updatedKeys.entrySet().removeIf(CLEAR_PREDICATE);
+      updatedKeys.entrySet().removeIf(this::clearState);
+      spilledSegments.clear();
+      for (int segment = 0; segment < spilledKeys.length(); segment++) {
+         AtomicLongArray filter = spilledKeys.get(segment);
+         if (filter != null) {
+            for (int i = 0; i < filter.length(); i++) {
+               filter.set(i, 0);
+            }
+         }
+      }
       if (sendClear) {
          iracExecutor.run();
       }
    }
 
+   private boolean clearState(Map.Entry<Object, IracManagerKeyState> entry) {
+      entry.getValue().discard();
+      pendingUpdateRemoved(entry.getValue());
+      return true;
+   }
+
    @Override
    public void removeState(IracManagerKeyInfo state) {
       removeStateFromLocal(state);
@@ -218,6 +276,10 @@ public void onTopologyUpdate(CacheTopology oldCacheTopology, CacheTopology newCa
          // not in teh cache topology
          return;
       }
+      if (!spilledSegments.isEmpty()) {
+         // the segments no longer owned do not need to be reloaded
+         spilledSegments.retainAll(newCacheTopology.getWriteConsistentHash().getSegmentsForOwner(local));
+      }
       IntSet addedSegments = mutableCopyFrom(newCacheTopology.getWriteConsistentHash().getSegmentsForOwner(local));
       if (oldCacheTopology.getMembers().contains(local)) {
          addedSegments.removeAll(oldCacheTopology.getWriteConsistentHash().getSegmentsForOwner(local));
@@ -241,7 +303,7 @@ public void onTopologyUpdate(CacheTopology oldCacheTopology, CacheTopology newCa
       // even if this node doesn't have any new segments, it may become the primary owner of some segments
       // i.e. backup owner => primary owner "promotion".
       // only trigger a round if we have pending updates.
-      if (!updatedKeys.isEmpty()) {
+      if (!updatedKeys.isEmpty() || !spilledSegments.isEmpty()) {
          iracExecutor.run();
       }
    }
@@ -255,7 +317,11 @@ public void requestState(Address requestor, IntSet segments) {
    @Override
    public void receiveState(int segment, Object key, Object lockOwner, IracMetadata tombstone) {
       iracTombstoneManager.storeTombstoneIfAbsent(segment, key, tombstone);
-      updatedKeys.putIfAbsent(key, new IracManagerKeyChangedState(segment, key, lockOwner, false));
+      if (isFull(key)) {
+         spill(segment, key);
+      } else {
+         trackIfAbsent(new IracManagerKeyChangedState(segment, key, lockOwner, false, timeService.time()));
+      }
       iracExecutor.run();
    }
 
@@ -340,14 +406,143 @@ private void trackState(IracManagerKeyState state) {
       if (log.isTraceEnabled()) {
          log.tracef("[IRAC] Tracking state %s", state);
       }
-      IracManagerKeyState old = updatedKeys.put(state.getKey(), state);
-      if (old != null) {
-         // avoid sending the cleanup command to the cluster members
-         old.discard();
+      if (!state.isExpiration() && isFull(state.getKey())) {
+         spill(state.getSegment(), state.getKey());
+      } else {
+         IracManagerKeyState old = updatedKeys.put(state.getKey(), state);
+         pendingUpdateAdded(state);
+         if (old != null) {
+            // avoid sending the cleanup command to the cluster members
+            old.discard();
+            pendingUpdateRemoved(old);
+         }
       }
       iracExecutor.run();
    }
 
+   private boolean isFull(Object key) {
+      return maxPendingKeys > 0 && updatedKeys.size() >= maxPendingKeys && !updatedKeys.containsKey(key);
+   }
+
+   private void trackIfAbsent(IracManagerKeyState state) {
+      if (updatedKeys.putIfAbsent(state.getKey(), state) == null) {
+         pendingUpdateAdded(state);
+      }
+   }
+
+   private void spill(int segment, Object key) {
+      if (log.isTraceEnabled()) {
+         log.tracef("[IRAC] Too many pending keys. Spilling key %s from segment %d", Util.toStr(key), segment);
+      }
+      if (spilledSegments.isEmpty()) {
+         spillTime = timeService.time();
+      }
+      AtomicLongArray filter = spilledKeys.get(segment);
+      if (filter == null) {
+         filter = new AtomicLongArray(SPILL_FILTER_BITS / Long.SIZE);
+         if (!spilledKeys.compareAndSet(segment, null, filter)) {
+            filter = spilledKeys.get(segment);
+         }
+      }
+      int bit = spillFilterBit(key);
+      filter.getAndAccumulate(bit / Long.SIZE, 1L << bit, (current, mask) -> current | mask);
+      // the segment is set after the key, so the reload consuming the segment sees the key
+      spilledSegments.set(segment);
+   }
+
+   private static int spillFilterBit(Object key) {
+      return (key.hashCode() * 0x9E3779B9) >>> SPILL_FILTER_SHIFT;
+   }
+
+   private boolean isSpilled(int segment, Object key) {
+      AtomicLongArray filter = spilledKeys.get(segment);
+      if (filter == null) {
+         return false;
+      }
+      int bit = spillFilterBit(key);
+      return (filter.get(bit / Long.SIZE) & (1L << bit)) != 0;
+   }
+
+   /**
+    * Takes the filter of the spilled keys of a segment, leaving it empty for the keys spilled afterwards.
+    */
+   private long[] takeSpilledKeys(int segment) {
+      AtomicLongArray filter = spilledKeys.get(segment);
+      long[] words = new long[SPILL_FILTER_BITS / Long.SIZE];
+      if (filter != null) {
+         for (int i = 0; i < words.length; i++) {
+            words[i] = filter.getAndSet(i, 0);
+         }
+      }
+      return words;
+   }
+
+   private void restoreSpilledKeys(int segment, long[] words) {
+      AtomicLongArray filter = spilledKeys.get(segment);
+      for (int i = 0; i < words.length; i++) {
+         if (words[i] != 0) {
+            filter.getAndAccumulate(i, words[i], (current, mask) -> current | mask);
+         }
+      }
+   }
+
+   private void reloadSpilledSegments() {
+      // this run on a blocking thread!
+      LocalizedCacheTopology topology = clusteringDependentLogic.getCacheTopology();
+      IntSet segments = mutableEmptySet(topology.getNumSegments());
+      for (PrimitiveIterator.OfInt it = spilledSegments.iterator(); it.hasNext(); ) {
+         int segment = it.nextInt();
+         // the backup owners keep the segment in case they become the primary owner
+         if (topology.getSegmentDistribution(segment).isPrimary()) {
+            segments.set(segment);
+         }
+      }
+      if (segments.isEmpty()) {
+         return;
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("[IRAC] Reloading keys from spilled segments %s", segments);
+      }
+      // updates arriving during the reload are tracked (or spilled) again
+      spilledSegments.removeAll(segments);
+      long[][] filters = new long[topology.getNumSegments()][];
+      for (PrimitiveIterator.OfInt it = segments.iterator(); it.hasNext(); ) {
+         int segment = it.nextInt();
+         filters[segment] = takeSpilledKeys(segment);
+      }
+      long trackedTime = spillTime;
+      Consumer<Object> reload = key -> {
+         int segment = topology.getSegment(key);
+         int bit = spillFilterBit(key);
+         if ((filters[segment][bit / Long.SIZE] & (1L << bit)) != 0) {
+            trackIfAbsent(new IracManagerKeyChangedState(segment, key, SPILLED_OWNER, false, trackedTime));
+         }
+      };
+      try {
+         dataContainer.iterator(segments).forEachRemaining(entry -> {
+            if (!entry.isL1Entry()) {
+               reload.accept(entry.getKey());
+            }
+         });
+         // removed keys
+         iracTombstoneManager.forEachTombstone(segments, tombstone -> reload.accept(tombstone.getKey()));
+         Flowable.fromPublisher(persistenceManager.running().<Object>publishKeys(segments, this::missingInDataContainer,
+               PersistenceManager.AccessMode.BOTH)).blockingForEach(reload::accept);
+      } catch (Throwable t) {
+         // keys tracked so far are sent, the segments will be reloaded again
+         for (PrimitiveIterator.OfInt it = segments.iterator(); it.hasNext(); ) {
+            int segment = it.nextInt();
+            restoreSpilledKeys(segment, filters[segment]);
+         }
+         spilledSegments.addAll(segments);
+         log.unexpectedErrorFromIrac(t);
+      }
+   }
+
+   private boolean missingInDataContainer(Object key) {
+      return dataContainer.peek(key) == null;
+   }
+
    private CompletionStage<Void> run() {
       // this run on a blocking thread!
       if (log.isTraceEnabled()) {
@@ -358,12 +553,31 @@ private CompletionStage<Void> run() {
          // let's block all updates until the clear is applied everywhere
          return sendClearUpdate();
       }
+      if (!spilledSegments.isEmpty() && updatedKeys.size() <= maxPendingKeys / 2) {
+         reloadSpilledSegments();
+      }
+
+      // the fastest online site sets the batch size and the number of batches in-flight
+      // the slower sites only receive the batches that fit in their send window
+      int sendBatchSize = 0;
+      int concurrentBatches = 0;
+      for (IracXSiteBackup backup : asyncBackups) {
+         if (takeOfflineManager.getSiteState(backup.getSiteName()) == SiteState.OFFLINE) {
+            continue; // backup is offline
+         }
+         sendBatchSize = Math.max(sendBatchSize, backup.sendWindow().batchSize());
+         concurrentBatches = Math.max(concurrentBatches, backup.sendWindow().concurrentBatches());
+      }
+      if (sendBatchSize == 0) {
+         sendBatchSize = batchSize;
+         concurrentBatches = 1;
+      }
 
       return Flowable.fromIterable(updatedKeys.values())
             .filter(this::canStateBeSent)
             .concatMapMaybe(this::fetchEntry)
-            .buffer(batchSize)
-            .concatMapCompletable(this::sendUpdateBatch)
+            .buffer(sendBatchSize)
+            .flatMapCompletable(this::sendUpdateBatch, false, concurrentBatches)
             .onErrorComplete(t -> {
                onUnexpectedThrowable(t);
                return true;
@@ -439,13 +653,45 @@ private CompletableSource sendUpdateBatch(Collection<? extends IracStateData> ba
 
       IracResponseCollector rspCollector = null;
       if (!cmd.isEmpty()) {
-         rspCollector = new IracResponseCollector(commandsFactory.getCacheName(), validState, this::onBatchResponse);
+         rspCollector = new IracResponseCollector(commandsFactory.getCacheName(), validState, onlineSites(), this::onBatchResponse);
          try {
+            // compressed once and shared by all the sites with compression enabled
+            IracCompressedPutManyCommand compressedCmd = null;
+            int siteIndex = 0;
             for (IracXSiteBackup backup : asyncBackups) {
+               long siteBit = siteBit(siteIndex++);
                if (takeOfflineManager.getSiteState(backup.getSiteName()) == SiteState.OFFLINE) {
                   continue; // backup is offline
                }
-               rspCollector.dependsOn(backup, sendToRemoteSite(backup, cmd));
+               if (siteBit != 0 && isAppliedBy(validState, siteBit)) {
+                  continue; // the batch is retried for the other sites
+               }
+               if (backup.compression() && compressedCmd == null) {
+                  compressedCmd = IracCompressedPutManyCommand.compress(cmd, marshaller);
+               }
+               if (siteBit != 0 && !backup.sendWindow().tryAcquire(validState.size())) {
+                  continue; // the keys are sent once the site has room
+               }
+               XSiteResponse<IntSet> rsp;
+               if (backup.compression()) {
+                  if (statisticsEnabled) {
+                     backup.recordCompressedBatch(compressedCmd.getUncompressedSize(), compressedCmd.getCompressedSize());
+                  }
+                  rsp = sendToRemoteSite(backup, compressedCmd);
+               } else {
+                  rsp = sendToRemoteSite(backup, cmd);
+               }
+               rsp.whenCompleted(backup.sendWindow());
+               if (siteBit != 0) {
+                  int keys = validState.size();
+                  rsp.whenComplete((ignored, throwable) -> {
+                     if (backup.sendWindow().release(keys)) {
+                        // some batches were not sent to the site while this one was in-flight
+                        iracExecutor.run();
+                     }
+                  });
+               }
+               rspCollector.dependsOn(backup, siteBit, rsp);
             }
          } catch (Throwable throwable) {
             // safety net; should never happen
@@ -469,6 +715,35 @@ private CompletableSource sendUpdateBatch(Collection<? extends IracStateData> ba
       return rspCollector == null ? Completable.complete() : Completable.fromCompletionStage(rspCollector.freeze());
    }
 
+   private long onlineSites() {
+      long sites = 0;
+      int siteIndex = 0;
+      for (IracXSiteBackup backup : asyncBackups) {
+         if (takeOfflineManager.getSiteState(backup.getSiteName()) != SiteState.OFFLINE) {
+            sites |= siteBit(siteIndex);
+         }
+         siteIndex++;
+      }
+      return sites;
+   }
+
+   /**
+    * @return The bit of the site in the mask of sites which applied an update, or 0 for the sites beyond the 64th,
+    * which receive all the updates and complete them only when they are applied by all the sites.
+    */
+   private static long siteBit(int siteIndex) {
+      return siteIndex < Long.SIZE ? 1L << siteIndex : 0;
+   }
+
+   private static boolean isAppliedBy(Collection<IracManagerKeyState> states, long siteBit) {
+      for (IracManagerKeyState state : states) {
+         if (!state.isAppliedBy(siteBit)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
    private CompletionStage<Void> sendClearUpdate() {
       // make sure the clear is replicated everywhere before sending the updates!
       IracClearKeysCommand cmd = commandsFactory.buildIracClearKeysCommand();
@@ -546,8 +821,11 @@ private void removeStateFromCluster(Collection<? extends IracManagerKeyInfo> sta
    }
 
    private void removeStateFromLocal(IracManagerKeyInfo state) {
-      //noinspection SuspiciousMethodCalls
-      boolean removed = updatedKeys.remove(state.getKey(), state);
+      IracManagerKeyState current = updatedKeys.get(state.getKey());
+      boolean removed = current != null && current.equals(state) && updatedKeys.remove(state.getKey(), current);
+      if (removed) {
+         pendingUpdateRemoved(current);
+      }
       if (log.isTraceEnabled()) {
          log.tracef("[IRAC] State removed? %s, state=%s", removed, state);
       }
@@ -560,6 +838,10 @@ private void onBatchResponse(IracBatchSendResult result, Collection<? extends Ir
       switch (result) {
          case OK:
             iracExecutor.disableBackOff();
+            if (!spilledSegments.isEmpty()) {
+               // the spilled segments are reloaded when the pending updates drain
+               iracExecutor.run();
+            }
             break;
          case RETRY:
             iracExecutor.disableBackOff();
@@ -583,6 +865,51 @@ public int getQueueSize() {
       return statisticsEnabled ? updatedKeys.size() : -1;
    }
 
+   @ManagedAttribute(description = "The age, in milliseconds, of the oldest update not yet sent to the remote site(s)",
+         displayName = "Oldest pending update age",
+         units = Units.MILLISECONDS,
+         measurementType = MeasurementType.DYNAMIC)
+   public long getOldestPendingUpdateAge() {
+      return statisticsEnabled ? oldestPendingUpdateAge() : -1;
+   }
+
+   @ManagedAttribute(description = "Number of segments with updated keys to be reloaded from the data container and cache stores",
+         displayName = "Number of spilled segments",
+         measurementType = MeasurementType.DYNAMIC)
+   public int getNumberOfSpilledSegments() {
+      return statisticsEnabled ? spilledSegments.size() : -1;
+   }
+
+   @ManagedOperation(description = "Returns the number of keys that need to be sent to the remote site. An offline site does not receive updates.",
+         displayName = "Queue size to site",
+         name = "QueueSizeTo")
+   public int getQueueSizeTo(@Parameter(name = "dstSite", description = "Destination site name") String dstSite) {
+      IracXSiteBackup backup = findAsyncBackup(dstSite);
+      if (!statisticsEnabled || backup == null) {
+         return -1;
+      }
+      return takeOfflineManager.getSiteState(dstSite) == SiteState.OFFLINE ? 0 : updatedKeys.size();
+   }
+
+   @ManagedOperation(description = "Returns the age, in milliseconds, of the oldest update not yet sent to the remote site. An offline site does not receive updates.",
+         displayName = "Replication lag to site",
+         name = "ReplicationLagTo")
+   public long getReplicationLagTo(@Parameter(name = "dstSite", description = "Destination site name") String dstSite) {
+      IracXSiteBackup backup = findAsyncBackup(dstSite);
+      if (!statisticsEnabled || backup == null) {
+         return -1;
+      }
+      return takeOfflineManager.getSiteState(dstSite) == SiteState.OFFLINE ? 0 : oldestPendingUpdateAge();
+   }
+
+   @ManagedOperation(description = "Returns the number of keys allowed in-flight to the remote site.",
+         displayName = "Send window to site",
+         name = "SendWindowTo")
+   public int getSendWindowTo(@Parameter(name = "dstSite", description = "Destination site name") String dstSite) {
+      IracXSiteBackup backup = findAsyncBackup(dstSite);
+      return backup == null ? -1 : backup.sendWindow().window();
+   }
+
    @ManagedAttribute(description = "Number of tombstones stored",
          displayName = "Number of tombstones",
          measurementType = MeasurementType.DYNAMIC)
@@ -625,6 +952,38 @@ public long getNumberOfConflictsMerged() {
       return statisticsEnabled ? conflictMergedCount.longValue() : -1;
    }
 
+   @ManagedAttribute(description = "The number of bytes of the batches sent to the remote sites with compression enabled, before compression.",
+         displayName = "Uncompressed bytes sent",
+         units = Units.BYTES,
+         measurementType = MeasurementType.TRENDSUP)
+   public long getUncompressedBytesSent() {
+      return statisticsEnabled ? asyncBackups.stream().mapToLong(IracXSiteBackup::uncompressedBytes).sum() : -1;
+   }
+
+   @ManagedAttribute(description = "The number of bytes of the batches sent to the remote sites with compression enabled, after compression.",
+         displayName = "Compressed bytes sent",
+         units = Units.BYTES,
+         measurementType = MeasurementType.TRENDSUP)
+   public long getCompressedBytesSent() {
+      return statisticsEnabled ? asyncBackups.stream().mapToLong(IracXSiteBackup::compressedBytes).sum() : -1;
+   }
+
+   @ManagedOperation(description = "Returns the number of bytes of the batches sent to the remote site, before compression.",
+         displayName = "Uncompressed bytes sent to site",
+         name = "UncompressedBytesSentTo")
+   public long getUncompressedBytesSentTo(@Parameter(name = "dstSite", description = "Destination site name") String dstSite) {
+      IracXSiteBackup backup = findAsyncBackup(dstSite);
+      return statisticsEnabled && backup != null ? backup.uncompressedBytes() : -1;
+   }
+
+   @ManagedOperation(description = "Returns the number of bytes of the batches sent to the remote site, after compression.",
+         displayName = "Compressed bytes sent to site",
+         name = "CompressedBytesSentTo")
+   public long getCompressedBytesSentTo(@Parameter(name = "dstSite", description = "Destination site name") String dstSite) {
+      IracXSiteBackup backup = findAsyncBackup(dstSite);
+      return statisticsEnabled && backup != null ? backup.compressedBytes() : -1;
+   }
+
    @ManagedAttribute(description = "Is tombstone cleanup task running?",
          displayName = "Tombstone cleanup task running",
          dataType = DataType.TRAIT)
@@ -663,6 +1022,34 @@ public void resetStatistics() {
       conflictLocalWinsCount.reset();
       conflictRemoteWinsCount.reset();
       conflictMergedCount.reset();
+      asyncBackups.forEach(IracXSiteBackup::resetStatistics);
+   }
+
+   private IracXSiteBackup findAsyncBackup(String siteName) {
+      for (IracXSiteBackup backup : asyncBackups) {
+         if (backup.getSiteName().equals(siteName)) {
+            return backup;
+         }
+      }
+      return null;
+   }
+
+   private long oldestPendingUpdateAge() {
+      long now = timeService.time();
+      long age = spilledSegments.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(now - spillTime);
+      Map.Entry<Long, Integer> oldest = pendingUpdateTimes.firstEntry();
+      if (oldest != null) {
+         age = Math.max(age, TimeUnit.NANOSECONDS.toMillis(now) - oldest.getKey());
+      }
+      return age;
+   }
+
+   private void pendingUpdateAdded(IracManagerKeyState state) {
+      pendingUpdateTimes.merge(TimeUnit.NANOSECONDS.toMillis(state.getTrackedTime()), 1, Integer::sum);
+   }
+
+   private void pendingUpdateRemoved(IracManagerKeyState state) {
+      pendingUpdateTimes.computeIfPresent(TimeUnit.NANOSECONDS.toMillis(state.getTrackedTime()), (time, count) -> count == 1 ? null : count - 1);
    }
 
    private long sumConflicts() {
@@ -691,7 +1078,15 @@ public void incrementNumberOfConflictMerged() {
 
    @Override
    public boolean containsKey(Object key) {
-      return updatedKeys.containsKey(key);
+      if (updatedKeys.containsKey(key)) {
+         return true;
+      }
+      if (spilledSegments.isEmpty()) {
+         return false;
+      }
+      // the key may be waiting to be reloaded; the primary owner is the one reloading the keys
+      DistributionInfo dInfo = clusteringDependentLogic.getCacheTopology().getDistribution(key);
+      return dInfo.isPrimary() && spilledSegments.contains(dInfo.segmentId()) && isSpilled(dInfo.segmentId(), key);
    }
 
    private static final class IracStateData {
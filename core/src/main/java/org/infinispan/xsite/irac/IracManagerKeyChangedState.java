@@ -5,6 +5,7 @@
 
 import java.lang.invoke.MethodHandles;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.infinispan.util.logging.Log;
@@ -20,19 +21,23 @@
 class IracManagerKeyChangedState implements IracManagerKeyState {
 
    private static final AtomicReferenceFieldUpdater<IracManagerKeyChangedState, Status> STATUS_UPDATER = newUpdater(IracManagerKeyChangedState.class, Status.class, "status");
+   private static final AtomicLongFieldUpdater<IracManagerKeyChangedState> APPLIED_UPDATER = AtomicLongFieldUpdater.newUpdater(IracManagerKeyChangedState.class, "appliedSites");
    private static final Log log = LogFactory.getLog(MethodHandles.lookup().lookupClass());
 
    private final int segment;
    private final Object key;
    private final Object owner;
    private final boolean expiration;
+   private final long trackedTime;
    private volatile Status status = Status.READY;
+   private volatile long appliedSites;
 
-   public IracManagerKeyChangedState(int segment, Object key, Object owner, boolean expiration) {
+   public IracManagerKeyChangedState(int segment, Object key, Object owner, boolean expiration, long trackedTime) {
       this.segment = segment;
       this.key = Objects.requireNonNull(key);
       this.owner = Objects.requireNonNull(owner);
       this.expiration = expiration;
+      this.trackedTime = trackedTime;
    }
 
    @Override
@@ -92,6 +97,21 @@ public void discard() {
       STATUS_UPDATER.lazySet(this, Status.DONE);
    }
 
+   @Override
+   public long getTrackedTime() {
+      return trackedTime;
+   }
+
+   @Override
+   public void siteApplied(long sites) {
+      APPLIED_UPDATER.getAndAccumulate(this, sites, (current, applied) -> current | applied);
+   }
+
+   @Override
+   public boolean isAppliedBy(long sites) {
+      return (appliedSites & sites) == sites;
+   }
+
    @Override
    public String toString() {
       return getClass().getSimpleName() + "{" +
@@ -101,6 +121,7 @@ public String toString() {
             ", expiration=" + expiration +
             ", isStateTransfer=" + isStateTransfer() +
             ", status=" + status +
+            ", appliedSites=" + Long.toBinaryString(appliedSites) +
             '}';
    }
 
@@ -12,6 +12,9 @@
  * that ouside {@link IracManager} scope.
  * <p>
  * 3) Sending status. If the update has been sent to the remote site or not.
+ * <p>
+ * 4) The backup sites which applied the update, so it is not sent again to those sites when it is retried for the
+ * others.
  *
  * @since 14
  */
@@ -56,4 +59,22 @@ interface IracManagerKeyState extends IracManagerKeyInfo {
     */
    void discard();
 
+   /**
+    * @return The time, in nanoseconds, when the key was tracked.
+    */
+   long getTrackedTime();
+
+   /**
+    * Records the backup sites which applied the update.
+    *
+    * @param sites A bit mask of the backup sites, see {@link DefaultIracManager}.
+    */
+   void siteApplied(long sites);
+
+   /**
+    * @param sites A bit mask of the backup sites.
+    * @return {@code true} if all the {@code sites} applied the update.
+    */
+   boolean isAppliedBy(long sites);
+
 }
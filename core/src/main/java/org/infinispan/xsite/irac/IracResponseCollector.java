@@ -27,6 +27,10 @@
  * If an {@link Exception} is received (example, timed-out waiting for the remote site ack), it assumes all keys in the
  * batch aren't applied, and they are retried.
  * <p>
+ * The keys applied by a site are recorded in their {@link IracManagerKeyState}, so they are not sent again to that
+ * site. A key is only completed when all the required sites applied it, including the sites the batch was not sent to
+ * because their send window was full.
+ * <p>
  * When all responses (or exceptions) are received, {@link IracResponseCompleted#onResponseCompleted(IracBatchSendResult,
  * Collection)} is invoked with the global result in {@link IracBatchSendResult} and a collection with all the
  * successfully applied keys. Also, the {@link CompletableFuture} returned by {@link #freeze()} is completed (completed
@@ -42,25 +46,32 @@ public class IracResponseCollector implements Runnable {
 
    private volatile IracBatchSendResult result = IracBatchSendResult.OK;
    private volatile boolean exceptionReceived;
+   private int requests;
    @GuardedBy("failedKeys")
    private final IntSet failedKeys;
    private final String cacheName;
    private final Collection<IracManagerKeyState> batch;
+   private final long requiredSites;
    private final IracResponseCompleted listener;
    private final CountDownRunnable countDownRunnable;
    private final CompletableFuture<Void> completableFuture = new CompletableFuture<>();
 
-   public IracResponseCollector(String cacheName, Collection<IracManagerKeyState> batch, IracResponseCompleted listener) {
+   public IracResponseCollector(String cacheName, Collection<IracManagerKeyState> batch, long requiredSites, IracResponseCompleted listener) {
       this.cacheName = cacheName;
       this.batch = batch;
+      this.requiredSites = requiredSites;
       this.listener = listener;
       countDownRunnable = new CountDownRunnable(this);
       failedKeys = IntSets.mutableEmptySet(batch.size());
    }
 
-   public void dependsOn(IracXSiteBackup backup, CompletionStage<? extends IntSet> request) {
+   /**
+    * @param siteBit The bit of the site in the sites mask, or 0 if the keys applied by the site are not tracked.
+    */
+   public void dependsOn(IracXSiteBackup backup, long siteBit, CompletionStage<? extends IntSet> request) {
+      requests++;
       countDownRunnable.increment();
-      request.whenComplete((bitSet, throwable) -> onResponse(backup, bitSet, throwable));
+      request.whenComplete((bitSet, throwable) -> onResponse(backup, siteBit, bitSet, throwable));
    }
 
    public CompletionStage<Void> freeze() {
@@ -68,11 +79,13 @@ public CompletionStage<Void> freeze() {
       return completableFuture;
    }
 
-   private void onResponse(IracXSiteBackup backup, IntSet rspIntSet, Throwable throwable) {
+   private void onResponse(IracXSiteBackup backup, long siteBit, IntSet rspIntSet, Throwable throwable) {
       boolean trace = log.isTraceEnabled();
       try {
          if (throwable != null) {
-            exceptionReceived = true;
+            if (siteBit == 0) {
+               exceptionReceived = true;
+            }
             if (DefaultTakeOfflineManager.isCommunicationError(throwable)) {
                //in case of communication error, we need to back-off.
                RESULT_UPDATED.set(this, IracBatchSendResult.BACK_OFF_AND_RETRY);
@@ -89,7 +102,11 @@ private void onResponse(IracXSiteBackup backup, IntSet rspIntSet, Throwable thro
             if (trace) {
                log.tracef("[IRAC] Received response from site %s (%d missing): %s", backup.getSiteName(), countDownRunnable.missing(), rspIntSet);
             }
-            mergeIntSetResult(rspIntSet);
+            if (siteBit == 0) {
+               mergeIntSetResult(rspIntSet);
+            } else {
+               siteApplied(siteBit, rspIntSet);
+            }
             // if some keys failed to apply, we need to retry.
             if (!rspIntSet.isEmpty() && result == IracBatchSendResult.OK) {
                RESULT_UPDATED.compareAndSet(this, IracBatchSendResult.OK, IracBatchSendResult.RETRY);
@@ -109,18 +126,38 @@ public void run() {
          return;
       }
       Collection<IracManagerKeyState> successfulSent = new ArrayList<>(batch.size());
+      boolean notApplied = false;
       int index = 0;
       for (IracManagerKeyState state : batch) {
          if (hasKeyFailed(index)) {
             state.retry();
+         } else if (!state.isAppliedBy(requiredSites)) {
+            // a site failed to apply it, or the batch was not sent to the site
+            notApplied = true;
+            state.retry();
          } else if (state.done()) {
             successfulSent.add(state);
          }
+         index++;
+      }
+      if (notApplied && requests > 0) {
+         // if nothing was sent, the keys are retried when the sites with a full send window have room
+         RESULT_UPDATED.compareAndSet(this, IracBatchSendResult.OK, IracBatchSendResult.RETRY);
       }
       listener.onResponseCompleted(result, successfulSent);
       completableFuture.complete(null);
    }
 
+   private void siteApplied(long siteBit, IntSet failed) {
+      int index = 0;
+      for (IracManagerKeyState state : batch) {
+         if (!failed.contains(index)) {
+            state.siteApplied(siteBit);
+         }
+         index++;
+      }
+   }
+
    private void mergeIntSetResult(IntSet rsp) {
       synchronized (failedKeys) {
          failedKeys.addAll(rsp);
@@ -0,0 +1,144 @@
+package org.infinispan.xsite.irac;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.remoting.transport.XSiteResponse;
+import org.infinispan.xsite.XSiteBackup;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Controls the number of keys per batch and the number of batches in-flight sent to a remote site.
+ * <p>
+ * It implements an additive increase, multiplicative decrease (AIMD) algorithm on the window, i.e. the number of keys
+ * in-flight. The window grows by a fraction of a batch for each request completed within the target latency, and it is
+ * halved when a request fails or completes after the target latency. Only one decrease is applied for the requests sent
+ * before the previous decrease, so a burst of slow responses does not collapse the window.
+ * <p>
+ * A window smaller than the maximum batch size reduces the batch size, and a window larger than the maximum batch size
+ * allows multiple batches in-flight, up to {@link #MAX_CONCURRENT_BATCHES}.
+ * <p>
+ * The sender uses the limits of the fastest site, and each batch is only sent to the sites with room in their window,
+ * see {@link #tryAcquire(int)}. The other sites receive the keys later, so a slow site does not slow down the others.
+ *
+ * @since 15.0
+ */
+public class IracSendWindow implements XSiteResponse.XSiteResponseCompleted {
+
+   /**
+    * The maximum number of batches in-flight.
+    */
+   public static final int MAX_CONCURRENT_BATCHES = 8;
+   // the target latency is a fraction of the replication timeout
+   private static final int TARGET_LATENCY_RATIO = 10;
+
+   private final int maxBatchSize;
+   private final int increment;
+   private final long targetLatencyNanos;
+   @GuardedBy("this")
+   private int window;
+   @GuardedBy("this")
+   private boolean decreased;
+   @GuardedBy("this")
+   private long lastDecreaseNanos;
+   @GuardedBy("this")
+   private int inFlight;
+   @GuardedBy("this")
+   private boolean deferred;
+
+   public IracSendWindow(int maxBatchSize, long timeoutMillis) {
+      if (maxBatchSize <= 0) {
+         throw new IllegalArgumentException("Batch size must be positive");
+      }
+      this.maxBatchSize = maxBatchSize;
+      this.increment = Math.max(1, maxBatchSize / MAX_CONCURRENT_BATCHES);
+      this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis) / TARGET_LATENCY_RATIO;
+      this.window = maxBatchSize;
+   }
+
+   /**
+    * Updates the window when a request completes.
+    *
+    * @param sendTimeNanos The time, in nanoseconds, when the request was sent.
+    * @param durationNanos The request duration, in nanoseconds.
+    * @param failed        {@code true} if the request failed.
+    */
+   public synchronized void onResponse(long sendTimeNanos, long durationNanos, boolean failed) {
+      if (failed || durationNanos > targetLatencyNanos) {
+         if (decreased && sendTimeNanos - lastDecreaseNanos < 0) {
+            // sent before the last decrease, the window is already reduced
+            return;
+         }
+         window = Math.max(1, window >> 1);
+         lastDecreaseNanos = sendTimeNanos + durationNanos;
+         decreased = true;
+      } else {
+         window = Math.min(maxBatchSize * MAX_CONCURRENT_BATCHES, window + increment);
+      }
+   }
+
+   @Override
+   public void onCompleted(XSiteBackup backup, long sendTimeNanos, long durationNanos, Throwable throwable) {
+      onResponse(sendTimeNanos, durationNanos, throwable != null);
+   }
+
+   /**
+    * Reserves room in the window for a batch. A batch is always allowed if none is in-flight, even if it is larger
+    * than the window.
+    *
+    * @param keys The number of keys in the batch.
+    * @return {@code true} if the batch can be sent, and {@link #release(int)} must be invoked when it completes.
+    */
+   public synchronized boolean tryAcquire(int keys) {
+      if (inFlight > 0 && inFlight + keys > window) {
+         deferred = true;
+         return false;
+      }
+      inFlight += keys;
+      return true;
+   }
+
+   /**
+    * Releases the room reserved by {@link #tryAcquire(int)}.
+    *
+    * @param keys The number of keys in the batch.
+    * @return {@code true} if a batch was refused since the last release, and the keys need to be sent again.
+    */
+   public synchronized boolean release(int keys) {
+      inFlight -= keys;
+      boolean wasDeferred = deferred;
+      deferred = false;
+      return wasDeferred;
+   }
+
+   /**
+    * @return The number of keys to send in a single batch.
+    */
+   public synchronized int batchSize() {
+      return Math.min(window, maxBatchSize);
+   }
+
+   /**
+    * @return The number of batches allowed in-flight at the same time.
+    */
+   public synchronized int concurrentBatches() {
+      return Math.max(1, window / maxBatchSize);
+   }
+
+   /**
+    * @return The current window, i.e. the number of keys allowed in-flight.
+    */
+   public synchronized int window() {
+      return window;
+   }
+
+   @Override
+   public synchronized String toString() {
+      return "IracSendWindow{" +
+            "window=" + window +
+            ", inFlight=" + inFlight +
+            ", maxBatchSize=" + maxBatchSize +
+            ", targetLatencyNanos=" + targetLatencyNanos +
+            '}';
+   }
+}
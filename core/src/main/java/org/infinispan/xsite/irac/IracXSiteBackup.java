@@ -1,28 +1,92 @@
 package org.infinispan.xsite.irac;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.infinispan.configuration.cache.BackupConfiguration;
 import org.infinispan.configuration.cache.BackupFailurePolicy;
+import org.infinispan.configuration.cache.XSiteStateTransferConfiguration;
 import org.infinispan.xsite.XSiteBackup;
 
 /**
- * Extends {@link XSiteBackup} class with logging configuration.
+ * Extends {@link XSiteBackup} class with logging and compression configuration, and the {@link IracSendWindow} of the
+ * site.
  *
  * @since 14.0
  */
 public class IracXSiteBackup extends XSiteBackup {
 
    private final boolean logExceptions;
+   private final boolean compression;
+   private final LongAdder uncompressedBytes = new LongAdder();
+   private final LongAdder compressedBytes = new LongAdder();
+   private final IracSendWindow sendWindow;
 
    public IracXSiteBackup(String siteName, boolean sync, long timeout, boolean logExceptions) {
+      this(siteName, sync, timeout, logExceptions, false);
+   }
+
+   public IracXSiteBackup(String siteName, boolean sync, long timeout, boolean logExceptions, boolean compression) {
+      this(siteName, sync, timeout, logExceptions, compression, XSiteStateTransferConfiguration.DEFAULT_CHUNK_SIZE);
+   }
+
+   public IracXSiteBackup(String siteName, boolean sync, long timeout, boolean logExceptions, boolean compression, int maxBatchSize) {
       super(siteName, sync, timeout);
       this.logExceptions = logExceptions;
+      this.compression = compression;
+      this.sendWindow = new IracSendWindow(maxBatchSize, timeout);
    }
 
    public boolean logExceptions() {
       return logExceptions;
    }
 
+   /**
+    * @return {@code true} if the batches sent to this site are compressed.
+    */
+   public boolean compression() {
+      return compression;
+   }
+
+   /**
+    * @return The {@link IracSendWindow} which controls the batch size and number of batches in-flight to this site.
+    */
+   public IracSendWindow sendWindow() {
+      return sendWindow;
+   }
+
+   /**
+    * Records a compressed batch sent to this site.
+    *
+    * @param uncompressedSize The size of the batch before compression, in bytes.
+    * @param compressedSize   The size of the batch after compression, in bytes.
+    */
+   public void recordCompressedBatch(long uncompressedSize, long compressedSize) {
+      uncompressedBytes.add(uncompressedSize);
+      compressedBytes.add(compressedSize);
+   }
+
+   /**
+    * @return The number of bytes of the batches sent to this site, before compression.
+    */
+   public long uncompressedBytes() {
+      return uncompressedBytes.sum();
+   }
+
+   /**
+    * @return The number of bytes of the batches sent to this site, after compression.
+    */
+   public long compressedBytes() {
+      return compressedBytes.sum();
+   }
+
+   public void resetStatistics() {
+      uncompressedBytes.reset();
+      compressedBytes.reset();
+   }
+
    public static IracXSiteBackup fromBackupConfiguration(BackupConfiguration backupConfiguration) {
-      return new IracXSiteBackup(backupConfiguration.site(), true, backupConfiguration.replicationTimeout(), backupConfiguration.backupFailurePolicy() == BackupFailurePolicy.WARN);
+      return new IracXSiteBackup(backupConfiguration.site(), true, backupConfiguration.replicationTimeout(),
+            backupConfiguration.backupFailurePolicy() == BackupFailurePolicy.WARN, backupConfiguration.compression(),
+            backupConfiguration.stateTransfer().chunkSize());
    }
 }
@@ -1,55 +1,84 @@
 package org.infinispan.xsite.statetransfer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.configuration.cache.XSiteStateTransferConfiguration;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
 import org.infinispan.xsite.XSiteBackup;
 
 import io.reactivex.rxjava3.annotations.NonNull;
+import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.CompletableObserver;
 import io.reactivex.rxjava3.core.CompletableSource;
 import io.reactivex.rxjava3.core.Flowable;
 import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Function;
 import io.reactivex.rxjava3.functions.Predicate;
+import net.jcip.annotations.GuardedBy;
 
 /**
  * Common code for {@link AsyncProviderState} and {@link SyncProviderState} implementation.
  * <p>
  * The only difference between the two implementation is the way the state is send to the remote site. The synchronous
  * implementation sends the state directly while the asynchronous makes use of IRAC (and its conflict resolution).
+ * <p>
+ * The state is sent segment by segment, with up to {@link XSiteStateTransferConfiguration#segmentParallelism()}
+ * segments in parallel. The segments completely sent are kept until the state transfer finishes successfully, so a
+ * state transfer restarted by the same coordinator after a failure does not send them again. They are discarded when a
+ * running state transfer is cancelled, which includes a coordinator change, and when a different coordinator starts the
+ * next state transfer.
  *
  * @author Pedro Ruivo
  * @since 12.0
  */
 public abstract class BaseXSiteStateProviderState<T extends BaseXSiteStateProviderState.OutboundTask> implements XSiteStateProviderState {
 
+   private static final Log log = LogFactory.getLog(BaseXSiteStateProviderState.class);
+   // size used when the key or value is not stored in binary format
+   private static final int UNKNOWN_SIZE = 64;
+
    private final XSiteBackup backup;
    private final XSiteStateTransferConfiguration configuration;
    private final AtomicReference<T> task;
+   @GuardedBy("this")
+   private final IntSet sentSegments;
+   @GuardedBy("this")
+   private Address sentSegmentsCoordinator;
 
    public BaseXSiteStateProviderState(XSiteBackup backup, XSiteStateTransferConfiguration configuration) {
       this.backup = backup;
       this.configuration = configuration;
       task = new AtomicReference<>();
+      sentSegments = IntSets.mutableEmptySet();
    }
 
    @Override
    public XSiteStatePushTask createPushTask(Address originator, XSiteStateProvider provider) {
       T newTask = createTask(originator, provider);
-      return task.compareAndSet(null, newTask) ? newTask : null;
+      if (!task.compareAndSet(null, newTask)) {
+         return null;
+      }
+      keepSentSegmentsOf(originator);
+      return newTask;
    }
 
-
    @Override
    public void cancelTransfer() {
       T currentTask = task.getAndSet(null);
       if (currentTask != null) {
          currentTask.cancel();
+         // the task was still running, the segments sent so far are not trusted by the next state transfer
+         discardSentSegments();
       }
    }
 
@@ -64,11 +93,34 @@ public boolean isOriginatorMissing(Collection<Address> members) {
       return currentTask != null && !members.contains(currentTask.getCoordinator());
    }
 
+   @Override
+   public synchronized void discardSentSegments() {
+      sentSegments.clear();
+   }
+
+   private synchronized void keepSentSegmentsOf(Address coordinator) {
+      if (!coordinator.equals(sentSegmentsCoordinator)) {
+         // the new coordinator does not know which segments were sent before
+         sentSegments.clear();
+         sentSegmentsCoordinator = coordinator;
+      }
+   }
+
    // methods for OutboundTask
    void taskFinished() {
       task.set(null);
    }
 
+   synchronized void segmentsSent(IntSet segments) {
+      sentSegments.addAll(segments);
+   }
+
+   synchronized IntSet pendingSegments(IntSet segments) {
+      IntSet pending = IntSets.mutableCopyFrom(segments);
+      pending.removeAll(sentSegments);
+      return pending;
+   }
+
    XSiteBackup getBackup() {
       return backup;
    }
@@ -77,6 +129,14 @@ int getChunkSize() {
       return configuration.chunkSize();
    }
 
+   long getChunkSizeBytes() {
+      return configuration.chunkSizeBytes();
+   }
+
+   int getSegmentParallelism() {
+      return configuration.segmentParallelism();
+   }
+
    long getWaitTimeMillis() {
       return configuration.waitTime();
    }
@@ -105,15 +165,58 @@ Address getCoordinator() {
       }
 
       @Override
-      public void execute(Flowable<XSiteState> flowable, CompletionStage<Void> delayer) {
+      public void execute(IntSet segments, IntFunction<Flowable<XSiteState>> segmentState,
+            java.util.function.Function<IntSet, Flowable<XSiteState>> sharedState, CompletionStage<Void> delayer) {
          //delayer is the cache topology future. we need to ensure the topology id is installed before iterating
-         delayer.thenRunAsync(() -> flowable
-                     .buffer(state.getChunkSize())
-                     .takeUntil(this)
-                     .concatMapCompletable(this, 1)
-                     .subscribe(this),
+         delayer.thenRunAsync(() -> sendState(pendingSegments(segments), segmentState, sharedState).subscribe(this),
                provider.getExecutor());
+      }
+
+      private Completable sendState(IntSet segments, IntFunction<Flowable<XSiteState>> segmentState,
+            java.util.function.Function<IntSet, Flowable<XSiteState>> sharedState) {
+         Completable perSegment = Flowable.fromIterable(segments)
+               .takeWhile(ignored -> !canceled)
+               .flatMapCompletable(segment -> sharedState == null ?
+                     sendSegments(IntSets.immutableSet(segment), segmentState.apply(segment)) :
+                     sendChunks(segmentState.apply(segment)), false, state.getSegmentParallelism());
+         if (sharedState == null) {
+            return perSegment;
+         }
+         // the segments are only sent once the state shared by all of them is sent too
+         return perSegment.andThen(Completable.defer(() -> canceled ?
+               Completable.complete() :
+               sendSegments(segments, sharedState.apply(segments))));
+      }
+
+      private IntSet pendingSegments(IntSet segments) {
+         IntSet pending = state.pendingSegments(segments);
+         if (log.isDebugEnabled() && pending.size() != segments.size()) {
+            log.debugf("Resuming state transfer to site '%s'. Skipping %d segments already sent.",
+                  state.getBackup().getSiteName(), segments.size() - pending.size());
+         }
+         return pending;
+      }
 
+      private Completable sendSegments(IntSet segments, Flowable<XSiteState> flowable) {
+         return sendChunks(flowable)
+               .doOnComplete(() -> {
+                  // takeUntil completes the Flowable when canceled, the segments may not be fully sent
+                  if (!canceled) {
+                     state.segmentsSent(segments);
+                  }
+               });
+      }
+
+      private Completable sendChunks(Flowable<XSiteState> flowable) {
+         return chunks(flowable)
+               .takeUntil(this)
+               .concatMapCompletable(this, 1);
+      }
+
+      private Flowable<List<XSiteState>> chunks(Flowable<XSiteState> flowable) {
+         Flowable<List<XSiteState>> chunks = flowable.buffer(state.getChunkSize());
+         long maxBytes = state.getChunkSizeBytes();
+         return maxBytes > 0 ? chunks.concatMapIterable(chunk -> splitBySize(chunk, maxBytes)) : chunks;
       }
 
       public void cancel() {
@@ -137,6 +240,8 @@ public void onComplete() {
          if (canceled) {
             return;
          }
+         // all segments sent, the next state transfer starts from scratch
+         state.discardSentSegments();
          provider.notifyStateTransferEnd(state.getBackup().getSiteName(), coordinator, true);
          state.taskFinished();
       }
@@ -151,4 +256,54 @@ public void onError(@NonNull Throwable e) {
          state.taskFinished();
       }
    }
+
+   /**
+    * Splits the {@code chunk} in smaller chunks with, at most, {@code maxBytes} estimated bytes each.
+    * <p>
+    * A single {@link XSiteState} larger than {@code maxBytes} is sent alone.
+    */
+   static List<List<XSiteState>> splitBySize(List<XSiteState> chunk, long maxBytes) {
+      List<List<XSiteState>> chunks = new ArrayList<>(2);
+      int start = 0;
+      long bytes = 0;
+      for (int i = 0; i < chunk.size(); ++i) {
+         long size = estimatedSize(chunk.get(i).key()) + estimatedSize(chunk.get(i).value());
+         if (i > start && bytes + size > maxBytes) {
+            chunks.add(chunk.subList(start, i));
+            start = i;
+            bytes = 0;
+         }
+         bytes += size;
+      }
+      chunks.add(start == 0 ? chunk : chunk.subList(start, chunk.size()));
+      return chunks;
+   }
+
+   private static int estimatedSize(Object object) {
+      if (object == null) {
+         return 0;
+      } else if (object instanceof WrappedBytes) {
+         return ((WrappedBytes) object).getLength();
+      } else if (object instanceof byte[]) {
+         return ((byte[]) object).length;
+      } else if (object instanceof String) {
+         return utf8Length((String) object);
+      }
+      return UNKNOWN_SIZE;
+   }
+
+   // the number of bytes of the marshalled String, without the length prefix
+   private static int utf8Length(String string) {
+      int length = string.length();
+      for (int i = 0; i < string.length(); ++i) {
+         char c = string.charAt(i);
+         if (c >= 0x800) {
+            // 3 bytes, or 4 bytes for a surrogate pair
+            length += Character.isSurrogate(c) ? 1 : 2;
+         } else if (c >= 0x80) {
+            ++length;
+         }
+      }
+      return length;
+   }
 }
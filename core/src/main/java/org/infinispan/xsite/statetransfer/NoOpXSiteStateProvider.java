@@ -42,6 +42,11 @@ public void cancelStateTransfer(String siteName) {
       // no-op
    }
 
+   @Override
+   public void siteOffline(String siteName) {
+      // no-op
+   }
+
    @Override
    public Collection<String> getCurrentStateSending() {
       return Collections.emptyList();
@@ -34,6 +34,16 @@ public interface XSiteStateProvider {
     */
    void cancelStateTransfer(String siteName);
 
+   /**
+    * Notifies the remote site is offline.
+    * <p>
+    * The remote site misses updates while offline, so the segments sent by a previous state transfer must be sent
+    * again.
+    *
+    * @param siteName the remote site name.
+    */
+   void siteOffline(String siteName);
+
    /**
     * @return a site name collection with the sites in which this cache is sending state.
     */
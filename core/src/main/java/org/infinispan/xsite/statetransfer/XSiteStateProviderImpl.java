@@ -101,9 +101,15 @@ public void startStateTransfer(String siteName, Address origin, int minTopologyI
          log.debugf("Starting state transfer to site '%s'", siteName);
       }
 
-      IntSet segments = localPrimarySegments();
-      Flowable<XSiteState> flowable = Flowable.concat(publishDataContainerEntries(segments), publishStoreEntries(segments, state.isSync()));
-      task.execute(flowable, stateTransferLock.topologyFuture(minTopologyId));
+      boolean syncBackup = state.isSync();
+      if (persistenceManager.hasStore(storeConfiguration -> !storeConfiguration.segmented())) {
+         // a store not segmented iterates all its entries for any set of segments, iterate it only once
+         task.execute(localPrimarySegments(), this::publishDataContainerEntries,
+               segments -> publishStoreEntries(segments, syncBackup), stateTransferLock.topologyFuture(minTopologyId));
+      } else {
+         task.execute(localPrimarySegments(), segment -> publishSegmentEntries(segment, syncBackup), null,
+               stateTransferLock.topologyFuture(minTopologyId));
+      }
 
       checkCoordinatorAlive(siteName, origin);
    }
@@ -115,6 +121,14 @@ public void cancelStateTransfer(String siteName) {
       state.cancelTransfer();
    }
 
+   @Override
+   public void siteOffline(String siteName) {
+      XSiteStateProviderState state = sites.get(siteName);
+      if (state != null) {
+         state.discardSentSegments();
+      }
+   }
+
    @Override
    public Collection<String> getCurrentStateSending() {
       return sites.entrySet().stream()
@@ -180,7 +194,13 @@ private IntSet localPrimarySegments() {
             .getPrimarySegmentsForOwner(rpcManager.getAddress()));
    }
 
-   private Flowable<XSiteState> publishDataContainerEntries(IntSet segments) {
+   private Flowable<XSiteState> publishSegmentEntries(int segment, boolean syncBackup) {
+      return Flowable.concat(publishDataContainerEntries(segment),
+            publishStoreEntries(IntSets.immutableSet(segment), syncBackup));
+   }
+
+   private Flowable<XSiteState> publishDataContainerEntries(int segment) {
+      IntSet segments = IntSets.immutableSet(segment);
       return Flowable.fromIterable(() -> dataContainer.iterator(segments))
             // TODO Investigate removing the filter, we clear L1 entries before becoming an owner
             .filter(NOT_L1_ENTRY)
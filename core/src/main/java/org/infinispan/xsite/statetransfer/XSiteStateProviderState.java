@@ -47,6 +47,14 @@ public interface XSiteStateProviderState {
     */
    boolean isSync();
 
+   /**
+    * Discards the segments sent by previous state transfers.
+    * <p>
+    * The segments sent by a failed state transfer are skipped by the next one started by the same coordinator, which is
+    * only correct while the remote site is online and receives all updates.
+    */
+   void discardSentSegments();
+
    /**
     * Factory for {@link XSiteStateProviderState} instances.
     *
@@ -1,6 +1,10 @@
 package org.infinispan.xsite.statetransfer;
 
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.infinispan.commons.util.IntSet;
 
 import io.reactivex.rxjava3.core.Flowable;
 
@@ -13,12 +17,20 @@
 public interface XSiteStatePushTask {
 
    /**
-    * Perform the state transfer with the state from {@link Flowable}.
+    * Perform the state transfer of the {@code segments}, with the state of each segment from {@link Flowable}.
+    * <p>
+    * The state that cannot be published per segment without iterating all of it once per segment is published once by
+    * {@code sharedState}, for all the segments still to be sent, after the state of every segment. A segment is only
+    * sent when its part of the shared state is sent too.
     * <p>
     * The {@link Flowable} can only be iterated after {@code delayer} is completed.
     *
-    * @param flowable The {@link Flowable} with the local cluster state.
-    * @param delayer  A {@link CompletionStage} which is completed when it is allowed to start sending the state.
+    * @param segments     The segments to send.
+    * @param segmentState The {@link Flowable} with the local cluster state of a segment.
+    * @param sharedState  The {@link Flowable} with the local cluster state of a set of segments not included by
+    *                     {@code segmentState}, or {@code null} if {@code segmentState} publishes the whole state.
+    * @param delayer      A {@link CompletionStage} which is completed when it is allowed to start sending the state.
     */
-   void execute(Flowable<XSiteState> flowable, CompletionStage<Void> delayer);
+   void execute(IntSet segments, IntFunction<Flowable<XSiteState>> segmentState,
+         Function<IntSet, Flowable<XSiteState>> sharedState, CompletionStage<Void> delayer);
 }
@@ -20,6 +20,7 @@
 import org.infinispan.container.impl.InternalDataContainer;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.impl.MBeanMetadata;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
@@ -37,6 +38,7 @@
 import org.infinispan.xsite.OfflineStatus;
 import org.infinispan.xsite.XSiteBackup;
 import org.infinispan.xsite.notification.SiteStatusListener;
+import org.infinispan.xsite.statetransfer.XSiteStateProvider;
 import org.jgroups.UnreachableException;
 
 /**
@@ -60,6 +62,7 @@ public class DefaultTakeOfflineManager implements TakeOfflineManager, XSiteRespo
    @Inject EventLogManager eventLogManager;
    @Inject RpcManager rpcManager;
    @Inject InternalDataContainer<Object, Object> dataContainer;
+   @Inject ComponentRef<XSiteStateProvider> stateProvider;
 
    public DefaultTakeOfflineManager(String cacheName) {
       this.cacheName = cacheName;
@@ -228,6 +231,7 @@ public void siteOffline() {
          log.debug("Touching all in memory entries as a site has gone offline");
          long currentTimeMillis = timeService.wallClockTime();
          dataContainer.forEachSegment((map, segment) -> map.touchAll(currentTimeMillis));
+         stateProvider.running().siteOffline(siteName);
       }
 
       @Override
@@ -0,0 +1,73 @@
+package org.infinispan.api;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryVisitedEvent;
+import org.infinispan.stats.Stats;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the reads of a local non-transactional cache, which reuse the command and the context, keep the cache
+ * features.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "api.LocalReadTest")
+@CleanupAfterMethod
+public class LocalReadTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = getDefaultStandaloneCacheConfig(false);
+      builder.statistics().enable();
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testConsecutiveReads() {
+      for (int i = 0; i < 10; i++) {
+         cache.put("k" + i, "v" + i);
+      }
+      for (int i = 0; i < 10; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+         assertNull(cache.get("missing" + i));
+      }
+      Stats stats = cache.getAdvancedCache().getStats();
+      assertEquals(10, stats.getHits());
+      assertEquals(10, stats.getMisses());
+   }
+
+   public void testVisitedListener() {
+      cache.put("k", "v");
+      VisitedListener listener = new VisitedListener();
+      cache.addListener(listener);
+
+      assertEquals("v", cache.get("k"));
+      assertEquals(Collections.singletonList("k"), listener.keys);
+
+      cache.removeListener(listener);
+      assertEquals("v", cache.get("k"));
+      assertEquals(1, listener.keys.size());
+   }
+
+   @Listener(observation = Listener.Observation.POST)
+   public static class VisitedListener {
+      final List<Object> keys = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryVisited
+      public void visited(CacheEntryVisitedEvent<Object, Object> event) {
+         keys.add(event.getKey());
+      }
+   }
+}
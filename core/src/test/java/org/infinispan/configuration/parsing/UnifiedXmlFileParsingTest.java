@@ -137,6 +137,8 @@ public void check(ConfigurationBuilderHolder holder, int schemaMajor, int schema
 
             configuration = getConfiguration(holder, "dist");
             assertThat(configuration.clustering().hash().hashFunction()).isSameAs(MurmurHash3.getInstance());
+            assertThat(configuration.clustering().readFromAnyOwner()).isTrue();
+            assertThat(getConfiguration(holder, "dist-instance").clustering().readFromAnyOwner()).isFalse();
          }
       },
       INFINISPAN_140(14, 0) {
@@ -9,14 +9,18 @@
 import static org.testng.AssertJUnit.fail;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.io.ConfigurationResourceResolver;
+import org.infinispan.commons.configuration.io.ConfigurationWriter;
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.jmx.TestMBeanServerLookup;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
@@ -656,6 +660,32 @@ public void testEncodingMatching() {
       assertTrue(a.matches(b));
    }
 
+   public void testReadFromAnyOwner() throws Exception {
+      String config = TestingUtil.wrapXMLWithSchema(
+            "<cache-container>\n" +
+                  "<distributed-cache name=\"any-owner\" read-from-any-owner=\"true\"/>\n" +
+                  "<distributed-cache name=\"primary\"/>\n" +
+                  "</cache-container>"
+      );
+
+      ConfigurationBuilderHolder holder = parseStringConfiguration(config);
+      Configuration anyOwner = getCacheConfiguration(holder, "any-owner");
+      assertTrue(anyOwner.clustering().readFromAnyOwner());
+      assertFalse(getCacheConfiguration(holder, "primary").clustering().readFromAnyOwner());
+
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      ParserRegistry parserRegistry = new ParserRegistry(Thread.currentThread().getContextClassLoader(), true, System.getProperties());
+      try (ConfigurationWriter writer = ConfigurationWriter.to(baos).build()) {
+         parserRegistry.serialize(writer, null, Collections.singletonMap("any-owner", anyOwner));
+      }
+      String xml = baos.toString(StandardCharsets.UTF_8);
+      assertTrue(xml, xml.contains("read-from-any-owner=\"true\""));
+
+      ConfigurationBuilderHolder holderAfter = parserRegistry.parse(new ByteArrayInputStream(baos.toByteArray()),
+            ConfigurationResourceResolver.DEFAULT, MediaType.APPLICATION_XML);
+      assertTrue(getCacheConfiguration(holderAfter, "any-owner").clustering().readFromAnyOwner());
+   }
+
    public static class CustomTransport extends JGroupsTransport {
 
    }
@@ -0,0 +1,155 @@
+package org.infinispan.distribution;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commands.functional.ReadOnlyKeyCommand;
+import org.infinispan.commands.remote.ClusteredGetCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.functional.FunctionalMap.ReadOnlyMap;
+import org.infinispan.functional.impl.FunctionalMapImpl;
+import org.infinispan.functional.impl.ReadOnlyMapImpl;
+import org.infinispan.marshall.core.MarshallableFunctions;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.rpc.RpcOptions;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.ResponseCollector;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestDataSCI;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.util.AbstractDelegatingRpcManager;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the reads of a non-owner start at any owner of the key with
+ * {@link org.infinispan.configuration.cache.ClusteringConfiguration#readFromAnyOwner()}, while the writes still start
+ * at the primary owner.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "distribution.ReadFromAnyOwnerTest")
+public class ReadFromAnyOwnerTest extends MultipleCacheManagersTest {
+
+   // the probability that all the reads start at the same owner is 2^-(READS - 1)
+   private static final int READS = 64;
+
+   private MagicKey key;
+   private FirstTargetRpcManager rpcManager;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().readFromAnyOwner(true)
+            .hash().numOwners(2)
+            .l1().disable();
+      createCluster(TestDataSCI.INSTANCE, builder, 3);
+      waitForClusterToForm();
+      key = new MagicKey(cache(0), cache(1));
+      rpcManager = TestingUtil.wrapComponent(cache(2), RpcManager.class, FirstTargetRpcManager::new);
+   }
+
+   @BeforeMethod(alwaysRun = true)
+   public void clearTargets() {
+      if (rpcManager != null) {
+         rpcManager.firstTargets.clear();
+      }
+   }
+
+   public void testNonOwnerReadsStartAtAnyOwner() {
+      cache(0).put(key, "value");
+      Cache<MagicKey, String> nonOwner = cache(2);
+      for (int i = 0; i < READS; i++) {
+         assertEquals("value", nonOwner.get(key));
+      }
+      assertFirstTargetsAreAllOwners(ClusteredGetCommand.class);
+   }
+
+   public void testNonOwnerReadOnlyCommandsStartAtAnyOwner() {
+      cache(0).put(key, "value");
+      Cache<MagicKey, String> nonOwner = cache(2);
+      ReadOnlyMap<MagicKey, String> readOnlyMap = ReadOnlyMapImpl.create(FunctionalMapImpl.create(nonOwner.getAdvancedCache()));
+      for (int i = 0; i < READS; i++) {
+         assertEquals("value", readOnlyMap.eval(key, MarshallableFunctions.returnReadOnlyFindOrNull()).join());
+      }
+      assertFirstTargetsAreAllOwners(ReadOnlyKeyCommand.class);
+   }
+
+   public void testNonOwnerWritesStartAtPrimaryOwner() {
+      Cache<MagicKey, String> nonOwner = cache(2);
+      for (int i = 0; i < READS; i++) {
+         nonOwner.put(key, "value" + i);
+      }
+      List<Address> writeTargets = rpcManager.firstTargets(PutKeyValueCommand.class);
+      assertEquals(READS, writeTargets.size());
+      assertEquals(Collections.singleton(address(0)), Set.copyOf(writeTargets));
+      assertEquals("value" + (READS - 1), cache(1).get(key));
+   }
+
+   private void assertFirstTargetsAreAllOwners(Class<? extends ReplicableCommand> commandClass) {
+      List<Address> readTargets = rpcManager.firstTargets(commandClass);
+      assertEquals(READS, readTargets.size());
+      assertTrue(readTargets.toString(), readTargets.contains(address(0)));
+      assertTrue(readTargets.toString(), readTargets.contains(address(1)));
+      assertFalse(readTargets.toString(), readTargets.contains(address(2)));
+   }
+
+   /**
+    * Records the first target of each remote command, the only target of a staggered request that completes on time.
+    */
+   private static class FirstTargetRpcManager extends AbstractDelegatingRpcManager {
+      final Queue<FirstTarget> firstTargets = new ConcurrentLinkedQueue<>();
+
+      FirstTargetRpcManager(RpcManager realOne) {
+         super(realOne);
+      }
+
+      List<Address> firstTargets(Class<? extends ReplicableCommand> commandClass) {
+         return firstTargets.stream()
+               .filter(target -> commandClass.isInstance(target.command))
+               .map(target -> target.address)
+               .collect(Collectors.toList());
+      }
+
+      @Override
+      protected <T> CompletionStage<T> performRequest(Collection<Address> targets, ReplicableCommand command,
+                                                      ResponseCollector<T> collector,
+                                                      Function<ResponseCollector<T>, CompletionStage<T>> invoker,
+                                                      RpcOptions rpcOptions) {
+         firstTargets.add(new FirstTarget(command, targets.iterator().next()));
+         return super.performRequest(targets, command, collector, invoker, rpcOptions);
+      }
+
+      @Override
+      protected <T> void performSend(Collection<Address> targets, ReplicableCommand command,
+                                     Function<ResponseCollector<T>, CompletionStage<T>> invoker) {
+         firstTargets.add(new FirstTarget(command, targets.iterator().next()));
+         super.performSend(targets, command, invoker);
+      }
+   }
+
+   private static class FirstTarget {
+      final ReplicableCommand command;
+      final Address address;
+
+      FirstTarget(ReplicableCommand command, Address address) {
+         this.command = command;
+         this.address = address;
+      }
+   }
+}
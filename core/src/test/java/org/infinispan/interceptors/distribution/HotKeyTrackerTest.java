@@ -0,0 +1,56 @@
+package org.infinispan.interceptors.distribution;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the read counts and the hot keys collected by {@link HotKeyTracker}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "interceptors.distribution.HotKeyTrackerTest")
+public class HotKeyTrackerTest extends AbstractInfinispanTest {
+
+   public void testReadCounts() {
+      HotKeyTracker tracker = new HotKeyTracker(1);
+      tracker.recordLocalRead("k", true, true);
+      tracker.recordLocalRead("k", true, false);
+      tracker.recordLocalRead("k", true, false);
+      tracker.recordLocalRead("k", false, true);
+      tracker.recordRemoteRead("k");
+
+      assertEquals(1, tracker.primaryReads());
+      assertEquals(2, tracker.backupReads());
+      assertEquals(1, tracker.remoteReadsServed());
+      assertEquals(1, tracker.remoteReads());
+      assertEquals(1.0, tracker.hotKeyReadRatio(1), 0.0);
+
+      tracker.reset();
+      assertEquals(0, tracker.backupReads());
+      assertEquals(0, tracker.hotKeys(10).length);
+      assertEquals(0.0, tracker.hotKeyReadRatio(1), 0.0);
+   }
+
+   public void testHotKeys() {
+      HotKeyTracker tracker = new HotKeyTracker(1);
+      for (int i = 0; i < 1000; i++) {
+         tracker.recordLocalRead("hot", true, true);
+         if (i % 2 == 0) {
+            tracker.recordRemoteRead("warm");
+         }
+         // more cold keys than the tracker can keep
+         tracker.recordLocalRead("cold-" + i, true, false);
+      }
+
+      String[] hotKeys = tracker.hotKeys(2);
+      assertEquals(2, hotKeys.length);
+      assertEquals("hot: reads=1000", hotKeys[0]);
+      assertTrue(hotKeys[1], hotKeys[1].startsWith("warm: reads="));
+
+      double ratio = tracker.hotKeyReadRatio(1);
+      assertTrue(String.valueOf(ratio), ratio >= 1000.0 / 2500 && ratio < 0.5);
+   }
+}
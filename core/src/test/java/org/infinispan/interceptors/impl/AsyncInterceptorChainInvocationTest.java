@@ -20,6 +20,7 @@
 import org.infinispan.interceptors.AsyncInterceptor;
 import org.infinispan.interceptors.AsyncInterceptorChain;
 import org.infinispan.interceptors.BaseAsyncInterceptor;
+import org.infinispan.interceptors.DDAsyncInterceptor;
 import org.infinispan.interceptors.InvocationSuccessFunction;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestException;
@@ -364,6 +365,35 @@ public Object visitCommand(InvocationContext ctx, VisitableCommand command) thro
       assertEquals("v1 v2", invokeFuture.getNow(null));
    }
 
+   public void testPassThroughInterceptorSkipped() {
+      AsyncInterceptorChain chain = newInterceptorChain(new BaseAsyncInterceptor() {
+         @Override
+         public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+            return invokeNext(ctx, command);
+         }
+      }, new DDAsyncInterceptor() {
+         // pass-through for every command
+      }, new DDAsyncInterceptor() {
+         @Override
+         public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) {
+            sideEffects.set(sideEffects.get() + "get");
+            return invokeNext(ctx, command);
+         }
+      }, new BaseAsyncInterceptor() {
+         @Override
+         public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+            // the first DDAsyncInterceptor would invoke the next interceptor through handleDefault
+            return StackWalker.getInstance().walk(frames -> frames.noneMatch(
+                  f -> f.getClassName().equals(DDAsyncInterceptor.class.getName()) &&
+                        f.getMethodName().equals("handleDefault")));
+         }
+      });
+      InvocationContext context = newInvocationContext();
+
+      assertEquals(Boolean.TRUE, chain.invoke(context, testCommand));
+      assertEquals("get", sideEffects.get());
+   }
+
    private Object awaitFuture(CompletableFuture<Object> f2) {
       try {
          return f2.get(10, SECONDS);
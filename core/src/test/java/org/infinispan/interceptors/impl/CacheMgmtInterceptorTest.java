@@ -219,6 +219,23 @@ public void testVisitRemoveCommandException() throws Throwable {
       assertEquals(0, interceptor.getAverageRemoveTime());
    }
 
+   public void testLatencyPercentiles() throws Throwable {
+      GetAllCommand command = new GetAllCommand(Collections.singleton(KEY), 0, false);
+      InvocationStage stage = makeStage(interceptor.visitGetAllCommand(ctx, command));
+
+      timeService.advance(1);
+      nextInterceptor.completeLastInvocation(Collections.emptyMap());
+      stage.get();
+
+      String[] percentiles = interceptor.getLatencyPercentiles();
+      assertEquals("hit: count=0, p50=0, p90=0, p99=0, p99.9=0, max=0", percentiles[0]);
+      assertEquals("miss: count=1, p50=1000000, p90=1000000, p99=1000000, p99.9=1000000, max=1000000", percentiles[1]);
+      assertEquals("getAll: count=1, p50=1000000, p90=1000000, p99=1000000, p99.9=1000000, max=1000000", percentiles[4]);
+
+      interceptor.resetStatistics();
+      assertEquals("getAll: count=0, p50=0, p90=0, p99=0, p99.9=0, max=0", interceptor.getLatencyPercentiles()[4]);
+   }
+
    private void expectInvocationException(InvocationStage stage) {
       Exceptions.expectException(TestException.class, () -> {
          try {
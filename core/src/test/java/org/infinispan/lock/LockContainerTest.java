@@ -55,6 +55,36 @@ public void testSingleCounterWithStriped() throws ExecutionException, Interrupte
       doSingleCounterTest(lockContainer, 16);
    }
 
+   public void testUncontendedPerEntry() throws InterruptedException {
+      PerKeyLockContainer lockContainer = new PerKeyLockContainer();
+      TestingUtil.inject(lockContainer, AbstractCacheTest.TIME_SERVICE);
+
+      LockPromise promise = lockContainer.acquire("key", "LO1", 0, TimeUnit.MILLISECONDS);
+      AssertJUnit.assertTrue(promise.isAvailable());
+      promise.lock();
+      // reentrant
+      AssertJUnit.assertSame(promise, lockContainer.acquire("key", "LO1", 0, TimeUnit.MILLISECONDS));
+      AssertJUnit.assertEquals("LO1", lockContainer.getLock("key").getLockOwner());
+      AssertJUnit.assertEquals(1, lockContainer.size());
+
+      // the lock is removed after the release, even if the lock owner is released twice
+      lockContainer.release("key", "LO1");
+      lockContainer.release("key", "LO1");
+      AssertJUnit.assertEquals(0, lockContainer.size());
+      AssertJUnit.assertFalse(lockContainer.isLocked("key"));
+
+      // a lock owner waiting inflates the lock, and it is still removed when released
+      lockContainer.acquire("key", "LO1", 0, TimeUnit.MILLISECONDS).lock();
+      LockPromise waiting = lockContainer.acquire("key", "LO2", 1, TimeUnit.DAYS);
+      AssertJUnit.assertFalse(waiting.isAvailable());
+      lockContainer.release("key", "LO1");
+      AssertJUnit.assertTrue(waiting.isAvailable());
+      waiting.lock();
+      AssertJUnit.assertEquals("LO2", lockContainer.getLock("key").getLockOwner());
+      lockContainer.release("key", "LO2");
+      AssertJUnit.assertEquals(0, lockContainer.size());
+   }
+
    private void doSingleCounterTest(LockContainer lockContainer, int poolSize) throws InterruptedException, ExecutionException {
       final NotThreadSafeCounter counter = new NotThreadSafeCounter();
       final String key = "key";
@@ -0,0 +1,92 @@
+package org.infinispan.lock;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.test.Exceptions;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.util.concurrent.locks.KeyAwareLockPromise;
+import org.infinispan.util.concurrent.locks.impl.DefaultLockManager;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the lock contention statistics of {@link DefaultLockManager}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "lock.LockContentionStatisticsTest")
+@CleanupAfterMethod
+public class LockContentionStatisticsTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = getDefaultStandaloneCacheConfig(false);
+      builder.locking().contentionLogThreshold(1);
+      builder.statistics().enable();
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testContendedKey() throws Exception {
+      DefaultLockManager lockManager = (DefaultLockManager) TestingUtil.extractLockManager(cache);
+
+      cache.put("uncontended", "v");
+      assertEquals(0, lockManager.getContendedLockAcquisitions());
+
+      lockManager.lock("hot", "owner-1", 10, TimeUnit.SECONDS).lock();
+      KeyAwareLockPromise waiting = lockManager.lock("hot", "owner-2", 10, TimeUnit.SECONDS);
+      assertFalse(waiting.isAvailable());
+      Thread.sleep(10);
+      lockManager.unlock("hot", "owner-1");
+      waiting.lock();
+      lockManager.unlock("hot", "owner-2");
+
+      assertEquals(1, lockManager.getContendedLockAcquisitions());
+      assertEquals(0, lockManager.getFailedLockAcquisitions());
+      assertTrue(lockManager.getMaxLockWaitTime() >= 10);
+      String[] hotKeys = lockManager.getMostContendedKeys();
+      assertEquals(1, hotKeys.length);
+      assertTrue(hotKeys[0], hotKeys[0].startsWith("hot: waits=1, failures=0"));
+
+      lockManager.resetStatistics();
+      assertEquals(0, lockManager.getContendedLockAcquisitions());
+      assertEquals(0, lockManager.getMostContendedKeys().length);
+   }
+
+   public void testFailedAcquisition() throws Exception {
+      DefaultLockManager lockManager = (DefaultLockManager) TestingUtil.extractLockManager(cache);
+
+      lockManager.lock("hot", "owner-1", 10, TimeUnit.SECONDS).lock();
+      KeyAwareLockPromise timedOut = lockManager.lock("hot", "owner-2", 0, TimeUnit.SECONDS);
+      Exceptions.expectException(TimeoutException.class, timedOut::lock);
+      lockManager.unlock("hot", "owner-1");
+
+      assertEquals(1, lockManager.getContendedLockAcquisitions());
+      assertEquals(1, lockManager.getFailedLockAcquisitions());
+      assertTrue(lockManager.getMostContendedKeys()[0].contains("failures=1"));
+   }
+
+   public void testHoldTimeSampled() throws Exception {
+      DefaultLockManager lockManager = (DefaultLockManager) TestingUtil.extractLockManager(cache);
+
+      for (int i = 0; i < 1000; i++) {
+         lockManager.lock("key", "owner", 10, TimeUnit.SECONDS).lock();
+         lockManager.unlock("key", "owner");
+      }
+      // the hold time is sampled, but there is no way to miss every one of 1000 acquisitions
+      long sampled = 0;
+      for (String bucket : lockManager.getLockHoldTimeHistogram()) {
+         sampled += Long.parseLong(bucket.substring(bucket.lastIndexOf(' ') + 1));
+      }
+      assertTrue(sampled > 0 && sampled < 1000);
+      assertEquals(0, lockManager.getContendedLockAcquisitions());
+   }
+}
@@ -0,0 +1,78 @@
+package org.infinispan.marshall.core;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that reusing the marshalling buffers never leaks bytes from one object to the next.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "marshall.core.PooledBufferMarshallingTest")
+public class PooledBufferMarshallingTest extends AbstractInfinispanTest {
+
+   private EmbeddedCacheManager cm;
+
+   private GlobalMarshaller globalMarshaller;
+
+   @BeforeClass
+   public void setUp() {
+      cm = TestCacheManagerFactory.createCacheManager();
+      globalMarshaller = TestingUtil.extractGlobalMarshaller(cm);
+   }
+
+   @AfterClass
+   public void tearDown() {
+      if (cm != null) cm.stop();
+   }
+
+   public void testBuffersAreTrimmedAndReused() throws Exception {
+      // a large object first, so the next ones reuse a buffer larger than they need
+      byte[] large = new byte[GlobalMarshaller.MAX_POOLED_BUFFER_SIZE / 2];
+      Arrays.fill(large, (byte) 1);
+      assertRoundTrip(large);
+      assertRoundTrip("small");
+
+      List<Object> list = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+         list.add("element-" + i);
+      }
+      assertRoundTrip(list);
+      assertRoundTrip(42L);
+   }
+
+   public void testBuffersLargerThanThePoolLimit() throws Exception {
+      byte[] huge = new byte[GlobalMarshaller.MAX_POOLED_BUFFER_SIZE * 2];
+      Arrays.fill(huge, (byte) 2);
+      assertRoundTrip(huge);
+      assertRoundTrip("after huge");
+   }
+
+   private void assertRoundTrip(Object o) throws Exception {
+      byte[] bytes = globalMarshaller.objectToByteBuffer(o);
+      Object read = globalMarshaller.objectFromByteBuffer(bytes);
+      if (o instanceof byte[]) {
+         assertTrue(Arrays.equals((byte[]) o, (byte[]) read));
+      } else {
+         assertEquals(o, read);
+      }
+
+      ByteBuffer buffer = globalMarshaller.objectToBuffer(o);
+      assertEquals(bytes.length, buffer.getLength());
+      assertTrue(Arrays.equals(bytes, 0, bytes.length,
+            buffer.getBuf(), buffer.getOffset(), buffer.getOffset() + buffer.getLength()));
+   }
+}
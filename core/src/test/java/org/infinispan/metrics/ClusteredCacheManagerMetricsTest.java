@@ -5,6 +5,7 @@
 
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
@@ -16,6 +17,7 @@
 import org.infinispan.test.fwk.TransportFlags;
 import org.testng.annotations.Test;
 
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Tag;
@@ -76,4 +78,18 @@ public void testMetricsAreRegistered() {
       statsEviction.getId().getTags().contains(nodeNameTag);
       statsEviction.getId().getTags().contains(cacheManagerTag);
    }
+
+   public void testHistogramBucketsAreRegistered() {
+      manager(0).getCache(CACHE_NAME).put("k", "v");
+
+      MetricsCollector mc0 = manager(0).getGlobalComponentRegistry().getComponent(MetricsCollector.class);
+      List<FunctionCounter> buckets = mc0.registry().getMeters().stream()
+            .filter(meter -> meter instanceof FunctionCounter && meter.getId().getName().endsWith(".bucket"))
+            .map(FunctionCounter.class::cast)
+            .collect(Collectors.toList());
+      assertThat(buckets).isNotEmpty();
+      assertThat(buckets).allMatch(bucket -> bucket.getId().getTag("le") != null);
+      // the put is counted in the buckets above its latency
+      assertThat(buckets).anyMatch(bucket -> bucket.getId().getName().contains("store_times") && bucket.count() == 1);
+   }
 }
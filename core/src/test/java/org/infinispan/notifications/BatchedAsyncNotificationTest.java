@@ -0,0 +1,173 @@
+package org.infinispan.notifications;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the asynchronous listeners with {@link Listener#batchSize()} and {@link Listener#coalesce()}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "notifications.BatchedAsyncNotificationTest")
+public class BatchedAsyncNotificationTest extends AbstractInfinispanTest {
+   Cache<String, String> c;
+   EmbeddedCacheManager cm;
+
+   @BeforeMethod
+   public void setUp() {
+      cm = TestCacheManagerFactory.createCacheManager(false);
+      c = cm.getCache();
+   }
+
+   @AfterMethod
+   public void tearDown() {
+      TestingUtil.killCacheManagers(cm);
+      cm = null;
+      c = null;
+   }
+
+   public void testEventsDeliveredInOrder() {
+      for (int i = 0; i < 100; i++) {
+         c.put("k" + i, "init");
+      }
+      BatchingListener listener = new BatchingListener();
+      c.addListener(listener);
+      for (int i = 0; i < 100; i++) {
+         c.put("k" + i, "v" + i);
+      }
+      eventuallyEquals(100, listener.values::size);
+      for (int i = 0; i < 100; i++) {
+         assertEquals("v" + i, listener.values.get(i));
+      }
+   }
+
+   public void testCoalescing() throws InterruptedException {
+      c.put("k", "init");
+      CoalescingListener listener = new CoalescingListener();
+      c.addListener(listener);
+
+      c.put("k", "v0");
+      // the listener is blocked delivering v0, so the following events are buffered
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      for (int i = 1; i <= 10; i++) {
+         c.put("k", "v" + i);
+      }
+      listener.release.countDown();
+
+      eventuallyEquals(2, listener.values::size);
+      assertEquals(List.of("v0", "v10"), listener.values);
+   }
+
+   public void testBackPressure() throws InterruptedException {
+      for (int i = 0; i <= 16; i++) {
+         c.put("k" + i, "init");
+      }
+      SlowListener listener = new SlowListener();
+      c.addListener(listener);
+
+      c.put("k0", "v0");
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      // a batch of 1 event means the buffer is full after 16 events
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 1; i <= 16; i++) {
+         futures.add(c.putAsync("k" + i, "v" + i));
+      }
+      eventually(() -> futures.subList(0, 15).stream().allMatch(CompletableFuture::isDone));
+      assertFalse(futures.get(15).isDone());
+
+      listener.release.countDown();
+      eventually(() -> futures.get(15).isDone());
+      eventuallyEquals(17, listener.values::size);
+   }
+
+   public void testListenerWritingToTheSameCache() throws InterruptedException {
+      for (int i = 0; i <= 16; i++) {
+         c.put("k" + i, "init");
+      }
+      WritingListener listener = new WritingListener(c);
+      c.addListener(listener);
+
+      c.put("k0", "v0");
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 1; i <= 16; i++) {
+         futures.add(c.putAsync("k" + i, "v" + i));
+      }
+      eventually(() -> futures.subList(0, 15).stream().allMatch(CompletableFuture::isDone));
+      assertFalse(futures.get(15).isDone());
+
+      // the buffer is full, but the writes of the listener must not wait for the listener to catch up
+      listener.release.countDown();
+      eventually(() -> futures.get(15).isDone());
+      eventuallyEquals(17, listener.values::size);
+      for (int i = 0; i <= 16; i++) {
+         assertEquals("v" + i, c.get("derived-k" + i));
+      }
+   }
+
+   @Listener(sync = false, batchSize = 10, observation = Listener.Observation.POST)
+   public static class BatchingListener {
+      final List<String> values = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryModified
+      public void handle(CacheEntryModifiedEvent<String, String> e) {
+         values.add(e.getValue());
+      }
+   }
+
+   @Listener(sync = false, batchSize = 10, coalesce = true, observation = Listener.Observation.POST)
+   public static class CoalescingListener extends SlowListener {
+   }
+
+   @Listener(sync = false, batchSize = 1, observation = Listener.Observation.POST)
+   public static class SlowListener {
+      final List<String> values = Collections.synchronizedList(new ArrayList<>());
+      final CountDownLatch blocked = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @CacheEntryModified
+      public void handle(CacheEntryModifiedEvent<String, String> e) throws InterruptedException {
+         values.add(e.getValue());
+         blocked.countDown();
+         release.await(10, TimeUnit.SECONDS);
+      }
+   }
+
+   @Listener(sync = false, batchSize = 1, observation = Listener.Observation.POST)
+   public static class WritingListener extends SlowListener {
+      final Cache<String, String> cache;
+
+      WritingListener(Cache<String, String> cache) {
+         this.cache = cache;
+      }
+
+      @Override
+      @CacheEntryModified
+      public void handle(CacheEntryModifiedEvent<String, String> e) throws InterruptedException {
+         if (e.getKey().startsWith("derived-")) {
+            return;
+         }
+         super.handle(e);
+         cache.put("derived-" + e.getKey(), e.getValue());
+      }
+   }
+}
@@ -0,0 +1,92 @@
+package org.infinispan.persistence;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.interceptors.impl.CacheLoaderInterceptor;
+import org.infinispan.interceptors.locking.ClusteringDependentLogic;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
+import org.infinispan.persistence.support.DelayStore;
+import org.infinispan.persistence.util.EntryLoader;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that concurrent reads of a key missing from memory share a single cache store load, whether they go through
+ * the cache or use the {@link EntryLoader} directly.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "persistence.ConcurrentLoadCoalescingTest")
+public class ConcurrentLoadCoalescingTest extends SingleCacheManagerTest {
+
+   private static final int NUM_READERS = 5;
+
+   private DelayStore store;
+   private CacheLoaderInterceptor<?, ?> loaderInterceptor;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = getDefaultStandaloneCacheConfig(false);
+      builder.statistics().enable()
+            .persistence().addStore(DelayStore.ConfigurationBuilder.class);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      store = TestingUtil.getFirstStore(cm.getCache());
+      loaderInterceptor = TestingUtil.findInterceptor(cm.getCache(), CacheLoaderInterceptor.class);
+      return cm;
+   }
+
+   public void testConcurrentReadsShareLoad() throws Exception {
+      loaderInterceptor.resetStatistics();
+      store.write(MarshalledEntryUtil.create("k", "v", cache));
+      int loadsBefore = store.stats().get("load");
+
+      store.delayBeforeLoad(1);
+      List<Future<Object>> reads = new ArrayList<>();
+      for (int i = 0; i < NUM_READERS; i++) {
+         reads.add(fork(() -> cache.get("k")));
+      }
+      eventuallyEquals((long) NUM_READERS - 1, loaderInterceptor::getCacheLoaderCoalescedLoads);
+
+      store.endDelay();
+      for (Future<Object> read : reads) {
+         assertEquals("v", read.get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(loadsBefore + 1, (int) store.stats().get("load"));
+      assertEquals(1, loaderInterceptor.getCacheLoaderLoads());
+   }
+
+   public void testConcurrentEntryLoaderLoadsShareLoad() throws Exception {
+      loaderInterceptor.resetStatistics();
+      store.write(MarshalledEntryUtil.create("k2", "v2", cache));
+      int loadsBefore = store.stats().get("load");
+      // the entry loader used by the write skew check and the IRAC state fetch
+      EntryLoader<Object, Object> entryLoader = TestingUtil.extractComponent(cache, ClusteringDependentLogic.class).getEntryLoader();
+      int segment = TestingUtil.extractComponent(cache, KeyPartitioner.class).getSegment("k2");
+
+      store.delayBeforeLoad(1);
+      List<Future<InternalCacheEntry<Object, Object>>> loads = new ArrayList<>();
+      for (int i = 0; i < NUM_READERS; i++) {
+         loads.add(fork(() -> entryLoader.loadAndStoreInDataContainer("k2", segment).toCompletableFuture().get(10, TimeUnit.SECONDS)));
+      }
+      eventuallyEquals((long) NUM_READERS - 1, loaderInterceptor::getCacheLoaderCoalescedLoads);
+
+      store.endDelay();
+      for (Future<InternalCacheEntry<Object, Object>> load : loads) {
+         assertEquals("v2", load.get(10, TimeUnit.SECONDS).getValue());
+      }
+      assertEquals(loadsBefore + 1, (int) store.stats().get("load"));
+      assertEquals(1, loaderInterceptor.getCacheLoaderLoads());
+      assertEquals("v2", cache.getAdvancedCache().getDataContainer().peek("k2").getValue());
+   }
+}
@@ -36,6 +36,7 @@ public class DelayStore extends DummyInMemoryStore {
    private final AtomicInteger delayBeforeModificationCount = new AtomicInteger();
    private final AtomicInteger delayAfterModificationCount = new AtomicInteger();
    private final AtomicInteger delayBeforeEmitCount = new AtomicInteger();
+   private final AtomicInteger delayBeforeLoadCount = new AtomicInteger();
    private volatile CompletableFuture<Void> delayFuture = CompletableFutures.completedNull();
 
    public void delayBeforeModification(int count) {
@@ -56,6 +57,12 @@ public void delayBeforeEmit(int count) {
       delayBeforeEmitCount.set(count);
    }
 
+   public void delayBeforeLoad(int count) {
+      assertTrue(delayFuture.isDone());
+      delayFuture = new CompletableFuture<>();
+      delayBeforeLoadCount.set(count);
+   }
+
    public void endDelay() {
       CompletableFuture<Void> oldFuture = delayFuture;
       if (oldFuture.isDone())
@@ -66,6 +73,15 @@ public void endDelay() {
       oldFuture.complete(null);
    }
 
+   @Override
+   public CompletionStage<MarshallableEntry> load(int segment, Object key) {
+      if (!delayFuture.isDone() && delayBeforeLoadCount.decrementAndGet() >= 0) {
+         log.tracef("Delaying before load of %s", key);
+         return delayFuture.thenCompose(__ -> super.load(segment, key));
+      }
+      return super.load(segment, key);
+   }
+
    @Override
    public CompletionStage<Void> write(int segment, MarshallableEntry entry) {
       CompletionStage<Void> stage = CompletableFutures.completedNull();
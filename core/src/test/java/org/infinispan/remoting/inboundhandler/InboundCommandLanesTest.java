@@ -0,0 +1,214 @@
+package org.infinispan.remoting.inboundhandler;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.remoting.inboundhandler.InboundCommandLanes.Lane;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.BlockingRunnable;
+import org.infinispan.util.concurrent.BlockingTaskAwareExecutorServiceImpl;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the concurrency limit and the weighted round-robin of {@link InboundCommandLanes}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "remoting.inboundhandler.InboundCommandLanesTest")
+public class InboundCommandLanesTest extends AbstractInfinispanTest {
+
+   public void testWeightedRoundRobin() {
+      ManualExecutorService executor = new ManualExecutorService();
+      InboundCommandLanes lanes = createLanes(executor, 1);
+      List<Lane> executed = Collections.synchronizedList(new ArrayList<>());
+
+      // takes the only slot, so the following tasks have to wait in their lane
+      lanes.execute(new LaneRunnable(Lane.DEFAULT, executed), Lane.DEFAULT);
+      for (int i = 0; i < 8; i++) {
+         lanes.execute(new LaneRunnable(Lane.BULK, executed), Lane.BULK);
+         lanes.execute(new LaneRunnable(Lane.DEFAULT, executed), Lane.DEFAULT);
+         lanes.execute(new LaneRunnable(Lane.PRIORITY, executed), Lane.PRIORITY);
+      }
+      assertEquals(1, executor.tasks.size());
+      assertEquals(24, lanes.pendingCount(Lane.PRIORITY) + lanes.pendingCount(Lane.DEFAULT) + lanes.pendingCount(Lane.BULK));
+
+      // each task releases its slot when it completes and the next one is dispatched
+      for (int i = 0; i < 8; i++) {
+         executor.runNext();
+         assertEquals(1, executor.tasks.size());
+      }
+      assertEquals(List.of(Lane.DEFAULT, Lane.PRIORITY, Lane.PRIORITY, Lane.PRIORITY, Lane.PRIORITY, Lane.DEFAULT,
+            Lane.BULK, Lane.PRIORITY), executed);
+
+      while (!executor.tasks.isEmpty()) {
+         executor.runNext();
+      }
+      assertEquals(25, executed.size());
+      assertEquals(8, lanes.dispatchedCount(Lane.PRIORITY));
+      assertEquals(9, lanes.dispatchedCount(Lane.DEFAULT));
+      assertEquals(8, lanes.dispatchedCount(Lane.BULK));
+   }
+
+   public void testNotReadyTaskDoesNotTakeSlot() {
+      ManualExecutorService executor = new ManualExecutorService();
+      InboundCommandLanes lanes = createLanes(executor, 1);
+      List<Lane> executed = Collections.synchronizedList(new ArrayList<>());
+
+      LaneRunnable notReady = new LaneRunnable(Lane.PRIORITY, executed);
+      notReady.ready = false;
+      lanes.execute(notReady, Lane.PRIORITY);
+      lanes.execute(new LaneRunnable(Lane.BULK, executed), Lane.BULK);
+      assertEquals(1, lanes.pendingCount(Lane.PRIORITY));
+      assertEquals(0, lanes.pendingCount(Lane.BULK));
+
+      executor.runNext();
+      assertTrue(executor.tasks.isEmpty());
+
+      notReady.ready = true;
+      lanes.dispatch();
+      executor.runNext();
+      assertEquals(List.of(Lane.BULK, Lane.PRIORITY), executed);
+   }
+
+   public void testDispatchDoesNotCheckBlockedTasks() {
+      ManualExecutorService executor = new ManualExecutorService();
+      InboundCommandLanes lanes = createLanes(executor, 1);
+      List<Lane> executed = Collections.synchronizedList(new ArrayList<>());
+
+      lanes.execute(new LaneRunnable(Lane.DEFAULT, executed), Lane.DEFAULT);
+      List<LaneRunnable> blocked = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         LaneRunnable notReady = new LaneRunnable(Lane.DEFAULT, executed);
+         notReady.ready = false;
+         blocked.add(notReady);
+         lanes.execute(notReady, Lane.DEFAULT);
+      }
+      for (int i = 0; i < 10; i++) {
+         lanes.execute(new LaneRunnable(Lane.DEFAULT, executed), Lane.DEFAULT);
+      }
+      int checksBefore = blocked.stream().mapToInt(r -> r.readyChecks).sum();
+
+      // the ready tasks are dispatched one by one as the slot is released
+      for (int i = 0; i < 11; i++) {
+         executor.runNext();
+      }
+      assertTrue(executor.tasks.isEmpty());
+      assertEquals(11, executed.size());
+      assertEquals(100, lanes.pendingCount(Lane.DEFAULT));
+      assertEquals(checksBefore, blocked.stream().mapToInt(r -> r.readyChecks).sum());
+
+      // a topology change checks the blocked tasks again
+      blocked.forEach(r -> r.ready = true);
+      lanes.dispatch();
+      assertEquals(checksBefore + 100, blocked.stream().mapToInt(r -> r.readyChecks).sum());
+      while (!executor.tasks.isEmpty()) {
+         executor.runNext();
+      }
+      assertEquals(111, executed.size());
+      assertEquals(0, lanes.pendingCount(Lane.DEFAULT));
+   }
+
+   public void testUnlimitedRecordsWaitTime() {
+      ManualExecutorService executor = new ManualExecutorService();
+      InboundCommandLanes lanes = createLanes(executor, 0);
+      List<Lane> executed = Collections.synchronizedList(new ArrayList<>());
+
+      for (int i = 0; i < 4; i++) {
+         lanes.execute(new LaneRunnable(Lane.BULK, executed), Lane.BULK);
+      }
+      // no limit, everything goes to the executor
+      assertEquals(4, executor.tasks.size());
+      assertEquals(0, lanes.pendingCount(Lane.BULK));
+      while (!executor.tasks.isEmpty()) {
+         executor.runNext();
+      }
+      assertEquals(4, lanes.dispatchedCount(Lane.BULK));
+      assertTrue(lanes.maxWaitTime(Lane.BULK, TimeUnit.NANOSECONDS) >= lanes.averageWaitTime(Lane.BULK, TimeUnit.NANOSECONDS));
+
+      lanes.resetStatistics();
+      assertEquals(0, lanes.dispatchedCount(Lane.BULK));
+      assertEquals(0, lanes.maxWaitTime(Lane.BULK, TimeUnit.NANOSECONDS));
+   }
+
+   private static InboundCommandLanes createLanes(ManualExecutorService executor, int maxConcurrency) {
+      return new InboundCommandLanes(new BlockingTaskAwareExecutorServiceImpl(executor, TIME_SERVICE), TIME_SERVICE,
+            maxConcurrency);
+   }
+
+   private static class LaneRunnable implements BlockingRunnable {
+      final Lane lane;
+      final List<Lane> executed;
+      volatile boolean ready = true;
+      volatile int readyChecks;
+
+      LaneRunnable(Lane lane, List<Lane> executed) {
+         this.lane = lane;
+         this.executed = executed;
+      }
+
+      @Override
+      public boolean isReady() {
+         readyChecks++;
+         return ready;
+      }
+
+      @Override
+      public void run() {
+         executed.add(lane);
+      }
+   }
+
+   /**
+    * Keeps the tasks until the test runs them.
+    */
+   private static class ManualExecutorService extends AbstractExecutorService {
+      final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+      volatile boolean shutdown;
+
+      void runNext() {
+         Runnable task = tasks.poll();
+         assertNotNull(task);
+         task.run();
+      }
+
+      @Override
+      public void execute(Runnable command) {
+         tasks.add(command);
+      }
+
+      @Override
+      public void shutdown() {
+         shutdown = true;
+      }
+
+      @Override
+      public List<Runnable> shutdownNow() {
+         shutdown = true;
+         return new ArrayList<>(tasks);
+      }
+
+      @Override
+      public boolean isShutdown() {
+         return shutdown;
+      }
+
+      @Override
+      public boolean isTerminated() {
+         return shutdown;
+      }
+
+      @Override
+      public boolean awaitTermination(long timeout, TimeUnit unit) {
+         return shutdown;
+      }
+   }
+}
@@ -0,0 +1,96 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.infinispan.test.TestingUtil.extractGlobalComponent;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.topology.HeartBeatCommand;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the commands queued together are sent in a single message, and that the triangle backup writes and
+ * acknowledges still work when they are batched.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "remoting.transport.jgroups.CommandBatchingTest")
+public class CommandBatchingTest extends MultipleCacheManagersTest {
+
+   private static final int THREADS = 8;
+
+   private static final int KEYS_PER_THREAD = 200;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      for (int i = 0; i < 3; i++) {
+         GlobalConfigurationBuilder globalBuilder = GlobalConfigurationBuilder.defaultClusteredBuilder();
+         globalBuilder.transport()
+               .addProperty(JGroupsTransport.COMMAND_BATCHING, "true")
+               .addProperty(JGroupsTransport.COMMAND_BATCH_MAX_SIZE, "16");
+         addClusterEnabledCacheManager(globalBuilder, builder);
+      }
+      waitForClusterToForm();
+   }
+
+   public void testQueuedCommandsAreSentInOneMessage() {
+      JGroupsTransport transport = (JGroupsTransport) extractGlobalComponent(manager(0), Transport.class);
+      List<Runnable> tasks = new ArrayList<>();
+      CommandBatcher batcher = new CommandBatcher(transport, tasks::add, 2);
+      for (int i = 0; i < 3; i++) {
+         batcher.send(address(1), HeartBeatCommand.INSTANCE, DeliverOrder.NONE);
+      }
+      batcher.send(address(2), HeartBeatCommand.INSTANCE, DeliverOrder.NONE);
+
+      // a single drain task per destination
+      assertEquals(2, tasks.size());
+      tasks.forEach(Runnable::run);
+
+      // a batch of 2 commands and a single command to address(1), a single command to address(2)
+      assertEquals(1, batcher.batchCount());
+      assertEquals(2, batcher.batchedCommandCount());
+   }
+
+   public void testConcurrentWrites() throws Exception {
+      List<Future<?>> futures = new ArrayList<>(THREADS);
+      for (int t = 0; t < THREADS; t++) {
+         int thread = t;
+         futures.add(fork(() -> {
+            Cache<String, String> cache = cache(thread % 3);
+            for (int i = 0; i < KEYS_PER_THREAD; i++) {
+               cache.put(key(thread, i), "v" + i);
+            }
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get();
+      }
+
+      for (int t = 0; t < THREADS; t++) {
+         for (int i = 0; i < KEYS_PER_THREAD; i++) {
+            String key = key(t, i);
+            // the backup owners are updated by the batched backup write commands
+            for (Cache<String, String> cache : this.<String, String>caches()) {
+               if (cache.getAdvancedCache().getDistributionManager().getCacheTopology().isReadOwner(key)) {
+                  assertEquals("v" + i, cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).get(key));
+               }
+            }
+         }
+      }
+   }
+
+   private static String key(int thread, int i) {
+      return "k-" + thread + "-" + i;
+   }
+}
@@ -0,0 +1,112 @@
+package org.infinispan.stats.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "stats.impl.LatencyHistogramTest")
+public class LatencyHistogramTest extends AbstractInfinispanTest {
+
+   public void testBuckets() {
+      long previous = -1;
+      for (int bucket = 0; bucket < LatencyHistogram.BUCKETS; bucket++) {
+         long highest = LatencyHistogram.highestValue(bucket);
+         assertEquals(bucket, LatencyHistogram.bucket(previous + 1));
+         assertEquals(bucket, LatencyHistogram.bucket(highest));
+         // the bucket width is at most 1/16 of its values
+         assertTrue(highest - previous <= Math.max(1, (previous + 1) / 16));
+         previous = highest;
+      }
+      assertEquals(TimeUnit.SECONDS.toNanos(68), LatencyHistogram.highestNanos(LatencyHistogram.BUCKETS - 1),
+            TimeUnit.SECONDS.toNanos(1));
+   }
+
+   public void testPercentiles() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      assertEquals(0, histogram.percentile(99));
+
+      for (int i = 1; i <= 1000; i++) {
+         histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+      }
+      assertEquals(1000, histogram.count());
+      assertEquals(TimeUnit.MILLISECONDS.toNanos(1), histogram.max());
+      assertWithinError(TimeUnit.MICROSECONDS.toNanos(500), histogram.percentile(50));
+      assertWithinError(TimeUnit.MICROSECONDS.toNanos(990), histogram.percentile(99));
+      assertEquals(histogram.max(), histogram.percentile(100));
+      assertEquals(0, histogram.countAtMost(0));
+      assertWithinError(500, histogram.countAtMost(TimeUnit.MICROSECONDS.toNanos(500)));
+      assertEquals(1000, histogram.countAtMost(TimeUnit.SECONDS.toNanos(1)));
+
+      // values larger than the range are still reported by the max
+      histogram.update(10, TimeUnit.MINUTES);
+      assertEquals(TimeUnit.MINUTES.toNanos(10), histogram.max());
+      assertEquals(TimeUnit.MINUTES.toNanos(10), histogram.percentile(100));
+
+      histogram.reset();
+      assertEquals(0, histogram.count());
+      assertEquals(0, histogram.max());
+   }
+
+   public void testConcurrentRecording() throws Exception {
+      LatencyHistogram histogram = new LatencyHistogram();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 1; t <= 4; t++) {
+         long value = TimeUnit.MICROSECONDS.toNanos(t);
+         futures.add(fork(() -> {
+            for (int i = 0; i < 1000; i++) {
+               histogram.record(value);
+            }
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+
+      assertEquals(4000, histogram.count());
+      assertEquals(TimeUnit.MICROSECONDS.toNanos(10_000), histogram.totalNanos());
+      assertEquals(TimeUnit.MICROSECONDS.toNanos(4), histogram.max());
+      assertWithinError(TimeUnit.MICROSECONDS.toNanos(2), histogram.percentile(50));
+   }
+
+   public void testPublishedHistogramIsNotUpdated() {
+      LatencyHistogram histogram = new LatencyHistogram();
+      LatencyHistogram[] exported = new LatencyHistogram[1];
+      histogram.publishTo(new LatencyHistogram.Exporter() {
+         @Override
+         public void export(LatencyHistogram h) {
+            exported[0] = h;
+         }
+
+         @Override
+         public void update(Duration duration) {
+            throw new AssertionError("The values must only be recorded in the histogram");
+         }
+
+         @Override
+         public void update(long value, TimeUnit timeUnit) {
+            throw new AssertionError("The values must only be recorded in the histogram");
+         }
+      });
+      histogram.record(10);
+
+      assertEquals(histogram, exported[0]);
+      assertEquals(1, exported[0].count());
+   }
+
+   private static void assertWithinError(long expected, long actual) {
+      assertTrue(actual + " not within 1/16 of " + expected, actual >= expected && actual - expected <= expected / 16);
+   }
+}
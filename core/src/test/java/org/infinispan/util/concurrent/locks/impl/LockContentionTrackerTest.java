@@ -0,0 +1,61 @@
+package org.infinispan.util.concurrent.locks.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for the hold time samples of {@link LockContentionTracker}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "util.concurrent.locks.impl.LockContentionTrackerTest")
+public class LockContentionTrackerTest extends AbstractInfinispanTest {
+
+   public void testHoldSampleReleased() {
+      LockContentionTracker tracker = new LockContentionTracker(0, TimeUnit.MILLISECONDS);
+      tracker.startHold("key", "owner", 100);
+
+      assertEquals(-1, tracker.endHold("key", "other-owner"));
+      assertEquals(100, tracker.endHold("key", "owner"));
+      assertEquals(0, tracker.holdSamples());
+   }
+
+   public void testHoldSampleAborted() {
+      LockContentionTracker tracker = new LockContentionTracker(0, TimeUnit.MILLISECONDS);
+      tracker.startHold("key", "owner", 100);
+
+      tracker.abortHold("key", "other-owner");
+      assertEquals(1, tracker.holdSamples());
+      tracker.abortHold("key", "owner");
+      assertEquals(0, tracker.holdSamples());
+   }
+
+   public void testHoldSampleReplacedByNextOwner() {
+      LockContentionTracker tracker = new LockContentionTracker(0, TimeUnit.MILLISECONDS);
+      tracker.startHold("key", "owner-1", 100);
+      // owner-1 released the lock without removing its sample
+      tracker.startHold("key", "owner-2", 200);
+
+      assertEquals(-1, tracker.endHold("key", "owner-1"));
+      assertEquals(200, tracker.endHold("key", "owner-2"));
+      assertEquals(0, tracker.holdSamples());
+   }
+
+   public void testOldHoldSamplesDiscarded() {
+      LockContentionTracker tracker = new LockContentionTracker(0, TimeUnit.MILLISECONDS);
+      tracker.startHold("old", "owner", 0);
+      tracker.startHold("recent", "owner", LockContentionTracker.MAX_HOLD_SAMPLE_AGE_NANOS / 2);
+      assertEquals(2, tracker.holdSamples());
+
+      tracker.startHold("new", "owner", LockContentionTracker.MAX_HOLD_SAMPLE_AGE_NANOS + 1);
+      assertEquals(2, tracker.holdSamples());
+      assertEquals(-1, tracker.endHold("old", "owner"));
+
+      tracker.reset();
+      assertEquals(0, tracker.holdSamples());
+   }
+}
@@ -0,0 +1,69 @@
+package org.infinispan.xsite.irac;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Objects;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.xsite.AbstractMultipleSitesTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the compression of the asynchronous cross-site replication batches.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "xsite.irac.IracCompressionTest")
+public class IracCompressionTest extends AbstractMultipleSitesTest {
+
+   private static final int NUM_KEYS = 50;
+
+   @Override
+   protected ConfigurationBuilder defaultConfigurationForSite(int siteIndex) {
+      ConfigurationBuilder builder = super.defaultConfigurationForSite(siteIndex);
+      builder.statistics().enable();
+      // only the first site compresses the updates
+      builder.sites().addBackup()
+            .site(siteName(siteIndex == 0 ? 1 : 0))
+            .strategy(BackupConfiguration.BackupStrategy.ASYNC)
+            .compression(siteIndex == 0);
+      return builder;
+   }
+
+   public void testCompressedUpdates() {
+      String value = "value".repeat(100);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0, 0).put("key-" + i, value);
+      }
+      cache(0, 0).remove("key-0");
+      cache(1, 0).put("other-key", value);
+
+      eventuallyAssertInAllSitesAndCaches(cache -> cache.get("key-0") == null && Objects.equals(value, cache.get("other-key")));
+      for (int i = 1; i < NUM_KEYS; i++) {
+         String key = "key-" + i;
+         eventuallyAssertInAllSitesAndCaches(cache -> Objects.equals(value, cache.get(key)));
+      }
+
+      long uncompressed = 0;
+      long compressed = 0;
+      for (Cache<?, ?> cache : caches(siteName(0))) {
+         DefaultIracManager iracManager = (DefaultIracManager) extractComponent(cache, IracManager.class);
+         assertEquals(iracManager.getUncompressedBytesSent(), iracManager.getUncompressedBytesSentTo(siteName(1)));
+         uncompressed += iracManager.getUncompressedBytesSent();
+         compressed += iracManager.getCompressedBytesSent();
+      }
+      assertTrue(compressed > 0);
+      assertTrue("Compressed " + compressed + " bytes out of " + uncompressed, compressed < uncompressed);
+
+      // the second site does not compress
+      for (Cache<?, ?> cache : caches(siteName(1))) {
+         DefaultIracManager iracManager = (DefaultIracManager) extractComponent(cache, IracManager.class);
+         assertEquals(0, iracManager.getUncompressedBytesSent());
+         assertEquals(-1, iracManager.getUncompressedBytesSentTo("unknown"));
+      }
+   }
+}
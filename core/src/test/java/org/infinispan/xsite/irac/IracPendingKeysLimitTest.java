@@ -0,0 +1,100 @@
+package org.infinispan.xsite.irac;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.wrapComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.metadata.impl.IracMetadata;
+import org.infinispan.xsite.AbstractMultipleSitesTest;
+import org.infinispan.xsite.BackupReceiver;
+import org.infinispan.xsite.BackupReceiverDelegator;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the limit of pending keys to send to the asynchronous backup sites.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "xsite.irac.IracPendingKeysLimitTest")
+public class IracPendingKeysLimitTest extends AbstractMultipleSitesTest {
+
+   private static final int MAX_PENDING_KEYS = 10;
+   private static final int NUM_KEYS = 100;
+
+   @Override
+   protected ConfigurationBuilder defaultConfigurationForSite(int siteIndex) {
+      ConfigurationBuilder builder = super.defaultConfigurationForSite(siteIndex);
+      builder.statistics().enable();
+      builder.sites().maxPendingKeys(MAX_PENDING_KEYS);
+      builder.sites().addBackup()
+            .site(siteName(siteIndex == 0 ? 1 : 0))
+            .strategy(BackupConfiguration.BackupStrategy.ASYNC);
+      return builder;
+   }
+
+   public void testSpillAndReload() {
+      CompletableFuture<Void> blocker = new CompletableFuture<>();
+      for (Cache<?, ?> cache : caches(siteName(1))) {
+         wrapComponent(cache, BackupReceiver.class, current -> new BlockingBackupReceiver(current, blocker));
+      }
+
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0, 0).put("key-" + i, "value-" + i);
+      }
+      cache(0, 0).remove("key-0");
+
+      int spilledSegments = 0;
+      for (Cache<?, ?> cache : caches(siteName(0))) {
+         DefaultIracManager iracManager = (DefaultIracManager) extractComponent(cache, IracManager.class);
+         assertTrue("Queue size is " + iracManager.getQueueSize(), iracManager.getQueueSize() <= MAX_PENDING_KEYS);
+         assertTrue(iracManager.getOldestPendingUpdateAge() >= 0);
+         assertEquals(iracManager.getQueueSize(), iracManager.getQueueSizeTo(siteName(1)));
+         assertTrue(iracManager.getSendWindowTo(siteName(1)) > 0);
+         spilledSegments += iracManager.getNumberOfSpilledSegments();
+      }
+      assertTrue(spilledSegments > 0);
+
+      blocker.complete(null);
+
+      eventuallyAssertInAllSitesAndCaches(cache -> cache.get("key-0") == null);
+      for (int i = 1; i < NUM_KEYS; i++) {
+         String key = "key-" + i;
+         String value = "value-" + i;
+         eventuallyAssertInAllSitesAndCaches(cache -> Objects.equals(value, cache.get(key)));
+      }
+      for (Cache<?, ?> cache : caches(siteName(0))) {
+         DefaultIracManager iracManager = (DefaultIracManager) extractComponent(cache, IracManager.class);
+         eventuallyEquals(0, iracManager::getNumberOfSpilledSegments);
+         eventuallyEquals(0, iracManager::getQueueSize);
+      }
+   }
+
+   private static class BlockingBackupReceiver extends BackupReceiverDelegator {
+
+      private final CompletionStage<Void> blocker;
+
+      BlockingBackupReceiver(BackupReceiver delegate, CompletionStage<Void> blocker) {
+         super(delegate);
+         this.blocker = blocker;
+      }
+
+      @Override
+      public CompletionStage<Void> putKeyValue(Object key, Object value, Metadata metadata, IracMetadata iracMetadata) {
+         return blocker.thenCompose(unused -> super.putKeyValue(key, value, metadata, iracMetadata));
+      }
+
+      @Override
+      public CompletionStage<Void> removeKey(Object key, IracMetadata iracMetadata, boolean expiration) {
+         return blocker.thenCompose(unused -> super.removeKey(key, iracMetadata, expiration));
+      }
+   }
+}
@@ -0,0 +1,91 @@
+package org.infinispan.xsite.irac;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link IracSendWindow}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "xsite.irac.IracSendWindowTest")
+public class IracSendWindowTest extends AbstractInfinispanTest {
+
+   private static final int BATCH_SIZE = 64;
+   // target latency is 1 second
+   private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+   private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+   private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+   public void testAdditiveIncrease() {
+      IracSendWindow window = new IracSendWindow(BATCH_SIZE, TIMEOUT);
+      assertEquals(BATCH_SIZE, window.batchSize());
+      assertEquals(1, window.concurrentBatches());
+
+      long now = 0;
+      // increases 1/8 of the batch per response
+      for (int i = 0; i < 8; i++) {
+         window.onResponse(now, FAST, false);
+         now += FAST;
+      }
+      assertEquals(2 * BATCH_SIZE, window.window());
+      assertEquals(BATCH_SIZE, window.batchSize());
+      assertEquals(2, window.concurrentBatches());
+
+      for (int i = 0; i < 1000; i++) {
+         window.onResponse(now, FAST, false);
+         now += FAST;
+      }
+      assertEquals(IracSendWindow.MAX_CONCURRENT_BATCHES * BATCH_SIZE, window.window());
+      assertEquals(IracSendWindow.MAX_CONCURRENT_BATCHES, window.concurrentBatches());
+   }
+
+   public void testMultiplicativeDecrease() {
+      IracSendWindow window = new IracSendWindow(BATCH_SIZE, TIMEOUT);
+
+      window.onResponse(0, SLOW, false);
+      assertEquals(BATCH_SIZE / 2, window.window());
+      assertEquals(BATCH_SIZE / 2, window.batchSize());
+      assertEquals(1, window.concurrentBatches());
+
+      // sent before the previous decrease, ignored
+      window.onResponse(FAST, SLOW, true);
+      assertEquals(BATCH_SIZE / 2, window.window());
+
+      // sent after the previous decrease
+      window.onResponse(SLOW + 1, FAST, true);
+      assertEquals(BATCH_SIZE / 4, window.window());
+
+      // never below one key
+      long now = 2 * SLOW;
+      for (int i = 0; i < 10; i++) {
+         window.onResponse(now, SLOW, false);
+         now += 2 * SLOW;
+      }
+      assertEquals(1, window.window());
+      assertEquals(1, window.batchSize());
+      assertEquals(1, window.concurrentBatches());
+   }
+
+   public void testInFlightKeys() {
+      IracSendWindow window = new IracSendWindow(BATCH_SIZE, TIMEOUT);
+      // a batch is always allowed when nothing is in-flight
+      window.onResponse(0, SLOW, false);
+      assertTrue(window.tryAcquire(BATCH_SIZE));
+      assertFalse(window.tryAcquire(1));
+      assertTrue(window.release(BATCH_SIZE));
+
+      assertTrue(window.tryAcquire(BATCH_SIZE / 4));
+      assertTrue(window.tryAcquire(BATCH_SIZE / 4));
+      assertFalse(window.tryAcquire(BATCH_SIZE / 4));
+      // only the first release reports the refused batch
+      assertTrue(window.release(BATCH_SIZE / 4));
+      assertFalse(window.release(BATCH_SIZE / 4));
+   }
+}
@@ -206,5 +206,20 @@ public boolean done() {
       public void discard() {
 
       }
+
+      @Override
+      public long getTrackedTime() {
+         return 0;
+      }
+
+      @Override
+      public void siteApplied(long sites) {
+
+      }
+
+      @Override
+      public boolean isAppliedBy(long sites) {
+         return false;
+      }
    }
 }
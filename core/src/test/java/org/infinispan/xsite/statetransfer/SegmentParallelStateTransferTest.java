@@ -0,0 +1,178 @@
+package org.infinispan.xsite.statetransfer;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.infinispan.test.TestingUtil.wrapGlobalComponent;
+import static org.infinispan.xsite.XSiteAdminOperations.SUCCESS;
+import static org.infinispan.xsite.statetransfer.XSiteStateTransferManager.STATUS_ERROR;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.configuration.cache.BackupConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.manager.CacheContainer;
+import org.infinispan.remoting.transport.AbstractDelegatingTransport;
+import org.infinispan.remoting.transport.BackupResponse;
+import org.infinispan.remoting.transport.Transport;
+import org.infinispan.remoting.transport.XSiteResponse;
+import org.infinispan.remoting.transport.impl.XSiteResponseImpl;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.xsite.XSiteAdminOperations;
+import org.infinispan.xsite.XSiteBackup;
+import org.infinispan.xsite.XSiteReplicateCommand;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the cross-site state transfer with multiple segments in parallel, the chunk size limit in bytes and the resume
+ * after a failure.
+ *
+ * @since 15.0
+ */
+@Test(groups = "xsite", testName = "xsite.statetransfer.SegmentParallelStateTransferTest")
+public class SegmentParallelStateTransferTest extends AbstractStateTransferTest {
+
+   private static final int NUM_KEYS = 200;
+   private static final String VALUE = "value";
+   // each key and value has, at least, 10 bytes
+   private static final int CHUNK_SIZE_BYTES = 25;
+   private static final int MAX_ENTRIES_PER_CHUNK = 2;
+   private static final int SUCCESSFUL_CHUNKS = 20;
+
+   private final Set<Object> pushedKeys = ConcurrentHashMap.newKeySet();
+   private final AtomicInteger pushesBeforeFailure = new AtomicInteger(Integer.MAX_VALUE);
+
+   public SegmentParallelStateTransferTest() {
+      super();
+      this.cleanup = CleanupPhase.AFTER_METHOD;
+      this.implicitBackupCache = true;
+   }
+
+   public void testResumeAfterFailure() {
+      failStateTransfer();
+
+      // the segments sent before the failure are skipped
+      pushedKeys.clear();
+      pushesBeforeFailure.set(Integer.MAX_VALUE);
+      startStateTransfer();
+      assertEventuallyStateTransferNotRunning();
+      assertEventuallyNoStateTransferInReceivingSite(null);
+
+      assertDataInNyc();
+      assertTrue("Pushed " + pushedKeys.size() + " keys", pushedKeys.size() < NUM_KEYS);
+   }
+
+   public void testNoResumeAfterSiteOffline() {
+      failStateTransfer();
+
+      // the site missed updates while offline, all segments are sent
+      takeSiteOffline();
+      pushedKeys.clear();
+      pushesBeforeFailure.set(Integer.MAX_VALUE);
+      startStateTransfer();
+      assertEventuallyStateTransferNotRunning();
+      assertEventuallyNoStateTransferInReceivingSite(null);
+
+      assertDataInNyc();
+      assertEquals(NUM_KEYS, pushedKeys.size());
+   }
+
+   public void testChunkSizeCountsEncodedBytes() {
+      // 10 characters, 20 bytes in UTF-8
+      String key = "\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9";
+      XSiteState state = XSiteState.fromDataContainer(new ImmortalCacheEntry(key, ""));
+      assertEquals(2, BaseXSiteStateProviderState.splitBySize(List.of(state, state), 30).size());
+   }
+
+   @Override
+   protected ConfigurationBuilder getNycActiveConfig() {
+      return getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+   }
+
+   @Override
+   protected ConfigurationBuilder getLonActiveConfig() {
+      return getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+   }
+
+   @Override
+   protected void adaptLONConfiguration(BackupConfigurationBuilder builder) {
+      builder.stateTransfer()
+            .chunkSize(5)
+            .chunkSizeBytes(CHUNK_SIZE_BYTES)
+            .segmentParallelism(4)
+            .maxRetries(0);
+   }
+
+   private void failStateTransfer() {
+      takeSiteOffline();
+      assertOffline();
+      for (int i = 0; i < NUM_KEYS; ++i) {
+         cache(LON, 0).put("key-" + i, VALUE);
+      }
+      assertInSite(NYC, cache -> assertTrue(cache.isEmpty()));
+
+      replaceTransportInSite();
+      pushesBeforeFailure.set(SUCCESSFUL_CHUNKS);
+      startStateTransfer();
+      assertEventuallyStateTransferNotRunning();
+      assertEquals(STATUS_ERROR, adminOperations().getPushStateStatus().get(NYC));
+      assertTrue(pushedKeys.size() < NUM_KEYS);
+
+      assertEquals(SUCCESS, extractComponent(cache(NYC, 0), XSiteAdminOperations.class).cancelReceiveState(LON));
+      assertEquals(SUCCESS, adminOperations().clearPushStateStatus());
+   }
+
+   private void assertDataInNyc() {
+      assertInSite(NYC, cache -> {
+         for (int i = 0; i < NUM_KEYS; ++i) {
+            assertEquals(VALUE, cache.get("key-" + i));
+         }
+      });
+   }
+
+   private void replaceTransportInSite() {
+      for (CacheContainer cacheContainer : site(LON).cacheManagers()) {
+         wrapGlobalComponent(cacheContainer, Transport.class, (wrapOn, current) -> new PushTrackingTransport(current), true);
+      }
+   }
+
+   private class PushTrackingTransport extends AbstractDelegatingTransport {
+
+      PushTrackingTransport(Transport actual) {
+         super(actual);
+      }
+
+      @Override
+      public void start() {
+         //no-op; avoid re-start the transport again...
+      }
+
+      @Override
+      public BackupResponse backupRemotely(Collection<XSiteBackup> backups, XSiteReplicateCommand rpcCommand) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public <O> XSiteResponse<O> backupRemotely(XSiteBackup backup, XSiteReplicateCommand<O> rpcCommand) {
+         if (rpcCommand instanceof XSiteStatePushCommand) {
+            if (pushesBeforeFailure.getAndDecrement() <= 0) {
+               XSiteResponseImpl<O> rsp = new XSiteResponseImpl<>(TIME_SERVICE, backup);
+               rsp.completeExceptionally(new TimeoutException("induced timeout!"));
+               return rsp;
+            }
+            XSiteState[] chunk = ((XSiteStatePushCommand) rpcCommand).getChunk();
+            assertTrue("Chunk with " + chunk.length + " entries", chunk.length <= MAX_ENTRIES_PER_CHUNK);
+            for (XSiteState state : chunk) {
+               pushedKeys.add(state.key());
+            }
+         }
+         return super.backupRemotely(backup, rpcCommand);
+      }
+   }
+}
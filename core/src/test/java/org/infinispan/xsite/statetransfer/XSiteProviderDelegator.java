@@ -34,6 +34,11 @@ public void cancelStateTransfer(String siteName) {
       xSiteStateProvider.cancelStateTransfer(siteName);
    }
 
+   @Override
+   public void siteOffline(String siteName) {
+      xSiteStateProvider.siteOffline(siteName);
+   }
+
    @Override
    public Collection<String> getCurrentStateSending() {
       return xSiteStateProvider.getCurrentStateSending();
@@ -67,10 +67,18 @@ private void parseWeakCounter(ConfigurationReader reader, WeakCounterConfigurati
          ParseUtils.requireNoNamespaceAttribute(reader, i);
          String value = reader.getAttributeValue(i);
          Attribute attribute = Attribute.forName(reader.getAttributeName(i));
-         if (attribute == Attribute.CONCURRENCY_LEVEL) {
-            builder.concurrencyLevel(Integer.parseInt(value));
-         } else {
-            parserCommonCounterAttributes(reader, builder, i, attribute, value);
+         switch (attribute) {
+            case CONCURRENCY_LEVEL:
+               builder.concurrencyLevel(Integer.parseInt(value));
+               break;
+            case FLUSH_INTERVAL:
+               builder.flushInterval(Long.parseLong(value));
+               break;
+            case FLUSH_THRESHOLD:
+               builder.flushThreshold(Long.parseLong(value));
+               break;
+            default:
+               parserCommonCounterAttributes(reader, builder, i, attribute, value);
          }
       }
       ParseUtils.requireNoContent(reader);
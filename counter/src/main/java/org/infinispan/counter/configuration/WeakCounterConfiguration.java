@@ -23,16 +23,32 @@ public class WeakCounterConfiguration extends AbstractCounterConfiguration {
          .immutable()
          .build();
 
+   static final AttributeDefinition<Long> FLUSH_INTERVAL = AttributeDefinition.builder(Attribute.FLUSH_INTERVAL, 0L)
+         .immutable()
+         .build();
+
+   static final AttributeDefinition<Long> FLUSH_THRESHOLD = AttributeDefinition.builder(Attribute.FLUSH_THRESHOLD, 0L)
+         .immutable()
+         .build();
+
    WeakCounterConfiguration(AttributeSet attributes) {
       super(attributes);
    }
 
    public static AttributeSet attributeDefinitionSet() {
       return new AttributeSet(WeakCounterConfiguration.class, AbstractCounterConfiguration.attributeDefinitionSet(),
-            CONCURRENCY_LEVEL);
+            CONCURRENCY_LEVEL, FLUSH_INTERVAL, FLUSH_THRESHOLD);
    }
 
    public int concurrencyLevel() {
       return attributes.attribute(CONCURRENCY_LEVEL).get();
    }
+
+   public long flushInterval() {
+      return attributes.attribute(FLUSH_INTERVAL).get();
+   }
+
+   public long flushThreshold() {
+      return attributes.attribute(FLUSH_THRESHOLD).get();
+   }
 }
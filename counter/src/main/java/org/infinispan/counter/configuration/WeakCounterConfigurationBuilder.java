@@ -1,5 +1,7 @@
 package org.infinispan.counter.configuration;
 
+import static org.infinispan.counter.impl.Utils.validateWeakCounterFlush;
+
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 
@@ -37,6 +39,13 @@ public WeakCounterConfigurationBuilder self() {
       return this;
    }
 
+   @Override
+   public void validate() {
+      super.validate();
+      validateWeakCounterFlush(attributes.attribute(WeakCounterConfiguration.FLUSH_INTERVAL).get(),
+            attributes.attribute(WeakCounterConfiguration.FLUSH_THRESHOLD).get());
+   }
+
    /**
     * Sets the counter's concurrency level.
     * <p>
@@ -51,4 +60,33 @@ public WeakCounterConfigurationBuilder concurrencyLevel(int level) {
       attributes.attribute(WeakCounterConfiguration.CONCURRENCY_LEVEL).set(level);
       return self();
    }
+
+   /**
+    * Sets the interval, in milliseconds, to flush the updates accumulated locally.
+    * <p>
+    * A positive value enables the relaxed mode, where the updates are accumulated in memory and added to the counter
+    * periodically. Other nodes observe the updates after the flush.
+    * <p>
+    * Default value is 0 (disabled).
+    *
+    * @param interval the new flush interval, in milliseconds.
+    * @see org.infinispan.counter.api.CounterConfiguration.Builder#flushInterval(long)
+    */
+   public WeakCounterConfigurationBuilder flushInterval(long interval) {
+      attributes.attribute(WeakCounterConfiguration.FLUSH_INTERVAL).set(interval);
+      return self();
+   }
+
+   /**
+    * Sets the absolute value of the delta accumulated locally that triggers a flush, in relaxed mode.
+    * <p>
+    * Default value is 0 (disabled).
+    *
+    * @param threshold the new flush threshold.
+    * @see org.infinispan.counter.api.CounterConfiguration.Builder#flushThreshold(long)
+    */
+   public WeakCounterConfigurationBuilder flushThreshold(long threshold) {
+      attributes.attribute(WeakCounterConfiguration.FLUSH_THRESHOLD).set(threshold);
+      return self();
+   }
 }
@@ -20,6 +20,7 @@
 import org.infinispan.counter.impl.function.CreateAndAddFunction;
 import org.infinispan.counter.impl.function.CreateAndCASFunction;
 import org.infinispan.counter.impl.function.CreateAndSetFunction;
+import org.infinispan.counter.impl.function.GetAndAddFunction;
 import org.infinispan.counter.impl.function.InitializeCounterFunction;
 import org.infinispan.counter.impl.function.ReadFunction;
 import org.infinispan.counter.impl.function.RemoveFunction;
@@ -43,6 +44,7 @@
 import org.infinispan.partitionhandling.PartitionHandling;
 import org.infinispan.registry.InternalCacheRegistry;
 import org.infinispan.transaction.TransactionMode;
+import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.logging.LogFactory;
 
 /**
@@ -114,6 +116,7 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       addAdvancedExternalizer(externalizerMap, RemoveFunction.EXTERNALIZER);
       addAdvancedExternalizer(externalizerMap, SetFunction.EXTERNALIZER);
       addAdvancedExternalizer(externalizerMap, CreateAndSetFunction.EXTERNALIZER);
+      addAdvancedExternalizer(externalizerMap, GetAndAddFunction.EXTERNALIZER);
 
       BasicComponentRegistry bcr = gcr.getComponent(BasicComponentRegistry.class);
       InternalCacheRegistry internalCacheRegistry = bcr.getComponent(InternalCacheRegistry.class).running();
@@ -149,6 +152,16 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       }
    }
 
+   @Override
+   public void cachesStopping(GlobalComponentRegistry gcr) {
+      // the counter's cache rejects the flushes of the relaxed weak counters after it starts stopping
+      ComponentRef<CounterManager> component = gcr.getComponent(BasicComponentRegistry.class)
+            .getComponent(CounterManager.class);
+      if (component != null && component.isRunning() && component.running() instanceof EmbeddedCounterManager) {
+         CompletionStages.join(((EmbeddedCounterManager) component.running()).stopRelaxedCounters());
+      }
+   }
+
    @Override
    public void cacheStarting(ComponentRegistry cr, Configuration configuration, String cacheName) {
       if (COUNTER_CACHE_NAME.equals(cacheName) && configuration.clustering().cacheMode().isClustered()) {
@@ -35,6 +35,21 @@ public static void validateStrongCounterBounds(long lowerBound, long initialValu
       }
    }
 
+   /**
+    * Validates the flush interval and threshold of a weak counter in relaxed mode.
+    * <p>
+    * It throws a {@link CounterConfigurationException} is not valid.
+    *
+    * @param flushInterval  The counter's flush interval.
+    * @param flushThreshold The counter's flush threshold.
+    * @throws CounterConfigurationException if the flush interval or threshold aren't valid.
+    */
+   public static void validateWeakCounterFlush(long flushInterval, long flushThreshold) {
+      if (flushInterval < 0 || flushThreshold < 0 || (flushThreshold > 0 && flushInterval == 0)) {
+         throw CONTAINER.invalidFlushConfiguration(flushInterval, flushThreshold);
+      }
+   }
+
    /**
     * Calculates the {@link CounterState} to use based on the value and the boundaries.
     * <p>
@@ -25,4 +25,5 @@ public interface ExternalizerIds {
    Integer REMOVE_FUNCTION = 2014;
    Integer SET_FUNCTION = 2015;
    Integer CREATE_AND_SET_FUNCTION = 2016;
+   Integer GET_AND_ADD_FUNCTION = 2017;
 }
@@ -1,6 +1,9 @@
 package org.infinispan.counter.impl.factory;
 
+import static org.infinispan.factories.KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR;
+
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
 
 import org.infinispan.Cache;
 import org.infinispan.counter.api.CounterConfiguration;
@@ -9,8 +12,11 @@
 import org.infinispan.counter.impl.entries.CounterKey;
 import org.infinispan.counter.impl.entries.CounterValue;
 import org.infinispan.counter.impl.manager.InternalCounterAdmin;
+import org.infinispan.counter.impl.weak.RelaxedWeakCounterImpl;
 import org.infinispan.counter.impl.weak.WeakCounterImpl;
 import org.infinispan.counter.impl.weak.WeakCounterKey;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.util.concurrent.CompletionStages;
@@ -23,11 +29,17 @@
 @Scope(Scopes.GLOBAL)
 public class CacheBasedWeakCounterFactory extends CacheBaseCounterFactory<WeakCounterKey> implements WeakCounterFactory {
 
+   @Inject
+   @ComponentName(TIMEOUT_SCHEDULE_EXECUTOR)
+   ScheduledExecutorService scheduledExecutor;
+
    @Override
    public CompletionStage<InternalCounterAdmin> createWeakCounter(String name, CounterConfiguration configuration) {
       assert configuration.type() == CounterType.WEAK;
       return cache(configuration).thenCompose(cache -> {
-         WeakCounterImpl counter = new WeakCounterImpl(name, cache, configuration, notificationManager);
+         WeakCounterImpl counter = configuration.flushInterval() > 0 ?
+               new RelaxedWeakCounterImpl(name, cache, configuration, notificationManager, scheduledExecutor) :
+               new WeakCounterImpl(name, cache, configuration, notificationManager);
          return registerListeners(cache).thenCompose(___ -> counter.init());
       });
    }
@@ -18,7 +18,7 @@
  * @author Pedro Ruivo
  * @since 9.2
  */
-final class FunctionHelper {
+public final class FunctionHelper {
 
    private FunctionHelper() {
    }
@@ -64,78 +64,82 @@ static Object set(EntryView.ReadWriteEntryView<?, CounterValue> entry, CounterVa
 
    static CounterValue add(EntryView.ReadWriteEntryView<?, CounterValue> entry,
                            CounterValue value, CounterConfigurationMetaParam metadata, long delta) {
+      CounterValue newValue = add(value, metadata.get(), delta);
+      if (newValue != value) {
+         setInEntry(entry, newValue, metadata);
+      }
+      return newValue;
+   }
+
+   /**
+    * Computes the {@link CounterValue} after adding {@code delta} to {@code value}.
+    * <p>
+    * It does not update any entry and it returns the same {@code value} instance if nothing changes.
+    *
+    * @param value         The current {@link CounterValue}.
+    * @param configuration The counter's configuration.
+    * @param delta         The delta to add.
+    * @return The new {@link CounterValue}.
+    */
+   public static CounterValue add(CounterValue value, CounterConfiguration configuration, long delta) {
       if (delta == 0) {
          return value;
       }
-      if (metadata.get().type() == CounterType.BOUNDED_STRONG) {
+      if (configuration.type() == CounterType.BOUNDED_STRONG) {
          if (delta > 0) {
-            return addAndCheckUpperBound(entry, value, metadata, delta);
+            return addAndCheckUpperBound(value, configuration.upperBound(), delta);
          } else {
-            return addAndCheckLowerBound(entry, value, metadata, delta);
+            return addAndCheckLowerBound(value, configuration.lowerBound(), delta);
          }
       } else {
-         return addUnbounded(entry, value, metadata, delta);
+         return addUnbounded(value, delta);
       }
    }
 
-   private static CounterValue addAndCheckUpperBound(EntryView.ReadWriteEntryView<?, CounterValue> entry,
-                                                     CounterValue value, CounterConfigurationMetaParam metadata, long delta) {
+   private static CounterValue addAndCheckUpperBound(CounterValue value, long upperBound, long delta) {
       if (value.getState() == CounterState.UPPER_BOUND_REACHED) {
          return value;
       }
-      CounterValue newValue;
-      long upperBound = metadata.get().upperBound();
       try {
          long addedValue = Math.addExact(value.getValue(), delta);
          if (addedValue > upperBound) {
-            newValue = newCounterValue(upperBound, CounterState.UPPER_BOUND_REACHED);
+            return newCounterValue(upperBound, CounterState.UPPER_BOUND_REACHED);
          } else {
-            newValue = newCounterValue(addedValue, CounterState.VALID);
+            return newCounterValue(addedValue, CounterState.VALID);
          }
       } catch (ArithmeticException e) {
          //overflow!
-         newValue = newCounterValue(Long.MAX_VALUE, CounterState.UPPER_BOUND_REACHED);
+         return newCounterValue(Long.MAX_VALUE, CounterState.UPPER_BOUND_REACHED);
       }
-      setInEntry(entry, newValue, metadata);
-      return newValue;
    }
 
-   private static CounterValue addAndCheckLowerBound(EntryView.ReadWriteEntryView<?, CounterValue> entry,
-                                                     CounterValue value, CounterConfigurationMetaParam metadata, long delta) {
+   private static CounterValue addAndCheckLowerBound(CounterValue value, long lowerBound, long delta) {
       if (value.getState() == CounterState.LOWER_BOUND_REACHED) {
          return value;
       }
-      CounterValue newValue;
-      long lowerBound = metadata.get().lowerBound();
       try {
          long addedValue = Math.addExact(value.getValue(), delta);
          if (addedValue < lowerBound) {
-            newValue = newCounterValue(lowerBound, CounterState.LOWER_BOUND_REACHED);
+            return newCounterValue(lowerBound, CounterState.LOWER_BOUND_REACHED);
          } else {
-            newValue = newCounterValue(addedValue, CounterState.VALID);
+            return newCounterValue(addedValue, CounterState.VALID);
          }
       } catch (ArithmeticException e) {
          //overflow!
-         newValue = newCounterValue(Long.MIN_VALUE, CounterState.LOWER_BOUND_REACHED);
+         return newCounterValue(Long.MIN_VALUE, CounterState.LOWER_BOUND_REACHED);
       }
-      setInEntry(entry, newValue, metadata);
-      return newValue;
    }
 
-   private static CounterValue addUnbounded(EntryView.ReadWriteEntryView<?, CounterValue> entry, CounterValue value,
-                                            CounterConfigurationMetaParam metadata, long delta) {
+   private static CounterValue addUnbounded(CounterValue value, long delta) {
       if (noChange(value.getValue(), delta)) {
          return value;
       }
-      CounterValue newValue;
       try {
-         newValue = newCounterValue(Math.addExact(value.getValue(), delta));
+         return newCounterValue(Math.addExact(value.getValue(), delta));
       } catch (ArithmeticException e) {
          //overflow!
-         newValue = newCounterValue(delta > 0 ? Long.MAX_VALUE : Long.MIN_VALUE);
+         return newCounterValue(delta > 0 ? Long.MAX_VALUE : Long.MIN_VALUE);
       }
-      setInEntry(entry, newValue, metadata);
-      return newValue;
    }
 
    private static boolean noChange(long currentValue, long delta) {
@@ -0,0 +1,65 @@
+package org.infinispan.counter.impl.function;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collections;
+import java.util.Set;
+
+import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.counter.api.CounterConfiguration;
+import org.infinispan.counter.impl.entries.CounterKey;
+import org.infinispan.counter.impl.entries.CounterValue;
+import org.infinispan.counter.impl.externalizers.ExternalizerIds;
+import org.infinispan.functional.EntryView;
+import org.infinispan.functional.impl.CounterConfigurationMetaParam;
+
+/**
+ * The adding function to update the {@link CounterValue} which returns the previous {@link CounterValue}.
+ * <p>
+ * It is used to apply the combined delta of multiple concurrent adds. The previous value allows the caller to compute
+ * the value returned to each individual add. If the {@link CounterValue} doesn't exist, it is created.
+ *
+ * @since 15.0
+ */
+public class GetAndAddFunction<K extends CounterKey> extends BaseCreateFunction<K, CounterValue> {
+
+   public static final AdvancedExternalizer<GetAndAddFunction> EXTERNALIZER = new Externalizer();
+   private final long delta;
+
+   public GetAndAddFunction(CounterConfiguration configuration, long delta) {
+      super(configuration);
+      this.delta = delta;
+   }
+
+   @Override
+   CounterValue apply(EntryView.ReadWriteEntryView<K, CounterValue> entryView, CounterValue currentValue,
+         CounterConfigurationMetaParam metadata) {
+      FunctionHelper.add(entryView, currentValue, metadata, delta);
+      return currentValue;
+   }
+
+   private static class Externalizer implements AdvancedExternalizer<GetAndAddFunction> {
+
+      @Override
+      public Set<Class<? extends GetAndAddFunction>> getTypeClasses() {
+         return Collections.singleton(GetAndAddFunction.class);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.GET_AND_ADD_FUNCTION;
+      }
+
+      @Override
+      public void writeObject(ObjectOutput output, GetAndAddFunction object) throws IOException {
+         output.writeObject(object.configuration);
+         output.writeLong(object.delta);
+      }
+
+      @Override
+      public GetAndAddFunction<?> readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         return new GetAndAddFunction<>((CounterConfiguration) input.readObject(), input.readLong());
+      }
+   }
+}
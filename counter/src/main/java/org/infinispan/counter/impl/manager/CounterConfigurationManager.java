@@ -2,6 +2,7 @@
 
 import static org.infinispan.counter.configuration.ConvertUtil.parsedConfigToConfig;
 import static org.infinispan.counter.impl.Utils.validateStrongCounterBounds;
+import static org.infinispan.counter.impl.Utils.validateWeakCounterFlush;
 import static org.infinispan.counter.logging.Log.CONTAINER;
 
 import java.util.Collection;
@@ -234,6 +235,7 @@ private void validateConfiguration(CounterConfiguration configuration) {
             if (configuration.concurrencyLevel() < 1) {
                throw CONTAINER.invalidConcurrencyLevel(configuration.concurrencyLevel());
             }
+            validateWeakCounterFlush(configuration.flushInterval(), configuration.flushThreshold());
             break;
       }
    }
@@ -23,6 +23,7 @@
 import org.infinispan.counter.impl.factory.StrongCounterFactory;
 import org.infinispan.counter.impl.factory.WeakCounterFactory;
 import org.infinispan.counter.impl.listener.CounterManagerNotificationManager;
+import org.infinispan.counter.impl.weak.RelaxedWeakCounterImpl;
 import org.infinispan.counter.logging.Log;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -31,6 +32,7 @@
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
 import org.infinispan.util.concurrent.CompletionStages;
 
 /**
@@ -71,6 +73,27 @@ public void stop() {
          log.trace("Stopping EmbeddedCounterManager");
       }
       stopped = true;
+      // the counters are flushed by stopRelaxedCounters() before the counter's cache stops, unless the component
+      // registry is stopped without stopping the cache manager
+      CompletionStages.join(stopRelaxedCounters());
+   }
+
+   /**
+    * Stops the periodic flush of the relaxed weak counters and flushes the delta accumulated locally.
+    * <p>
+    * It must be invoked before the counter's cache stops, otherwise the delta not flushed is lost.
+    *
+    * @return A {@link CompletionStage} that is completed when all the flushes finish, successfully or not.
+    */
+   public CompletionStage<Void> stopRelaxedCounters() {
+      AggregateCompletionStage<Void> flushes = CompletionStages.aggregateCompletionStage();
+      for (CompletableFuture<InternalCounterAdmin> stage : counters.values()) {
+         InternalCounterAdmin counter = existingCounter(stage);
+         if (counter instanceof RelaxedWeakCounterImpl) {
+            flushes.dependsOn(((RelaxedWeakCounterImpl) counter).stop());
+         }
+      }
+      return flushes.freeze();
    }
 
    @ManagedOperation(
@@ -216,10 +239,25 @@ public Properties getCounterConfiguration(String counterName) {
       return PropertyFormatter.getInstance().format(configuration);
    }
 
+   @ManagedOperation(
+         description = "Returns the counter's updates accumulated locally and not yet flushed to the cluster. Only relaxed weak counters accumulate updates",
+         displayName = "Get Counter's Unflushed Delta",
+         name = "unflushedDelta"
+   )
+   public long getUnflushedDelta(String counterName) {
+      // a counter not created in this node has nothing to flush, do not create it
+      InternalCounterAdmin counter = existingCounter(counters.get(counterName));
+      return counter instanceof RelaxedWeakCounterImpl ? ((RelaxedWeakCounterImpl) counter).getUnflushedDelta() : 0;
+   }
+
    public CompletableFuture<Boolean> isDefinedAsync(String name) {
       return getConfigurationAsync(name).thenApply(Objects::nonNull);
    }
 
+   private static InternalCounterAdmin existingCounter(CompletableFuture<InternalCounterAdmin> stage) {
+      return stage != null && CompletionStages.isCompletedSuccessfully(stage) ? stage.join() : null;
+   }
+
    private CompletableFuture<InternalCounterAdmin> createCounter(String counterName) {
       return getConfigurationAsync(counterName)
             .thenCompose(config -> {
@@ -25,6 +25,7 @@
 import org.infinispan.counter.impl.function.CreateAndAddFunction;
 import org.infinispan.counter.impl.function.CreateAndCASFunction;
 import org.infinispan.counter.impl.function.CreateAndSetFunction;
+import org.infinispan.counter.impl.function.GetAndAddFunction;
 import org.infinispan.counter.impl.function.ReadFunction;
 import org.infinispan.counter.impl.function.RemoveFunction;
 import org.infinispan.counter.impl.function.ResetFunction;
@@ -53,6 +54,9 @@
  * <p>
  * Weak Reads: This implementation supports weak cached reads. It uses clustered listeners to receive the notifications
  * of the actual value to store it locally.
+ * <p>
+ * Adds: The concurrent adds in the same node are combined by {@link AddCombiner} and applied with a single function
+ * invocation. Each add still returns its own value but the listeners may receive a single event for the combined adds.
  *
  * @author Pedro Ruivo
  * @since 9.0
@@ -64,6 +68,7 @@ public abstract class AbstractStrongCounter implements StrongCounter, CounterEve
    private final FunctionalMap.ReadOnlyMap<StrongCounterKey, CounterValue> readOnlyMap;
    private final CounterManagerNotificationManager notificationManager;
    private final CounterConfiguration configuration;
+   private final AddCombiner addCombiner;
    @GuardedBy("this")
    private CounterValue weakCounter;
 
@@ -77,6 +82,7 @@ public abstract class AbstractStrongCounter implements StrongCounter, CounterEve
       readOnlyMap = ReadOnlyMapImpl.create(functionalMap);
       weakCounter = null;
       this.configuration = configuration;
+      addCombiner = new AddCombiner(configuration, this::add, this::getAndAdd);
    }
 
    /**
@@ -127,7 +133,7 @@ public final CompletableFuture<Long> getValue() {
 
    @Override
    public final CompletableFuture<Long> addAndGet(long delta) {
-      return readWriteMap.eval(key, new AddFunction<>(delta)).thenCompose(value -> checkAddResult(value, delta));
+      return addCombiner.add(delta).thenApply(this::handleAddResult);
    }
 
    @Override
@@ -237,13 +243,20 @@ private long handleReadResult(Long value) {
             value;
    }
 
-   private CompletableFuture<Long> checkAddResult(CounterValue value, long delta) {
+   private CompletionStage<CounterValue> add(long delta) {
+      return readWriteMap.eval(key, new AddFunction<>(delta)).thenCompose(value -> checkAddResult(value, delta));
+   }
+
+   private CompletionStage<CounterValue> getAndAdd(long delta) {
+      return readWriteMap.eval(key, new GetAndAddFunction<>(configuration, delta));
+   }
+
+   private CompletionStage<CounterValue> checkAddResult(CounterValue value, long delta) {
       if (value == null) {
          //key doesn't exist in the cache. create and add.
-         return readWriteMap.eval(key, new CreateAndAddFunction<>(configuration, delta))
-               .thenApply(this::handleAddResult);
+         return readWriteMap.eval(key, new CreateAndAddFunction<>(configuration, delta));
       } else {
-         return CompletableFuture.completedFuture(handleAddResult(value));
+         return CompletableFuture.completedFuture(value);
       }
    }
 
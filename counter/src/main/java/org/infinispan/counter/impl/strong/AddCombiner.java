@@ -0,0 +1,190 @@
+package org.infinispan.counter.impl.strong;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.LongFunction;
+
+import org.infinispan.counter.api.CounterConfiguration;
+import org.infinispan.counter.api.CounterType;
+import org.infinispan.counter.impl.entries.CounterValue;
+import org.infinispan.counter.impl.function.FunctionHelper;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Combines the concurrent adds to the same strong counter.
+ * <p>
+ * Up to {@link #MAX_IN_FLIGHT} updates are sent without waiting. The adds requested while all of them are in-flight
+ * are queued and, when one completes, they are combined and applied with a single function invocation. The combined
+ * invocation returns the previous {@link CounterValue} and the value of each add is computed by applying its delta in
+ * queue order, as if the adds were applied one after another.
+ * <p>
+ * The adds of an unbounded counter are combined regardless of their sign. For a bounded counter, only adds with the same
+ * sign are combined, so the intermediate values are monotonic and the combined update reaches the same final value as
+ * the sequential adds when the counter reaches a boundary. An add of a bounded counter that cannot be combined with the
+ * queued ones is sent at once, even if {@link #MAX_IN_FLIGHT} updates are in-flight, so a mixed workload is never
+ * throttled. The primary owner applies the concurrent updates in any order, like the adds invoked concurrently without
+ * combining.
+ * <p>
+ * An unbounded counter only saturates at {@link Long#MAX_VALUE} and {@link Long#MIN_VALUE}: if it saturates in the
+ * middle of a combined update with mixed signs, the final value may differ from the sequential adds.
+ *
+ * @since 15.0
+ */
+final class AddCombiner {
+
+   static final int MAX_BATCH_SIZE = 1024;
+   static final int MAX_IN_FLIGHT = 4;
+
+   private final CounterConfiguration configuration;
+   private final boolean bounded;
+   private final LongFunction<CompletionStage<CounterValue>> addFunction;
+   private final LongFunction<CompletionStage<CounterValue>> getAndAddFunction;
+   @GuardedBy("this")
+   private final Queue<PendingAdd> pendingAdds;
+   @GuardedBy("this")
+   private int inFlight;
+   // the sign of the queued adds of a bounded counter, 0 if all the queued deltas are 0 or the queue is empty
+   @GuardedBy("this")
+   private long pendingSign;
+
+   /**
+    * @param configuration     The counter's configuration.
+    * @param addFunction       Adds the delta and returns the new {@link CounterValue}.
+    * @param getAndAddFunction Adds the delta and returns the previous {@link CounterValue}.
+    */
+   AddCombiner(CounterConfiguration configuration, LongFunction<CompletionStage<CounterValue>> addFunction,
+         LongFunction<CompletionStage<CounterValue>> getAndAddFunction) {
+      this.configuration = configuration;
+      this.bounded = configuration.type() == CounterType.BOUNDED_STRONG;
+      this.addFunction = addFunction;
+      this.getAndAddFunction = getAndAddFunction;
+      this.pendingAdds = new ArrayDeque<>();
+   }
+
+   /**
+    * Adds {@code delta} to the counter.
+    *
+    * @return A {@link CompletableFuture} completed with the new {@link CounterValue}.
+    */
+   CompletableFuture<CounterValue> add(long delta) {
+      PendingAdd add = new PendingAdd(delta);
+      synchronized (this) {
+         if (inFlight >= MAX_IN_FLIGHT && canCombine(delta)) {
+            pendingAdds.add(add);
+            if (pendingSign == 0) {
+               pendingSign = Long.signum(delta);
+            }
+            return add;
+         }
+         // the queue is empty, unless the add cannot be combined with the queued ones
+         inFlight++;
+      }
+      sendPendingAdds(Collections.singletonList(add));
+      return add;
+   }
+
+   @GuardedBy("this")
+   private boolean canCombine(long delta) {
+      return !bounded || pendingSign * Long.signum(delta) >= 0;
+   }
+
+   // sends the batch and then the pending adds, one batch at a time, until the queue is empty
+   private void sendPendingAdds(List<PendingAdd> batch) {
+      while (batch != null) {
+         CompletableFuture<?> stage = send(batch);
+         if (!stage.isDone()) {
+            // avoid a deep stack if the updates complete in this thread
+            stage.whenComplete((ignored, throwable) -> sendPendingAdds(pollBatch()));
+            return;
+         }
+         batch = pollBatch();
+      }
+   }
+
+   private CompletableFuture<?> send(List<PendingAdd> batch) {
+      if (batch.size() == 1) {
+         PendingAdd add = batch.get(0);
+         return invoke(addFunction, add.delta).whenComplete(add::onCompletion);
+      }
+      long delta = 0;
+      for (PendingAdd add : batch) {
+         delta += add.delta;
+      }
+      return invoke(getAndAddFunction, delta).whenComplete((previous, throwable) -> {
+         if (throwable != null) {
+            batch.forEach(add -> add.completeExceptionally(throwable));
+            return;
+         }
+         CounterValue value = previous;
+         for (PendingAdd add : batch) {
+            value = FunctionHelper.add(value, configuration, add.delta);
+            add.complete(value);
+         }
+      });
+   }
+
+   private static CompletableFuture<CounterValue> invoke(LongFunction<CompletionStage<CounterValue>> function,
+         long delta) {
+      try {
+         return function.apply(delta).toCompletableFuture();
+      } catch (Throwable t) {
+         return CompletableFuture.failedFuture(t);
+      }
+   }
+
+   private synchronized List<PendingAdd> pollBatch() {
+      PendingAdd first = pendingAdds.poll();
+      if (first == null) {
+         inFlight--;
+         pendingSign = 0;
+         return null;
+      }
+      List<PendingAdd> batch = new ArrayList<>(Math.min(pendingAdds.size() + 1, MAX_BATCH_SIZE));
+      batch.add(first);
+      long sign = Long.signum(first.delta);
+      long sum = first.delta;
+      PendingAdd next;
+      while (batch.size() < MAX_BATCH_SIZE && (next = pendingAdds.peek()) != null) {
+         long nextSign = Long.signum(next.delta);
+         if (bounded && sign * nextSign < 0 || overflows(sum, next.delta)) {
+            break;
+         }
+         if (sign == 0) {
+            sign = nextSign;
+         }
+         sum += next.delta;
+         batch.add(pendingAdds.poll());
+      }
+      if (pendingAdds.isEmpty()) {
+         pendingSign = 0;
+      }
+      return batch;
+   }
+
+   private static boolean overflows(long sum, long delta) {
+      long result = sum + delta;
+      return ((sum ^ result) & (delta ^ result)) < 0;
+   }
+
+   private static class PendingAdd extends CompletableFuture<CounterValue> {
+      final long delta;
+
+      PendingAdd(long delta) {
+         this.delta = delta;
+      }
+
+      void onCompletion(CounterValue value, Throwable throwable) {
+         if (throwable != null) {
+            completeExceptionally(throwable);
+         } else {
+            complete(value);
+         }
+      }
+   }
+}
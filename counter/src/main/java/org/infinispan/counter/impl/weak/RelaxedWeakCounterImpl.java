@@ -0,0 +1,193 @@
+package org.infinispan.counter.impl.weak;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.counter.api.CounterConfiguration;
+import org.infinispan.counter.impl.entries.CounterValue;
+import org.infinispan.counter.impl.listener.CounterManagerNotificationManager;
+import org.infinispan.counter.impl.manager.InternalCounterAdmin;
+import org.infinispan.counter.logging.Log;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * A {@link WeakCounterImpl} in relaxed mode.
+ * <p>
+ * The updates are accumulated locally, in a {@link LongAdder}, and {@link #add(long)} completes immediately without
+ * any cluster write. The accumulated delta is added to the counter keys every {@link
+ * CounterConfiguration#flushInterval()} milliseconds or when its absolute value reaches {@link
+ * CounterConfiguration#flushThreshold()}, whichever happens first.
+ * <p>
+ * Staleness: {@link #getValue()} includes the local delta not flushed yet. Other nodes observe the local updates after
+ * the flush, i.e. up to the flush interval plus the time to update the counter keys and notify the listeners. The delta
+ * not flushed is lost if the node crashes, it is flushed before the counter's cache stops or when the counter is
+ * destroyed.
+ * <p>
+ * {@link #reset()} discards the delta not flushed and it waits for the flushes in progress, so they are not applied
+ * after the counter is reset.
+ *
+ * @since 15.0
+ */
+public class RelaxedWeakCounterImpl extends WeakCounterImpl {
+
+   private static final Log log = LogFactory.getLog(RelaxedWeakCounterImpl.class, Log.class);
+
+   private final LongAdder unflushed;
+   private final long flushInterval;
+   private final long flushThreshold;
+   private final ScheduledExecutorService scheduledExecutor;
+   private volatile ScheduledFuture<?> flushTask;
+   @GuardedBy("this")
+   private CompletableFuture<Void> pendingFlushes;
+   // incremented by reset(), a failed flush started before the reset does not restore its delta
+   private volatile int resets;
+
+   public RelaxedWeakCounterImpl(String counterName, AdvancedCache<WeakCounterKey, CounterValue> cache,
+         CounterConfiguration configuration, CounterManagerNotificationManager notificationManager,
+         ScheduledExecutorService scheduledExecutor) {
+      super(counterName, cache, configuration, notificationManager);
+      assert configuration.flushInterval() > 0;
+      this.unflushed = new LongAdder();
+      this.flushInterval = configuration.flushInterval();
+      this.flushThreshold = configuration.flushThreshold();
+      this.scheduledExecutor = scheduledExecutor;
+      this.pendingFlushes = CompletableFutures.completedNull();
+   }
+
+   @Override
+   public CompletionStage<InternalCounterAdmin> init() {
+      return super.init().thenApply(counter -> {
+         flushTask = scheduledExecutor.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+               TimeUnit.MILLISECONDS);
+         return counter;
+      });
+   }
+
+   @Override
+   public long getValue() {
+      long value = super.getValue();
+      long delta = unflushed.sum();
+      long result = value + delta;
+      if (((value ^ result) & (delta ^ result)) < 0) {
+         // overflow
+         return value > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+      }
+      return result;
+   }
+
+   @Override
+   public CompletableFuture<Void> add(long delta) {
+      unflushed.add(delta);
+      if (flushThreshold > 0 && Math.abs(unflushed.sum()) >= flushThreshold) {
+         flush();
+      }
+      return CompletableFutures.completedNull();
+   }
+
+   @Override
+   public CompletableFuture<Void> reset() {
+      CompletableFuture<Void> flushes;
+      synchronized (this) {
+         resets++;
+         unflushed.reset();
+         flushes = pendingFlushes;
+      }
+      return flushes.thenCompose(ignored -> super.reset());
+   }
+
+   @Override
+   public CompletableFuture<Void> remove() {
+      cancelFlushTask();
+      // the counter's value is removed, including the delta not flushed
+      unflushed.reset();
+      return super.remove();
+   }
+
+   @Override
+   public CompletionStage<Void> destroy() {
+      return stop().thenCompose(ignored -> super.destroy());
+   }
+
+   /**
+    * Stops the periodic flush and flushes the delta accumulated locally.
+    *
+    * @return A {@link CompletionStage} that is completed when the last flush finishes, successfully or not.
+    */
+   public CompletionStage<Void> stop() {
+      cancelFlushTask();
+      // a failed flush is already logged
+      return flush().exceptionally(CompletableFutures.toNullFunction());
+   }
+
+   /**
+    * @return The delta accumulated locally and not yet added to the counter.
+    */
+   public long getUnflushedDelta() {
+      return unflushed.sum();
+   }
+
+   /**
+    * Adds the delta accumulated locally to the counter.
+    * <p>
+    * If it fails, the delta is kept and retried in the next flush.
+    *
+    * @return A {@link CompletionStage} that is completed when the delta is added to the counter.
+    */
+   public CompletionStage<Void> flush() {
+      long delta;
+      int flushResets;
+      CompletableFuture<Void> stage;
+      synchronized (this) {
+         delta = unflushed.sumThenReset();
+         if (delta == 0) {
+            return CompletableFutures.completedNull();
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Flushing delta %d of counter '%s'", delta, getName());
+         }
+         flushResets = resets;
+         try {
+            stage = super.add(delta);
+         } catch (Throwable t) {
+            stage = CompletableFuture.failedFuture(t);
+         }
+         pendingFlushes = CompletableFuture.allOf(pendingFlushes, stage.exceptionally(CompletableFutures.toNullFunction()));
+      }
+      return stage.whenComplete((ignored, throwable) -> {
+         if (throwable != null) {
+            if (flushResets == resets) {
+               unflushed.add(delta);
+            }
+            onFlushError(throwable);
+         }
+      });
+   }
+
+   @Override
+   public String toString() {
+      return "RelaxedWeakCounter{" +
+            "counterName=" + getName() +
+            ", flushInterval=" + flushInterval +
+            ", flushThreshold=" + flushThreshold +
+            '}';
+   }
+
+   private void onFlushError(Throwable throwable) {
+      log.unableToFlushCounter(getName(), CompletableFutures.extractException(throwable));
+   }
+
+   private void cancelFlushTask() {
+      ScheduledFuture<?> task = flushTask;
+      if (task != null) {
+         task.cancel(false);
+      }
+   }
+}
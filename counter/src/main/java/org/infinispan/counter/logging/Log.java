@@ -1,5 +1,7 @@
 package org.infinispan.counter.logging;
 
+import static org.jboss.logging.Logger.Level.WARN;
+
 import java.io.File;
 
 import org.infinispan.counter.exception.CounterConfigurationException;
@@ -9,6 +11,7 @@
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
 import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 
@@ -111,4 +114,11 @@ public interface Log extends BasicLogger {
 
    @Message(value = "MBean registration failed", id = 29529)
    CounterException jmxRegistrationFailed(@Cause Throwable cause);
+
+   @Message(value = "Invalid flush-interval (%s) and flush-threshold (%s). They can't be negative and flush-threshold requires a positive flush-interval.", id = 29530)
+   CounterConfigurationException invalidFlushConfiguration(long interval, long threshold);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to flush the local updates of counter '%s'", id = 29531)
+   void unableToFlushCounter(String counterName, @Cause Throwable cause);
 }
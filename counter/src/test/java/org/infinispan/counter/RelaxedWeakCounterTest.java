@@ -0,0 +1,117 @@
+package org.infinispan.counter;
+
+import static org.infinispan.commons.test.Exceptions.expectException;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.counter.api.CounterConfiguration;
+import org.infinispan.counter.api.CounterManager;
+import org.infinispan.counter.api.CounterType;
+import org.infinispan.counter.api.WeakCounter;
+import org.infinispan.counter.exception.CounterConfigurationException;
+import org.infinispan.counter.impl.BaseCounterTest;
+import org.infinispan.counter.impl.CounterModuleLifecycle;
+import org.infinispan.counter.impl.weak.RelaxedWeakCounterImpl;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link WeakCounter} in relaxed mode, where the updates are accumulated locally and flushed periodically.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "counter.RelaxedWeakCounterTest")
+public class RelaxedWeakCounterTest extends BaseCounterTest {
+
+   public void testFlushInterval() {
+      String counterName = "interval-counter";
+      counterManager(0).defineCounter(counterName, CounterConfiguration.builder(CounterType.WEAK)
+            .initialValue(10)
+            .flushInterval(100)
+            .build());
+      RelaxedWeakCounterImpl counter = (RelaxedWeakCounterImpl) counterManager(0).getWeakCounter(counterName);
+      WeakCounter otherCounter = counterManager(1).getWeakCounter(counterName);
+
+      for (int i = 0; i < 10; ++i) {
+         counter.increment();
+      }
+      counter.add(-5);
+
+      // the local updates are visible locally
+      assertEquals(15, counter.getValue());
+
+      eventuallyEquals(15L, otherCounter::getValue);
+      eventuallyEquals(0L, counter::getUnflushedDelta);
+      assertEquals(15, counter.getValue());
+   }
+
+   public void testFlushThreshold() {
+      String counterName = "threshold-counter";
+      counterManager(0).defineCounter(counterName, CounterConfiguration.builder(CounterType.WEAK)
+            .flushInterval(TimeUnit.HOURS.toMillis(1))
+            .flushThreshold(5)
+            .build());
+      RelaxedWeakCounterImpl counter = (RelaxedWeakCounterImpl) counterManager(0).getWeakCounter(counterName);
+      WeakCounter otherCounter = counterManager(1).getWeakCounter(counterName);
+
+      for (int i = 0; i < 4; ++i) {
+         counter.increment();
+      }
+      assertEquals(4, counter.getUnflushedDelta());
+      assertEquals(4, counter.getValue());
+      assertEquals(0, otherCounter.getValue());
+
+      counter.increment();
+      eventuallyEquals(5L, otherCounter::getValue);
+      eventuallyEquals(0L, counter::getUnflushedDelta);
+   }
+
+   public void testReset() {
+      String counterName = "reset-counter";
+      counterManager(0).defineCounter(counterName, CounterConfiguration.builder(CounterType.WEAK)
+            .flushInterval(TimeUnit.HOURS.toMillis(1))
+            .build());
+      RelaxedWeakCounterImpl counter = (RelaxedWeakCounterImpl) counterManager(0).getWeakCounter(counterName);
+      counter.add(10);
+      assertEquals(10, counter.getValue());
+
+      counter.sync().reset();
+      assertEquals(0, counter.getUnflushedDelta());
+      assertEquals(0, counter.getValue());
+   }
+
+   public void testFlushOnStop() {
+      String counterName = "stop-counter";
+      addClusterEnabledCacheManager(configure(cacheManagers.size()), getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC));
+      waitForClusterToForm(CounterModuleLifecycle.COUNTER_CACHE_NAME);
+      int stopped = cacheManagers.size() - 1;
+      counterManager(stopped).defineCounter(counterName, CounterConfiguration.builder(CounterType.WEAK)
+            .flushInterval(TimeUnit.HOURS.toMillis(1))
+            .build());
+      RelaxedWeakCounterImpl counter = (RelaxedWeakCounterImpl) counterManager(stopped).getWeakCounter(counterName);
+      WeakCounter otherCounter = counterManager(0).getWeakCounter(counterName);
+
+      counter.add(7);
+      assertEquals(7, counter.getUnflushedDelta());
+      assertEquals(0, otherCounter.getValue());
+
+      // the delta is flushed before the counter's cache stops
+      killMember(stopped);
+      waitForClusterToForm(CounterModuleLifecycle.COUNTER_CACHE_NAME);
+      assertEquals(7, otherCounter.getValue());
+   }
+
+   public void testInvalidConfiguration() {
+      CounterManager counterManager = counterManager(0);
+      expectException(CounterConfigurationException.class, () -> counterManager.defineCounter("invalid-1",
+            CounterConfiguration.builder(CounterType.WEAK).flushInterval(-1).build()));
+      expectException(CounterConfigurationException.class, () -> counterManager.defineCounter("invalid-2",
+            CounterConfiguration.builder(CounterType.WEAK).flushThreshold(10).build()));
+   }
+
+   @Override
+   protected int clusterSize() {
+      return 2;
+   }
+}
@@ -0,0 +1,234 @@
+package org.infinispan.counter.impl.strong;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.infinispan.counter.api.CounterConfiguration;
+import org.infinispan.counter.api.CounterState;
+import org.infinispan.counter.api.CounterType;
+import org.infinispan.counter.impl.entries.CounterValue;
+import org.infinispan.counter.impl.function.FunctionHelper;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the values returned by the combined adds in {@link AddCombiner}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "counter.impl.strong.AddCombinerTest")
+public class AddCombinerTest extends AbstractInfinispanTest {
+
+   public void testCombinedAdds() {
+      Primary primary = new Primary(CounterConfiguration.builder(CounterType.UNBOUNDED_STRONG).initialValue(10).build());
+
+      CompletableFuture<CounterValue> first = primary.combiner.add(1);
+      primary.fillWindow();
+      List<CompletableFuture<CounterValue>> others = new ArrayList<>();
+      for (int i = 0; i < 5; ++i) {
+         others.add(primary.combiner.add(2));
+      }
+      // the adds are queued when all the updates are in-flight
+      assertEquals(AddCombiner.MAX_IN_FLIGHT, primary.inFlight.size());
+      assertFalse(first.isDone());
+
+      primary.completeNext();
+      assertEquals(11, first.join().getValue());
+      assertEquals(AddCombiner.MAX_IN_FLIGHT, primary.inFlight.size());
+      assertEquals(1, primary.combinedInvocations);
+
+      primary.completeAll();
+      long base = 10 + AddCombiner.MAX_IN_FLIGHT;
+      for (int i = 0; i < others.size(); ++i) {
+         assertEquals(base + 2 * (i + 1), others.get(i).join().getValue());
+      }
+      assertEquals(base + 10, primary.value.getValue());
+   }
+
+   public void testDifferentSignsCombinedWhenUnbounded() {
+      Primary primary = new Primary(CounterConfiguration.builder(CounterType.UNBOUNDED_STRONG).build());
+
+      primary.combiner.add(1);
+      primary.fillWindow();
+      CompletableFuture<CounterValue> add1 = primary.combiner.add(5);
+      CompletableFuture<CounterValue> add2 = primary.combiner.add(-3);
+      CompletableFuture<CounterValue> add3 = primary.combiner.add(-4);
+      CompletableFuture<CounterValue> add4 = primary.combiner.add(2);
+      assertEquals(AddCombiner.MAX_IN_FLIGHT, primary.inFlight.size());
+
+      primary.completeAll();
+      long base = AddCombiner.MAX_IN_FLIGHT;
+      assertEquals(base + 5, add1.join().getValue());
+      assertEquals(base + 2, add2.join().getValue());
+      assertEquals(base - 2, add3.join().getValue());
+      assertEquals(base, add4.join().getValue());
+      assertEquals(1, primary.combinedInvocations);
+      assertEquals(base, primary.value.getValue());
+   }
+
+   public void testDifferentSignsNotCombinedWhenBounded() {
+      Primary primary = new Primary(CounterConfiguration.builder(CounterType.BOUNDED_STRONG)
+            .lowerBound(-100)
+            .upperBound(100)
+            .build());
+
+      primary.combiner.add(1);
+      primary.fillWindow();
+      CompletableFuture<CounterValue> add1 = primary.combiner.add(5);
+      CompletableFuture<CounterValue> add2 = primary.combiner.add(-3);
+      CompletableFuture<CounterValue> add3 = primary.combiner.add(-4);
+      CompletableFuture<CounterValue> add4 = primary.combiner.add(2);
+      // the adds that cannot be combined with the queued ones are not blocked behind the in-flight updates
+      assertEquals(AddCombiner.MAX_IN_FLIGHT + 2, primary.inFlight.size());
+
+      primary.completeAll();
+      long base = AddCombiner.MAX_IN_FLIGHT;
+      assertEquals(base - 3, add2.join().getValue());
+      assertEquals(base - 7, add3.join().getValue());
+      assertEquals(base - 2, add1.join().getValue());
+      assertEquals(base, add4.join().getValue());
+      assertEquals(1, primary.combinedInvocations);
+      assertEquals(base, primary.value.getValue());
+   }
+
+   public void testDifferentSignsInFlight() {
+      Primary primary = new Primary(CounterConfiguration.builder(CounterType.UNBOUNDED_STRONG).build());
+
+      List<CompletableFuture<CounterValue>> adds = new ArrayList<>();
+      for (int i = 0; i < AddCombiner.MAX_IN_FLIGHT; ++i) {
+         adds.add(primary.combiner.add(i % 2 == 0 ? 1 : -1));
+      }
+      // the adds that cannot be combined are not serialized
+      assertEquals(AddCombiner.MAX_IN_FLIGHT, primary.inFlight.size());
+
+      primary.completeAll();
+      for (CompletableFuture<CounterValue> add : adds) {
+         assertTrue(add.isDone());
+      }
+      assertEquals(0, primary.combinedInvocations);
+      assertEquals(0, primary.value.getValue());
+   }
+
+   public void testBoundReached() {
+      Primary primary = new Primary(CounterConfiguration.builder(CounterType.BOUNDED_STRONG)
+            .initialValue(0)
+            .upperBound(AddCombiner.MAX_IN_FLIGHT + 4)
+            .build());
+
+      primary.combiner.add(1);
+      primary.fillWindow();
+      List<CompletableFuture<CounterValue>> adds = new ArrayList<>();
+      for (int i = 0; i < 6; ++i) {
+         adds.add(primary.combiner.add(1));
+      }
+      primary.completeAll();
+
+      for (int i = 0; i < 4; ++i) {
+         CounterValue value = adds.get(i).join();
+         assertEquals(CounterState.VALID, value.getState());
+         assertEquals(AddCombiner.MAX_IN_FLIGHT + 1 + i, value.getValue());
+      }
+      assertEquals(CounterState.UPPER_BOUND_REACHED, adds.get(4).join().getState());
+      assertEquals(CounterState.UPPER_BOUND_REACHED, adds.get(5).join().getState());
+      assertEquals(CounterState.UPPER_BOUND_REACHED, primary.value.getState());
+      assertEquals(AddCombiner.MAX_IN_FLIGHT + 4, primary.value.getValue());
+   }
+
+   public void testFailure() {
+      Primary primary = new Primary(CounterConfiguration.builder(CounterType.UNBOUNDED_STRONG).build());
+
+      primary.combiner.add(1);
+      primary.fillWindow();
+      CompletableFuture<CounterValue> add1 = primary.combiner.add(1);
+      CompletableFuture<CounterValue> add2 = primary.combiner.add(1);
+      // the combined update is sent after the first completes, behind the others in-flight
+      for (int i = 0; i < AddCombiner.MAX_IN_FLIGHT; ++i) {
+         primary.completeNext();
+      }
+      primary.failNext();
+      assertTrue(add1.isCompletedExceptionally());
+      assertTrue(add2.isCompletedExceptionally());
+
+      // the next adds are not blocked by the failure
+      primary.completeImmediately = true;
+      assertEquals(AddCombiner.MAX_IN_FLIGHT + 1, primary.combiner.add(1).join().getValue());
+      assertTrue(primary.inFlight.isEmpty());
+   }
+
+   /**
+    * Applies the adds like the primary owner, when the test completes them.
+    */
+   private static class Primary {
+      final CounterConfiguration configuration;
+      final AddCombiner combiner;
+      final Queue<Update> inFlight = new ArrayDeque<>();
+      CounterValue value;
+      int combinedInvocations;
+      boolean completeImmediately;
+
+      Primary(CounterConfiguration configuration) {
+         this.configuration = configuration;
+         this.value = CounterValue.newCounterValue(configuration);
+         this.combiner = new AddCombiner(configuration, delta -> update(delta, false), delta -> update(delta, true));
+      }
+
+      void fillWindow() {
+         // the first add is already in-flight
+         for (int i = 1; i < AddCombiner.MAX_IN_FLIGHT; ++i) {
+            combiner.add(1);
+         }
+      }
+
+      void completeNext() {
+         inFlight.poll().apply();
+      }
+
+      void completeAll() {
+         while (!inFlight.isEmpty()) {
+            completeNext();
+         }
+      }
+
+      void failNext() {
+         inFlight.poll().future.completeExceptionally(new RuntimeException("induced"));
+      }
+
+      private CompletionStage<CounterValue> update(long delta, boolean combined) {
+         if (combined) {
+            combinedInvocations++;
+         }
+         Update update = new Update(delta, combined);
+         if (completeImmediately) {
+            update.apply();
+         } else {
+            inFlight.add(update);
+         }
+         return update.future;
+      }
+
+      private class Update {
+         final long delta;
+         final boolean combined;
+         final CompletableFuture<CounterValue> future = new CompletableFuture<>();
+
+         Update(long delta, boolean combined) {
+            this.delta = delta;
+            this.combined = combined;
+         }
+
+         void apply() {
+            CounterValue previous = value;
+            value = FunctionHelper.add(value, configuration, delta);
+            future.complete(combined ? previous : value);
+         }
+      }
+   }
+}
@@ -22,6 +22,14 @@ public class ClusteredLockConfiguration {
          })
          .immutable()
          .build();
+   static final AttributeDefinition<Long> LEASE_TIME = AttributeDefinition.builder(Attribute.LEASE_TIME, 0L)
+         .validator(value -> {
+            if (value < 0) {
+               throw log.invalidLeaseTime(value);
+            }
+         })
+         .immutable()
+         .build();
 
    final AttributeSet attributes;
 
@@ -30,7 +38,7 @@ public class ClusteredLockConfiguration {
    }
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteredLockConfiguration.class, NAME);
+      return new AttributeSet(ClusteredLockConfiguration.class, NAME, LEASE_TIME);
    }
 
    final AttributeSet attributes() {
@@ -40,4 +48,12 @@ final AttributeSet attributes() {
    public String name() {
       return attributes.attribute(NAME).get();
    }
+
+   /**
+    * @return the time, in milliseconds, the node keeps the lock after unlocking it, to acquire it again without
+    * contacting the other nodes. {@code 0} if the lease is disabled.
+    */
+   public long leaseTime() {
+      return attributes.attribute(LEASE_TIME).get();
+   }
 }
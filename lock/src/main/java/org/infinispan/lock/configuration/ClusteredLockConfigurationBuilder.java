@@ -39,4 +39,16 @@ public ClusteredLockConfigurationBuilder name(String name) {
       attributes.attribute(ClusteredLockConfiguration.NAME).set(name);
       return this;
    }
+
+   /**
+    * Enables the lease mode when {@code leaseTime} is greater than zero.
+    * <p>
+    * After unlocking, the node keeps the lock for up to {@code leaseTime} milliseconds and grants the next lock
+    * requests from the same node without contacting the other nodes. Another node trying to acquire the lock revokes
+    * the lease: the lock is released as soon as it is unlocked in the owner node.
+    */
+   public ClusteredLockConfigurationBuilder leaseTime(long leaseTime) {
+      attributes.attribute(ClusteredLockConfiguration.LEASE_TIME).set(leaseTime);
+      return this;
+   }
 }
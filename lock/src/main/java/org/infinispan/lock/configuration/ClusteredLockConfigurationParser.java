@@ -90,6 +90,9 @@ private void parseClusteredLock(ConfigurationReader reader, ClusteredLockConfigu
             case NAME:
                builder.name(value);
                break;
+            case LEASE_TIME:
+               builder.leaseTime(Long.parseLong(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
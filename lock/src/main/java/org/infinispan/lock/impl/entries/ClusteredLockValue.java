@@ -13,6 +13,8 @@
 
 /**
  * Lock object inside the cache. Holds the lock owner, the lock request id and the status of the lock.
+ * <p>
+ * When the lock has a lease, another node sets {@link #isRevokeRequested()} to ask the owner to release it.
  *
  * @author Katia Aresti, karesti@redhat.com
  * @since 9.2
@@ -24,17 +26,28 @@ public class ClusteredLockValue {
    private final String requestId;
    private final Object owner;
    private final ClusteredLockState state;
+   private final boolean revokeRequested;
 
    public ClusteredLockValue(String requestId, Object owner, ClusteredLockState state) {
+      this(requestId, owner, state, false);
+   }
+
+   private ClusteredLockValue(String requestId, Object owner, ClusteredLockState state, boolean revokeRequested) {
       this.requestId = requestId;
       this.owner = owner;
       this.state = state;
+      this.revokeRequested = revokeRequested;
    }
 
    private ClusteredLockValue() {
-      this.requestId = null;
-      this.owner = null;
-      this.state = ClusteredLockState.RELEASED;
+      this(null, null, ClusteredLockState.RELEASED, false);
+   }
+
+   /**
+    * @return a copy of this value asking the owner to release the lock.
+    */
+   public ClusteredLockValue requestRevoke() {
+      return new ClusteredLockValue(requestId, owner, state, true);
    }
 
    public ClusteredLockState getState() {
@@ -50,12 +63,12 @@ public boolean equals(Object o) {
          return false;
       }
       ClusteredLockValue that = (ClusteredLockValue) o;
-      return Objects.equals(requestId, that.requestId) && Objects.equals(owner, that.owner) && Objects.equals(state, that.state);
+      return Objects.equals(requestId, that.requestId) && Objects.equals(owner, that.owner) && Objects.equals(state, that.state) && revokeRequested == that.revokeRequested;
    }
 
    @Override
    public int hashCode() {
-      return Objects.hash(requestId, owner, state);
+      return Objects.hash(requestId, owner, state, revokeRequested);
    }
 
    @Override
@@ -64,6 +77,7 @@ public String toString() {
             " requestId=" + requestId +
             " owner=" + owner +
             " state=" + state +
+            " revokeRequested=" + revokeRequested +
             '}';
    }
 
@@ -75,6 +89,10 @@ public Object getOwner() {
       return owner;
    }
 
+   public boolean isRevokeRequested() {
+      return revokeRequested;
+   }
+
    private static class Externalizer implements AdvancedExternalizer<ClusteredLockValue> {
 
       @Override
@@ -92,6 +110,7 @@ public void writeObject(ObjectOutput output, ClusteredLockValue object) throws I
          MarshallUtil.marshallString(object.requestId, output);
          output.writeObject(object.owner);
          MarshallUtil.marshallEnum(object.state, output);
+         output.writeBoolean(object.revokeRequested);
       }
 
       @Override
@@ -99,7 +118,8 @@ public ClusteredLockValue readObject(ObjectInput input) throws IOException, Clas
          String requestId = MarshallUtil.unmarshallString(input);
          Object owner = input.readObject();
          ClusteredLockState state = MarshallUtil.unmarshallEnum(input, ClusteredLockState::valueOf);
-         return new ClusteredLockValue(requestId, owner, state);
+         boolean revokeRequested = input.readBoolean();
+         return new ClusteredLockValue(requestId, owner, state, revokeRequested);
       }
    }
 }
@@ -20,6 +20,9 @@
 /**
  * Lock function that allows to acquire the lock by a requestor, if such action is possible. It returns {@link
  * Boolean#TRUE} when the lock is acquired and {@link Boolean#FALSE} when it is not.
+ * <p>
+ * If {@code revokeLease} is set and the lock is acquired by another node, it asks the owner to release the lock as soon
+ * as it is unlocked, instead of keeping a lease.
  *
  * @author Katia Aresti, karesti@redhat.com
  * @since 9.2
@@ -31,10 +34,16 @@ public class LockFunction implements Function<EntryView.ReadWriteEntryView<Clust
    public static final AdvancedExternalizer<LockFunction> EXTERNALIZER = new Externalizer();
    private final String requestId;
    private final Object requestor;
+   private final boolean revokeLease;
 
    public LockFunction(String requestId, Object requestor) {
+      this(requestId, requestor, false);
+   }
+
+   public LockFunction(String requestId, Object requestor, boolean revokeLease) {
       this.requestId = requestId;
       this.requestor = requestor;
+      this.revokeLease = revokeLease;
    }
 
    @Override
@@ -56,6 +65,12 @@ public Boolean apply(EntryView.ReadWriteEntryView<ClusteredLockKey, ClusteredLoc
       if (log.isTraceEnabled()) {
          log.tracef("LOCK[%s] lock not available, owned by %s %s", entryView.key().getName(), lock.getRequestId(), lock.getOwner());
       }
+      if (revokeLease && !lock.isRevokeRequested() && !requestor.equals(lock.getOwner())) {
+         entryView.set(lock.requestRevoke());
+         if (log.isTraceEnabled()) {
+            log.tracef("LOCK[%s] lease revoke requested by %s %s", entryView.key().getName(), requestId, requestor);
+         }
+      }
       return Boolean.FALSE;
    }
 
@@ -75,11 +90,12 @@ public Integer getId() {
       public void writeObject(ObjectOutput output, LockFunction object) throws IOException {
          MarshallUtil.marshallString(object.requestId, output);
          output.writeObject(object.requestor);
+         output.writeBoolean(object.revokeLease);
       }
 
       @Override
       public LockFunction readObject(ObjectInput input) throws IOException, ClassNotFoundException {
-         return new LockFunction(MarshallUtil.unmarshallString(input), input.readObject());
+         return new LockFunction(MarshallUtil.unmarshallString(input), input.readObject(), input.readBoolean());
       }
    }
 }
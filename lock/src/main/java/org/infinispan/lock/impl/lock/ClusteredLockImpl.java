@@ -6,6 +6,7 @@
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -13,6 +14,7 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.util.Util;
+import org.infinispan.commons.util.concurrent.CompletableFutures;
 import org.infinispan.functional.FunctionalMap;
 import org.infinispan.functional.impl.FunctionalMapImpl;
 import org.infinispan.functional.impl.ReadWriteMapImpl;
@@ -48,6 +50,12 @@
  * case the node</li> <li>lock method does not expire til the lock is acquired, so this can cause thread starvation in
  * the actual implementation</li> </lu>
  * <p>
+ * <h2>Lease</h2>
+ * When the lease time is greater than zero, the node keeps the lock for the lease time after it is unlocked, and the
+ * lock and unlock requests from the node are handled locally while the lease is held. A lock request from another node
+ * revokes the lease: the lock is released in the cluster as soon as it is unlocked by the owner node. Meanwhile,
+ * {@link #tryLock()} without timeout in the other nodes returns false, even if the lock is not acquired in the owner.
+ * <p>
  * <h2>Partition handling</h2>
  *
  * @author Katia Aresti, karesti@redhat.com
@@ -68,11 +76,20 @@ public class ClusteredLockImpl implements ClusteredLock {
    private final RequestExpirationScheduler requestExpirationScheduler;
    private final ClusterChangeListener clusterChangeListener;
    private final LockReleasedListener lockReleasedListener;
+   private final Lease lease;
 
    public ClusteredLockImpl(String name,
                             ClusteredLockKey lockKey,
                             AdvancedCache<ClusteredLockKey, ClusteredLockValue> clusteredLockCache,
                             EmbeddedClusteredLockManager clusteredLockManager) {
+      this(name, lockKey, clusteredLockCache, clusteredLockManager, 0);
+   }
+
+   public ClusteredLockImpl(String name,
+                            ClusteredLockKey lockKey,
+                            AdvancedCache<ClusteredLockKey, ClusteredLockValue> clusteredLockCache,
+                            EmbeddedClusteredLockManager clusteredLockManager,
+                            long leaseTime) {
       this.name = name;
       this.lockKey = lockKey;
       this.clusteredLockCache = clusteredLockCache;
@@ -83,6 +100,7 @@ public ClusteredLockImpl(String name,
       this.requestExpirationScheduler = new RequestExpirationScheduler(clusteredLockManager.getScheduledExecutorService());
       this.clusterChangeListener = new ClusterChangeListener();
       this.lockReleasedListener = new LockReleasedListener();
+      this.lease = leaseTime > 0 ? new Lease(leaseTime) : null;
       this.clusteredLockCache.getCacheManager().addListener(clusterChangeListener);
       this.clusteredLockCache.addFilteredListener(lockReleasedListener, new ClusteredLockFilter(lockKey), null,
             Util.asSet(CacheEntryModified.class, CacheEntryRemoved.class));
@@ -92,6 +110,9 @@ public void stop() {
       clusteredLockCache.removeListener(clusterChangeListener);
       clusteredLockCache.removeListener(lockReleasedListener);
       requestExpirationScheduler.clear();
+      if (lease != null) {
+         lease.stop();
+      }
    }
 
    public abstract class RequestHolder<E> {
@@ -131,6 +152,13 @@ public void handleLockResult(Boolean result, Throwable ex) {
 
       protected abstract void forceFailed();
 
+      /**
+       * Completes the request when the lock is acquired with the lease.
+       *
+       * @return false if the request was already completed
+       */
+      protected abstract boolean grantLocally();
+
    }
 
    public class LockRequestHolder extends RequestHolder<Void> {
@@ -141,7 +169,10 @@ public LockRequestHolder(Object requestor, CompletableFuture<Void> request) {
 
       @Override
       protected void handle(Boolean result) {
-         if (result) request.complete(null);
+         if (result) {
+            leaseAcquired(requestId);
+            request.complete(null);
+         }
       }
 
       @Override
@@ -149,6 +180,11 @@ protected void forceFailed() {
          request.complete(null);
       }
 
+      @Override
+      protected boolean grantLocally() {
+         return request.complete(null);
+      }
+
       @Override
       public String toString() {
          final StringBuilder sb = new StringBuilder("LockRequestHolder{");
@@ -188,16 +224,21 @@ protected void handle(Boolean result) {
             if (log.isTraceEnabled()) {
                log.tracef("LOCK[%s] Result[%b] for request %s", getName(), result, this);
             }
+            if (result) {
+               leaseAcquired(requestId);
+            }
             request.complete(result);
          } else if (result) {
             // The lock might have been acquired correctly
             if (log.isTraceEnabled()) {
                log.tracef("LOCK[%s] LockResult[%b] for %s", getName(), result, this);
             }
+            leaseAcquired(requestId);
             request.complete(true);
             requestExpirationScheduler.abortScheduling(requestId);
             Boolean tryLockRealResult = request.join();
             if (!tryLockRealResult) {
+               leaseAborted(requestId);
                // Even if we complete true just before, the lock request can be completed false just before by the scheduler.
                // This means that tryLock reached the max time waiting before the lock was actually acquired
                // In this case, even if the lock was marked as acquired in the cache, it has to be released because the call expired.
@@ -220,6 +261,13 @@ protected void forceFailed() {
          request.complete(false);
       }
 
+      @Override
+      protected boolean grantLocally() {
+         boolean granted = request.complete(true);
+         requestExpirationScheduler.abortScheduling(requestId);
+         return granted;
+      }
+
       @Override
       public String toString() {
          final StringBuilder sb = new StringBuilder("TryLockRequestHolder{");
@@ -245,6 +293,9 @@ class LockReleasedListener {
       @CacheEntryModified
       public void entryModified(CacheEntryModifiedEvent event) {
          ClusteredLockValue value = (ClusteredLockValue) event.getValue();
+         if (lease != null) {
+            lease.entryModified(value);
+         }
          if (value.getState() == ClusteredLockState.RELEASED) {
             if (log.isTraceEnabled()) {
                log.tracef("LOCK[%s] Lock has been released, %s notified", getName(), originator);
@@ -391,18 +442,26 @@ private void lock(RequestHolder<Void> requestHolder) {
       if (requestHolder == null || requestHolder.isDone())
          return;
 
+      if (lease != null && lease.lock(requestHolder, true)) {
+         return;
+      }
+
       pendingRequests.offer(requestHolder);
       if (isChangeViewUnlockInProgress()) {
          if (log.isTraceEnabled()) {
             log.tracef("LOCK[%s] View change unlock is happening in %s. Do not try to lock", getName(), originator);
          }
       } else {
-         readWriteMap.eval(lockKey, new LockFunction(requestHolder.requestId, requestHolder.requestor)).whenComplete((lockResult, ex) -> {
-            requestHolder.handleLockResult(lockResult, ex);
-         });
+         eval(requestHolder);
       }
    }
 
+   private void eval(RequestHolder<?> requestHolder) {
+      readWriteMap.eval(lockKey, new LockFunction(requestHolder.requestId, requestHolder.requestor, lease != null)).whenComplete((lockResult, ex) -> {
+         requestHolder.handleLockResult(lockResult, ex);
+      });
+   }
+
    @Override
    public CompletableFuture<Boolean> tryLock() {
       if (log.isTraceEnabled()) {
@@ -423,18 +482,19 @@ public CompletableFuture<Boolean> tryLock(long time, TimeUnit unit) {
       return tryLockRequest;
    }
 
-   private void tryLock(TryLockRequestHolder requestHolder) {
+   void tryLock(TryLockRequestHolder requestHolder) {
       if (requestHolder == null || requestHolder.isDone()) {
          return;
       }
+      if (lease != null && lease.lock(requestHolder, requestHolder.hasTimeout())) {
+         return;
+      }
       if (requestHolder.hasTimeout()) pendingRequests.offer(requestHolder);
 
       if (isChangeViewUnlockInProgress()) {
          requestHolder.handleLockResult(false, null);
       } else {
-         readWriteMap.eval(lockKey, new LockFunction(requestHolder.requestId, requestHolder.requestor)).whenComplete((lockResult, ex) -> {
-            requestHolder.handleLockResult(lockResult, ex);
-         });
+         eval(requestHolder);
       }
    }
 
@@ -443,6 +503,9 @@ public CompletableFuture<Void> unlock() {
       if (log.isTraceEnabled()) {
          log.tracef("LOCK[%s] unlock called from %s", getName(), originator);
       }
+      if (lease != null && lease.unlock()) {
+         return CompletableFutures.completedNull();
+      }
       CompletableFuture<Void> unlockRequest = new CompletableFuture<>();
 
       readWriteMap.eval(lockKey, new UnlockFunction(originator)).whenComplete((unlockResult, ex) -> {
@@ -463,6 +526,11 @@ public CompletableFuture<Boolean> isLocked() {
       if (log.isTraceEnabled()) {
          log.tracef("LOCK[%s] isLocked called from %s", getName(), originator);
       }
+      Boolean leaseLocked = lease == null ? null : lease.isLocked();
+      if (leaseLocked != null) {
+         // the lock is held by this node while the lease exists
+         return CompletableFuture.completedFuture(leaseLocked);
+      }
       CompletableFuture<Boolean> isLockedRequest = new CompletableFuture<>();
       readWriteMap.eval(lockKey, new IsLocked()).whenComplete((isLocked, ex) -> {
          if (ex == null) {
@@ -479,6 +547,10 @@ public CompletableFuture<Boolean> isLockedByMe() {
       if (log.isTraceEnabled()) {
          log.tracef("LOCK[%s] isLockedByMe called from %s", getName(), originator);
       }
+      Boolean leaseLocked = lease == null ? null : lease.isLocked();
+      if (leaseLocked != null) {
+         return CompletableFuture.completedFuture(leaseLocked);
+      }
       CompletableFuture<Boolean> isLockedByMeRequest = new CompletableFuture<>();
       readWriteMap.eval(lockKey, new IsLocked(originator)).whenComplete((isLockedByMe, ex) -> {
          if (ex == null) {
@@ -505,6 +577,198 @@ private CompletableFuture<Boolean> unlock(String requestId, Set<Object> possible
       return unlockRequest;
    }
 
+   private void leaseAcquired(String requestId) {
+      if (lease != null) {
+         lease.acquired(requestId);
+      }
+   }
+
+   private void leaseAborted(String requestId) {
+      if (lease != null) {
+         lease.aborted(requestId);
+      }
+   }
+
+   private void releaseLease(String requestId) {
+      if (log.isTraceEnabled()) {
+         log.tracef("LOCK[%s] Release lease %s from %s", getName(), requestId, originator);
+      }
+      unlock(requestId, Collections.singleton(originator)).whenComplete((unlockResult, ex) -> {
+         if (ex != null) {
+            log.error(ex, log.unlockFailed(getName(), getOriginator()));
+         }
+      });
+   }
+
+   /**
+    * The lease kept by this node after the lock is unlocked.
+    * <p>
+    * While the lease is held, the lock entry stays acquired by this node with the request id of the last acquisition in
+    * the cluster, and the lock requests from this node are granted or queued in {@link #pendingRequests} without
+    * evaluating any function. The lease is released, by unlocking the lock entry, when it expires or when another node
+    * sets {@link ClusteredLockValue#isRevokeRequested()}.
+    */
+   private class Lease {
+      private final long leaseTime;
+      // the request id of the lock entry, null if there is no lease
+      private String requestId;
+      // true if the lock is acquired by this node
+      private boolean locked;
+      // true if the lock has to be released in the cluster on the next unlock
+      private boolean revoked;
+      // the request revoked before the acquisition result is handled
+      private String revokedRequestId;
+      private ScheduledFuture<?> expiration;
+
+      Lease(long leaseTime) {
+         this.leaseTime = leaseTime;
+      }
+
+      /**
+       * @param wait if true, the request is queued when the lock is acquired by this node
+       * @return false if the request has to be sent to the lock entry
+       */
+      boolean lock(RequestHolder<?> requestHolder, boolean wait) {
+         boolean granted;
+         String grantedRequestId;
+         synchronized (this) {
+            if (requestId == null || revoked) {
+               return false;
+            }
+            grantedRequestId = requestId;
+            granted = !locked;
+            if (granted) {
+               locked = true;
+               cancelExpiration();
+            } else if (wait) {
+               pendingRequests.offer(requestHolder);
+            }
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("LOCK[%s] Lease request %s granted[%b] in %s", getName(), requestHolder, granted, originator);
+         }
+         if (!granted) {
+            requestHolder.handleLockResult(Boolean.FALSE, null);
+         } else if (!requestHolder.grantLocally() && !unlock()) {
+            // the request expired meanwhile and the lease was revoked, nobody else releases the lock entry
+            releaseLease(grantedRequestId);
+         }
+         return true;
+      }
+
+      /**
+       * Unlocks the lock in this node, passing it to the next pending request, if any.
+       *
+       * @return false if the lock has to be released in the lock entry
+       */
+      boolean unlock() {
+         while (true) {
+            RequestHolder<?> next;
+            synchronized (this) {
+               if (requestId == null) {
+                  return false;
+               }
+               if (!locked) {
+                  return true;
+               }
+               if (revoked) {
+                  clear();
+                  return false;
+               }
+               next = pendingRequests.poll();
+               while (next != null && next.isDone()) {
+                  next = pendingRequests.poll();
+               }
+               if (next == null) {
+                  locked = false;
+                  expiration = clusteredLockManager.getScheduledExecutorService()
+                        .schedule(this::expire, leaseTime, TimeUnit.MILLISECONDS);
+                  return true;
+               }
+            }
+            if (next.grantLocally()) {
+               return true;
+            }
+         }
+      }
+
+      synchronized Boolean isLocked() {
+         return requestId == null ? null : locked;
+      }
+
+      synchronized void acquired(String acquiredRequestId) {
+         cancelExpiration();
+         requestId = acquiredRequestId;
+         locked = true;
+         revoked = acquiredRequestId.equals(revokedRequestId);
+         revokedRequestId = null;
+      }
+
+      synchronized void aborted(String abortedRequestId) {
+         if (abortedRequestId.equals(requestId)) {
+            clear();
+         }
+      }
+
+      void entryModified(ClusteredLockValue value) {
+         String releaseRequestId = null;
+         synchronized (this) {
+            boolean acquiredByMe = value.getState() == ClusteredLockState.ACQUIRED && originator.equals(value.getOwner());
+            if (requestId == null) {
+               if (acquiredByMe && value.isRevokeRequested()) {
+                  revokedRequestId = value.getRequestId();
+               }
+               return;
+            }
+            if (!acquiredByMe || !requestId.equals(value.getRequestId())) {
+               // the lock entry was changed by someone else (e.g. forceRelease), the lease is no longer valid
+               releaseRequestId = locked ? null : requestId;
+               clear();
+            } else if (value.isRevokeRequested()) {
+               if (locked) {
+                  revoked = true;
+               } else {
+                  releaseRequestId = requestId;
+                  clear();
+               }
+            }
+         }
+         if (releaseRequestId != null) {
+            releaseLease(releaseRequestId);
+         }
+      }
+
+      synchronized void stop() {
+         clear();
+      }
+
+      private void expire() {
+         String releaseRequestId;
+         synchronized (this) {
+            if (requestId == null || locked) {
+               return;
+            }
+            releaseRequestId = requestId;
+            clear();
+         }
+         releaseLease(releaseRequestId);
+      }
+
+      private void clear() {
+         requestId = null;
+         locked = false;
+         revoked = false;
+         cancelExpiration();
+      }
+
+      private void cancelExpiration() {
+         if (expiration != null) {
+            expiration.cancel(false);
+            expiration = null;
+         }
+      }
+   }
+
    private String createRequestId() {
       return Util.threadLocalRandomUUID().toString();
    }
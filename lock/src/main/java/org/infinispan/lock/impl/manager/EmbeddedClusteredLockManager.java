@@ -106,7 +106,7 @@ public boolean defineLock(String name, ClusteredLockConfiguration configuration)
 
       ClusteredLockKey key = new ClusteredLockKey(ByteString.fromString(name));
       ClusteredLockValue clv = cache().putIfAbsent(key, ClusteredLockValue.INITIAL_STATE);
-      locks.putIfAbsent(name, new ClusteredLockImpl(name, key, cache, this));
+      locks.putIfAbsent(name, new ClusteredLockImpl(name, key, cache, this, leaseTime(name)));
       return clv == null;
    }
 
@@ -125,10 +125,15 @@ private ClusteredLockImpl createLock(String lockName) {
       }
       ClusteredLockKey key = new ClusteredLockKey(ByteString.fromString(lockName));
       cache().putIfAbsent(key, ClusteredLockValue.INITIAL_STATE);
-      ClusteredLockImpl lock = new ClusteredLockImpl(lockName, key, cache(), this);
+      ClusteredLockImpl lock = new ClusteredLockImpl(lockName, key, cache(), this, leaseTime(lockName));
       return lock;
    }
 
+   private long leaseTime(String lockName) {
+      org.infinispan.lock.configuration.ClusteredLockConfiguration lockConfiguration = config.locks().get(lockName);
+      return lockConfiguration == null ? 0 : lockConfiguration.leaseTime();
+   }
+
    @Override
    public ClusteredLockConfiguration getConfiguration(String name) {
       if (log.isTraceEnabled())
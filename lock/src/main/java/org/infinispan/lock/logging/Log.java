@@ -50,4 +50,7 @@ public interface Log extends BasicLogger {
 
    @Message(value = "MBean registration failed", id = 29010)
    ClusteredLockException jmxRegistrationFailed(@Cause Throwable cause);
+
+   @Message(value = "Invalid lease time. It must be higher or equal to zero but it was %s", id = 29011)
+   ClusteredLockException invalidLeaseTime(Long value);
 }
@@ -0,0 +1,137 @@
+package org.infinispan.lock;
+
+import static org.infinispan.functional.FunctionalTestUtils.await;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.lock.api.ClusteredLock;
+import org.infinispan.lock.configuration.ClusteredLockManagerConfigurationBuilder;
+import org.infinispan.lock.impl.ClusteredLockModuleLifecycle;
+import org.infinispan.lock.impl.entries.ClusteredLockKey;
+import org.infinispan.lock.impl.entries.ClusteredLockState;
+import org.infinispan.lock.impl.entries.ClusteredLockValue;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.util.ByteString;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the clustered locks with a lease.
+ *
+ * @since 15.0
+ */
+@CleanupAfterMethod
+@Test(groups = "functional", testName = "clusteredLock.ClusteredLockLeaseTest")
+public class ClusteredLockLeaseTest extends BaseClusteredLockTest {
+
+   private static final String LEASE_LOCK = "lease-lock";
+   private static final String SHORT_LEASE_LOCK = "short-lease-lock";
+
+   @Override
+   protected GlobalConfigurationBuilder configure(int nodeId) {
+      GlobalConfigurationBuilder builder = super.configure(nodeId);
+      ClusteredLockManagerConfigurationBuilder lockBuilder = builder.addModule(ClusteredLockManagerConfigurationBuilder.class);
+      lockBuilder.addClusteredLock().name(LEASE_LOCK).leaseTime(TimeUnit.MINUTES.toMillis(10));
+      lockBuilder.addClusteredLock().name(SHORT_LEASE_LOCK).leaseTime(100);
+      return builder;
+   }
+
+   public void testLockAgainWithLease() {
+      ClusteredLock lock = clusteredLockManager(0).get(LEASE_LOCK);
+
+      await(lock.lock());
+      String requestId = lockValue(LEASE_LOCK).getRequestId();
+      await(lock.unlock());
+      assertFalse(await(lock.isLocked()));
+      assertFalse(await(lock.isLockedByMe()));
+
+      // the lock entry is kept by the node
+      assertAcquiredBy(LEASE_LOCK, 0);
+
+      assertTrue(await(lock.tryLock()));
+      assertFalse(await(lock.tryLock()));
+      assertTrue(await(lock.isLockedByMe()));
+      await(lock.unlock());
+      await(lock.lock());
+      await(lock.unlock());
+      assertEquals(requestId, lockValue(LEASE_LOCK).getRequestId());
+   }
+
+   public void testPendingRequestWithLease() {
+      ClusteredLock lock = clusteredLockManager(0).get(LEASE_LOCK);
+
+      await(lock.lock());
+      CompletableFuture<Void> pendingLock = lock.lock();
+      CompletableFuture<Boolean> pendingTryLock = lock.tryLock(1, TimeUnit.MINUTES);
+      assertFalse(pendingLock.isDone());
+
+      await(lock.unlock());
+      await(pendingLock);
+      assertFalse(pendingTryLock.isDone());
+
+      await(lock.unlock());
+      assertTrue(await(pendingTryLock));
+      await(lock.unlock());
+      assertAcquiredBy(LEASE_LOCK, 0);
+   }
+
+   public void testLeaseRevoked() {
+      ClusteredLock lock0 = clusteredLockManager(0).get(LEASE_LOCK);
+      ClusteredLock lock1 = clusteredLockManager(1).get(LEASE_LOCK);
+
+      await(lock0.lock());
+      await(lock0.unlock());
+
+      // the lease is released when another node requests the lock
+      await(lock1.lock());
+      assertAcquiredBy(LEASE_LOCK, 1);
+      assertTrue(await(lock1.isLockedByMe()));
+      assertFalse(await(lock0.tryLock()));
+      await(lock1.unlock());
+
+      assertTrue(await(lock0.tryLock(1, TimeUnit.MINUTES)));
+      await(lock0.unlock());
+   }
+
+   public void testLeaseRevokedWhileLocked() {
+      ClusteredLock lock0 = clusteredLockManager(0).get(LEASE_LOCK);
+      ClusteredLock lock1 = clusteredLockManager(1).get(LEASE_LOCK);
+
+      await(lock0.lock());
+      CompletableFuture<Boolean> tryLock1 = lock1.tryLock(1, TimeUnit.MINUTES);
+      eventually(() -> lockValue(LEASE_LOCK).isRevokeRequested());
+      assertFalse(tryLock1.isDone());
+
+      // the lock is released in the cluster and not kept with the lease
+      await(lock0.unlock());
+      assertTrue(await(tryLock1));
+      assertAcquiredBy(LEASE_LOCK, 1);
+      await(lock1.unlock());
+   }
+
+   public void testLeaseExpired() {
+      ClusteredLock lock = clusteredLockManager(0).get(SHORT_LEASE_LOCK);
+
+      await(lock.lock());
+      await(lock.unlock());
+      eventually(() -> lockValue(SHORT_LEASE_LOCK).getState() == ClusteredLockState.RELEASED);
+
+      assertTrue(await(clusteredLockManager(1).get(SHORT_LEASE_LOCK).tryLock()));
+      assertAcquiredBy(SHORT_LEASE_LOCK, 1);
+   }
+
+   private void assertAcquiredBy(String lockName, int index) {
+      ClusteredLockValue value = lockValue(lockName);
+      assertEquals(ClusteredLockState.ACQUIRED, value.getState());
+      assertEquals(address(index), value.getOwner());
+   }
+
+   private ClusteredLockValue lockValue(String lockName) {
+      return this.<ClusteredLockKey, ClusteredLockValue>cache(0, ClusteredLockModuleLifecycle.CLUSTERED_LOCK_CACHE_NAME)
+            .get(new ClusteredLockKey(ByteString.fromString(lockName)));
+   }
+}
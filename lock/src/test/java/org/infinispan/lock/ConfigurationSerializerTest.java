@@ -43,6 +43,8 @@ public void testParserAvailableReliability() throws IOException {
          assertEquals(Reliability.AVAILABLE, clmConfig.reliability());
          assertTrue(clmConfig.locks().containsKey("lock1"));
          assertTrue(clmConfig.locks().containsKey("lock2"));
+         assertEquals(0, clmConfig.locks().get("lock1").leaseTime());
+         assertEquals(1000, clmConfig.locks().get("lock2").leaseTime());
       });
    }
 
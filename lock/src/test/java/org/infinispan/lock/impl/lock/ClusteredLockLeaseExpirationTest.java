@@ -0,0 +1,76 @@
+package org.infinispan.lock.impl.lock;
+
+import static org.infinispan.functional.FunctionalTestUtils.await;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.lock.BaseClusteredLockTest;
+import org.infinispan.lock.api.ClusteredLock;
+import org.infinispan.lock.configuration.ClusteredLockManagerConfigurationBuilder;
+import org.infinispan.lock.impl.ClusteredLockModuleLifecycle;
+import org.infinispan.lock.impl.entries.ClusteredLockKey;
+import org.infinispan.lock.impl.entries.ClusteredLockState;
+import org.infinispan.lock.impl.entries.ClusteredLockValue;
+import org.infinispan.util.ByteString;
+import org.testng.annotations.Test;
+
+/**
+ * Tests a lock request granted with the lease that expires while the lease is revoked.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "clusteredLock.ClusteredLockLeaseExpirationTest")
+public class ClusteredLockLeaseExpirationTest extends BaseClusteredLockTest {
+
+   private static final String LEASE_LOCK = "lease-lock";
+
+   @Override
+   protected int clusterSize() {
+      return 2;
+   }
+
+   @Override
+   protected GlobalConfigurationBuilder configure(int nodeId) {
+      GlobalConfigurationBuilder builder = super.configure(nodeId);
+      builder.addModule(ClusteredLockManagerConfigurationBuilder.class)
+            .addClusteredLock().name(LEASE_LOCK).leaseTime(TimeUnit.MINUTES.toMillis(10));
+      return builder;
+   }
+
+   public void testTryLockExpiredWhileRevoked() {
+      ClusteredLockImpl lock0 = (ClusteredLockImpl) clusteredLockManager(0).get(LEASE_LOCK);
+      ClusteredLock lock1 = clusteredLockManager(1).get(LEASE_LOCK);
+
+      await(lock0.lock());
+      await(lock0.unlock());
+      assertEquals(ClusteredLockState.ACQUIRED, lockValue().getState());
+
+      CompletableFuture<Boolean> tryLock = new CompletableFuture<>();
+      lock0.tryLock(lock0.new TryLockRequestHolder(lock0.getOriginator(), tryLock, 1, TimeUnit.MINUTES) {
+         @Override
+         protected boolean grantLocally() {
+            // the request expires and another node revokes the lease before the lock is granted locally
+            request.complete(false);
+            assertFalse(await(lock1.tryLock()));
+            assertTrue(lockValue().isRevokeRequested());
+            return super.grantLocally();
+         }
+      });
+      assertFalse(await(tryLock));
+
+      // the lock entry is released and the other node acquires it
+      assertTrue(await(lock1.tryLock(10, TimeUnit.SECONDS)));
+      assertEquals(address(1), lockValue().getOwner());
+      await(lock1.unlock());
+   }
+
+   private ClusteredLockValue lockValue() {
+      return this.<ClusteredLockKey, ClusteredLockValue>cache(0, ClusteredLockModuleLifecycle.CLUSTERED_LOCK_CACHE_NAME)
+            .get(new ClusteredLockKey(ByteString.fromString(LEASE_LOCK)));
+   }
+}
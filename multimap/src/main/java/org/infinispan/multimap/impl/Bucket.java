@@ -1,13 +1,13 @@
 package org.infinispan.multimap.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -20,6 +20,17 @@
 
 /**
  * Bucket used to store Multimap values, required as HashSet cannot be directly marshalled via ProtoStream.
+ * <p>
+ * The values are stored in pages of, at most, {@link #PAGE_SIZE} values. A bucket is immutable and the updates return
+ * a new instance which shares the unmodified pages, so adding a value copies only the last page instead of all the
+ * values. Each value has a sequence number, increasing in insertion order, and the pages before the last one are kept
+ * in a balanced tree ordered by sequence number, so the page with a given sequence number is found and replaced in
+ * {@code O(log(n / PAGE_SIZE))}. A page smaller than {@link #MIN_PAGE_SIZE} after a remove is merged with, or split
+ * again with, a neighbour page.
+ * <p>
+ * If the duplicates are not supported, a {@link HashTrieMap} from each value to its sequence number is built on the
+ * first update and shared with the new instances, to check if a value exists and to find the value to remove without
+ * iterating all the values.
  *
  * @author Ryan Emerson
  * @since 10.0
@@ -27,18 +38,45 @@
 @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_BUCKET)
 public class Bucket<V> {
 
-   final Collection<V> values;
+   static final int PAGE_SIZE = 64;
+   static final int MIN_PAGE_SIZE = PAGE_SIZE / 4;
+
+   // the pages before the tail, null if empty
+   private final Node pages;
+   // the last page, the new values are appended to it
+   private final Page tail;
+   private final int size;
+   // the sequence number of the next value added
+   private final long nextSeq;
+   // lazily created if the duplicates are not supported
+   private volatile HashTrieMap<V, Long> index;
 
    public Bucket() {
-      this.values = Collections.emptyList();
+      this(null, Page.EMPTY, 0, 0, null);
    }
 
    public Bucket(V value) {
-      this.values = Collections.singletonList(value);
+      this(null, new Page(new long[]{0}, new Object[]{value}), 1, 1, null);
+   }
+
+   private Bucket(Node pages, Page tail, int size, long nextSeq, HashTrieMap<V, Long> index) {
+      this.pages = pages;
+      this.tail = tail;
+      this.size = size;
+      this.nextSeq = nextSeq;
+      this.index = index;
    }
 
    private Bucket(List<V> values) {
-      this.values = values;
+      List<Page> fullPages = new ArrayList<>(values.size() / PAGE_SIZE);
+      int start = 0;
+      for (; start + PAGE_SIZE <= values.size(); start += PAGE_SIZE) {
+         fullPages.add(Page.of(values.subList(start, start + PAGE_SIZE), start));
+      }
+      this.pages = Node.of(fullPages, 0, fullPages.size());
+      this.tail = Page.of(values.subList(start, values.size()), start);
+      this.size = values.size();
+      this.nextSeq = values.size();
    }
 
    @ProtoFactory
@@ -48,16 +86,17 @@ private Bucket(List<V> values) {
 
    @ProtoField(number = 1, collectionImplementation = ArrayList.class)
    Collection<MarshallableUserObject<V>> getWrappedValues() {
-      return this.values.stream().map(MarshallableUserObject::new).collect(Collectors.toSet());
+      List<MarshallableUserObject<V>> wrappedValues = new ArrayList<>(size);
+      forEach(value -> wrappedValues.add(new MarshallableUserObject<>(value)));
+      return wrappedValues;
    }
 
    public boolean contains(V value) {
-      for (V v : values) {
-         if (Objects.deepEquals(v, value)) {
-            return Boolean.TRUE;
-         }
+      HashTrieMap<V, Long> index = this.index;
+      if (index != null) {
+         return index.containsKey(value);
       }
-      return Boolean.FALSE;
+      return Node.anyPage(pages, page -> page.indexOf(value) >= 0) || tail.indexOf(value) >= 0;
    }
 
    /**
@@ -65,81 +104,471 @@ public boolean contains(V value) {
     * instance.
     */
    public Bucket<V> add(V value, boolean supportsDuplicates) {
-      List<V> newBucket = new ArrayList<>(values.size() + 1);
-      for (V v : values) {
-         if (!supportsDuplicates && Objects.deepEquals(v, value)) {
+      long seq = nextSeq;
+      HashTrieMap<V, Long> newIndex = null;
+      if (!supportsDuplicates) {
+         HashTrieMap<V, Long> index = index();
+         if (index.containsKey(value)) {
             return null;
          }
-         newBucket.add(v);
+         newIndex = index.put(value, seq);
       }
-      newBucket.add(value);
-      return new Bucket<>(newBucket);
+      if (tail.size() < PAGE_SIZE) {
+         return new Bucket<>(pages, tail.append(seq, value), size + 1, seq + 1, newIndex);
+      }
+      return new Bucket<>(Node.addLast(pages, tail), new Page(new long[]{seq}, new Object[]{value}), size + 1, seq + 1,
+            newIndex);
    }
 
    public Bucket<V> remove(V value, boolean supportsDuplicates) {
-      List<V> newBucket = new ArrayList<>(values.size());
-      boolean removed = false;
-      Iterator<V> it = values.iterator();
       if (supportsDuplicates) {
-         while (it.hasNext()){
-            V v = it.next();
-            if (Objects.deepEquals(v, value)) {
-               removed = true;
-            } else {
-               newBucket.add(v);
-            }
-         }
-      }else {
-         while (it.hasNext()) {
-            V v = it.next();
-            if (Objects.deepEquals(v, value)) {
-               removed = true;
-               break;
-            }
-            newBucket.add(v);
-         }
-         //add remaining values
-         while (it.hasNext()) {
-            newBucket.add(it.next());
-         }
+         return removeIf(v -> Objects.deepEquals(v, value));
+      }
+      HashTrieMap<V, Long> index = index();
+      Long seq = index.get(value);
+      if (seq == null) {
+         return null;
       }
-      return removed ? new Bucket<>(newBucket) : null;
+      HashTrieMap<V, Long> newIndex = index.remove(value);
+      if (tail.size() > 0 && seq >= tail.firstSeq()) {
+         return new Bucket<>(pages, tail.remove(seq), size - 1, nextSeq, newIndex);
+      }
+      Page page = Node.find(pages, seq);
+      Page newPage = page.remove(seq);
+      if (newPage.size() == 0) {
+         return new Bucket<>(Node.remove(pages, page.firstSeq()), tail, size - 1, nextSeq, newIndex);
+      }
+      Node newPages = Node.replace(pages, page.firstSeq(), newPage);
+      if (newPage.size() >= MIN_PAGE_SIZE) {
+         return new Bucket<>(newPages, tail, size - 1, nextSeq, newIndex);
+      }
+      return mergeSmallPage(newPages, newPage, newIndex);
    }
 
+   @SuppressWarnings("unchecked")
    public Bucket<V> removeIf(Predicate<? super V> p) {
-      List<V> newBucket = new ArrayList<>(values.size());
-      for (V v : values) {
-         if (!p.test(v)) {
-            newBucket.add(v);
+      HashTrieMap<V, Long> index = this.index;
+      HashTrieMap<V, Long>[] newIndex = new HashTrieMap[]{index};
+      Predicate<V> removed = value -> {
+         if (!p.test(value)) {
+            return false;
+         }
+         if (index != null) {
+            newIndex[0] = newIndex[0].remove(value);
          }
+         return true;
+      };
+      // the pages without removed values are shared
+      List<Page> newPages = new ArrayList<>(Node.count(pages));
+      Node.forEachPage(pages, page -> {
+         Page newPage = page.removeIf(removed);
+         if (newPage.size() > 0) {
+            newPages.add(newPage);
+         }
+      });
+      Page newTail = tail.removeIf(removed);
+      int newSize = newTail.size();
+      for (Page page : newPages) {
+         newSize += page.size();
+      }
+      if (newSize == size) {
+         return null;
       }
-      return newBucket.size() == values.size() ? null : new Bucket<>(newBucket);
+      List<Page> mergedPages = mergeSmallPages(newPages);
+      return new Bucket<>(Node.of(mergedPages, 0, mergedPages.size()), newTail, newSize, nextSeq, newIndex[0]);
    }
 
    public boolean isEmpty() {
-      return values.isEmpty();
+      return size == 0;
    }
 
    public int size() {
-      return values.size();
+      return size;
    }
 
    /**
-    * @return a defensive copy of the {@link #values} collection.
+    * @return a defensive copy of the values.
     */
    public Set<V> toSet() {
-      return new HashSet<>(values);
+      Set<V> set = new HashSet<>(size);
+      forEach(set::add);
+      return set;
    }
 
    /**
-    * @return a defensive copy of the {@link #values} collection if the cache supports duplicates.
+    * @return a defensive copy of the values if the cache supports duplicates.
     */
    public List<V> toList() {
-      return new ArrayList<>(values);
+      List<V> list = new ArrayList<>(size);
+      forEach(list::add);
+      return list;
    }
 
    @Override
    public String toString() {
-      return "Bucket{values=" + Util.toStr(values) + '}';
+      return "Bucket{values=" + Util.toStr(toList()) + '}';
+   }
+
+   /**
+    * @return the number of pages, including the last one.
+    */
+   int pageCount() {
+      return Node.count(pages) + 1;
+   }
+
+   private void forEach(Consumer<? super V> consumer) {
+      Node.forEachPage(pages, page -> page.forEach(consumer));
+      tail.forEach(consumer);
+   }
+
+   @SuppressWarnings("unchecked")
+   private HashTrieMap<V, Long> index() {
+      HashTrieMap<V, Long> index = this.index;
+      if (index == null) {
+         HashTrieMap<V, Long>[] newIndex = new HashTrieMap[]{HashTrieMap.empty()};
+         Node.forEachPage(pages, page -> newIndex[0] = page.addTo(newIndex[0]));
+         index = tail.addTo(newIndex[0]);
+         this.index = index;
+      }
+      return index;
+   }
+
+   /**
+    * Merges {@code page}, already in {@code pages}, with its previous or next page.
+    */
+   private Bucket<V> mergeSmallPage(Node pages, Page page, HashTrieMap<V, Long> newIndex) {
+      Page previous = Node.lower(pages, page.firstSeq());
+      Page next = previous == null ? Node.higher(pages, page.firstSeq()) : null;
+      if (previous == null && next == null) {
+         // the only page before the tail
+         if (page.size() + tail.size() <= PAGE_SIZE) {
+            return new Bucket<>(null, page.concat(tail), size - 1, nextSeq, newIndex);
+         }
+         return new Bucket<>(pages, tail, size - 1, nextSeq, newIndex);
+      }
+      Page first = previous == null ? page : previous;
+      Page second = previous == null ? next : page;
+      Node newPages = Node.remove(Node.remove(pages, first.firstSeq()), second.firstSeq());
+      Page merged = first.concat(second);
+      if (merged.size() <= PAGE_SIZE) {
+         newPages = Node.insert(newPages, merged);
+      } else {
+         // both halves have more than MIN_PAGE_SIZE values
+         int half = merged.size() / 2;
+         newPages = Node.insert(Node.insert(newPages, merged.range(0, half)), merged.range(half, merged.size()));
+      }
+      return new Bucket<>(newPages, tail, size - 1, nextSeq, newIndex);
+   }
+
+   private static List<Page> mergeSmallPages(List<Page> pages) {
+      List<Page> merged = new ArrayList<>(pages.size());
+      Page pending = null;
+      for (Page page : pages) {
+         if (pending == null) {
+            pending = page;
+         } else if ((pending.size() < MIN_PAGE_SIZE || page.size() < MIN_PAGE_SIZE) &&
+               pending.size() + page.size() <= PAGE_SIZE) {
+            pending = pending.concat(page);
+         } else {
+            merged.add(pending);
+            pending = page;
+         }
+      }
+      if (pending != null) {
+         merged.add(pending);
+      }
+      return merged;
+   }
+
+   /**
+    * An immutable page of values, with their sequence numbers in increasing order.
+    */
+   private static final class Page {
+      static final Page EMPTY = new Page(new long[0], new Object[0]);
+
+      final long[] seqs;
+      final Object[] values;
+
+      Page(long[] seqs, Object[] values) {
+         this.seqs = seqs;
+         this.values = values;
+      }
+
+      static Page of(List<?> values, long firstSeq) {
+         long[] seqs = new long[values.size()];
+         for (int i = 0; i < seqs.length; ++i) {
+            seqs[i] = firstSeq + i;
+         }
+         return new Page(seqs, values.toArray());
+      }
+
+      int size() {
+         return seqs.length;
+      }
+
+      long firstSeq() {
+         return seqs[0];
+      }
+
+      long lastSeq() {
+         return seqs[seqs.length - 1];
+      }
+
+      int indexOf(Object value) {
+         for (int i = 0; i < values.length; ++i) {
+            if (Objects.deepEquals(values[i], value)) {
+               return i;
+            }
+         }
+         return -1;
+      }
+
+      Page append(long seq, Object value) {
+         long[] newSeqs = Arrays.copyOf(seqs, seqs.length + 1);
+         newSeqs[seqs.length] = seq;
+         Object[] newValues = Arrays.copyOf(values, values.length + 1);
+         newValues[values.length] = value;
+         return new Page(newSeqs, newValues);
+      }
+
+      Page remove(long seq) {
+         int position = Arrays.binarySearch(seqs, seq);
+         assert position >= 0;
+         long[] newSeqs = new long[seqs.length - 1];
+         System.arraycopy(seqs, 0, newSeqs, 0, position);
+         System.arraycopy(seqs, position + 1, newSeqs, position, seqs.length - position - 1);
+         Object[] newValues = new Object[values.length - 1];
+         System.arraycopy(values, 0, newValues, 0, position);
+         System.arraycopy(values, position + 1, newValues, position, values.length - position - 1);
+         return new Page(newSeqs, newValues);
+      }
+
+      /**
+       * @return this page if no value is removed.
+       */
+      @SuppressWarnings("unchecked")
+      <V> Page removeIf(Predicate<V> p) {
+         long[] newSeqs = null;
+         Object[] newValues = null;
+         int newSize = 0;
+         for (int i = 0; i < values.length; ++i) {
+            if (p.test((V) values[i])) {
+               if (newSeqs == null) {
+                  newSeqs = Arrays.copyOf(seqs, seqs.length - 1);
+                  newValues = Arrays.copyOf(values, values.length - 1);
+                  newSize = i;
+               }
+            } else if (newSeqs != null) {
+               newSeqs[newSize] = seqs[i];
+               newValues[newSize++] = values[i];
+            }
+         }
+         return newSeqs == null ? this : new Page(Arrays.copyOf(newSeqs, newSize), Arrays.copyOf(newValues, newSize));
+      }
+
+      Page concat(Page other) {
+         long[] newSeqs = Arrays.copyOf(seqs, seqs.length + other.seqs.length);
+         System.arraycopy(other.seqs, 0, newSeqs, seqs.length, other.seqs.length);
+         Object[] newValues = Arrays.copyOf(values, values.length + other.values.length);
+         System.arraycopy(other.values, 0, newValues, values.length, other.values.length);
+         return new Page(newSeqs, newValues);
+      }
+
+      Page range(int from, int to) {
+         return new Page(Arrays.copyOfRange(seqs, from, to), Arrays.copyOfRange(values, from, to));
+      }
+
+      @SuppressWarnings("unchecked")
+      <V> void forEach(Consumer<? super V> consumer) {
+         for (Object value : values) {
+            consumer.accept((V) value);
+         }
+      }
+
+      @SuppressWarnings("unchecked")
+      <V> HashTrieMap<V, Long> addTo(HashTrieMap<V, Long> index) {
+         for (int i = 0; i < values.length; ++i) {
+            index = index.put((V) values[i], seqs[i]);
+         }
+         return index;
+      }
+   }
+
+   /**
+    * A persistent AVL tree of non-empty pages, ordered by sequence number.
+    */
+   private static final class Node {
+      final Page page;
+      final Node left;
+      final Node right;
+      final int height;
+      final int count;
+
+      private Node(Page page, Node left, Node right) {
+         this.page = page;
+         this.left = left;
+         this.right = right;
+         this.height = Math.max(height(left), height(right)) + 1;
+         this.count = count(left) + count(right) + 1;
+      }
+
+      static int height(Node node) {
+         return node == null ? 0 : node.height;
+      }
+
+      static int count(Node node) {
+         return node == null ? 0 : node.count;
+      }
+
+      /**
+       * @return a balanced tree with the pages between {@code from} (inclusive) and {@code to} (exclusive).
+       */
+      static Node of(List<Page> pages, int from, int to) {
+         if (from == to) {
+            return null;
+         }
+         int middle = (from + to) >>> 1;
+         return new Node(pages.get(middle), of(pages, from, middle), of(pages, middle + 1, to));
+      }
+
+      static boolean anyPage(Node node, Predicate<Page> predicate) {
+         return node != null &&
+               (anyPage(node.left, predicate) || predicate.test(node.page) || anyPage(node.right, predicate));
+      }
+
+      static void forEachPage(Node node, Consumer<Page> consumer) {
+         if (node != null) {
+            forEachPage(node.left, consumer);
+            consumer.accept(node.page);
+            forEachPage(node.right, consumer);
+         }
+      }
+
+      /**
+       * @return the page containing {@code seq}, which must exist.
+       */
+      static Page find(Node node, long seq) {
+         while (true) {
+            if (seq < node.page.firstSeq()) {
+               node = node.left;
+            } else if (seq > node.page.lastSeq()) {
+               node = node.right;
+            } else {
+               return node.page;
+            }
+         }
+      }
+
+      /**
+       * @return the page before the page starting at {@code firstSeq}, or {@code null} if it is the first page.
+       */
+      static Page lower(Node node, long firstSeq) {
+         Page lower = null;
+         while (node != null) {
+            if (node.page.firstSeq() < firstSeq) {
+               lower = node.page;
+               node = node.right;
+            } else {
+               node = node.left;
+            }
+         }
+         return lower;
+      }
+
+      /**
+       * @return the page after the page starting at {@code firstSeq}, or {@code null} if it is the last page.
+       */
+      static Page higher(Node node, long firstSeq) {
+         Page higher = null;
+         while (node != null) {
+            if (node.page.firstSeq() > firstSeq) {
+               higher = node.page;
+               node = node.left;
+            } else {
+               node = node.right;
+            }
+         }
+         return higher;
+      }
+
+      static Node addLast(Node node, Page page) {
+         return node == null ?
+               new Node(page, null, null) :
+               balance(node.page, node.left, addLast(node.right, page));
+      }
+
+      static Node insert(Node node, Page page) {
+         if (node == null) {
+            return new Node(page, null, null);
+         }
+         return page.firstSeq() < node.page.firstSeq() ?
+               balance(node.page, insert(node.left, page), node.right) :
+               balance(node.page, node.left, insert(node.right, page));
+      }
+
+      /**
+       * Replaces the page starting at {@code firstSeq} with {@code page}, which must keep the order of the pages.
+       */
+      static Node replace(Node node, long firstSeq, Page page) {
+         long nodeSeq = node.page.firstSeq();
+         if (firstSeq < nodeSeq) {
+            return new Node(node.page, replace(node.left, firstSeq, page), node.right);
+         } else if (firstSeq > nodeSeq) {
+            return new Node(node.page, node.left, replace(node.right, firstSeq, page));
+         }
+         return new Node(page, node.left, node.right);
+      }
+
+      /**
+       * Removes the page starting at {@code firstSeq}, which must exist.
+       */
+      static Node remove(Node node, long firstSeq) {
+         long nodeSeq = node.page.firstSeq();
+         if (firstSeq < nodeSeq) {
+            return balance(node.page, remove(node.left, firstSeq), node.right);
+         } else if (firstSeq > nodeSeq) {
+            return balance(node.page, node.left, remove(node.right, firstSeq));
+         }
+         if (node.left == null) {
+            return node.right;
+         }
+         if (node.right == null) {
+            return node.left;
+         }
+         return balance(first(node.right), node.left, removeFirst(node.right));
+      }
+
+      private static Page first(Node node) {
+         while (node.left != null) {
+            node = node.left;
+         }
+         return node.page;
+      }
+
+      private static Node removeFirst(Node node) {
+         return node.left == null ?
+               node.right :
+               balance(node.page, removeFirst(node.left), node.right);
+      }
+
+      private static Node balance(Page page, Node left, Node right) {
+         int leftHeight = height(left);
+         int rightHeight = height(right);
+         if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+               return new Node(left.page, left.left, new Node(page, left.right, right));
+            }
+            Node pivot = left.right;
+            return new Node(pivot.page, new Node(left.page, left.left, pivot.left), new Node(page, pivot.right, right));
+         }
+         if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+               return new Node(right.page, new Node(page, left, right.left), right.right);
+            }
+            Node pivot = right.left;
+            return new Node(pivot.page, new Node(page, left, pivot.left), new Node(right.page, pivot.right, right.right));
+         }
+         return new Node(page, left, right);
+      }
    }
 }
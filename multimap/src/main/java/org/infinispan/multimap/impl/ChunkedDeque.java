@@ -0,0 +1,304 @@
+package org.infinispan.multimap.impl;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An immutable deque which stores its values in chunks.
+ * <p>
+ * The values are stored in a head chunk, a balanced tree of full chunks and a tail chunk. The head and the tail have, at
+ * most, {@link #CHUNK_SIZE} values. Adding or removing a value at either end copies the head or the tail and, when it
+ * is full or empty, moves one chunk to or from the tree in {@code O(log(n / CHUNK_SIZE))}. Since all the chunks in the
+ * tree are full, the value at any index is found in {@code O(log(n / CHUNK_SIZE))}. The updates return a new instance
+ * which shares the unmodified chunks and tree nodes with this instance.
+ *
+ * @since 15.0
+ */
+final class ChunkedDeque<V> implements Iterable<V> {
+
+   static final int CHUNK_SIZE = 32;
+   private static final Object[] EMPTY_CHUNK = new Object[0];
+   private static final ChunkedDeque<?> EMPTY = new ChunkedDeque<>(EMPTY_CHUNK, null, EMPTY_CHUNK);
+
+   private final Object[] head;
+   // the full chunks, null if empty
+   private final Node middle;
+   private final Object[] tail;
+   private final int size;
+
+   private ChunkedDeque(Object[] head, Node middle, Object[] tail) {
+      this.head = head;
+      this.middle = middle;
+      this.tail = tail;
+      this.size = head.length + Node.count(middle) * CHUNK_SIZE + tail.length;
+   }
+
+   @SuppressWarnings("unchecked")
+   static <V> ChunkedDeque<V> empty() {
+      return (ChunkedDeque<V>) EMPTY;
+   }
+
+   static <V> ChunkedDeque<V> of(List<V> values) {
+      Node middle = null;
+      int numberOfChunks = values.size() / CHUNK_SIZE;
+      for (int i = 0; i < numberOfChunks; ++i) {
+         middle = Node.addLast(middle, values.subList(i * CHUNK_SIZE, (i + 1) * CHUNK_SIZE).toArray());
+      }
+      return new ChunkedDeque<>(EMPTY_CHUNK, middle, values.subList(numberOfChunks * CHUNK_SIZE, values.size()).toArray());
+   }
+
+   int size() {
+      return size;
+   }
+
+   boolean isEmpty() {
+      return size == 0;
+   }
+
+   /**
+    * @return the value at {@code index}, which must be between 0 (inclusive) and {@link #size()} (exclusive).
+    */
+   @SuppressWarnings("unchecked")
+   V get(int index) {
+      if (index < head.length) {
+         return (V) head[index];
+      }
+      index -= head.length;
+      int middleSize = Node.count(middle) * CHUNK_SIZE;
+      if (index < middleSize) {
+         return (V) Node.get(middle, index / CHUNK_SIZE)[index % CHUNK_SIZE];
+      }
+      return (V) tail[index - middleSize];
+   }
+
+   ChunkedDeque<V> addFirst(V value) {
+      if (head.length < CHUNK_SIZE) {
+         Object[] newHead = new Object[head.length + 1];
+         newHead[0] = value;
+         System.arraycopy(head, 0, newHead, 1, head.length);
+         return new ChunkedDeque<>(newHead, middle, tail);
+      }
+      return new ChunkedDeque<>(new Object[]{value}, Node.addFirst(middle, head), tail);
+   }
+
+   ChunkedDeque<V> addLast(V value) {
+      if (tail.length < CHUNK_SIZE) {
+         Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+         newTail[tail.length] = value;
+         return new ChunkedDeque<>(head, middle, newTail);
+      }
+      return new ChunkedDeque<>(head, Node.addLast(middle, tail), new Object[]{value});
+   }
+
+   /**
+    * @return a new instance without the first {@code count} values.
+    */
+   ChunkedDeque<V> removeFirst(int count) {
+      if (count >= size) {
+         return empty();
+      }
+      if (count <= head.length) {
+         return new ChunkedDeque<>(Arrays.copyOfRange(head, count, head.length), middle, tail);
+      }
+      count -= head.length;
+      Node newMiddle = middle;
+      int chunks = Math.min(count / CHUNK_SIZE, Node.count(middle));
+      for (int i = 0; i < chunks; ++i) {
+         newMiddle = Node.removeFirst(newMiddle);
+      }
+      count -= chunks * CHUNK_SIZE;
+      if (newMiddle == null) {
+         return new ChunkedDeque<>(EMPTY_CHUNK, null, Arrays.copyOfRange(tail, count, tail.length));
+      }
+      if (count == 0) {
+         return new ChunkedDeque<>(EMPTY_CHUNK, newMiddle, tail);
+      }
+      Object[] chunk = Node.first(newMiddle);
+      return new ChunkedDeque<>(Arrays.copyOfRange(chunk, count, CHUNK_SIZE), Node.removeFirst(newMiddle), tail);
+   }
+
+   /**
+    * @return a new instance without the last {@code count} values.
+    */
+   ChunkedDeque<V> removeLast(int count) {
+      if (count >= size) {
+         return empty();
+      }
+      if (count <= tail.length) {
+         return new ChunkedDeque<>(head, middle, Arrays.copyOf(tail, tail.length - count));
+      }
+      count -= tail.length;
+      Node newMiddle = middle;
+      int chunks = Math.min(count / CHUNK_SIZE, Node.count(middle));
+      for (int i = 0; i < chunks; ++i) {
+         newMiddle = Node.removeLast(newMiddle);
+      }
+      count -= chunks * CHUNK_SIZE;
+      if (newMiddle == null) {
+         return new ChunkedDeque<>(Arrays.copyOf(head, head.length - count), null, EMPTY_CHUNK);
+      }
+      if (count == 0) {
+         return new ChunkedDeque<>(head, newMiddle, EMPTY_CHUNK);
+      }
+      Object[] chunk = Node.last(newMiddle);
+      return new ChunkedDeque<>(head, Node.removeLast(newMiddle), Arrays.copyOf(chunk, CHUNK_SIZE - count));
+   }
+
+   /**
+    * Iterates the values between {@code from} (inclusive) and {@code to} (exclusive), in order.
+    */
+   @SuppressWarnings("unchecked")
+   void forEach(int from, int to, Consumer<? super V> consumer) {
+      int index = from;
+      for (; index < to && index < head.length; ++index) {
+         consumer.accept((V) head[index]);
+      }
+      int middleEnd = head.length + Node.count(middle) * CHUNK_SIZE;
+      while (index < to && index < middleEnd) {
+         int offset = index - head.length;
+         Object[] chunk = Node.get(middle, offset / CHUNK_SIZE);
+         for (int i = offset % CHUNK_SIZE; i < CHUNK_SIZE && index < to; ++i, ++index) {
+            consumer.accept((V) chunk[i]);
+         }
+      }
+      for (; index < to; ++index) {
+         consumer.accept((V) tail[index - middleEnd]);
+      }
+   }
+
+   @Override
+   public void forEach(Consumer<? super V> consumer) {
+      forEach(0, size, consumer);
+   }
+
+   @Override
+   public Iterator<V> iterator() {
+      return new Iterator<>() {
+         int index;
+         Object[] chunk = head;
+         int offset;
+
+         @Override
+         public boolean hasNext() {
+            return index < size;
+         }
+
+         @SuppressWarnings("unchecked")
+         @Override
+         public V next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            if (offset == chunk.length) {
+               int middleIndex = index - head.length;
+               chunk = middleIndex < Node.count(middle) * CHUNK_SIZE ? Node.get(middle, middleIndex / CHUNK_SIZE) : tail;
+               offset = 0;
+            }
+            index++;
+            return (V) chunk[offset++];
+         }
+      };
+   }
+
+   /**
+    * A persistent AVL tree of chunks, ordered by position.
+    */
+   private static final class Node {
+      final Object[] chunk;
+      final Node left;
+      final Node right;
+      final int height;
+      final int count;
+
+      private Node(Object[] chunk, Node left, Node right) {
+         this.chunk = chunk;
+         this.left = left;
+         this.right = right;
+         this.height = Math.max(height(left), height(right)) + 1;
+         this.count = count(left) + count(right) + 1;
+      }
+
+      static int height(Node node) {
+         return node == null ? 0 : node.height;
+      }
+
+      static int count(Node node) {
+         return node == null ? 0 : node.count;
+      }
+
+      static Object[] get(Node node, int index) {
+         while (true) {
+            int leftCount = count(node.left);
+            if (index < leftCount) {
+               node = node.left;
+            } else if (index == leftCount) {
+               return node.chunk;
+            } else {
+               index -= leftCount + 1;
+               node = node.right;
+            }
+         }
+      }
+
+      static Object[] first(Node node) {
+         while (node.left != null) {
+            node = node.left;
+         }
+         return node.chunk;
+      }
+
+      static Object[] last(Node node) {
+         while (node.right != null) {
+            node = node.right;
+         }
+         return node.chunk;
+      }
+
+      static Node addFirst(Node node, Object[] chunk) {
+         return node == null ?
+               new Node(chunk, null, null) :
+               balance(node.chunk, addFirst(node.left, chunk), node.right);
+      }
+
+      static Node addLast(Node node, Object[] chunk) {
+         return node == null ?
+               new Node(chunk, null, null) :
+               balance(node.chunk, node.left, addLast(node.right, chunk));
+      }
+
+      static Node removeFirst(Node node) {
+         return node.left == null ?
+               node.right :
+               balance(node.chunk, removeFirst(node.left), node.right);
+      }
+
+      static Node removeLast(Node node) {
+         return node.right == null ?
+               node.left :
+               balance(node.chunk, node.left, removeLast(node.right));
+      }
+
+      private static Node balance(Object[] chunk, Node left, Node right) {
+         int leftHeight = height(left);
+         int rightHeight = height(right);
+         if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+               return new Node(left.chunk, left.left, new Node(chunk, left.right, right));
+            }
+            Node pivot = left.right;
+            return new Node(pivot.chunk, new Node(left.chunk, left.left, pivot.left), new Node(chunk, pivot.right, right));
+         }
+         if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+               return new Node(right.chunk, new Node(chunk, left, right.left), right.right);
+            }
+            Node pivot = right.left;
+            return new Node(pivot.chunk, new Node(chunk, left, pivot.left), new Node(right.chunk, pivot.right, right.right));
+         }
+         return new Node(chunk, left, right);
+      }
+   }
+}
@@ -0,0 +1,286 @@
+package org.infinispan.multimap.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable hash map based on a hash array mapped trie.
+ * <p>
+ * The updates return a new instance which shares all the nodes not in the path to the updated key, so
+ * {@link #put(Object, Object)}, {@link #remove(Object)} and {@link #get(Object)} cost {@code O(log32 n)} instead of the
+ * {@code O(n)} of a copy. The keys are compared with {@link Objects#deepEquals(Object, Object)}, like {@link Bucket}
+ * does.
+ *
+ * @since 15.0
+ */
+final class HashTrieMap<K, V> {
+
+   private static final int BITS = 5;
+   private static final int MASK = (1 << BITS) - 1;
+   private static final HashTrieMap<?, ?> EMPTY = new HashTrieMap<>(BitmapNode.EMPTY, 0);
+
+   private final Node root;
+   private final int size;
+
+   private HashTrieMap(Node root, int size) {
+      this.root = root;
+      this.size = size;
+   }
+
+   @SuppressWarnings("unchecked")
+   static <K, V> HashTrieMap<K, V> empty() {
+      return (HashTrieMap<K, V>) EMPTY;
+   }
+
+   boolean containsKey(Object key) {
+      return get(key) != null;
+   }
+
+   /**
+    * @return the value mapped to {@code key}, or {@code null} if it does not exist.
+    */
+   @SuppressWarnings("unchecked")
+   V get(Object key) {
+      Entry entry = root.get(key, hash(key), 0);
+      return entry == null ? null : (V) entry.value;
+   }
+
+   /**
+    * @return this instance if {@code key} is already mapped to {@code value}, otherwise a new instance with the mapping.
+    */
+   HashTrieMap<K, V> put(K key, V value) {
+      Objects.requireNonNull(value);
+      int hash = hash(key);
+      boolean exists = root.get(key, hash, 0) != null;
+      Node newRoot = root.put(new Entry(key, value), hash, 0);
+      if (newRoot == root) {
+         return this;
+      }
+      return new HashTrieMap<>(newRoot, exists ? size : size + 1);
+   }
+
+   /**
+    * @return this instance if {@code key} does not exist, otherwise a new instance without it.
+    */
+   HashTrieMap<K, V> remove(Object key) {
+      Node newRoot = root.remove(key, hash(key), 0);
+      if (newRoot == root) {
+         return this;
+      }
+      return size == 1 ? empty() : new HashTrieMap<>(newRoot == null ? BitmapNode.EMPTY : newRoot, size - 1);
+   }
+
+   int size() {
+      return size;
+   }
+
+   private static int hash(Object key) {
+      // consistent with Objects.deepEquals for arrays
+      return Arrays.deepHashCode(new Object[]{key});
+   }
+
+   /**
+    * Creates the node with two slots, an {@link Entry} or a node, which collided in the previous level.
+    */
+   private static Node merge(Object first, int firstHash, Object second, int secondHash, int shift) {
+      if (firstHash == secondHash) {
+         return new CollisionNode(firstHash, new Entry[]{(Entry) first, (Entry) second});
+      }
+      int firstIndex = (firstHash >>> shift) & MASK;
+      int secondIndex = (secondHash >>> shift) & MASK;
+      if (firstIndex == secondIndex) {
+         return new BitmapNode(1 << firstIndex,
+               new Object[]{merge(first, firstHash, second, secondHash, shift + BITS)});
+      }
+      return new BitmapNode((1 << firstIndex) | (1 << secondIndex), firstIndex < secondIndex ?
+            new Object[]{first, second} :
+            new Object[]{second, first});
+   }
+
+   private static final class Entry {
+      final Object key;
+      final Object value;
+
+      Entry(Object key, Object value) {
+         this.key = key;
+         this.value = value;
+      }
+
+      boolean hasKey(Object key) {
+         return Objects.deepEquals(this.key, key);
+      }
+   }
+
+   private interface Node {
+      Entry get(Object key, int hash, int shift);
+
+      Node put(Entry entry, int hash, int shift);
+
+      /**
+       * @return this node if the key does not exist or {@code null} if the node is empty after the remove.
+       */
+      Node remove(Object key, int hash, int shift);
+
+      /**
+       * @return the entry if this node contains a single entry, otherwise {@code null}.
+       */
+      Entry singleEntry();
+   }
+
+   private static final class BitmapNode implements Node {
+      static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+      // a slot contains an Entry or a Node
+      final int bitmap;
+      final Object[] slots;
+
+      BitmapNode(int bitmap, Object[] slots) {
+         this.bitmap = bitmap;
+         this.slots = slots;
+      }
+
+      @Override
+      public Entry get(Object key, int hash, int shift) {
+         int bit = 1 << ((hash >>> shift) & MASK);
+         if ((bitmap & bit) == 0) {
+            return null;
+         }
+         Object slot = slots[index(bit)];
+         if (slot instanceof Node) {
+            return ((Node) slot).get(key, hash, shift + BITS);
+         }
+         return ((Entry) slot).hasKey(key) ? (Entry) slot : null;
+      }
+
+      @Override
+      public Node put(Entry entry, int hash, int shift) {
+         int bit = 1 << ((hash >>> shift) & MASK);
+         int index = index(bit);
+         if ((bitmap & bit) == 0) {
+            Object[] newSlots = new Object[slots.length + 1];
+            System.arraycopy(slots, 0, newSlots, 0, index);
+            newSlots[index] = entry;
+            System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+            return new BitmapNode(bitmap | bit, newSlots);
+         }
+         Object slot = slots[index];
+         Object newSlot;
+         if (slot instanceof Node) {
+            newSlot = ((Node) slot).put(entry, hash, shift + BITS);
+         } else if (((Entry) slot).hasKey(entry.key)) {
+            if (Objects.equals(((Entry) slot).value, entry.value)) {
+               return this;
+            }
+            newSlot = entry;
+         } else {
+            newSlot = merge(slot, hash(((Entry) slot).key), entry, hash, shift + BITS);
+         }
+         return newSlot == slot ? this : replace(index, newSlot);
+      }
+
+      @Override
+      public Node remove(Object key, int hash, int shift) {
+         int bit = 1 << ((hash >>> shift) & MASK);
+         if ((bitmap & bit) == 0) {
+            return this;
+         }
+         int index = index(bit);
+         Object slot = slots[index];
+         if (slot instanceof Node) {
+            Node newNode = ((Node) slot).remove(key, hash, shift + BITS);
+            if (newNode == slot) {
+               return this;
+            }
+            if (newNode != null) {
+               Entry single = newNode.singleEntry();
+               return replace(index, single == null ? newNode : single);
+            }
+         } else if (!((Entry) slot).hasKey(key)) {
+            return this;
+         }
+         if (slots.length == 1) {
+            return null;
+         }
+         Object[] newSlots = new Object[slots.length - 1];
+         System.arraycopy(slots, 0, newSlots, 0, index);
+         System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+         return new BitmapNode(bitmap & ~bit, newSlots);
+      }
+
+      @Override
+      public Entry singleEntry() {
+         return slots.length == 1 && slots[0] instanceof Entry ? (Entry) slots[0] : null;
+      }
+
+      private int index(int bit) {
+         return Integer.bitCount(bitmap & (bit - 1));
+      }
+
+      private BitmapNode replace(int index, Object slot) {
+         Object[] newSlots = slots.clone();
+         newSlots[index] = slot;
+         return new BitmapNode(bitmap, newSlots);
+      }
+   }
+
+   private static final class CollisionNode implements Node {
+      final int hash;
+      final Entry[] entries;
+
+      CollisionNode(int hash, Entry[] entries) {
+         this.hash = hash;
+         this.entries = entries;
+      }
+
+      @Override
+      public Entry get(Object key, int hash, int shift) {
+         int index = this.hash == hash ? indexOf(key) : -1;
+         return index < 0 ? null : entries[index];
+      }
+
+      @Override
+      public Node put(Entry entry, int hash, int shift) {
+         if (this.hash != hash) {
+            return merge(this, this.hash, entry, hash, shift);
+         }
+         int index = indexOf(entry.key);
+         if (index >= 0) {
+            if (Objects.equals(entries[index].value, entry.value)) {
+               return this;
+            }
+            Entry[] newEntries = entries.clone();
+            newEntries[index] = entry;
+            return new CollisionNode(hash, newEntries);
+         }
+         Entry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+         newEntries[entries.length] = entry;
+         return new CollisionNode(hash, newEntries);
+      }
+
+      @Override
+      public Node remove(Object key, int hash, int shift) {
+         int index = this.hash == hash ? indexOf(key) : -1;
+         if (index < 0) {
+            return this;
+         }
+         Entry[] newEntries = new Entry[entries.length - 1];
+         System.arraycopy(entries, 0, newEntries, 0, index);
+         System.arraycopy(entries, index + 1, newEntries, index, entries.length - index - 1);
+         return new CollisionNode(hash, newEntries);
+      }
+
+      @Override
+      public Entry singleEntry() {
+         return entries.length == 1 ? entries[0] : null;
+      }
+
+      private int indexOf(Object key) {
+         for (int i = 0; i < entries.length; ++i) {
+            if (entries[i].hasKey(key)) {
+               return i;
+            }
+         }
+         return -1;
+      }
+   }
+}
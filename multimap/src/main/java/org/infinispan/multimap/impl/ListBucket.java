@@ -12,13 +12,15 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
  * Bucket used to store ListMultimap values.
+ * <p>
+ * The values are stored in a {@link ChunkedDeque}. The bucket is immutable and the updates return a new instance which
+ * shares most of the values with this instance.
  *
  * @author Katia Aresti
  * @since 15.0
@@ -26,19 +28,17 @@
 @ProtoTypeId(ProtoStreamTypeIds.MULTIMAP_LIST_BUCKET)
 public class ListBucket<V> {
 
-   final Deque<V> values;
+   final ChunkedDeque<V> values;
 
    public ListBucket() {
-      this.values = new ArrayDeque<>(0);
+      this.values = ChunkedDeque.empty();
    }
 
    public ListBucket(V value) {
-      Deque<V> deque = new ArrayDeque<>(1);
-      deque.add(value);
-      this.values = deque;
+      this.values = ChunkedDeque.<V>empty().addLast(value);
    }
 
-   private ListBucket(Deque<V> values) {
+   private ListBucket(ChunkedDeque<V> values) {
       this.values = values;
    }
 
@@ -48,13 +48,14 @@ public static <V> ListBucket<V> create(V value) {
 
    @ProtoFactory
    ListBucket(Collection<MarshallableUserObject<V>> wrappedValues) {
-      this((Deque<V>) wrappedValues.stream().map(MarshallableUserObject::get)
-            .collect(Collectors.toCollection(ArrayDeque::new)));
+      this(ChunkedDeque.of(wrappedValues.stream().map(MarshallableUserObject::get).collect(Collectors.toList())));
    }
 
    @ProtoField(number = 1, collectionImplementation = ArrayList.class)
    Collection<MarshallableUserObject<V>> getWrappedValues() {
-      return this.values.stream().map(MarshallableUserObject::new).collect(Collectors.toCollection(ArrayDeque::new));
+      List<MarshallableUserObject<V>> wrappedValues = new ArrayList<>(values.size());
+      values.forEach(value -> wrappedValues.add(new MarshallableUserObject<>(value)));
+      return wrappedValues;
    }
 
    public boolean contains(V value) {
@@ -78,23 +79,18 @@ public int size() {
     * @return a defensive copy of the {@link #values} collection.
     */
    public Deque<V> toDeque() {
-      return new ArrayDeque<>(values);
+      Deque<V> deque = new ArrayDeque<>(values.size());
+      values.forEach(deque::add);
+      return deque;
    }
 
    @Override
    public String toString() {
-      return "ListBucket{values=" + Util.toStr(values) + '}';
+      return "ListBucket{values=" + Util.toStr(toDeque()) + '}';
    }
 
    public ListBucket<V> offer(V value, boolean first) {
-      Deque<V> newBucket = new ArrayDeque<>(values);
-      if (first) {
-         newBucket.offerFirst(value);
-      } else {
-         newBucket.offerLast(value);
-      }
-
-      return new ListBucket<>(newBucket);
+      return new ListBucket<>(first ? values.addFirst(value) : values.addLast(value));
    }
 
    public Collection<V> sublist(long from, long to) {
@@ -115,25 +111,13 @@ public Collection<V> sublist(long from, long to) {
          return Collections.emptyList();
       }
 
-      List<V> result = new ArrayList<>();
-      long fromIte = from < 0 ? values.size() + from : from;
-      long toIte = to < 0 ? values.size() + to : to;
-
-      Iterator<V> ite = values.iterator();
-      int offset = 0;
-      while (ite.hasNext()) {
-         V element = ite.next();
-         if (offset < fromIte){
-            offset++;
-            continue;
-         }
-         if (offset > toIte){
-            break;
-         }
-
-         result.add(element);
-         offset++;
+      long fromIte = Math.max(from < 0 ? values.size() + from : from, 0);
+      long toIte = Math.min(to < 0 ? values.size() + to : to, values.size() - 1);
+      if (fromIte > toIte) {
+         return new ArrayList<>();
       }
+      List<V> result = new ArrayList<>((int) (toIte - fromIte + 1));
+      values.forEach((int) fromIte, (int) toIte + 1, result::add);
       return result;
    }
 
@@ -154,61 +138,23 @@ public Collection<V> opResult() {
       }
    }
    public ListBucketResult poll(boolean first, long count) {
-      List<V> polledValues = new ArrayList<>();
-      if (count >= values.size()) {
-         if (first) {
-            polledValues.addAll(values);
-         } else {
-            Iterator<V> ite = values.descendingIterator();
-            while(ite.hasNext()) {
-               polledValues.add(ite.next());
-            }
-         }
-         return new ListBucketResult(polledValues, new ListBucket<>());
-      }
-
-      Deque<V> valuesCopy = new ArrayDeque<>(values);
-      for (int i = 0 ; i < count; i++) {
-         if (first) {
-            polledValues.add(valuesCopy.pollFirst());
-         } else {
-            polledValues.add(valuesCopy.pollLast());
-         }
+      int polled = (int) Math.min(count, values.size());
+      List<V> polledValues = new ArrayList<>(polled);
+      if (first) {
+         values.forEach(0, polled, polledValues::add);
+         return new ListBucketResult(polledValues, new ListBucket<>(values.removeFirst(polled)));
       }
-      return new ListBucketResult(polledValues, new ListBucket<>(valuesCopy));
+      values.forEach(values.size() - polled, values.size(), polledValues::add);
+      Collections.reverse(polledValues);
+      return new ListBucketResult(polledValues, new ListBucket<>(values.removeLast(polled)));
    }
 
    public V index(long index) {
-      if (index == 0) {
-         return values.element();
+      long position = index < 0 ? values.size() + index : index;
+      if (position < 0 || position >= values.size()) {
+         return null;
       }
-      if (index == values.size() - 1) {
-         return values.getLast();
-      }
-      V result = null;
-      if (index > 0) {
-         if (index >= values.size()) {
-            return null;
-         }
-
-         Iterator<V> iterator = values.iterator();
-         int currentIndex = 0;
-         while (currentIndex++ <= index) {
-            result = iterator.next();
-         }
-      } else {
-         long currentIndex = Math.abs(index);
-         if (currentIndex > values.size()) {
-            return null;
-         }
-
-         Iterator<V> iterator = values.descendingIterator();
-         while (currentIndex-- > 0) {
-            result = iterator.next();
-         }
-      }
-
-      return result;
+      return values.get((int) position);
    }
 
 }
@@ -0,0 +1,178 @@
+package org.infinispan.multimap.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.infinispan.marshall.protostream.impl.MarshallableUserObject;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the paged {@link Bucket} and its {@link HashTrieMap} index.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "multimap.BucketTest")
+public class BucketTest extends AbstractInfinispanTest {
+
+   private static final int NUM_VALUES = Bucket.PAGE_SIZE * 10 + 7;
+
+   public void testAddAndRemoveWithoutDuplicates() {
+      Bucket<String> bucket = new Bucket<>();
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         bucket = bucket.add("value-" + i, false);
+         expected.add("value-" + i);
+      }
+      assertNull(bucket.add("value-0", false));
+      assertNull(bucket.add("value-" + (NUM_VALUES - 1), false));
+      assertEquals(NUM_VALUES, bucket.size());
+      assertEquals(expected, bucket.toList());
+
+      Bucket<String> previous = bucket;
+      for (int i = 0; i < NUM_VALUES; i += 3) {
+         bucket = bucket.remove("value-" + i, false);
+         expected.remove("value-" + i);
+         assertFalse(bucket.contains("value-" + i));
+      }
+      assertNull(bucket.remove("value-0", false));
+      assertEquals(expected, bucket.toList());
+      assertEquals(expected.size(), bucket.size());
+
+      // the previous instance is not modified
+      assertEquals(NUM_VALUES, previous.size());
+      assertTrue(previous.contains("value-0"));
+   }
+
+   public void testAddAndRemoveWithDuplicates() {
+      Bucket<String> bucket = new Bucket<>();
+      int occurrences = 0;
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         bucket = bucket.add("value-" + (i % 10), true);
+         if (i % 10 == 1) {
+            occurrences++;
+         }
+      }
+      assertEquals(NUM_VALUES, bucket.size());
+      assertEquals(10, bucket.toSet().size());
+
+      bucket = bucket.remove("value-1", true);
+      assertFalse(bucket.contains("value-1"));
+      assertEquals(NUM_VALUES - occurrences, bucket.size());
+      assertNull(bucket.remove("value-1", true));
+   }
+
+   public void testSmallPagesAreMerged() {
+      Bucket<String> bucket = new Bucket<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         bucket = bucket.add("value-" + i, false);
+      }
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         if (i % 8 == 0) {
+            expected.add("value-" + i);
+         } else {
+            bucket = bucket.remove("value-" + i, false);
+         }
+      }
+      assertEquals(expected, bucket.toList());
+      // the pages have, at least, MIN_PAGE_SIZE values, except the tail and one page next to a full page
+      assertTrue(bucket.pageCount() <= expected.size() / Bucket.MIN_PAGE_SIZE + 2);
+
+      bucket = bucket.add("value-1", false);
+      expected.add("value-1");
+      assertEquals(expected, bucket.toList());
+   }
+
+   public void testRemoveIfKeepsIndex() {
+      Bucket<String> bucket = new Bucket<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         bucket = bucket.add("value-" + i, false);
+      }
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         if (i % 3 != 0) {
+            expected.add("value-" + i);
+         }
+      }
+      bucket = bucket.removeIf(v -> Integer.parseInt(v.substring(6)) % 3 == 0);
+      assertEquals(expected, bucket.toList());
+      assertTrue(bucket.pageCount() <= expected.size() / Bucket.MIN_PAGE_SIZE + 2);
+      assertFalse(bucket.contains("value-0"));
+      assertNull(bucket.remove("value-0", false));
+      assertNull(bucket.add("value-1", false));
+
+      bucket = bucket.remove("value-1", false);
+      bucket = bucket.add("value-0", false);
+      expected.remove("value-1");
+      expected.add("value-0");
+      assertEquals(expected, bucket.toList());
+      assertNull(bucket.removeIf(v -> false));
+   }
+
+   public void testArrayValues() {
+      Bucket<byte[]> bucket = new Bucket<>(new byte[]{1, 2});
+      assertNull(bucket.add(new byte[]{1, 2}, false));
+      bucket = bucket.add(new byte[]{1, 3}, false);
+      assertTrue(bucket.contains(new byte[]{1, 3}));
+      bucket = bucket.remove(new byte[]{1, 2}, false);
+      assertEquals(1, bucket.size());
+   }
+
+   public void testMarshalledValuesKeepDuplicates() {
+      Bucket<String> bucket = new Bucket<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         bucket = bucket.add("value", true);
+      }
+      Bucket<String> copy = new Bucket<>(bucket.getWrappedValues());
+      assertEquals(NUM_VALUES, copy.size());
+      assertEquals(bucket.toList(), copy.toList());
+      assertEquals(bucket.toList(), copy.getWrappedValues().stream()
+            .map(MarshallableUserObject::get)
+            .collect(Collectors.toList()));
+   }
+
+   public void testHashCollisions() {
+      HashTrieMap<CollidingValue, Integer> map = HashTrieMap.empty();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         map = map.put(new CollidingValue(i), i);
+      }
+      assertEquals(NUM_VALUES, map.size());
+      assertSame(map, map.put(new CollidingValue(0), 0));
+      assertEquals(NUM_VALUES, map.put(new CollidingValue(0), -1).size());
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         assertEquals(Integer.valueOf(i), map.get(new CollidingValue(i)));
+      }
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         map = map.remove(new CollidingValue(i));
+         assertFalse(map.containsKey(new CollidingValue(i)));
+      }
+      assertEquals(0, map.size());
+   }
+
+   private static class CollidingValue {
+      final int id;
+
+      CollidingValue(int id) {
+         this.id = id;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         return o instanceof CollidingValue && ((CollidingValue) o).id == id;
+      }
+
+      @Override
+      public int hashCode() {
+         // few distinct hashes
+         return id % 7;
+      }
+   }
+}
@@ -0,0 +1,95 @@
+package org.infinispan.multimap.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link ListBucket} operations on lists with multiple {@link ChunkedDeque} chunks.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "multimap.ListBucketTest")
+public class ListBucketTest extends AbstractInfinispanTest {
+
+   private static final int NUM_VALUES = ChunkedDeque.CHUNK_SIZE * 20 + 5;
+
+   public void testOfferAndIndex() {
+      ListBucket<Integer> bucket = new ListBucket<>();
+      List<Integer> expected = new ArrayList<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         if (i % 3 == 0) {
+            bucket = bucket.offer(i, true);
+            expected.add(0, i);
+         } else {
+            bucket = bucket.offer(i, false);
+            expected.add(i);
+         }
+      }
+      assertEquals(NUM_VALUES, bucket.size());
+      assertEquals(expected, new ArrayList<>(bucket.toDeque()));
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         assertEquals(expected.get(i), bucket.index(i));
+         assertEquals(expected.get(NUM_VALUES - i - 1), bucket.index(-i - 1));
+      }
+      assertNull(bucket.index(NUM_VALUES));
+      assertNull(bucket.index(-NUM_VALUES - 1));
+      assertTrue(bucket.contains(NUM_VALUES - 1));
+   }
+
+   public void testSublist() {
+      ListBucket<Integer> bucket = create();
+      assertEquals(range(0, NUM_VALUES), bucket.sublist(0, -1));
+      assertEquals(range(40, 101), bucket.sublist(40, 100));
+      assertEquals(range(NUM_VALUES - 70, NUM_VALUES - 9), bucket.sublist(-70, -10));
+      assertEquals(range(NUM_VALUES - 3, NUM_VALUES), bucket.sublist(-3, NUM_VALUES + 10));
+      assertEquals(range(0, 3), bucket.sublist(-NUM_VALUES - 10, 2));
+      assertEquals(Collections.singletonList(7), bucket.sublist(7, 7));
+      assertTrue(bucket.sublist(100, 40).isEmpty());
+      assertTrue(bucket.sublist(NUM_VALUES, NUM_VALUES + 10).isEmpty());
+   }
+
+   public void testPoll() {
+      ListBucket<Integer> bucket = create();
+      ListBucket<Integer>.ListBucketResult result = bucket.poll(true, 100);
+      assertEquals(range(0, 100), result.opResult());
+      assertEquals(NUM_VALUES - 100, result.bucketValue().size());
+      assertEquals(100, (int) result.bucketValue().index(0));
+
+      List<Integer> expectedLast = range(NUM_VALUES - 75, NUM_VALUES);
+      Collections.reverse(expectedLast);
+      result = result.bucketValue().poll(false, 75);
+      assertEquals(expectedLast, result.opResult());
+      assertEquals(range(100, NUM_VALUES - 75), new ArrayList<>(result.bucketValue().toDeque()));
+
+      result = result.bucketValue().poll(true, NUM_VALUES);
+      assertEquals(range(100, NUM_VALUES - 75), result.opResult());
+      assertTrue(result.bucketValue().isEmpty());
+
+      // the original bucket is not modified
+      assertEquals(range(0, NUM_VALUES), new ArrayList<>(bucket.toDeque()));
+   }
+
+   private static ListBucket<Integer> create() {
+      ListBucket<Integer> bucket = new ListBucket<>();
+      for (int i = 0; i < NUM_VALUES; ++i) {
+         bucket = bucket.offer(i, false);
+      }
+      return bucket;
+   }
+
+   private static List<Integer> range(int from, int to) {
+      List<Integer> list = new ArrayList<>(to - from);
+      for (int i = from; i < to; ++i) {
+         list.add(i);
+      }
+      return list;
+   }
+}
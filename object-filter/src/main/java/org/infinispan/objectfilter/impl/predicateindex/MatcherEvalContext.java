@@ -1,12 +1,15 @@
 package org.infinispan.objectfilter.impl.predicateindex;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.infinispan.objectfilter.impl.FilterRegistry;
 import org.infinispan.objectfilter.impl.FilterSubscriptionImpl;
-import org.infinispan.objectfilter.impl.predicateindex.be.BETree;
 
 /**
  * Stores processing state during the matching process of all filters registered with a Matcher.
@@ -20,6 +23,11 @@
  */
 public abstract class MatcherEvalContext<TypeMetadata, AttributeMetadata, AttributeId extends Comparable<AttributeId>> {
 
+   /**
+    * The subscribers are notified in the order the filters were registered.
+    */
+   private static final Comparator<FilterSubscriptionImpl> REGISTRATION_ORDER = Comparator.comparingInt(s -> s.index);
+
    protected AttributeNode<AttributeMetadata, AttributeId> rootNode;
 
    /**
@@ -38,11 +46,13 @@
    private FilterEvalContext singleFilterContext;
 
    /**
-    * Each filter subscription has its own evaluation context, created on demand.
+    * Each filter subscription has its own evaluation context, created on demand. Only the filters having a predicate or
+    * a projection touched by the instance get one, so the cost of matching does not depend on the number of filters
+    * that are not concerned.
     */
-   private FilterEvalContext[] filterContexts;
+   private Map<FilterSubscriptionImpl, FilterEvalContext> filterContexts;
 
-   private List<FilterSubscriptionImpl> filterSubscriptions;
+   private List<FilterSubscriptionImpl> tautologies;
 
    private Map<Predicate<?>, Counter> suspendedPredicateSubscriptionCounts;
 
@@ -76,8 +86,8 @@ public Object getEventType() {
    public void initMultiFilterContext(FilterRegistry<TypeMetadata, AttributeMetadata, AttributeId> filterRegistry) {
       rootNode = filterRegistry.getPredicateIndex().getRoot();
       suspendedPredicateSubscriptionCounts = new HashMap<>();
-      filterSubscriptions = filterRegistry.getFilterSubscriptions();
-      filterContexts = new FilterEvalContext[filterRegistry.getFilterSubscriptions().size()];
+      tautologies = filterRegistry.getTautologies();
+      filterContexts = new HashMap<>();
    }
 
    public FilterEvalContext initSingleFilterContext(FilterSubscriptionImpl filterSubscription) {
@@ -94,10 +104,10 @@ public FilterEvalContext getFilterEvalContext(FilterSubscriptionImpl filterSubsc
          return singleFilterContext;
       }
 
-      FilterEvalContext filterEvalContext = filterContexts[filterSubscription.index];
+      FilterEvalContext filterEvalContext = filterContexts.get(filterSubscription);
       if (filterEvalContext == null) {
          filterEvalContext = new FilterEvalContext(this, filterSubscription);
-         filterContexts[filterSubscription.index] = filterEvalContext;
+         filterContexts.put(filterSubscription, filterEvalContext);
       }
       return filterEvalContext;
    }
@@ -133,18 +143,11 @@ public void notifySubscribers() {
          return;
       }
 
-      for (int i = 0; i < filterContexts.length; i++) {
-         FilterSubscriptionImpl s = filterSubscriptions.get(i);
-         FilterEvalContext filterEvalContext = filterContexts[i];
-         if (filterEvalContext == null) {
-            if (s.getBETree().getChildCounters()[0] == BETree.EXPR_TRUE) {
-               // this filter is a tautology and since its FilterEvalContext was never activated that means it also does not have projections
-               filterEvalContext = new FilterEvalContext(this, s);
-               filterContexts[i] = filterEvalContext;
-            } else {
-               continue;
-            }
-         }
+      activateTautologies();
+      FilterSubscriptionImpl[] activated = filterContexts.keySet().toArray(new FilterSubscriptionImpl[0]);
+      Arrays.sort(activated, REGISTRATION_ORDER);
+      for (FilterSubscriptionImpl s : activated) {
+         FilterEvalContext filterEvalContext = filterContexts.get(s);
          if (filterEvalContext.isMatching()) {
             s.getCallback().onFilterResult(userContext, eventType, instance, filterEvalContext.getProjection(), filterEvalContext.getSortProjection());
          }
@@ -156,25 +159,18 @@ public void notifyDeltaSubscribers(MatcherEvalContext other, Object joiningEvent
          throw new AssertionError("Single filters contexts do not support delta matching.");
       }
 
-      for (int i = 0; i < filterContexts.length; i++) {
-         FilterSubscriptionImpl s = filterSubscriptions.get(i);
+      activateTautologies();
+      Set<FilterSubscriptionImpl> activatedSet = new HashSet<>(filterContexts.keySet());
+      if (other != null) {
+         other.activateTautologies();
+         activatedSet.addAll(other.filterContexts.keySet());
+      }
+      FilterSubscriptionImpl[] activated = activatedSet.toArray(new FilterSubscriptionImpl[0]);
+      Arrays.sort(activated, REGISTRATION_ORDER);
 
-         FilterEvalContext filterEvalContext1 = filterContexts[i];
-         if (filterEvalContext1 == null && s.getBETree().getChildCounters()[0] == BETree.EXPR_TRUE) {
-            // this filter is a tautology and since its FilterEvalContext was never activated that means it also does not have projections
-            filterEvalContext1 = new FilterEvalContext(this, s);
-            filterContexts[i] = filterEvalContext1;
-         }
-
-         FilterEvalContext filterEvalContext2 = null;
-         if (other != null) {
-            filterEvalContext2 = other.filterContexts[i];
-            if (filterEvalContext2 == null && s.getBETree().getChildCounters()[0] == BETree.EXPR_TRUE) {
-               // this filter is a tautology and since its FilterEvalContext was never activated that means it also does not have projections
-               filterEvalContext2 = new FilterEvalContext(other, s);
-               other.filterContexts[i] = filterEvalContext2;
-            }
-         }
+      for (FilterSubscriptionImpl s : activated) {
+         FilterEvalContext filterEvalContext1 = filterContexts.get(s);
+         FilterEvalContext filterEvalContext2 = other != null ? (FilterEvalContext) other.filterContexts.get(s) : null;
 
          boolean before = filterEvalContext1 != null && filterEvalContext1.isMatching();
          boolean after = filterEvalContext2 != null && filterEvalContext2.isMatching();
@@ -189,6 +185,15 @@ public void notifyDeltaSubscribers(MatcherEvalContext other, Object joiningEvent
       }
    }
 
+   /**
+    * The filters that are a tautology are never activated during matching, unless they have projections.
+    */
+   private void activateTautologies() {
+      for (int i = 0; i < tautologies.size(); i++) {
+         getFilterEvalContext(tautologies.get(i));
+      }
+   }
+
    protected abstract void processAttributes(AttributeNode<AttributeMetadata, AttributeId> node, Object instance);
 
    private static final class Counter {
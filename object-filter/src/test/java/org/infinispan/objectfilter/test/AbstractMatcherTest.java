@@ -334,6 +334,39 @@ public void testFilterInterference() throws Exception {
       assertEquals(1, matchCount[1]);
    }
 
+   @Test
+   public void testManyFilters() throws Exception {
+      Matcher matcher = createMatcher();
+
+      List<Integer> matched = new ArrayList<>();
+      List<FilterSubscription> filterSubscriptions = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         int id = i;
+         String queryString;
+         if (i % 10 == 0) {
+            queryString = "from org.infinispan.objectfilter.test.model.Person p where p.name != 'Cat'";
+         } else if (i % 10 == 1) {
+            queryString = "from org.infinispan.objectfilter.test.model.Person";
+         } else {
+            queryString = "from org.infinispan.objectfilter.test.model.Person p where p.age = " + i;
+         }
+         filterSubscriptions.add(matcher.registerFilter(queryString, (userContext, eventType, instance, projection, sortProjection) -> matched.add(id)));
+      }
+
+      matcher.match(null, null, createPerson1());
+      assertEquals(Arrays.asList(0, 1, 10, 11, 20, 21, 30, 31, 40, 41, 50, 51, 60, 61, 70, 71, 80, 81, 90, 91), matched);
+
+      matched.clear();
+      matcher.match(null, null, createPerson2());
+      assertEquals(Arrays.asList(1, 11, 21, 27, 31, 41, 51, 61, 71, 81, 91), matched);
+
+      matcher.unregisterFilter(filterSubscriptions.get(1));
+      matcher.unregisterFilter(filterSubscriptions.get(27));
+      matched.clear();
+      matcher.match(null, null, createPerson2());
+      assertEquals(Arrays.asList(11, 21, 31, 41, 51, 61, 71, 81, 91), matched);
+   }
+
    @Test
    public void testOrderBy() throws Exception {
       Matcher matcher = createMatcher();
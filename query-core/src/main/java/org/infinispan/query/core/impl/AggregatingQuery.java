@@ -32,12 +32,28 @@
 
    private final boolean twoPhaseAcc;
 
+   /**
+    * Not null if the grouping and aggregation can be executed by the owners of the data.
+    */
+   private final PartialAggregation partialAggregation;
+
    public AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
                            String queryString, Map<String, Object> namedParameters,
                            int noOfGroupingColumns, List<FieldAccumulator> accumulators, boolean twoPhaseAcc,
                            ObjectFilter objectFilter,
                            long startOffset, int maxResults,
                            BaseQuery<?> baseQuery, LocalQueryStatistics queryStatistics, boolean local) {
+      this(queryFactory, cache, queryString, namedParameters, noOfGroupingColumns, accumulators, twoPhaseAcc, objectFilter,
+            startOffset, maxResults, baseQuery, null, queryStatistics, local);
+   }
+
+   public AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
+                           String queryString, Map<String, Object> namedParameters,
+                           int noOfGroupingColumns, List<FieldAccumulator> accumulators, boolean twoPhaseAcc,
+                           ObjectFilter objectFilter,
+                           long startOffset, int maxResults,
+                           BaseQuery<?> baseQuery, PartialAggregation partialAggregation,
+                           LocalQueryStatistics queryStatistics, boolean local) {
       super(queryFactory, cache, queryString, IckleParsingResult.StatementType.SELECT, namedParameters, objectFilter, startOffset, maxResults, baseQuery, queryStatistics, local);
       if (!baseQuery.hasProjections()) {
          throw new IllegalArgumentException("Base query must use projections");
@@ -48,10 +64,18 @@ public AggregatingQuery(QueryFactory queryFactory, AdvancedCache<?, ?> cache,
       this.noOfGroupingColumns = noOfGroupingColumns;
       this.accumulators = accumulators != null ? accumulators.toArray(new FieldAccumulator[0]) : null;
       this.twoPhaseAcc = twoPhaseAcc;
+      if (partialAggregation != null && !(baseQuery instanceof EmbeddedQuery)) {
+         throw new IllegalArgumentException("Partial aggregation requires a non-indexed base query");
+      }
+      this.partialAggregation = partialAggregation;
    }
 
    @Override
    protected CloseableIterator<?> getBaseIterator() {
+      if (partialAggregation != null) {
+         // the owners of the data send only the partial aggregations of their rows
+         return Closeables.iterator(((EmbeddedQuery<?>) baseQuery).aggregate(partialAggregation));
+      }
       // get the base iterator and add grouping on top of it
       RowGrouper grouper = new RowGrouper(noOfGroupingColumns, accumulators, twoPhaseAcc);
       try (CloseableIterator<Object[]> iterator = baseQuery.iterator()) {
@@ -77,6 +101,7 @@ public String toString() {
             ", namedParameters=" + namedParameters +
             ", noOfGroupingColumns=" + noOfGroupingColumns +
             ", accumulators=" + Arrays.toString(accumulators) +
+            ", partialAggregation=" + partialAggregation +
             ", projection=" + Arrays.toString(projection) +
             ", startOffset=" + startOffset +
             ", maxResults=" + maxResults +
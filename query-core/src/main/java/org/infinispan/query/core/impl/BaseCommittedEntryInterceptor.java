@@ -0,0 +1,190 @@
+package org.infinispan.query.core.impl;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.functional.ReadWriteKeyCommand;
+import org.infinispan.commands.functional.ReadWriteKeyValueCommand;
+import org.infinispan.commands.functional.ReadWriteManyCommand;
+import org.infinispan.commands.functional.ReadWriteManyEntriesCommand;
+import org.infinispan.commands.functional.WriteOnlyKeyCommand;
+import org.infinispan.commands.functional.WriteOnlyKeyValueCommand;
+import org.infinispan.commands.functional.WriteOnlyManyCommand;
+import org.infinispan.commands.functional.WriteOnlyManyEntriesCommand;
+import org.infinispan.commands.tx.CommitCommand;
+import org.infinispan.commands.tx.PrepareCommand;
+import org.infinispan.commands.write.ClearCommand;
+import org.infinispan.commands.write.ComputeCommand;
+import org.infinispan.commands.write.ComputeIfAbsentCommand;
+import org.infinispan.commands.write.IracPutKeyValueCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commands.write.PutMapCommand;
+import org.infinispan.commands.write.RemoveCommand;
+import org.infinispan.commands.write.RemoveExpiredCommand;
+import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.MVCCEntry;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.interceptors.DDAsyncInterceptor;
+import org.infinispan.interceptors.InvocationSuccessAction;
+
+/**
+ * Base class for the interceptors that track the entries committed to the local data container. It must be placed
+ * before the {@link org.infinispan.interceptors.impl.EntryWrappingInterceptor} so the entries are already committed
+ * when the invocation returns, with both their previous and their new value. Transactional modifications are only
+ * reported when the transaction commits.
+ * <p>
+ * Evictions and the expirations detected locally do not go through the interceptor chain, the subclasses that need
+ * them must listen to the cache notifications.
+ *
+ * @since 15.0
+ */
+public abstract class BaseCommittedEntryInterceptor extends DDAsyncInterceptor {
+
+   private final InvocationSuccessAction<WriteCommand> afterWrite = this::afterWrite;
+
+   private final InvocationSuccessAction<ClearCommand> afterClear = (rCtx, rCommand, rv) -> cacheCleared();
+
+   private final InvocationSuccessAction<VisitableCommand> afterCommit = (rCtx, rCommand, rv) -> rCtx.forEachEntry((key, entry) -> afterEntryWrite(entry, rCommand));
+
+   /**
+    * Invoked for each entry changed by a successful command, once it is committed to the data container. The entries
+    * that were only evicted from memory are not reported.
+    *
+    * @param entry   the committed entry, with its previous value
+    * @param command the write command or, for transactional modifications, the command that committed the transaction
+    */
+   protected abstract void entryCommitted(MVCCEntry<?, ?> entry, VisitableCommand command);
+
+   /**
+    * Invoked after the cache is cleared.
+    */
+   protected abstract void cacheCleared();
+
+   private Object handleWriteCommand(InvocationContext ctx, WriteCommand command) {
+      if (ctx.isInTxScope()) {
+         // transactional modifications are only visible when committed
+         return invokeNext(ctx, command);
+      }
+      return invokeNextThenAccept(ctx, command, afterWrite);
+   }
+
+   private void afterWrite(InvocationContext rCtx, WriteCommand command, Object rv) {
+      if (!command.isSuccessful()) {
+         return;
+      }
+      for (Object key : command.getAffectedKeys()) {
+         afterEntryWrite(rCtx.lookupEntry(key), command);
+      }
+   }
+
+   private void afterEntryWrite(CacheEntry<?, ?> entry, VisitableCommand command) {
+      if (!(entry instanceof MVCCEntry) || !entry.isChanged() || !((MVCCEntry<?, ?>) entry).isCommitted()) {
+         return;
+      }
+      if (entry.isEvicted()) {
+         // the entry still exists in the store
+         return;
+      }
+      entryCommitted((MVCCEntry<?, ?>) entry, command);
+   }
+
+   @Override
+   public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitIracPutKeyValueCommand(InvocationContext ctx, IracPutKeyValueCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitRemoveExpiredCommand(InvocationContext ctx, RemoveExpiredCommand command) {
+      // the expirations coordinated by the primary owner are removed with a command
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitComputeCommand(InvocationContext ctx, ComputeCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitComputeIfAbsentCommand(InvocationContext ctx, ComputeIfAbsentCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteKeyCommand(InvocationContext ctx, ReadWriteKeyCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteKeyValueCommand(InvocationContext ctx, ReadWriteKeyValueCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyKeyCommand(InvocationContext ctx, WriteOnlyKeyCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyKeyValueCommand(InvocationContext ctx, WriteOnlyKeyValueCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyManyCommand(InvocationContext ctx, WriteOnlyManyCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitWriteOnlyManyEntriesCommand(InvocationContext ctx, WriteOnlyManyEntriesCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteManyCommand(InvocationContext ctx, ReadWriteManyCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitReadWriteManyEntriesCommand(InvocationContext ctx, ReadWriteManyEntriesCommand command) {
+      return handleWriteCommand(ctx, command);
+   }
+
+   @Override
+   public Object visitClearCommand(InvocationContext ctx, ClearCommand command) {
+      return invokeNextThenAccept(ctx, command, afterClear);
+   }
+
+   @Override
+   public Object visitPrepareCommand(TxInvocationContext ctx, PrepareCommand command) {
+      if (!command.isOnePhaseCommit()) {
+         return invokeNext(ctx, command);
+      }
+      return invokeNextThenAccept(ctx, command, afterCommit);
+   }
+
+   @Override
+   public Object visitCommitCommand(TxInvocationContext ctx, CommitCommand command) {
+      return invokeNextThenAccept(ctx, command, afterCommit);
+   }
+}
@@ -3,8 +3,10 @@
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -16,17 +18,22 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.CacheStream;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.time.DefaultTimeService;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.Closeables;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.context.Flag;
+import org.infinispan.encoding.DataConversion;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.filter.CacheFilters;
 import org.infinispan.objectfilter.ObjectFilter;
 import org.infinispan.objectfilter.impl.syntax.parser.IckleParsingResult;
+import org.infinispan.query.SearchTimeoutException;
 import org.infinispan.query.core.impl.eventfilter.IckleFilterAndConverter;
+import org.infinispan.query.core.impl.resultcache.QueryResultCache;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.dsl.QueryFactory;
 import org.infinispan.query.dsl.QueryResult;
@@ -40,6 +47,8 @@
  */
 public final class EmbeddedQuery<T> extends BaseEmbeddedQuery<T> {
 
+   private static final TimeService TIME_SERVICE = DefaultTimeService.INSTANCE;
+
    private final QueryEngine<?> queryEngine;
 
    private IckleFilterAndConverter<?, ?> filter;
@@ -92,6 +101,11 @@ protected CloseableIterator<ObjectFilter.FilterResult> getInternalIterator() {
       IckleFilterAndConverter<Object, Object> ickleFilter = (IckleFilterAndConverter<Object, Object>) createFilter();
       AdvancedCache<Object, Object> cache = (AdvancedCache<Object, Object>) (isLocal() ? this.cache.withFlags(Flag.CACHE_MODE_LOCAL) : this.cache);
 
+      Collection<Object> candidates = queryEngine.findValueIndexCandidates(queryString, namedParameters, isLocal());
+      if (candidates != null) {
+         return filterCandidates(ickleFilter, cache, candidates);
+      }
+
       CacheStream<CacheEntry<Object, Object>> entryStream = cache.cacheEntrySet().stream();
       if (timeout > 0) {
          entryStream = entryStream.timeout(timeout, TimeUnit.NANOSECONDS);
@@ -103,9 +117,56 @@ protected CloseableIterator<ObjectFilter.FilterResult> getInternalIterator() {
       return Closeables.iterator(resultStream);
    }
 
+   /**
+    * Runs the query and aggregates the resulting rows on the nodes that own the entries, instead of returning all the
+    * rows to the originator.
+    *
+    * @return the final aggregated rows
+    */
+   Iterator<Object[]> aggregate(PartialAggregation partialAggregation) {
+      IckleFilterAndConverter<Object, Object> ickleFilter = (IckleFilterAndConverter<Object, Object>) createFilter();
+      AdvancedCache<Object, Object> cache = (AdvancedCache<Object, Object>) this.cache;
+
+      CacheStream<CacheEntry<Object, Object>> entryStream = cache.cacheEntrySet().stream();
+      if (timeout > 0) {
+         entryStream = entryStream.timeout(timeout, TimeUnit.NANOSECONDS);
+      }
+      try (CacheStream<ObjectFilter.FilterResult> resultStream = CacheFilters.filterAndConvertToValue(entryStream, ickleFilter)) {
+         if (timeout > 0) {
+            resultStream.timeout(timeout, TimeUnit.NANOSECONDS);
+         }
+         return partialAggregation.finish(resultStream.collect(partialAggregation));
+      }
+   }
+
+   /**
+    * Evaluates the filter only on the candidate entries selected by a value index, instead of scanning the whole cache.
+    * The candidates are a superset of the matching entries and may also contain keys of entries that no longer exist.
+    * Like the full scan, the evaluation fails with a {@link SearchTimeoutException} once the query timeout expires.
+    */
+   private CloseableIterator<ObjectFilter.FilterResult> filterCandidates(IckleFilterAndConverter<Object, Object> ickleFilter,
+                                                                        AdvancedCache<Object, Object> cache, Collection<Object> candidates) {
+      DataConversion keyDataConversion = cache.getKeyDataConversion();
+      long limit = timeout > 0 ? TIME_SERVICE.time() + timeout : -1;
+      int[] index = {0};
+      return new FilteringIterator<>(Closeables.iterator(candidates.iterator()), key -> {
+         // same check frequency as TimedCollector
+         if (limit >= 0 && (index[0]++ & 31) == 0 && TIME_SERVICE.isTimeExpired(limit)) {
+            throw new SearchTimeoutException();
+         }
+         CacheEntry<Object, Object> entry = cache.getCacheEntry(keyDataConversion.fromStorage(key));
+         return entry == null ? null : ickleFilter.filterAndConvert(entry.getKey(), entry.getValue(), entry.getMetadata());
+      });
+   }
+
    @Override
    public QueryResult<T> execute() {
       if (isSelectStatement()) {
+         QueryResultCache queryResultCache = queryEngine.getQueryResultCache(isLocal());
+         if (queryResultCache != null) {
+            partitionHandlingSupport.checkCacheAvailable();
+            return queryResultCache.get(queryString, namedParameters, startOffset, maxResults, super::execute);
+         }
          return super.execute();
       }
 
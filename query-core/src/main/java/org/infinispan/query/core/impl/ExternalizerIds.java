@@ -23,4 +23,8 @@ public interface ExternalizerIds {
    Integer ICKLE_CONTINUOUS_QUERY_RESULT = 1617;
 
    Integer ICKLE_DELETE_FUNCTION = 1618;
+
+   Integer ICKLE_PARTIAL_AGGREGATION = 1619;
+
+   Integer ICKLE_PARTIAL_AGGREGATION_GROUPS = 1620;
 }
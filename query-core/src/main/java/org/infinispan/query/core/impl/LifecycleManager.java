@@ -9,12 +9,16 @@
 import org.infinispan.AdvancedCache;
 import org.infinispan.Cache;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.AggregatedClassLoader;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.GlobalComponentRegistry;
 import org.infinispan.factories.annotations.InfinispanModule;
+import org.infinispan.factories.impl.BasicComponentRegistry;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.impl.EntryWrappingInterceptor;
 import org.infinispan.lifecycle.ModuleLifecycle;
 import org.infinispan.marshall.protostream.impl.SerializationContextRegistry;
 import org.infinispan.objectfilter.impl.ReflectionMatcher;
@@ -22,6 +26,10 @@
 import org.infinispan.query.core.impl.continuous.IckleContinuousQueryCacheEventFilterConverter;
 import org.infinispan.query.core.impl.eventfilter.IckleCacheEventFilterConverter;
 import org.infinispan.query.core.impl.eventfilter.IckleFilterAndConverter;
+import org.infinispan.query.core.impl.resultcache.QueryResultCache;
+import org.infinispan.query.core.impl.resultcache.QueryResultCacheInterceptor;
+import org.infinispan.query.core.impl.valueindex.ValueIndexInterceptor;
+import org.infinispan.query.core.impl.valueindex.ValueIndexManager;
 import org.infinispan.query.core.stats.IndexStatistics;
 import org.infinispan.query.core.stats.impl.IndexStatisticsSnapshotImpl;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
@@ -46,11 +54,56 @@ public void cacheStarting(ComponentRegistry cr, Configuration cfg, String cacheN
          cr.registerComponent(new SearchStatsRetriever(), SearchStatsRetriever.class);
          AdvancedCache<?, ?> cache = cr.getComponent(Cache.class).getAdvancedCache();
          ClassLoader aggregatedClassLoader = makeAggregatedClassLoader(cr.getGlobalComponentRegistry().getGlobalConfiguration().classLoader());
-         cr.registerComponent(new ReflectionMatcher(aggregatedClassLoader), ReflectionMatcher.class);
+         ReflectionMatcher matcher = new ReflectionMatcher(aggregatedClassLoader);
+         cr.registerComponent(matcher, ReflectionMatcher.class);
+         Set<String> valueIndexes = cfg.query().valueIndexes();
+         if (!valueIndexes.isEmpty()) {
+            createValueIndexes(cr, cache, valueIndexes);
+         }
+         if (cfg.query().resultCacheMaxEntries() > 0) {
+            createQueryResultCache(cr, cfg, cache, matcher);
+         }
          cr.registerComponent(new QueryEngine<>(cache), QueryEngine.class);
       }
    }
 
+   private void createValueIndexes(ComponentRegistry cr, AdvancedCache<?, ?> cache, Set<String> valueIndexes) {
+      BasicComponentRegistry bcr = cr.getComponent(BasicComponentRegistry.class);
+      if (bcr.getComponent(ValueIndexInterceptor.class) != null) {
+         // could be already present when two caches share a config
+         return;
+      }
+      bcr.registerComponent(ValueIndexManager.class, new ValueIndexManager(cache, ReflectionMatcher.class, valueIndexes), true);
+
+      ValueIndexInterceptor valueIndexInterceptor = new ValueIndexInterceptor();
+      AsyncInterceptorChain ic = bcr.getComponent(AsyncInterceptorChain.class).wired();
+      EntryWrappingInterceptor wrappingInterceptor = ic.findInterceptorExtending(EntryWrappingInterceptor.class);
+      ic.addInterceptorBefore(valueIndexInterceptor, wrappingInterceptor.getClass());
+      bcr.registerComponent(ValueIndexInterceptor.class, valueIndexInterceptor, true);
+      bcr.addDynamicDependency(AsyncInterceptorChain.class.getName(), ValueIndexInterceptor.class.getName());
+   }
+
+   private void createQueryResultCache(ComponentRegistry cr, Configuration cfg, AdvancedCache<?, ?> cache, ReflectionMatcher matcher) {
+      BasicComponentRegistry bcr = cr.getComponent(BasicComponentRegistry.class);
+      if (bcr.getComponent(QueryResultCacheInterceptor.class) != null) {
+         // could be already present when two caches share a config
+         return;
+      }
+      // the invalidation filters are registered in a dedicated matcher, so they are not evaluated for other purposes
+      ReflectionMatcher invalidationMatcher = new ReflectionMatcher(matcher.getPropertyHelper());
+      TimeService timeService = cr.getGlobalComponentRegistry().getComponent(TimeService.class);
+      QueryResultCache queryResultCache = new QueryResultCache(invalidationMatcher, cache.getValueDataConversion(),
+            cfg.query().resultCacheMaxEntries(), cfg.query().resultCacheLifespan(), timeService);
+      bcr.registerComponent(QueryResultCache.class, queryResultCache, true);
+
+      QueryResultCacheInterceptor queryResultCacheInterceptor = new QueryResultCacheInterceptor();
+      AsyncInterceptorChain ic = bcr.getComponent(AsyncInterceptorChain.class).wired();
+      EntryWrappingInterceptor wrappingInterceptor = ic.findInterceptorExtending(EntryWrappingInterceptor.class);
+      ic.addInterceptorBefore(queryResultCacheInterceptor, wrappingInterceptor.getClass());
+      bcr.registerComponent(QueryResultCacheInterceptor.class, queryResultCacheInterceptor, true);
+      bcr.addDynamicDependency(AsyncInterceptorChain.class.getName(), QueryResultCacheInterceptor.class.getName());
+   }
+
    @Override
    public void cacheStarted(ComponentRegistry cr, String cacheName) {
    }
@@ -123,6 +176,8 @@ public void cacheManagerStarting(GlobalComponentRegistry gcr, GlobalConfiguratio
       externalizerMap.put(ExternalizerIds.ICKLE_CONTINUOUS_QUERY_CACHE_EVENT_FILTER_CONVERTER, new IckleContinuousQueryCacheEventFilterConverter.Externalizer());
       externalizerMap.put(ExternalizerIds.ICKLE_CONTINUOUS_QUERY_RESULT, new ContinuousQueryResult.Externalizer());
       externalizerMap.put(ExternalizerIds.ICKLE_DELETE_FUNCTION, new EmbeddedQuery.DeleteFunctionExternalizer());
+      externalizerMap.put(ExternalizerIds.ICKLE_PARTIAL_AGGREGATION, new PartialAggregation.Externalizer());
+      externalizerMap.put(ExternalizerIds.ICKLE_PARTIAL_AGGREGATION_GROUPS, new PartialAggregation.GroupsExternalizer());
 
       SerializationContextRegistry ctxRegistry = gcr.getComponent(SerializationContextRegistry.class);
       ctxRegistry.addContextInitializer(PERSISTENCE, new PersistenceContextInitializerImpl());
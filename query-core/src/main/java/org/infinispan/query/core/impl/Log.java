@@ -5,6 +5,8 @@
 import org.infinispan.partitionhandling.AvailabilityException;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
 import org.jboss.logging.annotations.ValidIdRange;
@@ -56,4 +58,8 @@ public interface Log extends BasicLogger {
 
    @Message(value = "Projections are not supported with entryIterator()", id = 14058)
    CacheException entryIteratorDoesNotAllowProjections();
+
+   @LogMessage(level = Level.WARN)
+   @Message(value = "The value indexes of cache '%s' cannot be used by the queries evaluated with %s, these queries will scan the whole cache", id = 14061)
+   void valueIndexesNotSupported(String cacheName, String matcherName);
 }
@@ -0,0 +1,393 @@
+package org.infinispan.query.core.impl;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import org.infinispan.commons.marshall.AbstractExternalizer;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.objectfilter.impl.ql.AggregationFunction;
+
+/**
+ * Computes grouping and aggregation on the nodes that own the data, so only one partial row per group and per node is
+ * sent to the originator instead of all the matching rows. This is used as a {@link Collector} of the results of the
+ * first phase query of an {@link AggregatingQuery}, in the same way {@code ClusterPublisherManager} reduces a stream
+ * on each owner and then combines the reduced values.
+ * <p>
+ * The partial values are plain serializable values and never the accumulator state objects of the second phase, so they
+ * can be combined in any order: COUNT and integral SUM partials are longs, MIN and MAX partials are the min/max values
+ * and the AVG and floating point SUM partials are the count and the compensated sum of the values. The rows produced by
+ * {@link #finish} have the same layout as the ones produced by {@link org.infinispan.objectfilter.impl.aggregation.RowGrouper}.
+ *
+ * @since 15.0
+ */
+public final class PartialAggregation implements Collector<ObjectFilter.FilterResult, PartialAggregation.Groups, PartialAggregation.Groups> {
+
+   private static final Set<Characteristics> CHARACTERISTICS = Collections.unmodifiableSet(EnumSet.of(Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED));
+
+   // the indices of the compensated sum fields, as in DoubleStat
+   private static final int COUNT = 0;
+   private static final int SUM = 1;
+   private static final int SUM_COMPENSATION = 2;
+   private static final int SIMPLE_SUM = 3;
+
+   /**
+    * An aggregated column of the output row.
+    */
+   public static final class Aggregate {
+
+      final AggregationFunction function;
+
+      final int inPos;
+
+      final int outPos;
+
+      /**
+       * The SUM is computed with compensated summation of doubles, as opposed to a sum of longs.
+       */
+      final boolean floating;
+
+      Aggregate(AggregationFunction function, int inPos, int outPos, boolean floating) {
+         this.function = function;
+         this.inPos = inPos;
+         this.outPos = outPos;
+         this.floating = floating;
+      }
+
+      /**
+       * @return the aggregate, or {@code null} if it cannot be computed in partial steps
+       */
+      public static Aggregate of(AggregationFunction function, int inPos, int outPos, Class<?> outputType) {
+         switch (function) {
+            case COUNT:
+            case MIN:
+            case MAX:
+               return new Aggregate(function, inPos, outPos, false);
+            case AVG:
+               return new Aggregate(function, inPos, outPos, true);
+            case SUM:
+               if (outputType == Long.class || outputType == Double.class) {
+                  return new Aggregate(function, inPos, outPos, outputType == Double.class);
+               }
+               // the sums of BigInteger and BigDecimal values are aggregated on the originator
+               return null;
+            default:
+               return null;
+         }
+      }
+
+      Object init() {
+         if (function == AggregationFunction.COUNT) {
+            return 0L;
+         }
+         return floating ? new double[4] : null;
+      }
+
+      Object update(Object partial, Object value) {
+         if (value == null) {
+            return partial;
+         }
+         switch (function) {
+            case COUNT:
+               return (Long) partial + 1;
+            case MIN:
+               return partial == null || ((Comparable) partial).compareTo(value) > 0 ? value : partial;
+            case MAX:
+               return partial == null || ((Comparable) partial).compareTo(value) < 0 ? value : partial;
+            default:
+               if (floating) {
+                  add((double[]) partial, ((Number) value).doubleValue(), 1);
+                  return partial;
+               }
+               return partial == null ? ((Number) value).longValue() : (Long) partial + ((Number) value).longValue();
+         }
+      }
+
+      Object combine(Object partial, Object other) {
+         if (other == null) {
+            return partial;
+         }
+         switch (function) {
+            case COUNT:
+               return (Long) partial + (Long) other;
+            case MIN:
+            case MAX:
+               return update(partial, other);
+            default:
+               if (floating) {
+                  double[] stat = (double[]) other;
+                  if (stat[COUNT] > 0) {
+                     add((double[]) partial, getSum(stat), (long) stat[COUNT]);
+                  }
+                  return partial;
+               }
+               return partial == null ? other : (Long) partial + (Long) other;
+         }
+      }
+
+      Object finish(Object partial) {
+         if (!floating) {
+            return partial;
+         }
+         double[] stat = (double[]) partial;
+         if (stat[COUNT] == 0) {
+            return null;
+         }
+         Double sum = getSum(stat);
+         return function == AggregationFunction.AVG ? sum / stat[COUNT] : sum;
+      }
+
+      private static void add(double[] stat, double value, long count) {
+         stat[COUNT] += count;
+         stat[SIMPLE_SUM] += value;
+         double tmp = value - stat[SUM_COMPENSATION];
+         double velvel = stat[SUM] + tmp;
+         stat[SUM_COMPENSATION] = (velvel - stat[SUM]) - tmp;
+         stat[SUM] = velvel;
+      }
+
+      private static double getSum(double[] stat) {
+         double tmp = stat[SUM] + stat[SUM_COMPENSATION];
+         return Double.isNaN(tmp) && Double.isInfinite(stat[SIMPLE_SUM]) ? stat[SIMPLE_SUM] : tmp;
+      }
+
+      @Override
+      public String toString() {
+         return function + "(" + inPos + ")->" + outPos;
+      }
+   }
+
+   /**
+    * The partial rows, by group key.
+    */
+   public static final class Groups {
+
+      final int noOfGroupingColumns;
+
+      final Map<List<Object>, Object[]> rows = new LinkedHashMap<>();
+
+      Groups(int noOfGroupingColumns) {
+         this.noOfGroupingColumns = noOfGroupingColumns;
+      }
+
+      List<Object> groupKey(Object[] row) {
+         return noOfGroupingColumns == 0 ? Collections.emptyList() : Arrays.asList(Arrays.copyOf(row, noOfGroupingColumns));
+      }
+   }
+
+   /**
+    * The number of columns at the beginning of the row that are used as group key.
+    */
+   private final int noOfGroupingColumns;
+
+   private final Aggregate[] aggregates;
+
+   private PartialAggregation(int noOfGroupingColumns, Aggregate[] aggregates) {
+      this.noOfGroupingColumns = noOfGroupingColumns;
+      this.aggregates = aggregates;
+   }
+
+   /**
+    * @return the partial aggregation, or {@code null} if at least one of the aggregates cannot be computed in partial
+    * steps
+    */
+   public static PartialAggregation create(int noOfGroupingColumns, List<Aggregate> aggregates) {
+      if (aggregates.contains(null)) {
+         return null;
+      }
+      return new PartialAggregation(noOfGroupingColumns, aggregates.toArray(new Aggregate[0]));
+   }
+
+   @Override
+   public Supplier<Groups> supplier() {
+      return () -> new Groups(noOfGroupingColumns);
+   }
+
+   @Override
+   public BiConsumer<Groups, ObjectFilter.FilterResult> accumulator() {
+      return (groups, filterResult) -> {
+         Object[] row = filterResult.getProjection();
+         Object[] partial = groups.rows.computeIfAbsent(groups.groupKey(row), this::newRow);
+         for (Aggregate a : aggregates) {
+            partial[a.outPos] = a.update(partial[a.outPos], row[a.inPos]);
+         }
+      };
+   }
+
+   @Override
+   public BinaryOperator<Groups> combiner() {
+      return (groups, other) -> {
+         for (Map.Entry<List<Object>, Object[]> e : other.rows.entrySet()) {
+            Object[] partial = groups.rows.get(e.getKey());
+            if (partial == null) {
+               groups.rows.put(e.getKey(), e.getValue());
+            } else {
+               Object[] otherPartial = e.getValue();
+               for (Aggregate a : aggregates) {
+                  partial[a.outPos] = a.combine(partial[a.outPos], otherPartial[a.outPos]);
+               }
+            }
+         }
+         return groups;
+      };
+   }
+
+   @Override
+   public Function<Groups, Groups> finisher() {
+      return Function.identity();
+   }
+
+   @Override
+   public Set<Characteristics> characteristics() {
+      return CHARACTERISTICS;
+   }
+
+   /**
+    * Computes the final values of the combined partial rows. A global aggregation (no grouping columns) always produces
+    * a row, even if no rows matched.
+    */
+   public Iterator<Object[]> finish(Groups groups) {
+      if (noOfGroupingColumns == 0 && groups.rows.isEmpty()) {
+         groups.rows.put(Collections.emptyList(), newRow(Collections.emptyList()));
+      }
+      List<Object[]> result = new ArrayList<>(groups.rows.size());
+      for (Object[] partial : groups.rows.values()) {
+         for (Aggregate a : aggregates) {
+            partial[a.outPos] = a.finish(partial[a.outPos]);
+         }
+         result.add(partial);
+      }
+      return result.iterator();
+   }
+
+   private Object[] newRow(List<Object> groupKey) {
+      Object[] partial = new Object[noOfGroupingColumns + aggregates.length];
+      for (int i = 0; i < noOfGroupingColumns; i++) {
+         partial[i] = groupKey.get(i);
+      }
+      for (Aggregate a : aggregates) {
+         partial[a.outPos] = a.init();
+      }
+      return partial;
+   }
+
+   @Override
+   public String toString() {
+      return "PartialAggregation{" +
+            "noOfGroupingColumns=" + noOfGroupingColumns +
+            ", aggregates=" + Arrays.toString(aggregates) +
+            '}';
+   }
+
+   public static final class Externalizer extends AbstractExternalizer<PartialAggregation> {
+
+      @Override
+      public void writeObject(ObjectOutput output, PartialAggregation partialAggregation) throws IOException {
+         output.writeInt(partialAggregation.noOfGroupingColumns);
+         output.writeInt(partialAggregation.aggregates.length);
+         for (Aggregate a : partialAggregation.aggregates) {
+            output.writeByte(a.function.ordinal());
+            output.writeInt(a.inPos);
+            output.writeInt(a.outPos);
+            output.writeBoolean(a.floating);
+         }
+      }
+
+      @Override
+      public PartialAggregation readObject(ObjectInput input) throws IOException {
+         int noOfGroupingColumns = input.readInt();
+         Aggregate[] aggregates = new Aggregate[input.readInt()];
+         for (int i = 0; i < aggregates.length; i++) {
+            AggregationFunction function = AggregationFunction.values()[input.readByte()];
+            aggregates[i] = new Aggregate(function, input.readInt(), input.readInt(), input.readBoolean());
+         }
+         return new PartialAggregation(noOfGroupingColumns, aggregates);
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.ICKLE_PARTIAL_AGGREGATION;
+      }
+
+      @Override
+      public Set<Class<? extends PartialAggregation>> getTypeClasses() {
+         return Collections.singleton(PartialAggregation.class);
+      }
+   }
+
+   /**
+    * Marshalls the partial rows without knowing which columns are aggregated: the compensated sums are written as
+    * doubles and everything else as objects. The group keys are not written, they are the prefix of the rows.
+    */
+   public static final class GroupsExternalizer extends AbstractExternalizer<Groups> {
+
+      @Override
+      public void writeObject(ObjectOutput output, Groups groups) throws IOException {
+         output.writeInt(groups.noOfGroupingColumns);
+         output.writeInt(groups.rows.size());
+         for (Object[] partial : groups.rows.values()) {
+            output.writeInt(partial.length);
+            for (Object value : partial) {
+               if (value instanceof double[]) {
+                  double[] stat = (double[]) value;
+                  output.writeBoolean(true);
+                  output.writeLong((long) stat[COUNT]);
+                  output.writeDouble(stat[SUM]);
+                  output.writeDouble(stat[SUM_COMPENSATION]);
+                  output.writeDouble(stat[SIMPLE_SUM]);
+               } else {
+                  output.writeBoolean(false);
+                  output.writeObject(value);
+               }
+            }
+         }
+      }
+
+      @Override
+      public Groups readObject(ObjectInput input) throws IOException, ClassNotFoundException {
+         Groups groups = new Groups(input.readInt());
+         int size = input.readInt();
+         for (int i = 0; i < size; i++) {
+            Object[] partial = new Object[input.readInt()];
+            for (int j = 0; j < partial.length; j++) {
+               if (input.readBoolean()) {
+                  double[] stat = new double[4];
+                  stat[COUNT] = input.readLong();
+                  stat[SUM] = input.readDouble();
+                  stat[SUM_COMPENSATION] = input.readDouble();
+                  stat[SIMPLE_SUM] = input.readDouble();
+                  partial[j] = stat;
+               } else {
+                  partial[j] = input.readObject();
+               }
+            }
+            groups.rows.put(groups.groupKey(partial), partial);
+         }
+         return groups;
+      }
+
+      @Override
+      public Integer getId() {
+         return ExternalizerIds.ICKLE_PARTIAL_AGGREGATION_GROUPS;
+      }
+
+      @Override
+      public Set<Class<? extends Groups>> getTypeClasses() {
+         return Collections.singleton(Groups.class);
+      }
+   }
+}
@@ -1,12 +1,15 @@
 package org.infinispan.query.core.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.objectfilter.Matcher;
 import org.infinispan.objectfilter.ObjectFilter;
 import org.infinispan.objectfilter.SortField;
@@ -38,6 +41,9 @@
 import org.infinispan.objectfilter.impl.syntax.parser.ObjectPropertyHelper;
 import org.infinispan.objectfilter.impl.syntax.parser.RowPropertyHelper;
 import org.infinispan.query.core.impl.eventfilter.IckleFilterAndConverter;
+import org.infinispan.query.core.impl.resultcache.QueryResultCache;
+import org.infinispan.query.core.impl.valueindex.ValueIndex;
+import org.infinispan.query.core.impl.valueindex.ValueIndexManager;
 import org.infinispan.query.core.stats.impl.LocalQueryStatistics;
 import org.infinispan.query.dsl.Query;
 import org.infinispan.query.dsl.QueryFactory;
@@ -69,6 +75,16 @@
     */
    protected final QueryCache queryCache;
 
+   /**
+    * Optional in-memory value indexes used for narrowing down the entries evaluated by non-indexed queries.
+    */
+   protected final ValueIndexManager valueIndexManager;
+
+   /**
+    * Optional cache for the results of non-indexed queries.
+    */
+   protected final QueryResultCache queryResultCache;
+
    private final int defaultMaxResults;
 
    protected LocalQueryStatistics queryStatistics;
@@ -82,6 +98,15 @@ protected QueryEngine(AdvancedCache<?, ?> cache, Class<? extends Matcher> matche
       this.queryStatistics = SecurityActions.getCacheComponentRegistry(cache).getComponent(LocalQueryStatistics.class);
       this.matcher = SecurityActions.getCacheComponentRegistry(cache).getComponent(matcherImplClass);
       this.defaultMaxResults = cache.getCacheConfiguration().query().defaultMaxResults();
+      ValueIndexManager valueIndexManager = SecurityActions.getCacheComponentRegistry(cache).getComponent(ValueIndexManager.class);
+      if (valueIndexManager != null && valueIndexManager.getMatcherImplClass() != matcherImplClass) {
+         // the indexed values are extracted from Java objects, they cannot be compared with protobuf encoded values
+         log.valueIndexesNotSupported(cache.getName(), matcherImplClass.getSimpleName());
+         valueIndexManager = null;
+      }
+      this.valueIndexManager = valueIndexManager;
+      // the result cache evaluates the invalidations with a reflection based matcher
+      this.queryResultCache = matcherImplClass == ReflectionMatcher.class ? SecurityActions.getCacheComponentRegistry(cache).getComponent(QueryResultCache.class) : null;
       propertyHelper = ((BaseMatcher<TypeMetadata, ?, ?>) matcher).getPropertyHelper();
    }
 
@@ -183,6 +208,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
 
       LinkedHashMap<String, Integer> inColumns = new LinkedHashMap<>();
       List<FieldAccumulator> accumulators = new LinkedList<>();
+      List<PartialAggregation.Aggregate> aggregates = new ArrayList<>();
       RowPropertyHelper.ColumnMetadata[] _columns = new RowPropertyHelper.ColumnMetadata[columns.size()];
       for (PropertyPath<?> p : columns.keySet()) {
          RowPropertyHelper.ColumnMetadata c = columns.get(p);
@@ -194,8 +220,10 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
             inColumns.put(asStringPath, inIdx);
          }
          if (p instanceof AggregationPropertyPath) {
-            FieldAccumulator acc = FieldAccumulator.makeAccumulator(((AggregationPropertyPath) p).getAggregationFunction(), inIdx, c.getColumnIndex(), c.getPropertyType());
+            AggregationFunction function = ((AggregationPropertyPath) p).getAggregationFunction();
+            FieldAccumulator acc = FieldAccumulator.makeAccumulator(function, inIdx, c.getColumnIndex(), c.getPropertyType());
             accumulators.add(acc);
+            aggregates.add(PartialAggregation.Aggregate.of(function, inIdx, c.getColumnIndex(), c.getPropertyType()));
          }
       }
 
@@ -264,7 +292,8 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
       return new AggregatingQuery<>(queryFactory, cache, secondPhaseQueryStr, namedParameters,
             noOfGroupingColumns, accumulators, false,
             getObjectFilter(new RowMatcher(_columns), secondPhaseQueryStr, namedParameters, null),
-            startOffset, maxResults, baseQuery, queryStatistics, local);
+            startOffset, maxResults, baseQuery, createPartialAggregation(baseQuery, noOfGroupingColumns, aggregates, local),
+            queryStatistics, local);
    }
 
    /**
@@ -482,6 +511,117 @@ protected BaseQuery<?> buildQueryNoAggregations(QueryFactory queryFactory, Strin
             parsingResult.getProjections(), startOffset, maxResults, defaultMaxResults, queryStatistics, local);
    }
 
+   /**
+    * Looks up the candidate entries of a non-indexed query in the value indexes of the cache. An index can be used if
+    * the query has a top level equality or range predicate on an indexed property. Value indexes only know about the
+    * entries stored locally, so they are used for local queries or for caches that store all the entries on every
+    * node.
+    *
+    * @return the keys (in storage format) of a superset of the matching entries or {@code null} if no index can be
+    * used and the whole cache must be scanned
+    */
+   protected Collection<Object> findValueIndexCandidates(String queryString, Map<String, Object> namedParameters, boolean local) {
+      if (valueIndexManager == null) {
+         return null;
+      }
+      CacheMode cacheMode = cache.getCacheConfiguration().clustering().cacheMode();
+      if (!local && cacheMode.isClustered() && !cacheMode.isReplicated()) {
+         return null;
+      }
+      IckleParsingResult<TypeMetadata> parsingResult = parse(queryString);
+      if (parsingResult.getWhereClause() == null) {
+         return null;
+      }
+      BooleanExpr normalizedWhereClause = booleanFilterNormalizer.normalize(parsingResult.getWhereClause());
+      List<BooleanExpr> conjuncts = normalizedWhereClause instanceof AndExpr ?
+            ((AndExpr) normalizedWhereClause).getChildren() : Collections.singletonList(normalizedWhereClause);
+      Collection<Object> candidates = null;
+      for (BooleanExpr conjunct : conjuncts) {
+         if (!(conjunct instanceof ComparisonExpr)) {
+            continue;
+         }
+         ComparisonExpr comparisonExpr = (ComparisonExpr) conjunct;
+         // the normalizer always moves the constant to the right side
+         if (!(comparisonExpr.getLeftChild() instanceof PropertyValueExpr) || !(comparisonExpr.getRightChild() instanceof ConstantValueExpr)) {
+            continue;
+         }
+         PropertyValueExpr propertyValueExpr = (PropertyValueExpr) comparisonExpr.getLeftChild();
+         if (propertyValueExpr.isRepeated() || comparisonExpr.getComparisonType() == ComparisonExpr.Type.NOT_EQUAL) {
+            continue;
+         }
+         ValueIndex index = valueIndexManager.getIndex(parsingResult.getTargetEntityName(), propertyValueExpr.getPropertyPath().asStringPath());
+         if (index == null) {
+            continue;
+         }
+         Comparable value = ((ConstantValueExpr) comparisonExpr.getRightChild()).getConstantValueAs(propertyValueExpr.getPrimitiveType(), namedParameters);
+         Collection<Object> keys;
+         try {
+            switch (comparisonExpr.getComparisonType()) {
+               case EQUAL:
+                  // equality is usually the most selective predicate
+                  return index.lookupEqual(value);
+               case LESS:
+                  keys = index.lookupRange(null, false, value, false);
+                  break;
+               case LESS_OR_EQUAL:
+                  keys = index.lookupRange(null, false, value, true);
+                  break;
+               case GREATER_OR_EQUAL:
+                  keys = index.lookupRange(value, true, null, false);
+                  break;
+               case GREATER:
+                  keys = index.lookupRange(value, false, null, false);
+                  break;
+               default:
+                  continue;
+            }
+         } catch (ClassCastException e) {
+            // the constant is not comparable with the indexed values
+            continue;
+         }
+         if (candidates == null || keys.size() < candidates.size()) {
+            candidates = keys;
+         }
+      }
+      if (candidates != null && log.isTraceEnabled()) {
+         log.tracef("Query '%s' will evaluate %d candidates selected by value indexes", queryString, candidates.size());
+      }
+      return candidates;
+   }
+
+   /**
+    * Obtains the result cache to be used by a non-indexed query. Like the value indexes, the result cache is only
+    * aware of the writes of the entries stored locally, so it is used for local queries or for caches that store all
+    * the entries on every node.
+    *
+    * @return the result cache or {@code null} if the results cannot be cached
+    */
+   protected QueryResultCache getQueryResultCache(boolean local) {
+      if (queryResultCache == null) {
+         return null;
+      }
+      CacheMode cacheMode = cache.getCacheConfiguration().clustering().cacheMode();
+      return local || !cacheMode.isClustered() || cacheMode.isReplicated() ? queryResultCache : null;
+   }
+
+   /**
+    * Decides if the grouping and aggregation of a query can be executed by the owners of the data, so that only the
+    * partial aggregations are sent to the originator. This is done only for non-indexed queries on caches that spread
+    * the entries across the cluster; otherwise all the rows are already available locally.
+    *
+    * @return the partial aggregation or {@code null} if the rows of the base query must be aggregated on the originator
+    */
+   protected PartialAggregation createPartialAggregation(BaseQuery<?> baseQuery, int noOfGroupingColumns, List<PartialAggregation.Aggregate> aggregates, boolean local) {
+      if (local || !(baseQuery instanceof EmbeddedQuery)) {
+         return null;
+      }
+      CacheMode cacheMode = cache.getCacheConfiguration().clustering().cacheMode();
+      if (!cacheMode.isClustered() || cacheMode.isReplicated() || cacheMode.isInvalidation()) {
+         return null;
+      }
+      return PartialAggregation.create(noOfGroupingColumns, aggregates);
+   }
+
    protected IckleParsingResult<TypeMetadata> parse(String queryString) {
       return queryCache != null
             ? queryCache.get(cache.getName(), queryString, null, IckleParsingResult.class, (qs, accumulators) -> IckleParser.parse(qs, propertyHelper))
@@ -0,0 +1,312 @@
+package org.infinispan.query.core.impl.resultcache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.time.TimeServiceTicker;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.objectfilter.FilterCallback;
+import org.infinispan.objectfilter.FilterSubscription;
+import org.infinispan.objectfilter.Matcher;
+import org.infinispan.query.core.impl.Log;
+import org.infinispan.query.core.impl.QueryResultImpl;
+import org.infinispan.query.dsl.QueryResult;
+import org.infinispan.util.logging.LogFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A bounded cache for the results of non-indexed queries, keyed by the query string, the parameter values and the
+ * paging options.
+ * <p>
+ * Each cached result registers its query as a filter in a private {@link Matcher}, the same mechanism used by
+ * continuous queries. The {@link QueryResultCacheInterceptor} matches the previous and the new value of every written
+ * entry against these filters and a result is discarded as soon as a write touches an entry that matches (or used to
+ * match) the query. The filter is registered before the query is executed, so a write racing with the execution
+ * prevents the (possibly stale) result from being cached.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+@Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "QueryResultCache", description = "Cache of the results of the non-indexed queries")
+public final class QueryResultCache {
+
+   private static final Log log = LogFactory.getLog(QueryResultCache.class, Log.class);
+
+   private final Matcher matcher;
+
+   private final DataConversion valueDataConversion;
+
+   private final Cache<ResultKey, CachedResult> results;
+
+   private final LongAdder hits = new LongAdder();
+
+   private final LongAdder misses = new LongAdder();
+
+   private final LongAdder invalidations = new LongAdder();
+
+   /**
+    * @param matcher             a matcher dedicated to this result cache; it must not be shared with other filters
+    * @param valueDataConversion the conversion of the written values to the format understood by the matcher
+    * @param maxEntries          the maximum number of cached results
+    * @param lifespan            the lifespan of a cached result, in milliseconds
+    * @param timeService         the time source used for expiring the results
+    */
+   public QueryResultCache(Matcher matcher, DataConversion valueDataConversion, int maxEntries, long lifespan, TimeService timeService) {
+      this.matcher = matcher;
+      this.valueDataConversion = valueDataConversion;
+      this.results = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(lifespan, TimeUnit.MILLISECONDS)
+            .ticker(new TimeServiceTicker(timeService))
+            .executor(Runnable::run)
+            .removalListener(this::onRemoval)
+            .build();
+   }
+
+   /**
+    * Returns the cached result of a query or executes it and caches the result.
+    */
+   public <T> QueryResult<T> get(String queryString, Map<String, Object> namedParameters, long startOffset, int maxResults,
+                                 Supplier<QueryResult<T>> execution) {
+      ResultKey key = new ResultKey(queryString, namedParameters, startOffset, maxResults);
+      CachedResult cached = results.getIfPresent(key);
+      if (cached != null && cached.isValid()) {
+         hits.increment();
+         return (QueryResult<T>) cached.result;
+      }
+      misses.increment();
+
+      CachedResult entry = new CachedResult(key);
+      entry.subscription = matcher.registerFilter(queryString, namedParameters, entry);
+      QueryResult<T> result;
+      try {
+         result = execution.get();
+      } catch (Throwable t) {
+         unregister(entry);
+         throw t;
+      }
+      if (entry.isValid()) {
+         List<T> list = Collections.unmodifiableList(result.list());
+         entry.result = result.hitCount().isPresent() ? new QueryResultImpl<>(result.hitCount().getAsLong(), list) : new QueryResultImpl<>(list);
+         results.put(key, entry);
+         if (!entry.isValid()) {
+            // invalidated while being added
+            results.asMap().remove(key, entry);
+         }
+      } else {
+         unregister(entry);
+      }
+      return result;
+   }
+
+   /**
+    * Discards the results affected by a write.
+    *
+    * @param storageOldValue the previous value, in storage format, or {@code null} if the entry did not exist
+    * @param storageNewValue the new value, in storage format, or {@code null} if the entry was removed
+    */
+   void entryWritten(Object storageOldValue, Object storageNewValue) {
+      List<CachedResult> invalidated = new ArrayList<>();
+      if (storageOldValue != null) {
+         matcher.match(invalidated, null, valueDataConversion.fromStorage(storageOldValue));
+      }
+      if (storageNewValue != null) {
+         matcher.match(invalidated, null, valueDataConversion.fromStorage(storageNewValue));
+      }
+      // the subscriptions cannot be unregistered while matching, so the results are removed after the match completes
+      for (CachedResult entry : invalidated) {
+         invalidate(entry);
+      }
+   }
+
+   /**
+    * Discards all the cached results, used when the effects of a write cannot be determined.
+    */
+   void clear() {
+      for (CachedResult entry : results.asMap().values()) {
+         entry.valid = false;
+      }
+      results.invalidateAll();
+      log.tracef("Cleared the query result cache");
+   }
+
+   @ManagedAttribute(
+         description = "Number of queries answered from the result cache",
+         displayName = "Number of query result cache hits",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getHitCount() {
+      return hits.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of queries executed because their result was not cached",
+         displayName = "Number of query result cache misses",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getMissCount() {
+      return misses.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Percentage hit/(hit+miss) ratio of the query result cache",
+         displayName = "Query result cache hit ratio",
+         units = Units.PERCENTAGE
+   )
+   public double getHitRatio() {
+      long hitCount = hits.sum();
+      long total = hitCount + misses.sum();
+      return total == 0 ? 0 : (double) hitCount / total;
+   }
+
+   @ManagedAttribute(
+         description = "Number of cached query results discarded because of a write to a matching entry",
+         displayName = "Number of query result cache invalidations",
+         measurementType = MeasurementType.TRENDSUP
+   )
+   public long getInvalidationCount() {
+      return invalidations.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Approximate number of cached query results",
+         displayName = "Number of cached query results"
+   )
+   public long getSize() {
+      return results.estimatedSize();
+   }
+
+   @ManagedOperation(
+         description = "Resets the query result cache statistics",
+         displayName = "Reset statistics"
+   )
+   public void resetStatistics() {
+      hits.reset();
+      misses.reset();
+      invalidations.reset();
+   }
+
+   private void invalidate(CachedResult entry) {
+      if (entry.valid) {
+         entry.valid = false;
+         invalidations.increment();
+         results.asMap().remove(entry.key, entry);
+         // needed if the result was not cached yet or was evicted meanwhile
+         unregister(entry);
+      }
+   }
+
+   private void onRemoval(ResultKey key, CachedResult entry, RemovalCause cause) {
+      if (entry != null) {
+         entry.valid = false;
+         unregister(entry);
+      }
+   }
+
+   private void unregister(CachedResult entry) {
+      FilterSubscription subscription;
+      synchronized (entry) {
+         subscription = entry.subscription;
+         entry.subscription = null;
+      }
+      if (subscription != null) {
+         matcher.unregisterFilter(subscription);
+      }
+   }
+
+   /**
+    * A cached result and its invalidation callback.
+    */
+   private static final class CachedResult implements FilterCallback {
+
+      final ResultKey key;
+
+      volatile boolean valid = true;
+
+      volatile QueryResult<?> result;
+
+      FilterSubscription subscription;
+
+      CachedResult(ResultKey key) {
+         this.key = key;
+      }
+
+      boolean isValid() {
+         return valid;
+      }
+
+      @Override
+      public void onFilterResult(Object userContext, Object eventType, Object instance, Object[] projection, Comparable[] sortProjection) {
+         ((List<CachedResult>) userContext).add(this);
+      }
+   }
+
+   private static final class ResultKey {
+
+      final String queryString;
+
+      final Map<String, Object> namedParameters;
+
+      final long startOffset;
+
+      final int maxResults;
+
+      ResultKey(String queryString, Map<String, Object> namedParameters, long startOffset, int maxResults) {
+         this.queryString = queryString;
+         this.namedParameters = namedParameters != null && !namedParameters.isEmpty() ? new HashMap<>(namedParameters) : null;
+         this.startOffset = startOffset;
+         this.maxResults = maxResults;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (this == obj) return true;
+         if (!(obj instanceof ResultKey)) return false;
+         ResultKey other = (ResultKey) obj;
+         return startOffset == other.startOffset
+               && maxResults == other.maxResults
+               && queryString.equals(other.queryString)
+               && Objects.equals(namedParameters, other.namedParameters);
+      }
+
+      @Override
+      public int hashCode() {
+         int result = queryString.hashCode();
+         result = 31 * result + Objects.hashCode(namedParameters);
+         result = 31 * result + Long.hashCode(startOffset);
+         result = 31 * result + maxResults;
+         return result;
+      }
+
+      @Override
+      public String toString() {
+         return "ResultKey{" +
+               "queryString='" + queryString + '\'' +
+               ", namedParameters=" + namedParameters +
+               ", startOffset=" + startOffset +
+               ", maxResults=" + maxResults +
+               '}';
+      }
+   }
+}
@@ -0,0 +1,97 @@
+package org.infinispan.query.core.impl.resultcache;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.container.entries.MVCCEntry;
+import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryExpiredEvent;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.manager.PersistenceManager.StoreChangeListener;
+import org.infinispan.query.core.impl.BaseCommittedEntryInterceptor;
+
+/**
+ * Discards the entries of the {@link QueryResultCache} affected by writes. If the previous value is not reliable (it
+ * was not loaded from the store) all the cached results are discarded. The evicted entries and the entries that expire
+ * locally do not go through the interceptor chain, they are discarded by a listener.
+ *
+ * @since 15.0
+ */
+public final class QueryResultCacheInterceptor extends BaseCommittedEntryInterceptor {
+
+   @Inject
+   QueryResultCache queryResultCache;
+
+   @Inject
+   PersistenceManager persistenceManager;
+
+   @Inject
+   CacheNotifier<?, ?> cacheNotifier;
+
+   private volatile boolean isPersistenceEnabled;
+
+   private final StoreChangeListener storeChangeListener = pm -> isPersistenceEnabled = pm.isEnabled();
+
+   private final RemovalListener removalListener = new RemovalListener();
+
+   @Start
+   void start() {
+      isPersistenceEnabled = persistenceManager.isEnabled();
+      persistenceManager.addStoreListener(storeChangeListener);
+      cacheNotifier.addListener(removalListener);
+   }
+
+   @Stop
+   void stop() {
+      cacheNotifier.removeListener(removalListener);
+      persistenceManager.removeStoreListener(storeChangeListener);
+   }
+
+   @Override
+   protected void entryCommitted(MVCCEntry<?, ?> entry, VisitableCommand command) {
+      Object oldValue = entry.getOldValue();
+      if (oldValue == null && isPersistenceEnabled && !loadsPrevious(command)) {
+         queryResultCache.clear();
+         return;
+      }
+      queryResultCache.entryWritten(oldValue, entry.isRemoved() ? null : entry.getValue());
+   }
+
+   @Override
+   protected void cacheCleared() {
+      queryResultCache.clear();
+   }
+
+   private static boolean loadsPrevious(VisitableCommand command) {
+      // alternative approach would be changing the flag and forcing load type in an interceptor before EWI
+      if (!(command instanceof WriteCommand)) {
+         // a transaction commit does not know how the previous values were read
+         return false;
+      }
+      return command.loadType() != VisitableCommand.LoadType.DONT_LOAD
+            && !((WriteCommand) command).hasAnyFlag(FlagBitSets.SKIP_CACHE_LOAD);
+   }
+
+   @Listener(observation = Listener.Observation.POST)
+   private final class RemovalListener {
+
+      @CacheEntryExpired
+      public void entryExpired(CacheEntryExpiredEvent<?, ?> event) {
+         queryResultCache.entryWritten(event.getValue(), null);
+      }
+
+      @CacheEntriesEvicted
+      public void entriesEvicted(CacheEntriesEvictedEvent<?, ?> event) {
+         for (Object value : event.getEntries().values()) {
+            queryResultCache.entryWritten(value, null);
+         }
+      }
+   }
+}
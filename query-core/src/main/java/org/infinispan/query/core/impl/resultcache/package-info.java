@@ -0,0 +1,4 @@
+/**
+ * Result cache for repeated non-indexed queries.
+ */
+package org.infinispan.query.core.impl.resultcache;
@@ -0,0 +1,217 @@
+package org.infinispan.query.core.impl.valueindex;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * An in-memory secondary index mapping the values of a single property of an entity type to the (storage) keys of the
+ * cache entries having that value. The values are kept sorted so the index can serve both equality and range lookups.
+ * <p>
+ * The index is allowed to contain stale keys (keys whose entries were since removed or modified) but it must never
+ * miss a key, so the results of a lookup must always be re-evaluated against the full query filter.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+public final class ValueIndex {
+
+   private final String entityTypeName;
+
+   private final String propertyPath;
+
+   private final ConcurrentSkipListMap<Comparable<?>, Bucket> keysByValue = new ConcurrentSkipListMap<>();
+
+   private final ConcurrentMap<Object, Comparable<?>> valuesByKey = new ConcurrentHashMap<>();
+
+   /**
+    * The type of the indexed values. All values must be mutually comparable so an index encountering values of
+    * different types becomes unusable.
+    */
+   private volatile Class<?> valueType;
+
+   private volatile boolean usable = true;
+
+   ValueIndex(String entityTypeName, String propertyPath) {
+      this.entityTypeName = entityTypeName;
+      this.propertyPath = propertyPath;
+   }
+
+   public String getEntityTypeName() {
+      return entityTypeName;
+   }
+
+   public String getPropertyPath() {
+      return propertyPath;
+   }
+
+   /**
+    * Indicates the index can be used for lookups. An index becomes unusable if the values of the property cannot be
+    * ordered.
+    */
+   public boolean isUsable() {
+      return usable;
+   }
+
+   void markUnusable() {
+      usable = false;
+      clear();
+   }
+
+   /**
+    * Associates a key with a new value, replacing the previous association if any. A {@code null} value removes the
+    * key.
+    */
+   void update(Object key, Comparable<?> value) {
+      if (value == null) {
+         remove(key);
+         return;
+      }
+      if (!checkType(value)) {
+         return;
+      }
+      valuesByKey.compute(key, (k, oldValue) -> {
+         if (oldValue != null) {
+            if (oldValue.equals(value)) {
+               return oldValue;
+            }
+            removeFromBucket(k, oldValue);
+         }
+         addToBucket(k, value);
+         return value;
+      });
+   }
+
+   /**
+    * Associates a key with a value only if the key is not already indexed. Used while populating the index from the
+    * existing data, to avoid overwriting a newer value indexed by a concurrent write.
+    */
+   void populate(Object key, Comparable<?> value) {
+      if (value == null || !checkType(value)) {
+         return;
+      }
+      valuesByKey.computeIfAbsent(key, k -> {
+         addToBucket(k, value);
+         return value;
+      });
+   }
+
+   void remove(Object key) {
+      valuesByKey.computeIfPresent(key, (k, oldValue) -> {
+         removeFromBucket(k, oldValue);
+         return null;
+      });
+   }
+
+   void clear() {
+      valuesByKey.clear();
+      keysByValue.clear();
+   }
+
+   public int size() {
+      return valuesByKey.size();
+   }
+
+   /**
+    * Returns the keys of the entries having the given value.
+    */
+   public Collection<Object> lookupEqual(Comparable<?> value) {
+      Bucket bucket = keysByValue.get(value);
+      return bucket == null ? Collections.emptySet() : bucket.keys;
+   }
+
+   /**
+    * Returns the keys of the entries having a value inside the given interval. A {@code null} bound means the interval
+    * is unbounded on that side.
+    * <p>
+    * A key whose value changes during the lookup can be found in both its old and its new bucket, so the keys are
+    * collected in a set to return each of them once.
+    */
+   public Collection<Object> lookupRange(Comparable<?> lower, boolean lowerInclusive, Comparable<?> upper, boolean upperInclusive) {
+      NavigableMap<Comparable<?>, Bucket> range;
+      if (lower != null && upper != null) {
+         range = keysByValue.subMap(lower, lowerInclusive, upper, upperInclusive);
+      } else if (lower != null) {
+         range = keysByValue.tailMap(lower, lowerInclusive);
+      } else if (upper != null) {
+         range = keysByValue.headMap(upper, upperInclusive);
+      } else {
+         range = keysByValue;
+      }
+      Set<Object> keys = new HashSet<>();
+      for (Bucket bucket : range.values()) {
+         keys.addAll(bucket.keys);
+      }
+      return keys;
+   }
+
+   private boolean checkType(Comparable<?> value) {
+      Class<?> type = valueType;
+      if (type == null) {
+         synchronized (this) {
+            if (valueType == null) {
+               valueType = value.getClass();
+            }
+            type = valueType;
+         }
+      }
+      if (type != value.getClass() && !(value instanceof Enum && type.isInstance(value))) {
+         markUnusable();
+         return false;
+      }
+      return usable;
+   }
+
+   private void addToBucket(Object key, Comparable<?> value) {
+      while (true) {
+         Bucket bucket = keysByValue.computeIfAbsent(value, v -> new Bucket());
+         synchronized (bucket) {
+            if (!bucket.retired) {
+               bucket.keys.add(key);
+               return;
+            }
+         }
+      }
+   }
+
+   private void removeFromBucket(Object key, Comparable<?> value) {
+      Bucket bucket = keysByValue.get(value);
+      if (bucket != null) {
+         synchronized (bucket) {
+            bucket.keys.remove(key);
+            if (bucket.keys.isEmpty()) {
+               bucket.retired = true;
+               keysByValue.remove(value, bucket);
+            }
+         }
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "ValueIndex{" +
+            "entityTypeName='" + entityTypeName + '\'' +
+            ", propertyPath='" + propertyPath + '\'' +
+            ", size=" + valuesByKey.size() +
+            ", usable=" + usable +
+            '}';
+   }
+
+   /**
+    * The keys sharing the same value. A bucket is retired when it becomes empty and is removed from the index; a
+    * retired bucket must not be used for adding keys anymore.
+    */
+   private static final class Bucket {
+
+      final Set<Object> keys = ConcurrentHashMap.newKeySet();
+
+      boolean retired;
+   }
+}
@@ -0,0 +1,28 @@
+package org.infinispan.query.core.impl.valueindex;
+
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.container.entries.MVCCEntry;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.query.core.impl.BaseCommittedEntryInterceptor;
+
+/**
+ * Keeps the {@link ValueIndex}es of a cache up to date. Only committed entries are indexed, so a node indexes exactly
+ * the entries it stores.
+ *
+ * @since 15.0
+ */
+public final class ValueIndexInterceptor extends BaseCommittedEntryInterceptor {
+
+   @Inject
+   ValueIndexManager valueIndexManager;
+
+   @Override
+   protected void entryCommitted(MVCCEntry<?, ?> entry, VisitableCommand command) {
+      valueIndexManager.update(entry.getKey(), entry.isRemoved() ? null : entry.getValue());
+   }
+
+   @Override
+   protected void cacheCleared() {
+      valueIndexManager.clear();
+   }
+}
@@ -0,0 +1,265 @@
+package org.infinispan.query.core.impl.valueindex;
+
+import static org.infinispan.configuration.cache.QueryConfiguration.VALUE_INDEX_SEPARATOR;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.util.CloseableIterator;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.objectfilter.Matcher;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.query.core.impl.Log;
+import org.infinispan.query.dsl.impl.QueryStringCreator;
+import org.infinispan.security.actions.SecurityActions;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Owns the {@link ValueIndex}es declared for a cache (see {@link
+ * org.infinispan.configuration.cache.QueryConfiguration#valueIndexes()}) and keeps them up to date. The indexes are
+ * updated by the {@link ValueIndexInterceptor} on every write and are populated with the pre-existing data lazily,
+ * the first time a query needs them.
+ * <p>
+ * The property values are extracted from the cache values using a projection filter created by the same {@link
+ * Matcher} that evaluates the queries, so the indexed values are directly comparable with the query constants.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+@Scope(Scopes.NAMED_CACHE)
+public final class ValueIndexManager {
+
+   private static final Log log = LogFactory.getLog(ValueIndexManager.class, Log.class);
+
+   private final AdvancedCache<?, ?> cache;
+
+   private final Class<? extends Matcher> matcherImplClass;
+
+   private final DataConversion valueDataConversion;
+
+   private final Map<String, EntityIndexes> indexesByEntity = new LinkedHashMap<>();
+
+   private volatile boolean populated;
+
+   public ValueIndexManager(AdvancedCache<?, ?> cache, Class<? extends Matcher> matcherImplClass, Set<String> valueIndexes) {
+      this.cache = cache;
+      this.matcherImplClass = matcherImplClass;
+      this.valueDataConversion = cache.getValueDataConversion();
+
+      Map<String, List<String>> pathsByEntity = new LinkedHashMap<>();
+      for (String valueIndex : valueIndexes) {
+         int separator = valueIndex.lastIndexOf(VALUE_INDEX_SEPARATOR);
+         pathsByEntity.computeIfAbsent(valueIndex.substring(0, separator), e -> new ArrayList<>())
+               .add(valueIndex.substring(separator + 1));
+      }
+      pathsByEntity.forEach((entityTypeName, paths) -> indexesByEntity.put(entityTypeName, new EntityIndexes(entityTypeName, paths)));
+   }
+
+   /**
+    * The implementation class of the {@link Matcher} used for extracting the indexed values. Only queries evaluated by
+    * the same kind of matcher can use these indexes.
+    */
+   public Class<? extends Matcher> getMatcherImplClass() {
+      return matcherImplClass;
+   }
+
+   /**
+    * Obtains a usable index for the given property, populating the indexes first if needed.
+    *
+    * @return the index or {@code null} if the property is not indexed or the index cannot be used
+    */
+   public ValueIndex getIndex(String entityTypeName, String propertyPath) {
+      EntityIndexes entityIndexes = indexesByEntity.get(entityTypeName);
+      if (entityIndexes == null) {
+         return null;
+      }
+      ValueIndex index = entityIndexes.getIndex(propertyPath);
+      if (index == null) {
+         return null;
+      }
+      ensurePopulated();
+      return index.isUsable() ? index : null;
+   }
+
+   /**
+    * Updates the indexes after a write of the given entry.
+    *
+    * @param key          the key, in storage format
+    * @param storageValue the new value, in storage format, or {@code null} if the entry was removed
+    */
+   void update(Object key, Object storageValue) {
+      if (storageValue == null) {
+         remove(key);
+         return;
+      }
+      Object value = valueDataConversion.fromStorage(storageValue);
+      for (EntityIndexes entityIndexes : indexesByEntity.values()) {
+         entityIndexes.update(key, value, false);
+      }
+   }
+
+   void remove(Object key) {
+      for (EntityIndexes entityIndexes : indexesByEntity.values()) {
+         entityIndexes.remove(key);
+      }
+   }
+
+   void clear() {
+      for (EntityIndexes entityIndexes : indexesByEntity.values()) {
+         entityIndexes.clear();
+      }
+   }
+
+   /**
+    * Indexes the data that existed before the first lookup. Writes performed concurrently are indexed by the
+    * interceptor and take precedence over the values seen by this scan.
+    */
+   private void ensurePopulated() {
+      if (populated) {
+         return;
+      }
+      synchronized (this) {
+         if (populated) {
+            return;
+         }
+         log.debugf("Populating value indexes of cache %s", cache.getName());
+         AdvancedCache<Object, Object> localCache = ((AdvancedCache<Object, Object>) cache).withStorageMediaType().withFlags(Flag.CACHE_MODE_LOCAL);
+         try (CloseableIterator<CacheEntry<Object, Object>> it = localCache.cacheEntrySet().iterator()) {
+            while (it.hasNext()) {
+               CacheEntry<Object, Object> entry = it.next();
+               Object value = valueDataConversion.fromStorage(entry.getValue());
+               for (EntityIndexes entityIndexes : indexesByEntity.values()) {
+                  entityIndexes.update(entry.getKey(), value, true);
+               }
+            }
+         }
+         populated = true;
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "ValueIndexManager{cache=" + cache.getName() + ", indexes=" + indexesByEntity.values() + '}';
+   }
+
+   /**
+    * The indexes of a single entity type, sharing a projection filter that extracts all indexed properties at once.
+    */
+   private final class EntityIndexes {
+
+      private final String entityTypeName;
+
+      private final Map<String, ValueIndex> indexes = new LinkedHashMap<>();
+
+      private final ValueIndex[] indexArray;
+
+      private volatile ObjectFilter projectionFilter;
+
+      private volatile boolean failed;
+
+      EntityIndexes(String entityTypeName, List<String> propertyPaths) {
+         this.entityTypeName = entityTypeName;
+         for (String path : propertyPaths) {
+            indexes.put(path, new ValueIndex(entityTypeName, path));
+         }
+         indexArray = indexes.values().toArray(new ValueIndex[0]);
+      }
+
+      ValueIndex getIndex(String propertyPath) {
+         return failed ? null : indexes.get(propertyPath);
+      }
+
+      void update(Object key, Object value, boolean populating) {
+         ObjectFilter filter = getProjectionFilter();
+         if (filter == null) {
+            return;
+         }
+         ObjectFilter.FilterResult result = filter.filter(value);
+         if (result == null) {
+            // not an instance of this entity type (anymore)
+            if (!populating) {
+               remove(key);
+            }
+            return;
+         }
+         Object[] projection = result.getProjection();
+         for (int i = 0; i < indexArray.length; i++) {
+            Comparable<?> propertyValue = (Comparable<?>) projection[i];
+            if (populating) {
+               indexArray[i].populate(key, propertyValue);
+            } else {
+               indexArray[i].update(key, propertyValue);
+            }
+         }
+      }
+
+      void remove(Object key) {
+         for (ValueIndex index : indexArray) {
+            index.remove(key);
+         }
+      }
+
+      void clear() {
+         for (ValueIndex index : indexArray) {
+            index.clear();
+         }
+      }
+
+      private ObjectFilter getProjectionFilter() {
+         if (failed) {
+            return null;
+         }
+         ObjectFilter filter = projectionFilter;
+         if (filter == null) {
+            synchronized (this) {
+               if (failed) {
+                  return null;
+               }
+               filter = projectionFilter;
+               if (filter == null) {
+                  try {
+                     Matcher matcher = SecurityActions.getCacheComponentRegistry(cache).getComponent(matcherImplClass);
+                     filter = matcher.getObjectFilter(projectionQuery());
+                     projectionFilter = filter;
+                  } catch (RuntimeException e) {
+                     log.warnf(e, "Value indexes of entity type %s in cache %s are disabled", entityTypeName, cache.getName());
+                     failed = true;
+                     for (ValueIndex index : indexArray) {
+                        index.markUnusable();
+                     }
+                     return null;
+                  }
+               }
+            }
+         }
+         return filter;
+      }
+
+      private String projectionQuery() {
+         StringBuilder sb = new StringBuilder("SELECT ");
+         for (int i = 0; i < indexArray.length; i++) {
+            if (i != 0) {
+               sb.append(", ");
+            }
+            sb.append(QueryStringCreator.DEFAULT_ALIAS).append('.').append(indexArray[i].getPropertyPath());
+         }
+         sb.append(" FROM ").append(entityTypeName).append(' ').append(QueryStringCreator.DEFAULT_ALIAS);
+         return sb.toString();
+      }
+
+      @Override
+      public String toString() {
+         return indexes.values().toString();
+      }
+   }
+}
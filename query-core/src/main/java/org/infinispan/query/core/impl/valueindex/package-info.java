@@ -0,0 +1,4 @@
+/**
+ * In-memory secondary value indexes for non-indexed queries.
+ */
+package org.infinispan.query.core.impl.valueindex;
@@ -0,0 +1,143 @@
+package org.infinispan.query.core.tests;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.core.Search;
+import org.infinispan.query.core.impl.resultcache.QueryResultCache;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.QueryFactory;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "query.core.tests.QueryResultCacheTest")
+public class QueryResultCacheTest extends SingleCacheManagerTest {
+
+   public static class Book {
+
+      private final String author;
+
+      private final int year;
+
+      public Book(String author, int year) {
+         this.author = author;
+         this.year = year;
+      }
+
+      public String getAuthor() {
+         return author;
+      }
+
+      public int getYear() {
+         return year;
+      }
+   }
+
+   private static final String QUERY = "FROM " + Book.class.getName() + " WHERE author = :author";
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder c = getDefaultStandaloneCacheConfig(false);
+      c.query().resultCacheMaxEntries(10);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(c);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      return cm;
+   }
+
+   public void testResultsAreInvalidatedByMatchingWrites() {
+      cache.put("b1", new Book("Tolkien", 1954));
+      cache.put("b2", new Book("Herbert", 1965));
+
+      QueryResultCache queryResultCache = extractComponent(cache, QueryResultCache.class);
+      queryResultCache.resetStatistics();
+
+      assertEquals(1, execute("Tolkien").size());
+      assertEquals(0, queryResultCache.getHitCount());
+      assertEquals(1, execute("Tolkien").size());
+      assertEquals(1, queryResultCache.getHitCount());
+      assertEquals(1, execute("Herbert").size());
+      assertEquals(2, queryResultCache.getSize());
+
+      // does not match any of the cached queries
+      cache.put("b3", new Book("Asimov", 1951));
+      assertEquals(0, queryResultCache.getInvalidationCount());
+      assertEquals(1, execute("Tolkien").size());
+      assertEquals(2, queryResultCache.getHitCount());
+
+      // the new value matches the first query
+      cache.put("b4", new Book("Tolkien", 1937));
+      assertEquals(1, queryResultCache.getInvalidationCount());
+      assertEquals(2, execute("Tolkien").size());
+      assertEquals(1, execute("Herbert").size());
+      assertEquals(3, queryResultCache.getHitCount());
+
+      // the old value matches the second query
+      cache.put("b2", new Book("Asimov", 1965));
+      assertEquals(0, execute("Herbert").size());
+
+      cache.clear();
+      assertEquals(0, queryResultCache.getSize());
+      assertEquals(0, execute("Tolkien").size());
+      assertEquals(3.0 / 8, queryResultCache.getHitRatio(), 0.0001);
+   }
+
+   public void testResultsAreInvalidatedByExpiration() {
+      cache.put("b1", new Book("Tolkien", 1954), 1, TimeUnit.SECONDS);
+      cache.put("b2", new Book("Herbert", 1965));
+
+      QueryResultCache queryResultCache = extractComponent(cache, QueryResultCache.class);
+      queryResultCache.resetStatistics();
+
+      assertEquals(1, execute("Tolkien").size());
+      assertEquals(1, execute("Herbert").size());
+
+      // the expiration is detected by the read, without a command going through the interceptor chain
+      timeService.advance(TimeUnit.SECONDS.toMillis(2));
+      assertNull(cache.get("b1"));
+      eventuallyEquals(1L, queryResultCache::getInvalidationCount);
+      assertEquals(0, execute("Tolkien").size());
+      assertEquals(1, execute("Herbert").size());
+      assertEquals(1, queryResultCache.getHitCount());
+
+      cache.clear();
+   }
+
+   public void testResultsAreInvalidatedByEviction() {
+      cache.put("b1", new Book("Tolkien", 1954));
+      cache.put("b2", new Book("Herbert", 1965));
+
+      QueryResultCache queryResultCache = extractComponent(cache, QueryResultCache.class);
+      queryResultCache.resetStatistics();
+
+      assertEquals(1, execute("Tolkien").size());
+      assertEquals(1, execute("Herbert").size());
+
+      cache.evict("b1");
+      assertEquals(1, queryResultCache.getInvalidationCount());
+      assertEquals(0, execute("Tolkien").size());
+      assertEquals(1, execute("Herbert").size());
+      assertEquals(1, queryResultCache.getHitCount());
+
+      cache.clear();
+   }
+
+   private List<Book> execute(String author) {
+      QueryFactory queryFactory = Search.getQueryFactory(cache);
+      Query<Book> query = queryFactory.create(QUERY);
+      query.setParameters(Map.of("author", author));
+      return query.execute().list();
+   }
+}
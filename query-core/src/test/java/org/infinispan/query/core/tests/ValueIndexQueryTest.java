@@ -0,0 +1,138 @@
+package org.infinispan.query.core.tests;
+
+import static org.infinispan.commons.test.Exceptions.expectException;
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.SearchTimeoutException;
+import org.infinispan.query.core.Search;
+import org.infinispan.query.core.impl.valueindex.ValueIndex;
+import org.infinispan.query.core.impl.valueindex.ValueIndexManager;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.QueryFactory;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "query.core.tests.ValueIndexQueryTest")
+public class ValueIndexQueryTest extends SingleCacheManagerTest {
+
+   public static class Person {
+
+      private final String name;
+
+      private final int age;
+
+      public Person(String name, int age) {
+         this.name = name;
+         this.age = age;
+      }
+
+      public String getName() {
+         return name;
+      }
+
+      public int getAge() {
+         return age;
+      }
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder c = getDefaultStandaloneCacheConfig(false);
+      c.query()
+            .addValueIndex(Person.class.getName(), "name")
+            .addValueIndex(Person.class.getName(), "age");
+      return TestCacheManagerFactory.createCacheManager(c);
+   }
+
+   public void testQueriesUseValueIndexes() {
+      // written before the indexes are first used, picked up by the initial population
+      cache.put("k1", new Person("Alice", 30));
+      cache.put("k2", new Person("Bob", 40));
+
+      assertEquals(Set.of("Alice"), names("FROM " + Person.class.getName() + " WHERE name = 'Alice'"));
+
+      ValueIndexManager valueIndexManager = extractComponent(cache, ValueIndexManager.class);
+      ValueIndex nameIndex = valueIndexManager.getIndex(Person.class.getName(), "name");
+      assertNotNull(nameIndex);
+      assertEquals(2, nameIndex.size());
+      assertNull(valueIndexManager.getIndex(Person.class.getName(), "surname"));
+
+      // written after the indexes were populated, indexed by the interceptor
+      cache.put("k3", new Person("Carol", 50));
+      cache.put("k1", new Person("Alice", 35));
+      assertEquals(3, nameIndex.size());
+
+      assertEquals(Set.of("Bob", "Carol"), names("FROM " + Person.class.getName() + " WHERE age >= 40"));
+      assertEquals(Set.of("Alice"), names("FROM " + Person.class.getName() + " WHERE age < 40 AND name = 'Alice'"));
+      assertEquals(Set.of(), names("FROM " + Person.class.getName() + " WHERE age = 30"));
+
+      cache.remove("k2");
+      assertEquals(2, nameIndex.size());
+      assertEquals(Set.of("Carol"), names("FROM " + Person.class.getName() + " WHERE age >= 40"));
+
+      cache.clear();
+      assertEquals(0, nameIndex.size());
+      assertEquals(Set.of(), names("FROM " + Person.class.getName() + " WHERE name = 'Carol'"));
+   }
+
+   public void testValueIndexQueryTimeout() {
+      // the timeout is checked every 32 candidates
+      for (int i = 0; i < 100; i++) {
+         cache.put("timeout-" + i, new Person("Dave", i));
+      }
+
+      Query<Person> query = Search.getQueryFactory(cache).create("FROM " + Person.class.getName() + " WHERE name = 'Dave'");
+      query.timeout(1, TimeUnit.NANOSECONDS);
+      try {
+         expectException(SearchTimeoutException.class, () -> query.execute().list());
+      } finally {
+         cache.clear();
+      }
+   }
+
+   public void testRangeLookupReturnsEachKeyOnce() throws Exception {
+      cache.put("moving", new Person("Erin", 10));
+      cache.put("fixed", new Person("Frank", 50));
+      try {
+         // make sure the age index is created and populated
+         assertEquals(Set.of("Erin", "Frank"), names("FROM " + Person.class.getName() + " WHERE age >= 0"));
+         ValueIndex ageIndex = extractComponent(cache, ValueIndexManager.class).getIndex(Person.class.getName(), "age");
+         assertNotNull(ageIndex);
+
+         // a key moving to a higher value during the scan is found again in its new bucket
+         Future<Void> writer = fork(() -> {
+            for (int i = 0; i < 10_000; i++) {
+               cache.put("moving", new Person("Erin", i % 2 == 0 ? 90 : 10));
+            }
+         });
+         while (!writer.isDone()) {
+            Collection<Object> keys = ageIndex.lookupRange(null, false, null, false);
+            assertTrue(keys.toString(), keys.size() <= 2);
+         }
+         writer.get(10, TimeUnit.SECONDS);
+      } finally {
+         cache.clear();
+      }
+   }
+
+   private Set<String> names(String queryString) {
+      QueryFactory queryFactory = Search.getQueryFactory(cache);
+      Query<Person> query = queryFactory.create(queryString);
+      List<Person> list = query.execute().list();
+      return list.stream().map(Person::getName).collect(Collectors.toSet());
+   }
+}
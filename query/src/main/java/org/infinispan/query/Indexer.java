@@ -37,6 +37,15 @@ public interface Indexer {
     */
    CompletionStage<Void> remove(Class<?>... entities);
 
+   /**
+    * Waits for the index updates that this member is applying in the background (see the {@code async} attribute of
+    * the index writer) and refreshes the index readers, so that the following queries executed by this member see all
+    * the writes completed before the invocation.
+    *
+    * @since 15.0
+    */
+   CompletionStage<Void> refreshLocal();
+
    /**
     * @return true if the indexer process was started on this node and has not finished yet.
     */
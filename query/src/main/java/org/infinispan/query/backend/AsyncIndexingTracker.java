@@ -0,0 +1,159 @@
+package org.infinispan.query.backend;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.concurrent.CompletableFutures;
+import org.infinispan.query.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Keeps track of the index updates submitted by the {@link QueryInterceptor} when the index writer is configured as
+ * {@link org.infinispan.configuration.cache.IndexWriterConfiguration#isAsync() asynchronous}. The writes complete
+ * without waiting for these updates, so this is the only place that knows about them: it reports the failures, the
+ * number of updates still pending and how far the index is lagging behind the data.
+ * <p>
+ * The updates of a key are applied in the order of the writes: an update is submitted to the indexing queues only
+ * after the previous update of the same key has been applied. The number of pending updates is bounded: once the
+ * limit is exceeded, the writes wait for their own index update again, until the indexing catches up.
+ *
+ * @since 15.0
+ */
+@ThreadSafe
+public final class AsyncIndexingTracker {
+
+   private static final Log log = LogFactory.getLog(AsyncIndexingTracker.class, Log.class);
+
+   private final TimeService timeService;
+
+   private final int maxPending;
+
+   private final AtomicLong sequence = new AtomicLong();
+
+   /**
+    * The pending updates, in submission order, so the first one is the oldest.
+    */
+   private final ConcurrentSkipListMap<Long, PendingUpdate> pending = new ConcurrentSkipListMap<>();
+
+   private final LongAdder pendingCount = new LongAdder();
+
+   /**
+    * The last update of each key with pending updates, completed when it has been applied, successfully or not.
+    */
+   private final ConcurrentMap<Object, CompletableFuture<Void>> lastUpdates = new ConcurrentHashMap<>();
+
+   private final LongAdder completed = new LongAdder();
+
+   private final LongAdder failed = new LongAdder();
+
+   /**
+    * @param timeService the time source used for measuring the indexing lag
+    * @param maxPending  the number of pending updates above which the writes wait for their index update
+    */
+   public AsyncIndexingTracker(TimeService timeService, int maxPending) {
+      this.timeService = timeService;
+      this.maxPending = maxPending;
+   }
+
+   /**
+    * Submits the index update of a write, after the pending updates of the same key. It must be invoked while holding
+    * the lock of the key, so the updates of a key are submitted in the order of the writes.
+    *
+    * @param key    the key written, in storage format
+    * @param update submits the index update to the indexing queues and returns a stage completed when it is applied
+    * @return the stage the write must wait for, which is already completed unless too many updates are pending
+    */
+   CompletableFuture<?> submit(Object key, Supplier<CompletableFuture<?>> update) {
+      CompletableFuture<Void> applied = new CompletableFuture<>();
+      CompletableFuture<Void> previous = lastUpdates.put(key, applied);
+      CompletableFuture<?> operation = previous == null ? update.get() : previous.thenCompose(ignore -> update.get());
+      operation.whenComplete((ignore, t) -> {
+         lastUpdates.remove(key, applied);
+         applied.complete(null);
+      });
+      if (operation.isDone()) {
+         return operation;
+      }
+      track(operation);
+      if (pendingCount.sum() > maxPending) {
+         // the indexing is not keeping up with the writes, slow them down
+         return operation;
+      }
+      return CompletableFutures.completedNull();
+   }
+
+   private void track(CompletableFuture<?> update) {
+      long id = sequence.incrementAndGet();
+      pending.put(id, new PendingUpdate(timeService.time(), update));
+      pendingCount.increment();
+      // registered after the put, so a completed update is never left behind in the map
+      update.whenComplete((ignore, t) -> {
+         pending.remove(id);
+         pendingCount.decrement();
+         if (t != null) {
+            failed.increment();
+            log.asyncIndexingFailed(t);
+         } else {
+            completed.increment();
+         }
+      });
+   }
+
+   /**
+    * @return a stage that completes when all the updates submitted before this invocation have been applied, whether
+    * successfully or not
+    */
+   public CompletableFuture<Void> awaitPending() {
+      CompletableFuture<?>[] updates = pending.values().stream().map(u -> u.future).toArray(CompletableFuture[]::new);
+      if (updates.length == 0) {
+         return CompletableFuture.completedFuture(null);
+      }
+      // the failures have already been logged
+      return CompletableFuture.allOf(updates).handle((ignore, t) -> null);
+   }
+
+   /**
+    * @return the number of index updates submitted but not applied yet
+    */
+   public long getPendingCount() {
+      return pendingCount.sum();
+   }
+
+   /**
+    * @return the age, in milliseconds, of the oldest index update that was not applied yet, or 0 if there is none
+    */
+   public long getLag() {
+      Map.Entry<Long, PendingUpdate> oldest = pending.firstEntry();
+      return oldest == null ? 0 : timeService.timeDuration(oldest.getValue().startTime, TimeUnit.MILLISECONDS);
+   }
+
+   public long getCompletedCount() {
+      return completed.sum();
+   }
+
+   public long getFailedCount() {
+      return failed.sum();
+   }
+
+   private static final class PendingUpdate {
+
+      final long startTime;
+
+      final CompletableFuture<?> future;
+
+      PendingUpdate(long startTime, CompletableFuture<?> future) {
+         this.startTime = startTime;
+         this.future = future;
+      }
+   }
+}
@@ -8,6 +8,7 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -103,13 +104,15 @@ public String toString() {
    private final boolean isManualIndexing;
    private final AdvancedCache<?, ?> cache;
    private final Map<String, Class<?>> indexedClasses;
+   private final AsyncIndexingTracker asyncIndexingTracker;
 
    private SearchMapping searchMapping;
    private SegmentListener segmentListener;
    private final StoreChangeListener storeChangeListener = pm -> isPersistenceEnabled = pm.isEnabled();
 
    public QueryInterceptor(boolean isManualIndexing, ConcurrentMap<GlobalTransaction, Map<Object, Object>> txOldValues,
-                           AdvancedCache<?, ?> cache, Map<String, Class<?>> indexedClasses) {
+                           AdvancedCache<?, ?> cache, Map<String, Class<?>> indexedClasses,
+                           AsyncIndexingTracker asyncIndexingTracker) {
       this.isManualIndexing = isManualIndexing;
       this.txOldValues = txOldValues;
       this.valueDataConversion = cache.getValueDataConversion();
@@ -117,6 +120,7 @@ public QueryInterceptor(boolean isManualIndexing, ConcurrentMap<GlobalTransactio
       this.isPersistenceEnabled = cache.getCacheConfiguration().persistence().usingStores();
       this.cache = cache;
       this.indexedClasses = Collections.unmodifiableMap(indexedClasses);
+      this.asyncIndexingTracker = asyncIndexingTracker;
    }
 
    @Start
@@ -158,6 +162,23 @@ public BlockingManager getBlockingManager() {
       return blockingManager;
    }
 
+   /**
+    * @return the tracker of the index updates applied in the background, or {@code null} if the writes wait for the
+    * index updates
+    */
+   public AsyncIndexingTracker getAsyncIndexingTracker() {
+      return asyncIndexingTracker;
+   }
+
+   /**
+    * Waits for the pending asynchronous index updates of this node and then refreshes the index readers, so the
+    * following local queries see all the writes completed before the invocation.
+    */
+   public CompletionStage<Void> awaitIndexing() {
+      CompletionStage<Void> pending = asyncIndexingTracker == null ? CompletableFutures.completedNull() : asyncIndexingTracker.awaitPending();
+      return pending.thenCompose(ignore -> blockingManager.runBlocking(() -> searchMapping.scopeAll().workspace().refresh(), "index-refresh"));
+   }
+
    private Object handleDataWriteCommand(InvocationContext ctx, DataWriteCommand command) {
       if (command.hasAnyFlag(FlagBitSets.SKIP_INDEXING)) {
          return invokeNext(ctx, command);
@@ -402,40 +423,52 @@ private Object extractKey(Object storedKey) {
    }
 
    CompletableFuture<?> processChange(InvocationContext ctx, FlagAffectedCommand command, Object storedKey, Object storedOldValue, Object storedNewValue) {
+      int segment = SegmentSpecificCommand.extractSegment(command, storedKey, keyPartitioner);
+      boolean skipIndexCleanup = command != null && command.hasAnyFlag(FlagBitSets.SKIP_INDEX_CLEANUP);
+      if (skipIndexCleanup && log.isTraceEnabled()) {
+         log.tracef("Skipped index cleanup for command %s", command);
+      }
+      boolean modifyIndexes = shouldModifyIndexes(command, ctx, storedKey);
+      if (asyncIndexingTracker == null) {
+         return indexChange(segment, storedKey, storedOldValue, storedNewValue, skipIndexCleanup, modifyIndexes);
+      }
+      // the update may be submitted after the write completes, so it must not use the invocation context
+      return asyncIndexingTracker.submit(storedKey,
+            () -> indexChange(segment, storedKey, storedOldValue, storedNewValue, skipIndexCleanup, modifyIndexes));
+   }
+
+   private CompletableFuture<?> indexChange(int segment, Object storedKey, Object storedOldValue, Object storedNewValue,
+                                            boolean skipIndexCleanup, boolean modifyIndexes) {
       if (searchMapping.isRestarting()) {
          log.mappingIsRestarting();
          return CompletableFutures.completedNull();
       }
 
-      int segment = SegmentSpecificCommand.extractSegment(command, storedKey, keyPartitioner);
       Object key = extractKey(storedKey);
       Object oldValue = storedOldValue == UNKNOWN ? UNKNOWN : extractValue(storedOldValue);
       Object newValue = extractValue(storedNewValue);
-      boolean skipIndexCleanup = command != null && command.hasAnyFlag(FlagBitSets.SKIP_INDEX_CLEANUP);
       CompletableFuture<?> operation = CompletableFutures.completedNull();
       if (!skipIndexCleanup) {
          if (oldValue == UNKNOWN) {
-            if (shouldModifyIndexes(command, ctx, storedKey)) {
+            if (modifyIndexes) {
                operation = removeFromIndexes(key, segment);
             }
          } else if (isPotentiallyIndexedType(oldValue) && (newValue == null || replacedWithADifferentEntity(newValue, oldValue))
-               && shouldModifyIndexes(command, ctx, storedKey)) {
+               && modifyIndexes) {
             operation = removeFromIndexes(oldValue, key, segment);
          } else if (log.isTraceEnabled()) {
             log.tracef("Index cleanup not needed for %s -> %s", oldValue, newValue);
          }
-      } else if (log.isTraceEnabled()) {
-         log.tracef("Skipped index cleanup for command %s", command);
       }
       if (isPotentiallyIndexedType(newValue)) {
-         if (shouldModifyIndexes(command, ctx, storedKey)) {
+         if (modifyIndexes) {
             // We don't need to wait for a possible removeFromIndexes operation,
             // since if it exists, the oldValue is UNKNOWN or replacedWithADifferentEntity is true,
             // which implies that the delete and the add operations are related to different indexes
             operation = CompletableFuture.allOf(operation, updateIndexes(skipIndexCleanup, newValue, key, segment));
          } else {
             if (log.isTraceEnabled()) {
-               log.tracef("Not modifying index for %s (%s)", storedKey, command);
+               log.tracef("Not modifying index for %s", storedKey);
             }
          }
       } else if (log.isTraceEnabled()) {
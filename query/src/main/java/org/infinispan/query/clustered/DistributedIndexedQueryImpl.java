@@ -105,9 +105,9 @@ public <K> CloseableIterator<Map.Entry<K, E>> entryIterator() {
             maxResults, resultSize, maxResults, firstResult, topDocsResponses, cache);
    }
 
-   // number of results of each node of cluster
+   // number of results of each node of cluster: the top hits of a node that could make it into the requested page
    private int getNodeMaxResults() {
-      return maxResults + firstResult;
+      return (int) Math.min((long) maxResults + firstResult, Integer.MAX_VALUE);
    }
 
    private Map<Address, NodeTopDocs> broadcastQuery(ClusteredQueryOperation command) {
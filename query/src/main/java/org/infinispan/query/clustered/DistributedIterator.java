@@ -1,6 +1,7 @@
 package org.infinispan.query.clustered;
 
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
@@ -18,6 +19,10 @@
 /**
  * Iterates on the results of a distributed query returning the values. Subclasses can customize this by overriding the
  * {@link #decorate} method.
+ * <p>
+ * The per-node results are merged in a single k-way pass, keeping only the requested page. When the nodes returned
+ * keys, the values are loaded lazily with one {@code getAll} per batch of {@code fetchSize} hits, instead of a separate
+ * remote get for each hit. Projections are returned by the nodes along with the hits and need no further loading.
  *
  * @param <T> The return type of the iterator
  * @author Israel Lacerra &lt;israeldl@gmail.com&gt;
@@ -32,20 +37,26 @@
 
    private int currentIndex = -1;
 
-   // todo [anistor] seems we are ignoring fetchSize https://issues.jboss.org/browse/ISPN-9506
    private final int fetchSize;
    private final int resultSize;
    private final int maxResults;
    private final int firstResult;
    private final NodeTopDocs[] partialResults;
-   private final int[] partialPositionNext;
    private final TopDocs mergedResults;
+   // the position of each merged hit in the results of its node
+   private final int[] partialPositions;
    private final LocalQueryStatistics queryStatistics;
 
+   // the values of the hits between batchStart (inclusive) and batchEnd (exclusive)
+   private int batchStart;
+   private int batchEnd;
+   private Object[] batchKeys;
+   private Map<?, ?> batchValues;
+
    DistributedIterator(LocalQueryStatistics queryStatistics, Sort sort, int fetchSize, int resultSize, int maxResults,
                        int firstResult, Map<Address, NodeTopDocs> topDocsResponses, AdvancedCache<?, ?> cache) {
       this.queryStatistics = queryStatistics;
-      this.fetchSize = fetchSize;
+      this.fetchSize = Math.max(fetchSize, 1);
       this.resultSize = resultSize;
       this.maxResults = maxResults;
       this.firstResult = firstResult;
@@ -55,18 +66,45 @@
       this.partialResults = new NodeTopDocs[parallels];
       boolean isFieldDocs = expectTopFieldDocs(topDocsResponses);
       TopDocs[] partialTopDocs = isFieldDocs ? new TopFieldDocs[parallels] : new TopDocs[parallels];
-      this.partialPositionNext = new int[parallels];
       int i = 0;
       for (Entry<Address, NodeTopDocs> entry : topDocsResponses.entrySet()) {
          partialResults[i] = entry.getValue();
          partialTopDocs[i] = partialResults[i].topDocs;
          i++;
       }
+      // the merge computes firstResult + size, which must not overflow
+      int size = Math.min(maxResults, Integer.MAX_VALUE - firstResult);
       if (isFieldDocs) {
-         mergedResults = TopDocs.merge(sort, firstResult, maxResults, (TopFieldDocs[]) partialTopDocs, true);
+         mergedResults = TopDocs.merge(sort, firstResult, size, (TopFieldDocs[]) partialTopDocs, true);
       } else {
-         mergedResults = TopDocs.merge(firstResult, maxResults, partialTopDocs, true);
+         mergedResults = TopDocs.merge(firstResult, size, partialTopDocs, true);
       }
+      partialPositions = partialPositions(mergedResults.scoreDocs, partialTopDocs);
+   }
+
+   /**
+    * The merge keeps the relative order of the hits of each node and only skips hits from the head of each node's
+    * results, so only the first hit of every node needs to be looked up. The lookup is by identity, as the doc ids
+    * are not unique when a node returns hits from several indexes.
+    */
+   private static int[] partialPositions(ScoreDoc[] merged, TopDocs[] partialTopDocs) {
+      int[] positions = new int[merged.length];
+      int[] next = new int[partialTopDocs.length];
+      for (int i = 0; i < merged.length; i++) {
+         ScoreDoc scoreDoc = merged[i];
+         int index = scoreDoc.shardIndex;
+         if (next[index] == 0) {
+            ScoreDoc[] scoreDocs = partialTopDocs[index].scoreDocs;
+            for (int j = 0; j < scoreDocs.length; j++) {
+               if (scoreDocs[j] == scoreDoc) {
+                  next[index] = j;
+                  break;
+               }
+            }
+         }
+         positions[i] = next[index]++;
+      }
+      return positions;
    }
 
    private boolean expectTopFieldDocs(Map<Address, NodeTopDocs> topDocsResponses) {
@@ -90,35 +128,43 @@ public final T next() {
 
       currentIndex++;
 
-      ScoreDoc scoreDoc = mergedResults.scoreDocs[currentIndex];
-      int index = scoreDoc.shardIndex;
-      NodeTopDocs nodeTopDocs = partialResults[index];
-      if (partialPositionNext[index] == 0) {
-         int docId = scoreDoc.doc;
-         ScoreDoc[] scoreDocs = nodeTopDocs.topDocs.scoreDocs;
-         for (int i = 0; i < scoreDocs.length; i++) {
-            if (scoreDocs[i].doc == docId) {
-               partialPositionNext[index] = i;
-               break;
-            }
-         }
-      }
-
-      int pos = partialPositionNext[index]++;
+      NodeTopDocs nodeTopDocs = partialResults[mergedResults.scoreDocs[currentIndex].shardIndex];
+      int pos = partialPositions[currentIndex];
 
       Object[] keys = nodeTopDocs.keys;
       if (keys == null || keys.length == 0) {
          return (T) nodeTopDocs.projections[pos];
       }
 
+      if (currentIndex >= batchEnd) {
+         loadBatch();
+      }
+
+      Object key = batchKeys[currentIndex - batchStart];
+      return decorate(key, batchValues.get(key));
+   }
+
+   /**
+    * Loads the values of the next {@code fetchSize} hits, starting with the current one.
+    */
+   private void loadBatch() {
+      batchStart = currentIndex;
+      batchEnd = (int) Math.min((long) currentIndex + fetchSize, mergedResults.scoreDocs.length);
+      batchKeys = new Object[batchEnd - batchStart];
+      LinkedHashSet<Object> keys = new LinkedHashSet<>(batchKeys.length);
+      for (int i = batchStart; i < batchEnd; i++) {
+         NodeTopDocs nodeTopDocs = partialResults[mergedResults.scoreDocs[i].shardIndex];
+         Object key = keyDataConversion.fromStorage(nodeTopDocs.keys[partialPositions[i]]);
+         batchKeys[i - batchStart] = key;
+         keys.add(key);
+      }
+
       long start = queryStatistics.isEnabled() ? System.nanoTime() : 0;
 
-      Object key = keyDataConversion.fromStorage(keys[pos]);
-      T value = (T) cache.get(key);
+      // getAll instead of multiple gets to get all the values of the batch in the same call
+      batchValues = cache.getAll(keys);
 
       if (queryStatistics.isEnabled()) queryStatistics.entityLoaded(System.nanoTime() - start);
-
-      return decorate(key, value);
    }
 
    /**
@@ -131,6 +177,6 @@ protected T decorate(Object key, Object value) {
    @Override
    public final boolean hasNext() {
       int nextIndex = currentIndex + 1;
-      return firstResult + nextIndex < resultSize && nextIndex < maxResults;
+      return firstResult + nextIndex < resultSize && nextIndex < maxResults && nextIndex < mergedResults.scoreDocs.length;
    }
 }
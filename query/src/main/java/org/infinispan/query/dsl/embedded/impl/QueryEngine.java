@@ -45,6 +45,7 @@
 import org.infinispan.query.core.impl.EmptyResultQuery;
 import org.infinispan.query.core.impl.HybridQuery;
 import org.infinispan.query.core.impl.MetadataHybridQuery;
+import org.infinispan.query.core.impl.PartialAggregation;
 import org.infinispan.query.dsl.Query;
 import org.infinispan.query.dsl.QueryFactory;
 import org.infinispan.query.dsl.impl.BaseQuery;
@@ -196,6 +197,7 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
 
       LinkedHashMap<String, Integer> inColumns = new LinkedHashMap<>();
       List<FieldAccumulator> accumulators = new LinkedList<>();
+      List<PartialAggregation.Aggregate> aggregates = new ArrayList<>();
       RowPropertyHelper.ColumnMetadata[] _columns = new RowPropertyHelper.ColumnMetadata[columns.size()];
       for (PropertyPath<?> p : columns.keySet()) {
          RowPropertyHelper.ColumnMetadata c = columns.get(p);
@@ -207,8 +209,10 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
             inColumns.put(asStringPath, inIdx);
          }
          if (p instanceof AggregationPropertyPath) {
-            FieldAccumulator acc = FieldAccumulator.makeAccumulator(((AggregationPropertyPath) p).getAggregationFunction(), inIdx, c.getColumnIndex(), c.getPropertyType());
+            AggregationFunction function = ((AggregationPropertyPath) p).getAggregationFunction();
+            FieldAccumulator acc = FieldAccumulator.makeAccumulator(function, inIdx, c.getColumnIndex(), c.getPropertyType());
             accumulators.add(acc);
+            aggregates.add(PartialAggregation.Aggregate.of(function, inIdx, c.getColumnIndex(), c.getPropertyType()));
          }
       }
 
@@ -277,7 +281,8 @@ protected BaseQuery<?> buildQueryWithAggregations(QueryFactory queryFactory, Str
       return new AggregatingQuery<>(queryFactory, cache, secondPhaseQueryStr, namedParameters,
             noOfGroupingColumns, accumulators, false,
             getObjectFilter(new RowMatcher(_columns), secondPhaseQueryStr, namedParameters, null),
-            startOffset, maxResults, baseQuery, queryStatistics, local);
+            startOffset, maxResults, baseQuery, createPartialAggregation(baseQuery, noOfGroupingColumns, aggregates, local),
+            queryStatistics, local);
    }
 
    /**
@@ -5,6 +5,8 @@
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.query.backend.AsyncIndexingTracker;
 import org.infinispan.query.core.stats.IndexInfo;
 import org.infinispan.query.core.stats.IndexStatistics;
 import org.infinispan.query.core.stats.QueryStatistics;
@@ -32,11 +34,13 @@ public final class InfinispanQueryStatisticsInfo {
 
    private final QueryStatistics queryStatistics;
    private final IndexStatistics indexStatistics;
+   private final AsyncIndexingTracker asyncIndexingTracker;
    private final Authorizer authorizer;
 
-   InfinispanQueryStatisticsInfo(SearchStatistics searchStatistics, Authorizer authorizer) {
+   InfinispanQueryStatisticsInfo(SearchStatistics searchStatistics, AsyncIndexingTracker asyncIndexingTracker, Authorizer authorizer) {
       this.queryStatistics = searchStatistics.getQueryStatistics();
       this.indexStatistics = searchStatistics.getIndexStatistics();
+      this.asyncIndexingTracker = asyncIndexingTracker;
       this.authorizer = authorizer;
    }
 
@@ -92,6 +96,21 @@ public long getObjectsLoadedCount() {
       return queryStatistics.getLoadCount();
    }
 
+   @ManagedAttribute(description = "Number of asynchronous index updates not applied yet", displayName = "Async indexing queue depth")
+   public long getAsyncIndexingQueueDepth() {
+      return asyncIndexingTracker == null ? 0 : asyncIndexingTracker.getPendingCount();
+   }
+
+   @ManagedAttribute(description = "Age of the oldest asynchronous index update not applied yet", displayName = "Async indexing lag", units = Units.MILLISECONDS)
+   public long getAsyncIndexingLag() {
+      return asyncIndexingTracker == null ? 0 : asyncIndexingTracker.getLag();
+   }
+
+   @ManagedAttribute(description = "Number of asynchronous index updates that failed", displayName = "Async indexing failures")
+   public long getAsyncIndexingFailureCount() {
+      return asyncIndexingTracker == null ? 0 : asyncIndexingTracker.getFailedCount();
+   }
+
    @ManagedAttribute
    public boolean isStatisticsEnabled() {
       return queryStatistics.isEnabled();
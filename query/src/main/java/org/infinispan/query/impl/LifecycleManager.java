@@ -24,11 +24,13 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
+import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.AggregatedClassLoader;
 import org.infinispan.commons.util.ServiceFinder;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.IndexShardingConfiguration;
+import org.infinispan.configuration.cache.IndexWriterConfiguration;
 import org.infinispan.configuration.cache.IndexingConfiguration;
 import org.infinispan.configuration.cache.IndexingMode;
 import org.infinispan.configuration.global.GlobalConfiguration;
@@ -47,6 +49,7 @@
 import org.infinispan.query.Indexer;
 import org.infinispan.query.Search;
 import org.infinispan.query.Transformer;
+import org.infinispan.query.backend.AsyncIndexingTracker;
 import org.infinispan.query.backend.KeyTransformationHandler;
 import org.infinispan.query.backend.QueryInterceptor;
 import org.infinispan.query.backend.TxQueryInterceptor;
@@ -96,6 +99,11 @@ public class LifecycleManager implements ModuleLifecycle {
     */
    public static final String MAX_BOOLEAN_CLAUSES_SYS_PROP = "infinispan.query.lucene.max-boolean-clauses";
 
+   /**
+    * The size of the Hibernate Search indexing queues when the index writer does not configure it.
+    */
+   private static final int DEFAULT_INDEXING_QUEUE_SIZE = 1000;
+
    private volatile boolean remoteQueryEnabled = false;
 
    /**
@@ -189,7 +197,16 @@ private void createQueryInterceptorIfNeeded(ComponentRegistry cr, Configuration
       ConcurrentMap<GlobalTransaction, Map<Object, Object>> txOldValues = new ConcurrentHashMap<>();
       boolean manualIndexing = cfg.indexing().indexingMode().equals(IndexingMode.MANUAL);
 
-      QueryInterceptor queryInterceptor = new QueryInterceptor(manualIndexing, txOldValues, cache, indexedClasses);
+      AsyncIndexingTracker asyncIndexingTracker = null;
+      IndexWriterConfiguration writer = cfg.indexing().writer();
+      if (writer.isAsync()) {
+         // the writes are slowed down when more updates are pending than the indexing queues can hold
+         int queueSize = writer.getQueueSize() != null ? writer.getQueueSize() : DEFAULT_INDEXING_QUEUE_SIZE;
+         asyncIndexingTracker = new AsyncIndexingTracker(cr.getGlobalComponentRegistry().getComponent(TimeService.class),
+               writer.getQueueCount() * queueSize);
+      }
+
+      QueryInterceptor queryInterceptor = new QueryInterceptor(manualIndexing, txOldValues, cache, indexedClasses, asyncIndexingTracker);
 
       AsyncInterceptorChain ic = bcr.getComponent(AsyncInterceptorChain.class).wired();
 
@@ -228,7 +245,9 @@ public void cacheStarted(ComponentRegistry cr, String cacheName) {
 
       AdvancedCache<?, ?> cache = cr.getComponent(Cache.class).getAdvancedCache();
       Indexer massIndexer = ComponentRegistryUtils.getIndexer(cache);
-      InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(Search.getSearchStatistics(cache), SecurityActions.getCacheComponentRegistry(cache).getComponent(Authorizer.class));
+      InfinispanQueryStatisticsInfo stats = new InfinispanQueryStatisticsInfo(Search.getSearchStatistics(cache),
+            cr.getComponent(QueryInterceptor.class).getAsyncIndexingTracker(),
+            SecurityActions.getCacheComponentRegistry(cache).getComponent(Authorizer.class));
       cr.registerComponent(stats, InfinispanQueryStatisticsInfo.class);
 
       registerQueryMBeans(cr, massIndexer, stats);
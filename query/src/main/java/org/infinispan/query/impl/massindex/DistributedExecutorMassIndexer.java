@@ -16,6 +16,7 @@
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.manager.ClusterExecutor;
 import org.infinispan.query.Indexer;
+import org.infinispan.query.impl.ComponentRegistryUtils;
 import org.infinispan.query.logging.Log;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.security.AuthorizationPermission;
@@ -107,6 +108,11 @@ public CompletionStage<Void> remove(Class<?>... entities) {
       return executeInternal(true, false, entities);
    }
 
+   @Override
+   public CompletionStage<Void> refreshLocal() {
+      return ComponentRegistryUtils.getQueryInterceptor(cache).awaitIndexing();
+   }
+
    @Override
    public boolean isRunning() {
       return isRunning;
@@ -187,5 +187,9 @@ public interface Log extends org.infinispan.query.core.impl.Log {
    @Message(value = "The indexing engine is restarting, index updates will be skipped for the current data changes.", id = 14059)
    void mappingIsRestarting();
 
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to apply an asynchronous index update", id = 14060)
+   void asyncIndexingFailed(@Cause Throwable cause);
+
    // !!!!!! When adding anything new here please check the last used id in org.infinispan.query.core.impl.Log !!!!!!
 }
@@ -0,0 +1,85 @@
+package org.infinispan.query.backend;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the ordering and the bound of the index updates tracked by {@link AsyncIndexingTracker}.
+ *
+ * @since 15.0
+ */
+@Test(groups = "unit", testName = "query.backend.AsyncIndexingTrackerTest")
+public class AsyncIndexingTrackerTest extends AbstractInfinispanTest {
+
+   public void testWriterWaitsWhenTooManyUpdatesArePending() {
+      AsyncIndexingTracker tracker = new AsyncIndexingTracker(new ControlledTimeService(), 2);
+      List<CompletableFuture<Void>> updates = new ArrayList<>();
+      List<CompletableFuture<?>> writes = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+         CompletableFuture<Void> update = new CompletableFuture<>();
+         updates.add(update);
+         writes.add(tracker.submit("k" + i, () -> update));
+      }
+
+      assertTrue(writes.get(0).isDone());
+      assertTrue(writes.get(1).isDone());
+      // over the limit, the writes wait for their own update
+      assertFalse(writes.get(2).isDone());
+      assertFalse(writes.get(3).isDone());
+      assertEquals(4, tracker.getPendingCount());
+
+      updates.get(2).complete(null);
+      assertTrue(writes.get(2).isDone());
+      assertFalse(writes.get(3).isDone());
+      updates.get(3).complete(null);
+      assertTrue(writes.get(3).isDone());
+
+      updates.get(0).complete(null);
+      updates.get(1).complete(null);
+      assertEquals(0, tracker.getPendingCount());
+      assertTrue(tracker.submit("k", CompletableFuture::new).isDone());
+   }
+
+   public void testUpdatesOfTheSameKeyAreAppliedInOrder() {
+      AsyncIndexingTracker tracker = new AsyncIndexingTracker(new ControlledTimeService(), 100);
+      List<String> submitted = new ArrayList<>();
+      CompletableFuture<Void> put = new CompletableFuture<>();
+      CompletableFuture<Void> remove = new CompletableFuture<>();
+
+      tracker.submit("k", () -> {
+         submitted.add("put");
+         return put;
+      });
+      tracker.submit("k", () -> {
+         submitted.add("remove");
+         return remove;
+      });
+      CompletableFuture<Void> otherKey = new CompletableFuture<>();
+      tracker.submit("other", () -> {
+         submitted.add("other");
+         return otherKey;
+      });
+
+      // the remove is only submitted once the put has been applied, other keys are not delayed
+      assertEquals(List.of("put", "other"), submitted);
+      CompletableFuture<Void> pending = tracker.awaitPending();
+
+      put.completeExceptionally(new Exception("expected"));
+      assertEquals(List.of("put", "other", "remove"), submitted);
+      assertEquals(1, tracker.getFailedCount());
+
+      remove.complete(null);
+      otherKey.complete(null);
+      assertTrue(pending.isDone());
+      assertEquals(0, tracker.getPendingCount());
+   }
+}
@@ -350,6 +350,21 @@ public void testPaginatedIckleQuery() {
       assertEquals("name14", results.get(9).getName());
    }
 
+   public void testPaginatedIckleQueryWithUnboundedMaxResults() {
+      Query<Person> q = queryFactory1.create(String.format("FROM %s p order by p.age", Person.class.getName()));
+
+      // the offset plus the max results does not fit in an int
+      q.startOffset(5);
+      q.maxResults(Integer.MAX_VALUE - 1);
+
+      List<Person> results = q.execute().list();
+
+      assertEquals(NUM_ENTRIES - 5, results.size());
+      assertEquals("name5", results.get(0).getName());
+      assertEquals("name" + (NUM_ENTRIES - 1), results.get(results.size() - 1).getName());
+      StaticTestingErrorHandler.assertAllGood(cacheAMachine1, cacheAMachine2);
+   }
+
    private int countLocalIndex(Cache<String, Person> cache) throws IOException {
       IndexReader indexReader = IndexAccessor.of(cache, Person.class).getIndexReader();
       return indexReader.numDocs();
@@ -0,0 +1,22 @@
+package org.infinispan.query.dsl.embedded;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the non-indexed queries on a distributed cache, so the grouping and aggregation queries are aggregated on the
+ * owners of the entries.
+ *
+ * @since 15.0
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.NonIndexedDistQueryDslConditionsTest")
+public class NonIndexedDistQueryDslConditionsTest extends NonIndexedQueryDslConditionsTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder defaultConfiguration = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, true);
+      defaultConfiguration.clustering().hash().numOwners(1);
+      createClusteredCaches(3, DslSCI.INSTANCE, defaultConfiguration);
+   }
+}
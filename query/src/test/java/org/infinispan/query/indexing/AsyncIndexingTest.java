@@ -0,0 +1,71 @@
+package org.infinispan.query.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.IndexStorage;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.query.Search;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.dsl.QueryFactory;
+import org.infinispan.query.impl.ComponentRegistryUtils;
+import org.infinispan.query.impl.InfinispanQueryStatisticsInfo;
+import org.infinispan.query.model.TypeA;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "query.indexing.AsyncIndexingTest")
+public class AsyncIndexingTest extends SingleCacheManagerTest {
+
+   private static final String CACHE_NAME = "types";
+
+   private static final int SIZE = 200;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder config = new ConfigurationBuilder();
+      config
+            .indexing()
+            .enable()
+            .storage(IndexStorage.LOCAL_HEAP)
+            .reader().refreshInterval(60_000)
+            .writer().async(true).queueCount(4).commitInterval(500)
+            .addIndexedEntity(TypeA.class);
+
+      EmbeddedCacheManager result = TestCacheManagerFactory.createCacheManager();
+      result.defineConfiguration(CACHE_NAME, config.build());
+
+      return result;
+   }
+
+   public void testRefreshMakesWritesVisible() {
+      Cache<Object, Object> types = cacheManager.getCache(CACHE_NAME);
+      Map<String, Object> entries = new HashMap<>();
+      for (int i = 0; i < SIZE; i++) {
+         entries.put("key-" + i, new TypeA("value-" + i));
+      }
+      types.putAll(entries);
+      types.put("key-single", new TypeA("value-single"));
+
+      CompletionStages.join(Search.getIndexer(types).refreshLocal());
+
+      InfinispanQueryStatisticsInfo stats = ComponentRegistryUtils.getQueryStatistics(types.getAdvancedCache());
+      assertThat(stats.getAsyncIndexingQueueDepth()).isZero();
+      assertThat(stats.getAsyncIndexingLag()).isZero();
+      assertThat(stats.getAsyncIndexingFailureCount()).isZero();
+
+      QueryFactory factory = Search.getQueryFactory(types);
+      Query<TypeA> queryAll = factory.create("from org.infinispan.query.model.TypeA");
+      assertThat(queryAll.execute().hitCount()).hasValue(SIZE + 1);
+
+      types.remove("key-single");
+      CompletionStages.join(Search.getIndexer(types).refreshLocal());
+      assertThat(queryAll.execute().hitCount()).hasValue(SIZE);
+   }
+}